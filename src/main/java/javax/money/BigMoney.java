@@ -15,9 +15,16 @@
  */
 package javax.money;
 
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.IOException;
 import java.io.Serializable;
 import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.math.RoundingMode;
+import java.text.ParsePosition;
+import java.util.Iterator;
+import java.util.List;
 
 /**
  * An amount of money with unrestricted decimal place precision.
@@ -36,6 +43,18 @@ import java.math.RoundingMode;
 public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProvider>, Serializable {
 
 	private static final long serialVersionUID = 1L;
+    /**
+     * The currency, not null.
+     */
+    private final CurrencyUnit currency;
+    /**
+     * The amount, not null.
+     */
+    private final BigDecimal amount;
+    /**
+     * The cached hash code, zero if not yet calculated.
+     */
+    private transient int hash;
 
 	//-----------------------------------------------------------------------
     /**
@@ -50,8 +69,19 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @throws IllegalArgumentException if an invalid BigDecimal subclass has been used
      */
     public static BigMoney of(CurrencyUnit currency, BigDecimal amount) {
-    	// TODO Not Implemented yet
-    	return null;
+        MoneyUtils.checkNotNull(currency, "Currency must not be null");
+        MoneyUtils.checkNotNull(amount, "Amount must not be null");
+        if (amount.getClass() != BigDecimal.class) {
+            BigInteger value = amount.unscaledValue();
+            if (value == null) {
+                throw new IllegalArgumentException("Illegal BigDecimal subclass");
+            }
+            if (value.getClass() != BigInteger.class) {
+                value = new BigInteger(value.toString());
+            }
+            amount = new BigDecimal(value, amount.scale());
+        }
+        return create(currency, amount);
     }
 
     /**
@@ -71,8 +101,8 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @return the new instance, never null
      */
     public static BigMoney of(CurrencyUnit currency, double amount) {
-    	// TODO Not Implemented yet
-    	return null;
+        MoneyUtils.checkNotNull(currency, "Currency must not be null");
+        return BigMoney.of(currency, BigDecimal.valueOf(amount));
     }
 
     //-----------------------------------------------------------------------
@@ -90,8 +120,7 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @throws ArithmeticException if the scale exceeds the currency scale
      */
     public static BigMoney ofScale(CurrencyUnit currency, BigDecimal amount, int scale) {
-    	// TODO Not Implemented yet
-    	return null;
+        return BigMoney.ofScale(currency, amount, scale, RoundingMode.UNNECESSARY);
     }
 
     /**
@@ -110,8 +139,11 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @throws ArithmeticException if the rounding fails
      */
     public static BigMoney ofScale(CurrencyUnit currency, BigDecimal amount, int scale, RoundingMode roundingMode) {
-    	// TODO Not Implemented yet
-    	return null;
+        MoneyUtils.checkNotNull(currency, "CurrencyUnit must not be null");
+        MoneyUtils.checkNotNull(amount, "Amount must not be null");
+        MoneyUtils.checkNotNull(roundingMode, "RoundingMode must not be null");
+        amount = amount.setScale(scale, roundingMode);
+        return BigMoney.of(currency, amount);
     }
 
     /**
@@ -128,8 +160,8 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @return the new instance, never null
      */
     public static BigMoney ofScale(CurrencyUnit currency, long unscaledAmount, int scale) {
-    	// TODO Not Implemented yet
-    	return null;
+        MoneyUtils.checkNotNull(currency, "Currency must not be null");
+        return create(currency, BigDecimal.valueOf(unscaledAmount, scale));
     }
 
     //-----------------------------------------------------------------------
@@ -148,8 +180,8 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @return the new instance, never null
      */
     public static BigMoney ofMajor(CurrencyUnit currency, long amountMajor) {
-    	// TODO Not Implemented yet
-    	return null;
+        MoneyUtils.checkNotNull(currency, "CurrencyUnit must not be null");
+        return create(currency, BigDecimal.valueOf(amountMajor));
     }
 
     /**
@@ -168,8 +200,8 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @return the new instance, never null
      */
     public static BigMoney ofMinor(CurrencyUnit currency, long amountMinor) {
-    	// TODO Not Implemented yet
-    	return null;
+        MoneyUtils.checkNotNull(currency, "CurrencyUnit must not be null");
+        return create(currency, BigDecimal.valueOf(amountMinor, currency.getDecimalPlaces()));
     }
 
     //-----------------------------------------------------------------------
@@ -183,8 +215,7 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @return the instance representing zero, never null
      */
     public static BigMoney zero(CurrencyUnit currency) {
-    	// TODO Not Implemented yet
-    	return null;
+        return BigMoney.zero(currency, 0);
     }
 
     /**
@@ -198,8 +229,11 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @throws IllegalArgumentException if the scale is negative
      */
     public static BigMoney zero(CurrencyUnit currency, int scale) {
-    	// TODO Not Implemented yet
-    	return null;
+        MoneyUtils.checkNotNull(currency, "Currency must not be null");
+        if (scale < 0) {
+            throw new IllegalArgumentException("Scale must not be negative");
+        }
+        return create(currency, BigDecimal.valueOf(0, scale));
     }
 
     //-----------------------------------------------------------------------
@@ -214,8 +248,10 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @return the new instance, never null
      */
     public static BigMoney of(BigMoneyProvider moneyProvider) {
-    	// TODO Not Implemented yet
-    	return null;
+        MoneyUtils.checkNotNull(moneyProvider, "BigMoneyProvider must not be null");
+        BigMoney money = moneyProvider.toBigMoney();
+        MoneyUtils.checkNotNull(money, "BigMoneyProvider must not return null");
+        return money;
     }
 
     //-----------------------------------------------------------------------
@@ -232,8 +268,15 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @throws CurrencyMismatchException if the currencies differ
      */
     public static BigMoney total(BigMoneyProvider... monies) {
-    	// TODO Not Implemented yet
-    	return null;
+        MoneyUtils.checkNotNull(monies, "Money array must not be null");
+        if (monies.length == 0) {
+            throw new IllegalArgumentException("Money array must not be empty");
+        }
+        MoneyAccumulator total = MoneyAccumulator.of(monies[0]);
+        for (int i = 1; i < monies.length; i++) {
+            total.add(monies[i]);
+        }
+        return total.toBigMoney();
     }
 
     /**
@@ -249,8 +292,16 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @throws CurrencyMismatchException if the currencies differ
      */
     public static BigMoney total(Iterable<? extends BigMoneyProvider> monies) {
-    	// TODO Not Implemented yet
-    	return null;
+        MoneyUtils.checkNotNull(monies, "Money iterator must not be null");
+        Iterator<? extends BigMoneyProvider> it = monies.iterator();
+        if (!it.hasNext()) {
+            throw new IllegalArgumentException("Money iterator must not be empty");
+        }
+        MoneyAccumulator total = MoneyAccumulator.of(it.next());
+        while (it.hasNext()) {
+            total.add(it.next());
+        }
+        return total.toBigMoney();
     }
 
     /**
@@ -267,8 +318,12 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @throws CurrencyMismatchException if the currencies differ
      */
     public static BigMoney total(CurrencyUnit currency, BigMoneyProvider... monies) {
-    	// TODO Not Implemented yet
-    	return null;
+        MoneyUtils.checkNotNull(monies, "Money array must not be null");
+        MoneyAccumulator total = MoneyAccumulator.of(currency);
+        for (BigMoneyProvider money : monies) {
+            total.add(money);
+        }
+        return total.toBigMoney();
     }
 
     /**
@@ -285,8 +340,31 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @throws CurrencyMismatchException if the currencies differ
      */
     public static BigMoney total(CurrencyUnit currency, Iterable<? extends BigMoneyProvider> monies) {
-    	// TODO Not Implemented yet
-    	return null;
+        MoneyUtils.checkNotNull(monies, "Money iterator must not be null");
+        MoneyAccumulator total = MoneyAccumulator.of(currency);
+        for (BigMoneyProvider money : monies) {
+            total.add(money);
+        }
+        return total.toBigMoney();
+    }
+
+    /**
+     * Obtains an instance of {@code BigMoney} as the total value of
+     * a possibly empty list, using multiple threads for large lists.
+     * <p>
+     * The list is split into chunks that are totalled in parallel using a
+     * {@link java.util.concurrent.ForkJoinPool ForkJoinPool}, and the partial
+     * totals are then combined. As addition of exact amounts does not depend
+     * on the order, the result is identical to {@link #total(CurrencyUnit, Iterable)}.
+     * The list must not be modified during the calculation.
+     * 
+     * @param currency  the currency to total in, not null
+     * @param monies  the monetary values to total, no null elements, not null
+     * @return the total, never null
+     * @throws CurrencyMismatchException if the currencies differ
+     */
+    public static BigMoney totalParallel(CurrencyUnit currency, List<? extends BigMoneyProvider> monies) {
+        return MoneyTotalTask.total(currency, monies).toBigMoney();
     }
 
     //-----------------------------------------------------------------------
@@ -307,8 +385,56 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @throws ArithmeticException if the amount is too large
      */
     public static BigMoney parse(String moneyStr) {
-    	// TODO Not Implemented yet
-    	return null;
+        return BigMoney.parse((CharSequence) moneyStr, 0);
+    }
+
+    /**
+     * Parses an instance of {@code BigMoney} from a character sequence, starting at an offset.
+     * <p>
+     * The format is as per {@link #parse(String)}, and the amount must continue
+     * to the end of the sequence. This allows the text to be parsed directly
+     * from a larger buffer without first extracting a {@code String}.
+     *
+     * @param text  the text to parse, not null
+     * @param offset  the index of the first letter of the currency code
+     * @return the parsed instance, never null
+     * @throws IndexOutOfBoundsException if the offset is invalid
+     * @throws IllegalArgumentException if the text is malformed, the message contains the error index
+     */
+    public static BigMoney parse(CharSequence text, int offset) {
+        MoneyUtils.checkNotNull(text, "Money must not be null");
+        MoneyScanner scanner = new MoneyScanner();
+        if (!scanner.scan(text, offset, true)) {
+            throw scanner.toException(text);
+        }
+        return scanner.toBigMoney();
+    }
+
+    /**
+     * Parses an instance of {@code BigMoney} from a character sequence, starting at a position.
+     * <p>
+     * The format is as per {@link #parse(String)}, however the parse stops at the
+     * first character after the currency code that cannot be part of the amount.
+     * If successful, the index of the position is updated to the index after the
+     * last character parsed. If unsuccessful, the error index of the position is set
+     * and {@code null} is returned. The index is not changed on error.
+     *
+     * @param text  the text to parse, not null
+     * @param position  the position to parse from and update, not null
+     * @return the parsed instance, null if the text cannot be parsed
+     * @throws IndexOutOfBoundsException if the index of the position is invalid
+     */
+    public static BigMoney parse(CharSequence text, ParsePosition position) {
+        MoneyUtils.checkNotNull(text, "Money must not be null");
+        MoneyUtils.checkNotNull(position, "ParsePosition must not be null");
+        MoneyScanner scanner = new MoneyScanner();
+        if (!scanner.scan(text, position.getIndex(), false)) {
+            position.setErrorIndex(scanner.getErrorIndex());
+            return null;
+        }
+        BigMoney money = scanner.toBigMoney();
+        position.setIndex(scanner.getEnd());
+        return money;
     }
 
     //-----------------------------------------------------------------------
@@ -326,8 +452,72 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @throws CurrencyMismatchException if the input money is non-null and the currencies differ
      */
     public static BigMoney nonNull(BigMoney money, CurrencyUnit currency) {
-    	// TODO Not Implemented yet
-    	return null;
+        if (money == null) {
+            return zero(currency);
+        }
+        if (!money.getCurrencyUnit().equals(currency)) {
+            MoneyUtils.checkNotNull(currency, "Currency must not be null");
+            throw new CurrencyMismatchException(money.getCurrencyUnit(), currency);
+        }
+        return money;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Creates an instance, returning the canonical instance for zero if possible.
+     * 
+     * @param currency  the currency to use, not null
+     * @param amount  the amount of money, not null
+     * @return the instance, never null
+     */
+    static BigMoney create(CurrencyUnit currency, BigDecimal amount) {
+        if (amount.signum() == 0 && amount.scale() >= 0) {
+            BigMoney cached = MoneyCache.getZero(currency, amount.scale());
+            return cached != null ? cached : MoneyCache.putZero(new BigMoney(currency, amount));
+        }
+        return new BigMoney(currency, amount);
+    }
+
+    /**
+     * Constructor, creating a new monetary instance.
+     * 
+     * @param currency  the currency to use, not null
+     * @param amount  the amount of money, not null
+     */
+    BigMoney(CurrencyUnit currency, BigDecimal amount) {
+        assert currency != null : "Currency must not be null";
+        assert amount != null : "Amount must not be null";
+        this.currency = currency;
+        this.amount = amount;
+    }
+
+    /**
+     * Validates the state after deserialization.
+     * 
+     * @param ois  the input stream, not null
+     * @throws IOException if an error occurs
+     * @throws ClassNotFoundException if a class cannot be found
+     */
+    private void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException {
+        ois.defaultReadObject();
+        if (currency == null || amount == null || amount.getClass() != BigDecimal.class) {
+            throw new InvalidObjectException("Invalid BigMoney");
+        }
+    }
+
+    /**
+     * Returns a new {@code BigMoney}, returning {@code this} if possible.
+     * <p>
+     * This instance is immutable and unaffected by this method.
+     * 
+     * @param newAmount  the new amount to use, not null
+     * @return the new instance, never null
+     */
+    private BigMoney with(BigDecimal newAmount) {
+        if (newAmount.equals(amount)) {
+            return this;
+        }
+        return create(currency, newAmount);
     }
 
     //-----------------------------------------------------------------------
@@ -337,8 +527,7 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @return the currency, never null
      */
     public CurrencyUnit getCurrencyUnit() {
-    	// TODO Not Implemented yet
-    	return null;
+        return currency;
     }
 
     //-----------------------------------------------------------------------
@@ -354,8 +543,8 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @return the new instance with the input currency set, never null
      */
     public BigMoney withCurrencyUnit(CurrencyUnit currency) {
-    	// TODO Not Implemented yet
-    	return null;
+        MoneyUtils.checkNotNull(currency, "CurrencyUnit must not be null");
+        return (this.currency == currency ? this : create(currency, amount));
     }
 
     //-----------------------------------------------------------------------
@@ -373,8 +562,7 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @see #withScale
      */
     public int getScale() {
-    	// TODO Not Implemented yet
-    	return 0;
+        return amount.scale();
     }
 
     /**
@@ -386,8 +574,7 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @return true if the scale equals the current default scale
      */
     public boolean isCurrencyScale() {
-    	// TODO Not Implemented yet
-    	return false;
+        return amount.scale() == currency.getDecimalPlaces();
     }
 
     //-----------------------------------------------------------------------
@@ -407,8 +594,7 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @throws ArithmeticException if the rounding fails
      */
     public BigMoney withScale(int scale) {
-    	// TODO Not Implemented yet
-    	return null;
+        return withScale(scale, RoundingMode.UNNECESSARY);
     }
 
     /**
@@ -427,8 +613,11 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @throws ArithmeticException if the rounding fails
      */
     public BigMoney withScale(int scale, RoundingMode roundingMode) {
-    	// TODO Not Implemented yet
-    	return null;
+        MoneyUtils.checkNotNull(roundingMode, "RoundingMode must not be null");
+        if (scale == amount.scale()) {
+            return this;
+        }
+        return create(currency, amount.setScale(scale, roundingMode));
     }
 
     //-----------------------------------------------------------------------
@@ -447,8 +636,7 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @throws ArithmeticException if the rounding fails
      */
     public BigMoney withCurrencyScale() {
-    	// TODO Not Implemented yet
-    	return null;
+        return withScale(currency.getDecimalPlaces(), RoundingMode.UNNECESSARY);
     }
 
     /**
@@ -465,8 +653,7 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @throws ArithmeticException if the rounding fails
      */
     public BigMoney withCurrencyScale(RoundingMode roundingMode) {
-    	// TODO Not Implemented yet
-    	return null;
+        return withScale(currency.getDecimalPlaces(), roundingMode);
     }
 
     //-----------------------------------------------------------------------
@@ -479,8 +666,7 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @return the amount, never null
      */
     public BigDecimal getAmount() {
-    	// TODO Not Implemented yet
-    	return null;
+        return amount;
     }
 
     /**
@@ -497,8 +683,7 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @return the major units part of the amount, never null
      */
     public BigDecimal getAmountMajor() {
-    	// TODO Not Implemented yet
-    	return null;
+        return amount.setScale(0, RoundingMode.DOWN);
     }
 
     /**
@@ -512,8 +697,7 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @throws ArithmeticException if the amount is too large for a {@code long}
      */
     public long getAmountMajorLong() {
-    	// TODO Not Implemented yet
-    	return 0;
+        return getAmountMajor().longValueExact();
     }
 
     /**
@@ -527,8 +711,7 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @throws ArithmeticException if the amount is too large for an {@code int}
      */
     public int getAmountMajorInt() {
-    	// TODO Not Implemented yet
-    	return 0;
+        return getAmountMajor().intValueExact();
     }
 
     /**
@@ -545,8 +728,8 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @return the minor units part of the amount, never null
      */
     public BigDecimal getAmountMinor() {
-    	// TODO Not Implemented yet
-    	return null;
+        int cdp = currency.getDecimalPlaces();
+        return amount.setScale(cdp, RoundingMode.DOWN).movePointRight(cdp);
     }
 
     /**
@@ -560,8 +743,7 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @throws ArithmeticException if the amount is too large for a {@code long}
      */
     public long getAmountMinorLong() {
-    	// TODO Not Implemented yet
-    	return 0;
+        return getAmountMinor().longValueExact();
     }
 
     /**
@@ -575,8 +757,7 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @throws ArithmeticException if the amount is too large for an {@code int}
      */
     public int getAmountMinorInt() {
-    	// TODO Not Implemented yet
-    	return 0;
+        return getAmountMinor().intValueExact();
     }
 
     /**
@@ -592,8 +773,10 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @return the minor part of the amount, negative if the amount is negative
      */
     public int getMinorPart() {
-    	// TODO Not Implemented yet
-    	return 0;
+        int cdp = currency.getDecimalPlaces();
+        return amount.setScale(cdp, RoundingMode.DOWN)
+                    .remainder(BigDecimal.ONE)
+                    .movePointRight(cdp).intValueExact();
     }
 
     //-----------------------------------------------------------------------
@@ -603,8 +786,7 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @return true if the amount is zero
      */
     public boolean isZero() {
-    	// TODO Not Implemented yet
-    	return false;
+        return amount.signum() == 0;
     }
 
     /**
@@ -613,8 +795,7 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @return true if the amount is greater than zero
      */
     public boolean isPositive() {
-    	// TODO Not Implemented yet
-    	return false;
+        return amount.signum() > 0;
     }
 
     /**
@@ -623,8 +804,7 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @return true if the amount is zero or greater
      */
     public boolean isPositiveOrZero() {
-    	// TODO Not Implemented yet
-    	return false;
+        return amount.signum() >= 0;
     }
 
     /**
@@ -633,8 +813,7 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @return true if the amount is less than zero
      */
     public boolean isNegative() {
-    	// TODO Not Implemented yet
-    	return false;
+        return amount.signum() < 0;
     }
 
     /**
@@ -643,8 +822,7 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @return true if the amount is zero or less
      */
     public boolean isNegativeOrZero() {
-    	// TODO Not Implemented yet
-    	return false;
+        return amount.signum() <= 0;
     }
 
     //-----------------------------------------------------------------------
@@ -660,8 +838,11 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @return the new instance with the input amount set, never null
      */
     public BigMoney withAmount(BigDecimal amount) {
-    	// TODO Not Implemented yet
-    	return null;
+        MoneyUtils.checkNotNull(amount, "Amount must not be null");
+        if (this.amount.equals(amount)) {
+            return this;
+        }
+        return BigMoney.of(currency, amount);
     }
 
     /**
@@ -683,8 +864,7 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @return the new instance with the input amount set, never null
      */
     public BigMoney withAmount(double amount) {
-    	// TODO Not Implemented yet
-    	return null;
+        return withAmount(BigDecimal.valueOf(amount));
     }
 
     //-----------------------------------------------------------------------
@@ -702,8 +882,11 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @throws CurrencyMismatchException if the currencies differ
      */
     public BigMoney plus(Iterable<? extends BigMoneyProvider> moniesToAdd) {
-    	// TODO Not Implemented yet
-    	return null;
+        MoneyAccumulator total = MoneyAccumulator.of(this);
+        for (BigMoneyProvider moneyProvider : moniesToAdd) {
+            total.add(moneyProvider);
+        }
+        return with(total.getAmount());
     }
 
     //-----------------------------------------------------------------------
@@ -724,8 +907,8 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @throws CurrencyMismatchException if the currencies differ
      */
     public BigMoney plus(BigMoneyProvider moneyToAdd) {
-    	// TODO Not Implemented yet
-    	return null;
+        BigMoney toAdd = checkCurrencyEqual(moneyToAdd);
+        return plus(toAdd.getAmount());
     }
 
     /**
@@ -743,8 +926,8 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @return the new instance with the input amount added, never null
      */
     public BigMoney plus(BigDecimal amountToAdd) {
-    	// TODO Not Implemented yet
-    	return null;
+        MoneyUtils.checkNotNull(amountToAdd, "Amount must not be null");
+        return with(amount.add(amountToAdd));
     }
 
     /**
@@ -768,8 +951,7 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @return the new instance with the input amount added, never null
      */
     public BigMoney plus(double amountToAdd) {
-    	// TODO Not Implemented yet
-    	return null;
+        return plus(BigDecimal.valueOf(amountToAdd));
     }
 
     /**
@@ -788,8 +970,7 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @return the new instance with the input amount added, never null
      */
     public BigMoney plusMajor(long amountToAdd) {
-    	// TODO Not Implemented yet
-    	return null;
+        return with(amount.add(BigDecimal.valueOf(amountToAdd)));
     }
 
     /**
@@ -808,8 +989,7 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @return the new instance with the input amount added, never null
      */
     public BigMoney plusMinor(long amountToAdd) {
-    	// TODO Not Implemented yet
-    	return null;
+        return with(amount.add(BigDecimal.valueOf(amountToAdd, currency.getDecimalPlaces())));
     }
 
     //-----------------------------------------------------------------------
@@ -827,8 +1007,8 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @return the new instance with the input amount added, never null
      */
     public BigMoney plusRetainScale(BigMoneyProvider moneyToAdd, RoundingMode roundingMode) {
-    	// TODO Not Implemented yet
-    	return null;
+        BigMoney toAdd = checkCurrencyEqual(moneyToAdd);
+        return plusRetainScale(toAdd.getAmount(), roundingMode);
     }
 
     /**
@@ -845,8 +1025,12 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @return the new instance with the input amount added, never null
      */
     public BigMoney plusRetainScale(BigDecimal amountToAdd, RoundingMode roundingMode) {
-    	// TODO Not Implemented yet
-    	return null;
+        MoneyUtils.checkNotNull(amountToAdd, "Amount must not be null");
+        MoneyUtils.checkNotNull(roundingMode, "RoundingMode must not be null");
+        if (amountToAdd.signum() == 0) {
+            return this;
+        }
+        return with(amount.add(amountToAdd).setScale(getScale(), roundingMode));
     }
 
     /**
@@ -869,8 +1053,7 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @return the new instance with the input amount added, never null
      */
     public BigMoney plusRetainScale(double amountToAdd, RoundingMode roundingMode) {
-    	// TODO Not Implemented yet
-    	return null;
+        return plusRetainScale(BigDecimal.valueOf(amountToAdd), roundingMode);
     }
 
     //-----------------------------------------------------------------------
@@ -888,8 +1071,11 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @throws CurrencyMismatchException if the currencies differ
      */
     public BigMoney minus(Iterable<? extends BigMoneyProvider> moniesToSubtract) {
-    	// TODO Not Implemented yet
-    	return null;
+        MoneyAccumulator total = MoneyAccumulator.of(this);
+        for (BigMoneyProvider moneyProvider : moniesToSubtract) {
+            total.subtract(moneyProvider);
+        }
+        return with(total.getAmount());
     }
 
     //-----------------------------------------------------------------------
@@ -910,8 +1096,8 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @throws CurrencyMismatchException if the currencies differ
      */
     public BigMoney minus(BigMoneyProvider moneyToSubtract) {
-    	// TODO Not Implemented yet
-    	return null;
+        BigMoney toSubtract = checkCurrencyEqual(moneyToSubtract);
+        return minus(toSubtract.getAmount());
     }
 
     /**
@@ -929,8 +1115,8 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @return the new instance with the input amount subtracted, never null
      */
     public BigMoney minus(BigDecimal amountToSubtract) {
-    	// TODO Not Implemented yet
-    	return null;
+        MoneyUtils.checkNotNull(amountToSubtract, "Amount must not be null");
+        return with(amount.subtract(amountToSubtract));
     }
 
     /**
@@ -954,8 +1140,7 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @return the new instance with the input amount subtracted, never null
      */
     public BigMoney minus(double amountToSubtract) {
-    	// TODO Not Implemented yet
-    	return null;
+        return minus(BigDecimal.valueOf(amountToSubtract));
     }
 
     /**
@@ -974,8 +1159,7 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @return the new instance with the input amount subtracted, never null
      */
     public BigMoney minusMajor(long amountToSubtract) {
-    	// TODO Not Implemented yet
-    	return null;
+        return with(amount.subtract(BigDecimal.valueOf(amountToSubtract)));
     }
 
     /**
@@ -994,8 +1178,7 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @return the new instance with the input amount subtracted, never null
      */
     public BigMoney minusMinor(long amountToSubtract) {
-    	// TODO Not Implemented yet
-    	return null;
+        return with(amount.subtract(BigDecimal.valueOf(amountToSubtract, currency.getDecimalPlaces())));
     }
 
     //-----------------------------------------------------------------------
@@ -1013,8 +1196,8 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @return the new instance with the input amount subtracted, never null
      */
     public BigMoney minusRetainScale(BigMoneyProvider moneyToSubtract, RoundingMode roundingMode) {
-    	// TODO Not Implemented yet
-    	return null;
+        BigMoney toSubtract = checkCurrencyEqual(moneyToSubtract);
+        return minusRetainScale(toSubtract.getAmount(), roundingMode);
     }
 
     /**
@@ -1031,8 +1214,12 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @return the new instance with the input amount subtracted, never null
      */
     public BigMoney minusRetainScale(BigDecimal amountToSubtract, RoundingMode roundingMode) {
-    	// TODO Not Implemented yet
-    	return null;
+        MoneyUtils.checkNotNull(amountToSubtract, "Amount must not be null");
+        MoneyUtils.checkNotNull(roundingMode, "RoundingMode must not be null");
+        if (amountToSubtract.signum() == 0) {
+            return this;
+        }
+        return with(amount.subtract(amountToSubtract).setScale(getScale(), roundingMode));
     }
 
     /**
@@ -1055,8 +1242,7 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @return the new instance with the input amount subtracted, never null
      */
     public BigMoney minusRetainScale(double amountToSubtract, RoundingMode roundingMode) {
-    	// TODO Not Implemented yet
-    	return null;
+        return minusRetainScale(BigDecimal.valueOf(amountToSubtract), roundingMode);
     }
 
     //-----------------------------------------------------------------------
@@ -1073,8 +1259,8 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @return the new multiplied instance, never null
      */
     public BigMoney multipliedBy(BigDecimal valueToMultiplyBy) {
-    	// TODO Not Implemented yet
-    	return null;
+        MoneyUtils.checkNotNull(valueToMultiplyBy, "Multiplier must not be null");
+        return with(amount.multiply(valueToMultiplyBy));
     }
 
     /**
@@ -1096,8 +1282,7 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @return the new multiplied instance, never null
      */
     public BigMoney multipliedBy(double valueToMultiplyBy) {
-    	// TODO Not Implemented yet
-    	return null;
+        return multipliedBy(BigDecimal.valueOf(valueToMultiplyBy));
     }
 
     /**
@@ -1113,8 +1298,10 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @return the new multiplied instance, never null
      */
     public BigMoney multipliedBy(long valueToMultiplyBy) {
-    	// TODO Not Implemented yet
-    	return null;
+        if (valueToMultiplyBy == 1) {
+            return this;
+        }
+        return with(amount.multiply(BigDecimal.valueOf(valueToMultiplyBy)));
     }
 
     //-----------------------------------------------------------------------
@@ -1134,8 +1321,12 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @throws ArithmeticException if the rounding fails
      */
     public BigMoney multiplyRetainScale(BigDecimal valueToMultiplyBy, RoundingMode roundingMode) {
-    	// TODO Not Implemented yet
-    	return null;
+        MoneyUtils.checkNotNull(valueToMultiplyBy, "Multiplier must not be null");
+        MoneyUtils.checkNotNull(roundingMode, "RoundingMode must not be null");
+        if (valueToMultiplyBy.compareTo(BigDecimal.ONE) == 0) {
+            return this;
+        }
+        return with(amount.multiply(valueToMultiplyBy).setScale(getScale(), roundingMode));
     }
 
     /**
@@ -1160,8 +1351,7 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @throws ArithmeticException if the rounding fails
      */
     public BigMoney multiplyRetainScale(double valueToMultiplyBy, RoundingMode roundingMode) {
-    	// TODO Not Implemented yet
-    	return null;
+        return multiplyRetainScale(BigDecimal.valueOf(valueToMultiplyBy), roundingMode);
     }
 
     //-----------------------------------------------------------------------
@@ -1182,8 +1372,12 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @throws ArithmeticException if the rounding fails
      */
     public BigMoney dividedBy(BigDecimal valueToDivideBy, RoundingMode roundingMode) {
-    	// TODO Not Implemented yet
-    	return null;
+        MoneyUtils.checkNotNull(valueToDivideBy, "Divisor must not be null");
+        MoneyUtils.checkNotNull(roundingMode, "RoundingMode must not be null");
+        if (valueToDivideBy.compareTo(BigDecimal.ONE) == 0) {
+            return this;
+        }
+        return with(amount.divide(valueToDivideBy, roundingMode));
     }
 
     /**
@@ -1209,8 +1403,7 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @throws ArithmeticException if the rounding fails
      */
     public BigMoney dividedBy(double valueToDivideBy, RoundingMode roundingMode) {
-    	// TODO Not Implemented yet
-    	return null;
+        return dividedBy(BigDecimal.valueOf(valueToDivideBy), roundingMode);
     }
 
     /**
@@ -1229,8 +1422,16 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @throws ArithmeticException if dividing by zero
      */
     public BigMoney dividedBy(long valueToDivideBy, RoundingMode roundingMode) {
-    	// TODO Not Implemented yet
-    	return null;
+        MoneyUtils.checkNotNull(roundingMode, "RoundingMode must not be null");
+        if (valueToDivideBy == 1) {
+            return this;
+        }
+        if (valueToDivideBy != 0 && amount.precision() < 19) {
+            // divide the unscaled value directly, which cannot overflow at this precision
+            long unscaled = MoneyUtils.unscaledLong(amount);
+            return with(BigDecimal.valueOf(MoneyUtils.divide(unscaled, valueToDivideBy, roundingMode), amount.scale()));
+        }
+        return with(amount.divide(BigDecimal.valueOf(valueToDivideBy), roundingMode));
     }
 
     //-----------------------------------------------------------------------
@@ -1242,8 +1443,10 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @return the new instance with the amount negated, never null
      */
     public BigMoney negated() {
-    	// TODO Not Implemented yet
-        return null;
+        if (isZero()) {
+            return this;
+        }
+        return create(currency, amount.negate());
     }
 
     /**
@@ -1254,8 +1457,7 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @return the new instance with the amount converted to be positive, never null
      */
     public BigMoney abs() {
-    	// TODO Not Implemented yet
-    	return null;
+        return (isNegative() ? negated() : this);
     }
 
     //-----------------------------------------------------------------------
@@ -1281,8 +1483,13 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @throws ArithmeticException if the rounding fails
      */
     public BigMoney rounded(int scale, RoundingMode roundingMode) {
-    	// TODO Not Implemented yet
-    	return null;
+        MoneyUtils.checkNotNull(roundingMode, "RoundingMode must not be null");
+        if (scale >= getScale()) {
+            return this;
+        }
+        int currentScale = amount.scale();
+        BigDecimal newAmount = amount.setScale(scale, roundingMode).setScale(currentScale);
+        return with(newAmount);
     }
 
     //-----------------------------------------------------------------------
@@ -1303,8 +1510,16 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @throws IllegalArgumentException if the conversion multiplier is negative
      */
     public BigMoney convertedTo(CurrencyUnit currency, BigDecimal conversionMultipler) {
-    	// TODO Not Implemented yet
-    	return null;
+        MoneyUtils.checkNotNull(currency, "CurrencyUnit must not be null");
+        MoneyUtils.checkNotNull(conversionMultipler, "Multiplier must not be null");
+        if (this.currency == currency) {
+            throw new IllegalArgumentException("Cannot convert to the same currency");
+        }
+        if (conversionMultipler.signum() < 0) {
+            throw new IllegalArgumentException("Cannot convert using a negative conversion multiplier");
+        }
+        BigDecimal newAmount = amount.multiply(conversionMultipler);
+        return BigMoney.of(currency, newAmount);
     }
 
     /**
@@ -1326,8 +1541,23 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @throws ArithmeticException if the rounding fails
      */
     public BigMoney convertRetainScale(CurrencyUnit currency, BigDecimal conversionMultipler, RoundingMode roundingMode) {
-    	// TODO Not Implemented yet
-    	return null;
+        return convertedTo(currency, conversionMultipler).withScale(getScale(), roundingMode);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Validates that the currency of this money and the specified money match.
+     * 
+     * @param moneyProvider  the money to check, not null
+     * @return the money, never null
+     * @throws CurrencyMismatchException if the currencies differ
+     */
+    private BigMoney checkCurrencyEqual(BigMoneyProvider moneyProvider) {
+        BigMoney money = of(moneyProvider);
+        if (!isSameCurrency(money)) {
+            throw new CurrencyMismatchException(getCurrencyUnit(), money.getCurrencyUnit());
+        }
+        return money;
     }
 
     //-----------------------------------------------------------------------
@@ -1338,8 +1568,7 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @return the money instance, never null
      */
     public BigMoney toBigMoney() {
-    	// TODO Not Implemented yet
-    	return null;
+        return this;
     }
 
     /**
@@ -1350,8 +1579,7 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @throws ArithmeticException if the rounding fails
      */
     public Money toMoney() {
-    	// TODO Not Implemented yet
-        return null;
+        return Money.of(this);
     }
 
     /**
@@ -1362,8 +1590,7 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @throws ArithmeticException if the rounding fails
      */
     public Money toMoney(RoundingMode roundingMode) {
-    	// TODO Not Implemented yet
-    	return null;
+        return Money.of(this, roundingMode);
     }
 
     //-----------------------------------------------------------------------
@@ -1374,8 +1601,7 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @return true if they have the same currency
      */
     public boolean isSameCurrency(BigMoneyProvider money) {
-    	// TODO Not Implemented yet
-        return false;
+        return (currency.equals(of(money).getCurrencyUnit()));
     }
 
     //-----------------------------------------------------------------------
@@ -1388,8 +1614,12 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @throws CurrencyMismatchException if the currencies differ
      */
     public int compareTo(BigMoneyProvider other) {
-    	// TODO Not Implemented yet
-        return 0;
+        BigMoney otherMoney = (other instanceof BigMoney ? (BigMoney) other : of(other));
+        if (currency != otherMoney.currency && !currency.equals(otherMoney.currency)) {
+            throw new CurrencyMismatchException(getCurrencyUnit(), otherMoney.getCurrencyUnit());
+        }
+        // compares the unscaled values directly, scaling by a power of ten if the scales differ
+        return amount.compareTo(otherMoney.amount);
     }
 
     /**
@@ -1406,8 +1636,7 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @see #equals(Object)
      */
     public boolean isEqual(BigMoneyProvider other) {
-    	// TODO Not Implemented yet
-    	return false;
+        return compareTo(other) == 0;
     }
 
     /**
@@ -1419,8 +1648,7 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @throws CurrencyMismatchException if the currencies differ
      */
     public boolean isGreaterThan(BigMoneyProvider other) {
-    	// TODO Not Implemented yet
-    	return false;
+        return compareTo(other) > 0;
     }
 
     /**
@@ -1432,8 +1660,7 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * @throws CurrencyMismatchException if the currencies differ
      */
     public boolean isLessThan(BigMoneyProvider other) {
-    	// TODO Not Implemented yet
-        return false;
+        return compareTo(other) < 0;
     }
 
     //-----------------------------------------------------------------------
@@ -1451,19 +1678,36 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      */
     @Override
     public boolean equals(Object other) {
-    	// TODO Not Implemented yet
+        if (this == other) {
+            return true;
+        }
+        if (other instanceof BigMoney) {
+            BigMoney otherMoney = (BigMoney) other;
+            int otherHash = otherMoney.hash;
+            if (hash != 0 && otherHash != 0 && hash != otherHash) {
+                return false;
+            }
+            return currency.equals(otherMoney.getCurrencyUnit()) &&
+                    amount.equals(otherMoney.amount);
+        }
         return false;
     }
 
     /**
      * Returns a hash code for this monetary value.
+     * <p>
+     * The hash code is calculated once and cached.
      * 
      * @return a suitable hash code
      */
     @Override
     public int hashCode() {
-    	// TODO Not Implemented yet
-        return 0;
+        int result = hash;
+        if (result == 0) {
+            result = currency.hashCode() ^ amount.hashCode();
+            hash = result;
+        }
+        return result;
     }
 
     //-----------------------------------------------------------------------
@@ -1477,7 +1721,65 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      */
     @Override
     public String toString() {
-    	// TODO Not Implemented yet
-    	return null;
+        if (isCompact()) {
+            char[] buf = new char[MoneyUtils.MAX_CHARS];
+            int start = MoneyUtils.getChars(currency, MoneyUtils.unscaledLong(amount), amount.scale(), buf);
+            return new String(buf, start, buf.length - start);
+        }
+        return appendTo(new StringBuilder(amount.precision() + Math.abs(amount.scale()) + 8)).toString();
+    }
+
+    /**
+     * Appends the monetary value to a {@code StringBuilder} in the format of {@link #toString()}.
+     * <p>
+     * The digits are written directly from the unscaled amount where possible.
+     * This creates no {@code BigInteger}, although a small character buffer is still created,
+     * together with a {@code BigDecimal} if the scale is non-zero.
+     * 
+     * @param buf  the builder to append to, not null
+     * @return the specified builder, never null
+     */
+    public StringBuilder appendTo(StringBuilder buf) {
+        MoneyUtils.checkNotNull(buf, "StringBuilder must not be null");
+        if (isCompact()) {
+            char[] chars = new char[MoneyUtils.MAX_CHARS];
+            int start = MoneyUtils.getChars(currency, MoneyUtils.unscaledLong(amount), amount.scale(), chars);
+            return buf.append(chars, start, chars.length - start);
+        }
+        return buf.append(currency.getCode()).append(' ').append(amount.toPlainString());
+    }
+
+    /**
+     * Appends the monetary value to an {@code Appendable} in the format of {@link #toString()}.
+     * <p>
+     * Example implementations of {@code Appendable} are {@code StringBuilder},
+     * {@code StringBuffer} or {@code Writer}.
+     * 
+     * @param appendable  the appendable to append to, not null
+     * @throws IOException if an IO error occurs
+     */
+    public void appendTo(Appendable appendable) throws IOException {
+        MoneyUtils.checkNotNull(appendable, "Appendable must not be null");
+        if (appendable instanceof StringBuilder) {
+            appendTo((StringBuilder) appendable);
+        } else if (isCompact()) {
+            char[] chars = new char[MoneyUtils.MAX_CHARS];
+            int start = MoneyUtils.getChars(currency, MoneyUtils.unscaledLong(amount), amount.scale(), chars);
+            for (int i = start; i < chars.length; i++) {
+                appendable.append(chars[i]);
+            }
+        } else {
+            appendable.append(currency.getCode()).append(' ').append(amount.toPlainString());
+        }
+    }
+
+    /**
+     * Checks if the amount can be output directly from a {@code long}.
+     * 
+     * @return true if the unscaled amount fits in a {@code long} and the scale is from 0 to 18
+     */
+    private boolean isCompact() {
+        int scale = amount.scale();
+        return scale >= 0 && scale < MoneyUtils.POWERS_OF_TEN.length && amount.precision() < 19;
     }
 }
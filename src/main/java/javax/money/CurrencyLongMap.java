@@ -0,0 +1,327 @@
+/*
+ *  Copyright 2009-2011 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package javax.money;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * A map from currency to {@code long} backed by an array indexed by currency ordinal.
+ * <p>
+ * This is a primitive specialization of {@link CurrencyMap}, intended for totals held
+ * in minor units, such as cents. Values are never boxed, thus accumulating an amount
+ * with {@link #add(CurrencyUnit, long)} is a single array update.
+ * The map grows as needed when currencies are registered after it is created.
+ * <p>
+ * A currency that is not in the map has the value zero, but is distinct from
+ * a currency that is mapped to zero.
+ * <p>
+ * This class is mutable and not thread-safe.
+ */
+public final class CurrencyLongMap implements Cloneable, Serializable {
+
+    /**
+     * The serialisation version.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The currencies that are mapped.
+     */
+    private transient CurrencySet currencies;
+    /**
+     * The values, indexed by ordinal, zero if not mapped.
+     */
+    private transient long[] values;
+
+    /**
+     * Constructor creating an empty map, sized to the registered currencies.
+     */
+    public CurrencyLongMap() {
+        currencies = CurrencySet.noneOf();
+        values = new long[CurrencyUnit.ordinalLimit()];
+    }
+
+    /**
+     * Constructor creating a map containing the mappings of the specified map.
+     *
+     * @param map  the map to copy, not null
+     */
+    public CurrencyLongMap(CurrencyLongMap map) {
+        MoneyUtils.checkNotNull(map, "Map must not be null");
+        currencies = map.currencies.clone();
+        values = map.values.clone();
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the number of mappings.
+     *
+     * @return the number of currencies in the map
+     */
+    public int size() {
+        return currencies.size();
+    }
+
+    /**
+     * Checks if the map is empty.
+     *
+     * @return true if there are no mappings
+     */
+    public boolean isEmpty() {
+        return currencies.isEmpty();
+    }
+
+    /**
+     * Checks if the currency is mapped.
+     *
+     * @param currency  the currency, null returns false
+     * @return true if the currency is in the map
+     */
+    public boolean containsKey(CurrencyUnit currency) {
+        return currencies.contains(currency);
+    }
+
+    /**
+     * Gets the value of a currency.
+     *
+     * @param currency  the currency, not null
+     * @return the value, zero if not mapped
+     */
+    public long get(CurrencyUnit currency) {
+        MoneyUtils.checkNotNull(currency, "Currency must not be null");
+        int ordinal = currency.getOrdinal();
+        return ordinal < values.length ? values[ordinal] : 0;
+    }
+
+    /**
+     * Associates a value with a currency.
+     *
+     * @param currency  the currency, not null
+     * @param value  the value
+     * @return the previous value, zero if not mapped
+     */
+    public long put(CurrencyUnit currency, long value) {
+        int ordinal = ensureMapped(currency);
+        long old = values[ordinal];
+        values[ordinal] = value;
+        return old;
+    }
+
+    /**
+     * Adds an amount to the value of a currency.
+     * <p>
+     * A currency that is not mapped is treated as zero, and is mapped afterwards.
+     *
+     * @param currency  the currency, not null
+     * @param amount  the amount to add
+     * @return the new value
+     * @throws ArithmeticException if the value overflows a {@code long}
+     */
+    public long add(CurrencyUnit currency, long amount) {
+        int ordinal = ensureMapped(currency);
+        long old = values[ordinal];
+        long total = old + amount;
+        if (((old ^ total) & (amount ^ total)) < 0) {
+            throw new ArithmeticException("Total overflows a long for currency " + currency + ": " + old + " + " + amount);
+        }
+        values[ordinal] = total;
+        return total;
+    }
+
+    /**
+     * Adds all the values of another map to this map.
+     *
+     * @param map  the map to add, not null
+     * @throws ArithmeticException if a value overflows a {@code long}
+     */
+    public void addAll(CurrencyLongMap map) {
+        MoneyUtils.checkNotNull(map, "Map must not be null");
+        for (int ordinal = map.currencies.nextOrdinal(0); ordinal >= 0; ordinal = map.currencies.nextOrdinal(ordinal + 1)) {
+            add(CurrencyUnit.ofKnownOrdinal(ordinal), map.values[ordinal]);
+        }
+    }
+
+    /**
+     * Removes the mapping of a currency.
+     *
+     * @param currency  the currency, null ignored
+     * @return the previous value, zero if not mapped
+     */
+    public long remove(CurrencyUnit currency) {
+        if (currencies.remove(currency)) {
+            long old = values[currency.getOrdinal()];
+            values[currency.getOrdinal()] = 0;
+            return old;
+        }
+        return 0;
+    }
+
+    /**
+     * Removes all mappings.
+     */
+    public void clear() {
+        currencies.clear();
+        Arrays.fill(values, 0);
+    }
+
+    /**
+     * Ensures the currency is mapped, growing the array if necessary.
+     *
+     * @param currency  the currency, not null
+     * @return the ordinal of the currency
+     */
+    private int ensureMapped(CurrencyUnit currency) {
+        MoneyUtils.checkNotNull(currency, "Currency must not be null");
+        int ordinal = currency.getOrdinal();
+        if (ordinal >= values.length) {
+            values = Arrays.copyOf(values, Math.max(CurrencyUnit.ordinalLimit(), ordinal + 1));
+        }
+        currencies.add(currency);
+        return ordinal;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the set of currencies in the map.
+     * <p>
+     * The result is a copy and not a view.
+     *
+     * @return the new set of currencies, never null
+     */
+    public CurrencySet currencies() {
+        return currencies.clone();
+    }
+
+    /**
+     * Converts this map to a {@code CurrencyMap} of boxed values.
+     *
+     * @return the new map, never null
+     */
+    public CurrencyMap<Long> toMap() {
+        CurrencyMap<Long> map = new CurrencyMap<Long>();
+        for (int ordinal = currencies.nextOrdinal(0); ordinal >= 0; ordinal = currencies.nextOrdinal(ordinal + 1)) {
+            map.put(CurrencyUnit.ofKnownOrdinal(ordinal), values[ordinal]);
+        }
+        return map;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Returns a copy of this map.
+     *
+     * @return the copy, never null
+     */
+    @Override
+    public CurrencyLongMap clone() {
+        return new CurrencyLongMap(this);
+    }
+
+    /**
+     * Checks if this map equals another map.
+     *
+     * @param obj  the other object, null returns false
+     * @return true if the maps have the same mappings
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (obj instanceof CurrencyLongMap) {
+            CurrencyLongMap other = (CurrencyLongMap) obj;
+            if (!currencies.equals(other.currencies)) {
+                return false;
+            }
+            for (int ordinal = currencies.nextOrdinal(0); ordinal >= 0; ordinal = currencies.nextOrdinal(ordinal + 1)) {
+                if (values[ordinal] != other.values[ordinal]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns a suitable hash code, compatible with {@code Map<CurrencyUnit, Long>}.
+     *
+     * @return the hash code
+     */
+    @Override
+    public int hashCode() {
+        int hash = 0;
+        for (int ordinal = currencies.nextOrdinal(0); ordinal >= 0; ordinal = currencies.nextOrdinal(ordinal + 1)) {
+            long value = values[ordinal];
+            hash += CurrencyUnit.ofKnownOrdinal(ordinal).hashCode() ^ (int) (value ^ (value >>> 32));
+        }
+        return hash;
+    }
+
+    /**
+     * Gets the mappings as a string, such as '{GBP=1250, USD=-300}'.
+     *
+     * @return the string, never null
+     */
+    @Override
+    public String toString() {
+        StringBuilder buf = new StringBuilder().append('{');
+        for (int ordinal = currencies.nextOrdinal(0); ordinal >= 0; ordinal = currencies.nextOrdinal(ordinal + 1)) {
+            if (buf.length() > 1) {
+                buf.append(", ");
+            }
+            buf.append(CurrencyUnit.ofKnownOrdinal(ordinal).getCode()).append('=').append(values[ordinal]);
+        }
+        return buf.append('}').toString();
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Outputs the mappings by currency, as ordinals are not stable between applications.
+     *
+     * @param out  the output stream, not null
+     * @throws IOException if an error occurs
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(currencies.size());
+        for (int ordinal = currencies.nextOrdinal(0); ordinal >= 0; ordinal = currencies.nextOrdinal(ordinal + 1)) {
+            out.writeObject(CurrencyUnit.ofKnownOrdinal(ordinal));
+            out.writeLong(values[ordinal]);
+        }
+    }
+
+    /**
+     * Inputs the mappings, resolving the ordinals in this application.
+     *
+     * @param in  the input stream, not null
+     * @throws IOException if an error occurs
+     * @throws ClassNotFoundException if a class cannot be found
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        currencies = CurrencySet.noneOf();
+        values = new long[CurrencyUnit.ordinalLimit()];
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            put((CurrencyUnit) in.readObject(), in.readLong());
+        }
+    }
+
+}
@@ -0,0 +1,415 @@
+/*
+ *  Copyright 2009-2011 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package javax.money;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A map keyed by currency backed by an array indexed by currency ordinal.
+ * <p>
+ * This is the currency equivalent of {@link java.util.EnumMap}.
+ * Each value is held in an array slot found using {@link CurrencyUnit#getOrdinal()},
+ * thus access needs no hashing and creates no entry objects.
+ * The map grows as needed when currencies are registered after it is created.
+ * <p>
+ * The iterators return the mappings in ordinal order, which is not necessarily
+ * alphabetical order. The iterators are not fail-fast.
+ * Null keys are not permitted, but null values are.
+ * <p>
+ * This class is mutable and not thread-safe.
+ *
+ * @param <V> the type of the values
+ */
+public final class CurrencyMap<V> extends AbstractMap<CurrencyUnit, V> implements Cloneable, Serializable {
+
+    /**
+     * The serialisation version.
+     */
+    private static final long serialVersionUID = 1L;
+    /**
+     * The placeholder for a null value, as null marks an empty slot.
+     */
+    private static final Object NULL = new Object();
+
+    /**
+     * The values, indexed by ordinal, null if not mapped.
+     */
+    private transient Object[] values;
+    /**
+     * The number of mappings.
+     */
+    private transient int size;
+    /**
+     * The entry set view, created when first needed.
+     */
+    private transient Set<Map.Entry<CurrencyUnit, V>> entrySet;
+
+    /**
+     * Constructor creating an empty map, sized to the registered currencies.
+     */
+    public CurrencyMap() {
+        values = new Object[CurrencyUnit.ordinalLimit()];
+    }
+
+    /**
+     * Constructor creating a map containing the mappings of the specified map.
+     *
+     * @param map  the map to copy, not null
+     */
+    public CurrencyMap(Map<CurrencyUnit, ? extends V> map) {
+        MoneyUtils.checkNotNull(map, "Map must not be null");
+        if (map instanceof CurrencyMap<?>) {
+            CurrencyMap<?> other = (CurrencyMap<?>) map;
+            values = other.values.clone();
+            size = other.size;
+        } else {
+            values = new Object[CurrencyUnit.ordinalLimit()];
+            putAll(map);
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        if (key instanceof CurrencyUnit) {
+            int ordinal = ((CurrencyUnit) key).getOrdinal();
+            return ordinal < values.length && values[ordinal] != null;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        Object masked = maskNull(value);
+        for (Object stored : values) {
+            if (stored != null && stored.equals(masked)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public V get(Object key) {
+        if (key instanceof CurrencyUnit) {
+            int ordinal = ((CurrencyUnit) key).getOrdinal();
+            if (ordinal < values.length) {
+                return unmaskNull(values[ordinal]);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Associates a value with a currency.
+     *
+     * @param currency  the currency, not null
+     * @param value  the value, may be null
+     * @return the previous value, null if none
+     */
+    @Override
+    public V put(CurrencyUnit currency, V value) {
+        MoneyUtils.checkNotNull(currency, "Currency must not be null");
+        int ordinal = currency.getOrdinal();
+        if (ordinal >= values.length) {
+            Object[] grown = new Object[Math.max(CurrencyUnit.ordinalLimit(), ordinal + 1)];
+            System.arraycopy(values, 0, grown, 0, values.length);
+            values = grown;
+        }
+        Object old = values[ordinal];
+        values[ordinal] = maskNull(value);
+        if (old == null) {
+            size++;
+        }
+        return unmaskNull(old);
+    }
+
+    @Override
+    public V remove(Object key) {
+        if (key instanceof CurrencyUnit) {
+            int ordinal = ((CurrencyUnit) key).getOrdinal();
+            if (ordinal < values.length) {
+                Object old = values[ordinal];
+                if (old != null) {
+                    values[ordinal] = null;
+                    size--;
+                }
+                return unmaskNull(old);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < values.length; i++) {
+            values[i] = null;
+        }
+        size = 0;
+    }
+
+    /**
+     * Masks a null value.
+     *
+     * @param value  the value, may be null
+     * @return the stored form, not null
+     */
+    private static Object maskNull(Object value) {
+        return value == null ? NULL : value;
+    }
+
+    /**
+     * Unmasks a stored value.
+     *
+     * @param stored  the stored form, null if not mapped
+     * @return the value, may be null
+     */
+    @SuppressWarnings("unchecked")
+    private static <V> V unmaskNull(Object stored) {
+        return stored == NULL ? null : (V) stored;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the set of currencies in the map.
+     * <p>
+     * Unlike {@link #keySet()}, the result is a copy and not a view.
+     *
+     * @return the new set of currencies, never null
+     */
+    public CurrencySet currencies() {
+        CurrencySet set = CurrencySet.noneOf();
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                set.add(CurrencyUnit.ofKnownOrdinal(i));
+            }
+        }
+        return set;
+    }
+
+    /**
+     * Gets a view of the mappings in ordinal order.
+     * <p>
+     * The entries write through to this map.
+     *
+     * @return the entry set view, never null
+     */
+    @Override
+    public Set<Map.Entry<CurrencyUnit, V>> entrySet() {
+        Set<Map.Entry<CurrencyUnit, V>> set = entrySet;
+        if (set == null) {
+            set = entrySet = new AbstractSet<Map.Entry<CurrencyUnit, V>>() {
+                @Override
+                public int size() {
+                    return size;
+                }
+                @Override
+                public void clear() {
+                    CurrencyMap.this.clear();
+                }
+                @Override
+                public Iterator<Map.Entry<CurrencyUnit, V>> iterator() {
+                    return new EntryIterator();
+                }
+            };
+        }
+        return set;
+    }
+
+    /**
+     * Iterator over the mappings in ordinal order.
+     */
+    private final class EntryIterator implements Iterator<Map.Entry<CurrencyUnit, V>> {
+        /**
+         * The next ordinal to return.
+         */
+        private int next = nextOrdinal(0);
+        /**
+         * The last ordinal returned, -1 if none or removed.
+         */
+        private int last = -1;
+
+        public boolean hasNext() {
+            return next < values.length;
+        }
+
+        public Map.Entry<CurrencyUnit, V> next() {
+            if (next >= values.length) {
+                throw new NoSuchElementException();
+            }
+            last = next;
+            next = nextOrdinal(next + 1);
+            return new Entry(last);
+        }
+
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            if (values[last] != null) {
+                values[last] = null;
+                size--;
+            }
+            last = -1;
+        }
+    }
+
+    /**
+     * Finds the next mapped ordinal.
+     *
+     * @param fromOrdinal  the ordinal to search from, inclusive
+     * @return the next mapped ordinal, the array length if none
+     */
+    private int nextOrdinal(int fromOrdinal) {
+        int ordinal = fromOrdinal;
+        while (ordinal < values.length && values[ordinal] == null) {
+            ordinal++;
+        }
+        return ordinal;
+    }
+
+    /**
+     * Entry that writes through to the map.
+     */
+    private final class Entry implements Map.Entry<CurrencyUnit, V> {
+        /**
+         * The ordinal of the currency.
+         */
+        private final int ordinal;
+
+        /**
+         * Constructor.
+         *
+         * @param ordinal  the ordinal of the currency
+         */
+        Entry(int ordinal) {
+            this.ordinal = ordinal;
+        }
+
+        public CurrencyUnit getKey() {
+            return CurrencyUnit.ofKnownOrdinal(ordinal);
+        }
+
+        public V getValue() {
+            return CurrencyMap.<V>unmaskNull(values[ordinal]);
+        }
+
+        public V setValue(V value) {
+            if (values[ordinal] == null) {
+                throw new IllegalStateException("Entry was removed");
+            }
+            V old = getValue();
+            values[ordinal] = maskNull(value);
+            return old;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj instanceof Map.Entry<?, ?>) {
+                Map.Entry<?, ?> other = (Map.Entry<?, ?>) obj;
+                V value = getValue();
+                return getKey().equals(other.getKey()) &&
+                        (value == null ? other.getValue() == null : value.equals(other.getValue()));
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            V value = getValue();
+            return getKey().hashCode() ^ (value == null ? 0 : value.hashCode());
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Returns a copy of this map.
+     *
+     * @return the copy, never null
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public CurrencyMap<V> clone() {
+        try {
+            CurrencyMap<V> copy = (CurrencyMap<V>) super.clone();
+            copy.values = values.clone();
+            copy.entrySet = null;
+            return copy;
+        } catch (CloneNotSupportedException ex) {
+            throw new AssertionError(ex);
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Outputs the mappings by currency, as ordinals are not stable between applications.
+     *
+     * @param out  the output stream, not null
+     * @throws IOException if an error occurs
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(size);
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                out.writeObject(CurrencyUnit.ofKnownOrdinal(i));
+                out.writeObject(unmaskNull(values[i]));
+            }
+        }
+    }
+
+    /**
+     * Inputs the mappings, resolving the ordinals in this application.
+     *
+     * @param in  the input stream, not null
+     * @throws IOException if an error occurs
+     * @throws ClassNotFoundException if a class cannot be found
+     */
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        values = new Object[CurrencyUnit.ordinalLimit()];
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            put((CurrencyUnit) in.readObject(), (V) in.readObject());
+        }
+    }
+
+}
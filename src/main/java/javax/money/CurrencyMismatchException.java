@@ -30,13 +30,23 @@ public class CurrencyMismatchException extends IllegalArgumentException {
     /** Serialization lock. */
     private static final long serialVersionUID = 1L;
 
+    /** First currency. */
+    private final CurrencyUnit firstCurrency;
+    /** Second currency. */
+    private final CurrencyUnit secondCurrency;
+
     /**
      * Constructor.
      * 
      * @param firstCurrency  the first currency, may be null
+     * @param secondCurrency  the second currency, not null
      */
     public CurrencyMismatchException(CurrencyUnit firstCurrency, CurrencyUnit secondCurrency) {
-    	// TODO Not Implemented yet
+        super("Currencies differ: " +
+                (firstCurrency != null ? firstCurrency.getCode() : "null") + '/' +
+                (secondCurrency != null ? secondCurrency.getCode() : "null"));
+        this.firstCurrency = firstCurrency;
+        this.secondCurrency = secondCurrency;
     }
 
     //-----------------------------------------------------------------------
@@ -46,8 +56,7 @@ public class CurrencyMismatchException extends IllegalArgumentException {
      * @return the currency at fault, may be null
      */
     public CurrencyUnit getFirstCurrency() {
-    	// TODO Not Implemented yet
-    	return null;
+        return firstCurrency;
     }
 
     /**
@@ -56,8 +65,7 @@ public class CurrencyMismatchException extends IllegalArgumentException {
      * @return the currency at fault, may be null
      */
     public CurrencyUnit getSecondCurrency() {
-    	// TODO Not Implemented yet
-    	return null;
+        return secondCurrency;
     }
 
 }
@@ -0,0 +1,419 @@
+/*
+ *  Copyright 2009-2011 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package javax.money;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A set of currencies backed by a bit set indexed by currency ordinal.
+ * <p>
+ * This is the currency equivalent of {@link java.util.EnumSet}.
+ * Each currency is a single bit, found using {@link CurrencyUnit#getOrdinal()},
+ * thus membership tests need neither hashing nor boxing.
+ * The set grows as needed when currencies are registered after it is created.
+ * <p>
+ * The iterator returns the currencies in ordinal order, which is not necessarily
+ * alphabetical order. The iterator is not fail-fast.
+ * Null elements are not permitted.
+ * <p>
+ * This class is mutable and not thread-safe.
+ */
+public final class CurrencySet extends AbstractSet<CurrencyUnit> implements Cloneable, Serializable {
+
+    /**
+     * The serialisation version.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The bits, one for each ordinal.
+     */
+    private transient long[] words;
+    /**
+     * The number of currencies in the set.
+     */
+    private transient int size;
+
+    //-----------------------------------------------------------------------
+    /**
+     * Obtains an empty set.
+     *
+     * @return the new empty set, never null
+     */
+    public static CurrencySet noneOf() {
+        return new CurrencySet();
+    }
+
+    /**
+     * Obtains a set containing all the registered currencies.
+     *
+     * @return the new set, never null
+     */
+    public static CurrencySet allOf() {
+        CurrencySet set = new CurrencySet();
+        set.addAll(CurrencyUnit.registeredCurrencies());
+        return set;
+    }
+
+    /**
+     * Obtains a set containing the specified currencies.
+     *
+     * @param first  the first currency, not null
+     * @param rest  the remaining currencies, not null
+     * @return the new set, never null
+     */
+    public static CurrencySet of(CurrencyUnit first, CurrencyUnit... rest) {
+        CurrencySet set = new CurrencySet();
+        set.add(first);
+        for (CurrencyUnit currency : rest) {
+            set.add(currency);
+        }
+        return set;
+    }
+
+    /**
+     * Obtains a set containing the currencies of the specified collection.
+     *
+     * @param currencies  the currencies to copy, not null
+     * @return the new set, never null
+     */
+    public static CurrencySet copyOf(Collection<CurrencyUnit> currencies) {
+        MoneyUtils.checkNotNull(currencies, "Currencies must not be null");
+        if (currencies instanceof CurrencySet) {
+            return ((CurrencySet) currencies).clone();
+        }
+        CurrencySet set = new CurrencySet();
+        set.addAll(currencies);
+        return set;
+    }
+
+    /**
+     * Constructor, sized to the registered currencies.
+     */
+    private CurrencySet() {
+        words = new long[wordCount(CurrencyUnit.ordinalLimit())];
+    }
+
+    /**
+     * Gets the number of words needed to hold the specified number of bits.
+     *
+     * @param bits  the number of bits
+     * @return the number of words
+     */
+    private static int wordCount(int bits) {
+        return (bits + 63) >>> 6;
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean contains(Object obj) {
+        if (obj instanceof CurrencyUnit) {
+            int ordinal = ((CurrencyUnit) obj).getOrdinal();
+            int index = ordinal >>> 6;
+            return index < words.length && (words[index] & (1L << ordinal)) != 0;
+        }
+        return false;
+    }
+
+    /**
+     * Adds a currency to the set.
+     *
+     * @param currency  the currency to add, not null
+     * @return true if the set changed
+     */
+    @Override
+    public boolean add(CurrencyUnit currency) {
+        MoneyUtils.checkNotNull(currency, "Currency must not be null");
+        int ordinal = currency.getOrdinal();
+        int index = ordinal >>> 6;
+        if (index >= words.length) {
+            long[] grown = new long[Math.max(wordCount(CurrencyUnit.ordinalLimit()), index + 1)];
+            System.arraycopy(words, 0, grown, 0, words.length);
+            words = grown;
+        }
+        long old = words[index];
+        words[index] = old | (1L << ordinal);
+        if (words[index] != old) {
+            size++;
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean remove(Object obj) {
+        if (obj instanceof CurrencyUnit) {
+            int ordinal = ((CurrencyUnit) obj).getOrdinal();
+            int index = ordinal >>> 6;
+            if (index < words.length) {
+                long old = words[index];
+                words[index] = old & ~(1L << ordinal);
+                if (words[index] != old) {
+                    size--;
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean containsAll(Collection<?> collection) {
+        if (collection instanceof CurrencySet) {
+            long[] other = ((CurrencySet) collection).words;
+            for (int i = 0; i < other.length; i++) {
+                long word = (i < words.length ? words[i] : 0);
+                if ((other[i] & ~word) != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return super.containsAll(collection);
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends CurrencyUnit> collection) {
+        if (collection instanceof CurrencySet) {
+            long[] other = ((CurrencySet) collection).words;
+            if (other.length > words.length) {
+                long[] grown = new long[other.length];
+                System.arraycopy(words, 0, grown, 0, words.length);
+                words = grown;
+            }
+            boolean changed = false;
+            for (int i = 0; i < other.length; i++) {
+                long old = words[i];
+                words[i] = old | other[i];
+                changed |= (words[i] != old);
+            }
+            if (changed) {
+                recalculateSize();
+            }
+            return changed;
+        }
+        return super.addAll(collection);
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> collection) {
+        if (collection instanceof CurrencySet) {
+            long[] other = ((CurrencySet) collection).words;
+            boolean changed = false;
+            for (int i = 0, len = Math.min(words.length, other.length); i < len; i++) {
+                long old = words[i];
+                words[i] = old & ~other[i];
+                changed |= (words[i] != old);
+            }
+            if (changed) {
+                recalculateSize();
+            }
+            return changed;
+        }
+        return super.removeAll(collection);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> collection) {
+        if (collection instanceof CurrencySet) {
+            long[] other = ((CurrencySet) collection).words;
+            boolean changed = false;
+            for (int i = 0; i < words.length; i++) {
+                long old = words[i];
+                words[i] = old & (i < other.length ? other[i] : 0);
+                changed |= (words[i] != old);
+            }
+            if (changed) {
+                recalculateSize();
+            }
+            return changed;
+        }
+        return super.retainAll(collection);
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < words.length; i++) {
+            words[i] = 0;
+        }
+        size = 0;
+    }
+
+    /**
+     * Recalculates the size from the bits.
+     */
+    private void recalculateSize() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        size = count;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets an iterator over the currencies in ordinal order.
+     *
+     * @return the iterator, never null
+     */
+    @Override
+    public Iterator<CurrencyUnit> iterator() {
+        return new Iterator<CurrencyUnit>() {
+            private int next = nextOrdinal(0);
+            private int last = -1;
+            public boolean hasNext() {
+                return next >= 0;
+            }
+            public CurrencyUnit next() {
+                if (next < 0) {
+                    throw new NoSuchElementException();
+                }
+                last = next;
+                next = nextOrdinal(next + 1);
+                return CurrencyUnit.ofKnownOrdinal(last);
+            }
+            public void remove() {
+                if (last < 0) {
+                    throw new IllegalStateException();
+                }
+                // the currency may have been removed from the set since it was returned
+                long old = words[last >>> 6];
+                words[last >>> 6] = old & ~(1L << last);
+                if (words[last >>> 6] != old) {
+                    size--;
+                }
+                last = -1;
+            }
+        };
+    }
+
+    /**
+     * Finds the next ordinal in the set.
+     *
+     * @param fromOrdinal  the ordinal to search from, inclusive
+     * @return the next ordinal in the set, -1 if none
+     */
+    int nextOrdinal(int fromOrdinal) {
+        int index = fromOrdinal >>> 6;
+        if (index >= words.length) {
+            return -1;
+        }
+        long word = words[index] & (-1L << fromOrdinal);
+        while (true) {
+            if (word != 0) {
+                return (index << 6) + Long.numberOfTrailingZeros(word);
+            }
+            if (++index == words.length) {
+                return -1;
+            }
+            word = words[index];
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Checks if this set equals another set.
+     *
+     * @param obj  the other object, null returns false
+     * @return true if the sets contain the same currencies
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (obj instanceof CurrencySet) {
+            CurrencySet other = (CurrencySet) obj;
+            if (size != other.size) {
+                return false;
+            }
+            for (int i = 0, len = Math.max(words.length, other.words.length); i < len; i++) {
+                long word = (i < words.length ? words[i] : 0);
+                long otherWord = (i < other.words.length ? other.words[i] : 0);
+                if (word != otherWord) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return super.equals(obj);
+    }
+
+    /**
+     * Returns a copy of this set.
+     *
+     * @return the copy, never null
+     */
+    @Override
+    public CurrencySet clone() {
+        try {
+            CurrencySet copy = (CurrencySet) super.clone();
+            copy.words = words.clone();
+            return copy;
+        } catch (CloneNotSupportedException ex) {
+            throw new AssertionError(ex);
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Outputs the currencies, as ordinals are not stable between applications.
+     *
+     * @param out  the output stream, not null
+     * @throws IOException if an error occurs
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(size);
+        for (CurrencyUnit currency : this) {
+            out.writeObject(currency);
+        }
+    }
+
+    /**
+     * Inputs the currencies, resolving the ordinals in this application.
+     *
+     * @param in  the input stream, not null
+     * @throws IOException if an error occurs
+     * @throws ClassNotFoundException if a class cannot be found
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        words = new long[wordCount(CurrencyUnit.ordinalLimit())];
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            add((CurrencyUnit) in.readObject());
+        }
+    }
+
+}
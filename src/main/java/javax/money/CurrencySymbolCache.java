@@ -0,0 +1,145 @@
+/*
+ *  Copyright 2009-2011 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package javax.money;
+
+import java.util.Currency;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Cache of localized currency symbols, keyed by locale and currency ordinal.
+ * <p>
+ * Looking up a symbol from the JDK goes through the locale service providers on
+ * every call. This cache holds one array of symbols for each locale, indexed by
+ * {@link CurrencyUnit#getOrdinal()}, thus a cached lookup is a map get and an array load.
+ * The number of locales cached is bounded. Once the bound is reached, symbols for
+ * further locales are looked up from the JDK without caching.
+ * <p>
+ * The system property {@code javax.money.CurrencySymbolLocales} may be set to a
+ * comma separated list of language tags, such as {@code en-GB,fr-FR}. The symbols
+ * of all registered currencies for those locales are loaded when the cache is first used.
+ * <p>
+ * This class is thread-safe.
+ */
+final class CurrencySymbolCache {
+
+    /**
+     * The maximum number of locales cached.
+     */
+    private static final int LOCALE_LIMIT = 64;
+    /**
+     * The symbols by locale.
+     */
+    private static final ConcurrentMap<Locale, AtomicReferenceArray<String>> SYMBOLS =
+            new ConcurrentHashMap<Locale, AtomicReferenceArray<String>>();
+
+    static {
+        String tags = null;
+        try {
+            tags = System.getProperty("javax.money.CurrencySymbolLocales");
+        } catch (SecurityException ex) {
+            // no warm-up
+        }
+        if (tags != null) {
+            for (String tag : tags.split(",")) {
+                if (tag.trim().length() > 0) {
+                    preload(Locale.forLanguageTag(tag.trim()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Private constructor.
+     */
+    private CurrencySymbolCache() {
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Loads the symbols of all registered currencies for the specified locale.
+     *
+     * @param locale  the locale, not null
+     */
+    static void preload(Locale locale) {
+        for (CurrencyUnit currency : CurrencyUnit.registeredCurrencies()) {
+            getSymbol(currency, locale);
+        }
+    }
+
+    /**
+     * Gets the symbol of a currency for a locale.
+     *
+     * @param currency  the currency, not null
+     * @param locale  the locale, not null
+     * @return the symbol, or the currency code if the JDK has no equivalent currency, never null
+     */
+    static String getSymbol(CurrencyUnit currency, Locale locale) {
+        AtomicReferenceArray<String> symbols = SYMBOLS.get(locale);
+        if (symbols == null) {
+            if (SYMBOLS.size() >= LOCALE_LIMIT) {
+                return lookupSymbol(currency, locale);
+            }
+            symbols = new AtomicReferenceArray<String>(CurrencyUnit.ordinalLimit());
+            AtomicReferenceArray<String> existing = SYMBOLS.putIfAbsent(locale, symbols);
+            symbols = (existing != null ? existing : symbols);
+        }
+        int ordinal = currency.getOrdinal();
+        if (ordinal >= symbols.length()) {
+            // registered after the locale was cached, so grow the array
+            AtomicReferenceArray<String> grown =
+                    new AtomicReferenceArray<String>(Math.max(CurrencyUnit.ordinalLimit(), ordinal + 1));
+            for (int i = 0; i < symbols.length(); i++) {
+                grown.set(i, symbols.get(i));
+            }
+            symbols = (SYMBOLS.replace(locale, symbols, grown) ? grown : SYMBOLS.get(locale));
+            if (symbols == null || ordinal >= symbols.length()) {
+                return lookupSymbol(currency, locale);
+            }
+        }
+        String symbol = symbols.get(ordinal);
+        if (symbol == null) {
+            symbol = lookupSymbol(currency, locale);
+            symbols.set(ordinal, symbol);
+        }
+        return symbol;
+    }
+
+    /**
+     * Checks if the symbols of a locale are held in the cache.
+     *
+     * @param locale  the locale, not null
+     * @return true if the locale is cached
+     */
+    static boolean isCached(Locale locale) {
+        return SYMBOLS.containsKey(locale);
+    }
+
+    /**
+     * Looks up the symbol of a currency from the JDK.
+     *
+     * @param currency  the currency, not null
+     * @param locale  the locale, not null
+     * @return the symbol, or the currency code if the JDK has no equivalent currency, never null
+     */
+    private static String lookupSymbol(CurrencyUnit currency, Locale locale) {
+        Currency jdkCurrency = currency.toJdkCurrency();
+        return jdkCurrency != null ? jdkCurrency.getSymbol(locale) : currency.getCode();
+    }
+
+}
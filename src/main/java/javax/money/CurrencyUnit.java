@@ -15,10 +15,15 @@
  */
 package javax.money;
 
+import java.io.InvalidObjectException;
+import java.io.ObjectStreamException;
 import java.io.Serializable;
+import java.text.SimpleDateFormat;
 import java.util.Currency;
+import java.util.Date;
 import java.util.List;
 import java.util.Locale;
+import java.util.TimeZone;
 
 
 /**
@@ -27,10 +32,11 @@ import java.util.Locale;
  * This class represents a unit of currency such as the British Pound, Euro
  * or US Dollar.
  * <p>
- * The set of loaded currencies is provided by an instance of {@link CurrencyUnitDataProvider}.
- * The provider used is determined by the system property {@code javax.money.CurrencyUnitDataProvider}
+ * The set of loaded currencies is provided by instances of {@link CurrencyUnitDataProvider}.
+ * The main provider used is determined by the system property {@code javax.money.CurrencyUnitDataProvider}
  * which should be the fully qualified class name of the provider. The default provider loads the first
- * resource named {@code /MoneyData.csv} on the classpath.
+ * resource named {@code /MoneyData.csv} on the classpath. Additional providers are found using
+ * {@link java.util.ServiceLoader} and merged with the main provider.
  * <p>
  * This class is immutable and thread-safe.
  *
@@ -42,6 +48,15 @@ public final class CurrencyUnit implements Comparable<CurrencyUnit>, Serializabl
      * The serialisation version.
      */
     private static final long serialVersionUID = 1L;
+    /**
+     * The current snapshot of registered currencies.
+     * This is replaced as a whole when currencies are registered or reloaded.
+     */
+    private static volatile CurrencyUnitRegistry registry;
+
+    static {
+        registry = CurrencyUnitDataLoader.load(CurrencyUnitRegistry.EMPTY);
+    }
 
     // a selection of commonly traded, stable currencies
     /**
@@ -73,6 +88,87 @@ public final class CurrencyUnit implements Comparable<CurrencyUnit>, Serializabl
      */
     public static final CurrencyUnit CAD = of("CAD");
 
+    /**
+     * The currency code, not null.
+     */
+    private final String code;
+    /**
+     * The numeric currency code.
+     */
+    private final short numericCode;
+    /**
+     * The number of decimal places.
+     */
+    private final short decimalPlaces;
+    /**
+     * The numeric currency code as a three digit string, empty if none.
+     */
+    private final transient String numeric3Code;
+    /**
+     * The packed currency code, unique to the code and in alphabetical order.
+     */
+    private final transient int codeIndex;
+    /**
+     * The dense ordinal assigned by the registry.
+     */
+    private final transient int ordinal;
+    /**
+     * The hash code of the currency code.
+     */
+    private final transient int hash;
+    /**
+     * The equivalent JDK currency, null until first found.
+     */
+    private transient volatile Currency jdkCurrency;
+
+    //-----------------------------------------------------------------------
+    /**
+     * Registers a currency allowing it to be used.
+     * <p>
+     * This method is used to add a currency, such as a new pseudo-currency,
+     * while the application is running. The registered currencies are copied
+     * into a new snapshot including the new currency, which then replaces the
+     * current snapshot in a single step. Lookups in progress are unaffected.
+     * <p>
+     * A currency registered by this method is lost if {@link #reloadCurrencies()}
+     * is called, unless the data provider also supplies it.
+     *
+     * @param currencyCode  the currency code, not null
+     * @param numericCurrencyCode  the numeric currency code, from 0 to 999, -1 if none
+     * @param decimalPlaces  the number of decimal places that the currency
+     *  normally has, from 0 to 9, or -1 for a pseudo-currency
+     * @param countryCodes  the country codes to register the currency under, not null
+     * @return the new instance, never null
+     * @throws IllegalArgumentException if the code is already registered, or the
+     *  specified data is invalid
+     */
+    public static synchronized CurrencyUnit registerCurrency(
+            String currencyCode, int numericCurrencyCode, int decimalPlaces, List<String> countryCodes) {
+        CurrencyUnitRegistry.Builder builder = registry.toBuilder();
+        CurrencyUnit currency = builder.register(
+                CurrencyUnitRegistry.Entry.of(currencyCode, numericCurrencyCode, decimalPlaces, countryCodes,
+                        CurrencyUnitRegistry.NO_START, CurrencyUnitRegistry.NO_END));
+        registry = builder.build();
+        return currency;
+    }
+
+    /**
+     * Reloads the currencies from the data providers.
+     * <p>
+     * This method is used to add or retire currencies while the application
+     * is running, such as after a redenomination. The data providers are called
+     * to build a complete new snapshot, which then replaces the current snapshot
+     * in a single step. If a provider fails, the current snapshot is retained.
+     * <p>
+     * Currencies no longer supplied by a provider can no longer be looked up.
+     * Currencies supplied with unchanged data keep their existing instance.
+     *
+     * @throws RuntimeException if a data provider fails
+     */
+    public static synchronized void reloadCurrencies() {
+        registry = CurrencyUnitDataLoader.load(registry);
+    }
+
     /**
      * TODO wouldn't a Set be more appropriate? (A collection that contains no duplicate elements.)
      * 
@@ -81,12 +177,14 @@ public final class CurrencyUnit implements Comparable<CurrencyUnit>, Serializabl
      * This class only permits known currencies to be returned, thus this list is
      * the complete list of valid singleton currencies. The list may change after
      * application startup, however this isn't recommended.
+     * <p>
+     * The list is created once for each snapshot of the registered currencies,
+     * thus it does not reflect currencies registered after it is returned.
      *
-     * @return the sorted, independent, list of all registered currencies, never null
+     * @return the sorted, unmodifiable, list of all registered currencies, never null
      */
     public static List<CurrencyUnit> registeredCurrencies() {
-    	// TODO Not Implemented yet
-    	return null;
+        return registry.currencies();
     }
 
     //-----------------------------------------------------------------------
@@ -99,8 +197,8 @@ public final class CurrencyUnit implements Comparable<CurrencyUnit>, Serializabl
      * @return the singleton instance, never null
      */
     public static CurrencyUnit of(Currency currency) {
-    	// TODO Not Implemented yet
-    	return null;
+        MoneyUtils.checkNotNull(currency, "Currency must not be null");
+        return of(currency.getCurrencyCode());
     }
 
     /**
@@ -113,8 +211,116 @@ public final class CurrencyUnit implements Comparable<CurrencyUnit>, Serializabl
      * @throws IllegalCurrencyException if the currency is unknown
      */
     public static CurrencyUnit of(String currencyCode) {
-    	// TODO Not Implemented yet
-    	return null;
+        MoneyUtils.checkNotNull(currencyCode, "Currency code must not be null");
+        CurrencyUnit currency = null;
+        if (currencyCode.length() == 3) {
+            currency = registry.lookup(currencyCode.charAt(0), currencyCode.charAt(1), currencyCode.charAt(2));
+        }
+        if (currency == null) {
+            throw new IllegalCurrencyException("Unknown currency '" + currencyCode + '\'');
+        }
+        return currency;
+    }
+
+    /**
+     * Obtains an instance of {@code CurrencyUnit} for the specified currency code
+     * as it was defined on the specified date.
+     * <p>
+     * This finds the version of the currency valid on the day of the date in UTC.
+     * It finds historical currencies, such as 'DEM' before the euro, and the
+     * data of a currency before a change, such as a change of decimal places.
+     * Where the data of a version matches the registered currency, the registered
+     * singleton is returned. As equality is based on the code and the decimal places,
+     * a version with different decimal places, such as one before a redenomination,
+     * is a different currency to the registered currency. It has its own ordinal
+     * and its amounts cannot be mixed with amounts of the registered currency.
+     * <p>
+     * Each lookup is a binary search of the versions of the code, thus this
+     * method is suitable for processing large volumes of historical records.
+     *
+     * @param currencyCode  the currency code, not null
+     * @param date  the date to find the currency for, not null
+     * @return the singleton instance for the version, never null
+     * @throws IllegalCurrencyException if the currency is unknown or not valid on the date
+     */
+    public static CurrencyUnit of(String currencyCode, Date date) {
+        MoneyUtils.checkNotNull(currencyCode, "Currency code must not be null");
+        MoneyUtils.checkNotNull(date, "Date must not be null");
+        CurrencyUnit currency = null;
+        if (currencyCode.length() == 3) {
+            int epochDay = CurrencyUnitRegistry.epochDay(date.getTime());
+            currency = registry.lookup(currencyCode.charAt(0), currencyCode.charAt(1), currencyCode.charAt(2), epochDay);
+        }
+        if (currency == null) {
+            SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd");
+            format.setTimeZone(TimeZone.getTimeZone("UTC"));
+            throw new IllegalCurrencyException("Unknown currency '" + currencyCode + "' on " + format.format(date));
+        }
+        return currency;
+    }
+
+    /**
+     * Obtains an instance of {@code CurrencyUnit} for the three letter currency code
+     * found at the specified position in a character sequence.
+     * <p>
+     * This allows a code to be resolved directly from a parse buffer without
+     * first extracting it as a {@code String}.
+     *
+     * @param text  the text containing the currency code, not null
+     * @param offset  the index of the first letter of the code
+     * @return the singleton instance, never null
+     * @throws IndexOutOfBoundsException if there are fewer than three characters from the offset
+     * @throws IllegalCurrencyException if the currency is unknown
+     */
+    public static CurrencyUnit of(CharSequence text, int offset) {
+        MoneyUtils.checkNotNull(text, "Text must not be null");
+        if (offset < 0 || offset > text.length() - 3) {
+            throw new IndexOutOfBoundsException("Invalid offset " + offset + " for text of length " + text.length());
+        }
+        CurrencyUnit currency = registry.lookup(text.charAt(offset), text.charAt(offset + 1), text.charAt(offset + 2));
+        if (currency == null) {
+            throw new IllegalCurrencyException("Unknown currency '" + text.subSequence(offset, offset + 3) + '\'');
+        }
+        return currency;
+    }
+
+    /**
+     * Obtains an instance of {@code CurrencyUnit} for the three letter currency code
+     * found at the specified position in a character array.
+     * <p>
+     * This allows a code to be resolved directly from a parse buffer without
+     * first extracting it as a {@code String}.
+     *
+     * @param buffer  the buffer containing the currency code, not null
+     * @param offset  the index of the first letter of the code
+     * @return the singleton instance, never null
+     * @throws IndexOutOfBoundsException if there are fewer than three characters from the offset
+     * @throws IllegalCurrencyException if the currency is unknown
+     */
+    public static CurrencyUnit of(char[] buffer, int offset) {
+        MoneyUtils.checkNotNull(buffer, "Buffer must not be null");
+        if (offset < 0 || offset > buffer.length - 3) {
+            throw new IndexOutOfBoundsException("Invalid offset " + offset + " for buffer of length " + buffer.length);
+        }
+        CurrencyUnit currency = registry.lookup(buffer[offset], buffer[offset + 1], buffer[offset + 2]);
+        if (currency == null) {
+            throw new IllegalCurrencyException("Unknown currency '" + new String(buffer, offset, 3) + '\'');
+        }
+        return currency;
+    }
+
+    /**
+     * Looks up the currency for the letters of a three letter code.
+     * <p>
+     * This is used by the parsers, which report an unknown code themselves.
+     *
+     * @param c0  the first letter
+     * @param c1  the second letter
+     * @param c2  the third letter
+     * @return the singleton instance, null if the currency is unknown
+     */
+    static CurrencyUnit lookup(char c0, char c1, char c2) {
+        return registry.lookup(c0, c1, c2);
     }
 
     /**
@@ -128,8 +334,24 @@ public final class CurrencyUnit implements Comparable<CurrencyUnit>, Serializabl
      * @throws IllegalCurrencyException if the currency is unknown
      */
     public static CurrencyUnit ofNumericCode(String numericCurrencyCode) {
-    	// TODO Not Implemented yet
-    	return null;
+        MoneyUtils.checkNotNull(numericCurrencyCode, "Currency code must not be null");
+        int length = numericCurrencyCode.length();
+        if (length >= 1 && length <= 3) {
+            int code = 0;
+            for (int i = 0; i < length; i++) {
+                int digit = numericCurrencyCode.charAt(i) - '0';
+                if (digit < 0 || digit > 9) {
+                    code = -1;
+                    break;
+                }
+                code = code * 10 + digit;
+            }
+            CurrencyUnit currency = (code >= 0 ? registry.lookupNumeric(code) : null);
+            if (currency != null) {
+                return currency;
+            }
+        }
+        throw new IllegalCurrencyException("Unknown currency '" + numericCurrencyCode + '\'');
     }
 
     /**
@@ -142,8 +364,76 @@ public final class CurrencyUnit implements Comparable<CurrencyUnit>, Serializabl
      * @throws IllegalCurrencyException if the currency is unknown
      */
     public static CurrencyUnit ofNumericCode(int numericCurrencyCode) {
-    	// TODO Not Implemented yet
-    	return null;
+        CurrencyUnit currency = registry.lookupNumeric(numericCurrencyCode);
+        if (currency == null) {
+            throw new IllegalCurrencyException("Unknown currency '" + numericCurrencyCode + '\'');
+        }
+        return currency;
+    }
+
+    /**
+     * Obtains an instance of {@code CurrencyUnit} for the specified ordinal.
+     * <p>
+     * The ordinal is a small non-negative integer assigned when the currency
+     * is registered, see {@link #getOrdinal()}.
+     *
+     * @param ordinal  the ordinal of the currency
+     * @return the singleton instance, never null
+     * @throws IllegalCurrencyException if no currency is registered with the ordinal
+     */
+    public static CurrencyUnit ofOrdinal(int ordinal) {
+        CurrencyUnit currency = registry.lookupOrdinal(ordinal);
+        if (currency == null) {
+            throw new IllegalCurrencyException("Unknown currency ordinal: " + ordinal);
+        }
+        return currency;
+    }
+
+    /**
+     * Obtains the currency that was assigned the specified ordinal.
+     * <p>
+     * Unlike {@link #ofOrdinal(int)}, this also returns a currency that has been
+     * removed by a reload. This is used by the ordinal based collections.
+     *
+     * @param ordinal  the ordinal, from zero to the ordinal limit exclusive
+     * @return the currency, never null
+     */
+    static CurrencyUnit ofKnownOrdinal(int ordinal) {
+        return registry.lookupKnownOrdinal(ordinal);
+    }
+
+    /**
+     * Obtains an instance of {@code CurrencyUnit} for the specified packed code and decimal places.
+     * <p>
+     * Unlike the ordinal, the packed code is derived only from the letters of
+     * the code, thus it is stable across JVMs and may be persisted.
+     * The registered currency is returned if it has the decimal places,
+     * otherwise the latest version of the code with the decimal places.
+     *
+     * @param codeIndex  the packed code, see {@link #getCodeIndex()}
+     * @param decimalPlaces  the decimal places, as per {@link #getDecimalPlaces()}
+     * @return the singleton instance, never null
+     * @throws IllegalCurrencyException if the currency is unknown
+     */
+    static CurrencyUnit ofCodeIndex(int codeIndex, int decimalPlaces) {
+        CurrencyUnit currency = registry.lookupCodeIndex(codeIndex, decimalPlaces);
+        if (currency == null) {
+            throw new IllegalCurrencyException("Unknown currency code index " + codeIndex +
+                    " with " + decimalPlaces + " decimal places");
+        }
+        return currency;
+    }
+
+    /**
+     * Gets the limit of the currency ordinals.
+     * <p>
+     * Every registered currency has an ordinal less than this limit, thus this
+     * is the size of an array indexed by ordinal. The limit never decreases.
+     *
+     * @return one more than the largest ordinal assigned, not negative
+     */
+    public static int ordinalLimit() {
+        return registry.ordinalLimit();
     }
 
     /**
@@ -156,8 +446,12 @@ public final class CurrencyUnit implements Comparable<CurrencyUnit>, Serializabl
      * @throws IllegalCurrencyException if the currency is unknown
      */
     public static CurrencyUnit of(Locale locale) {
-    	// TODO Not Implemented yet
-    	return null;
+        MoneyUtils.checkNotNull(locale, "Locale must not be null");
+        CurrencyUnit currency = registry.lookupLocale(locale);
+        if (currency == null) {
+            throw new IllegalCurrencyException("No currency found for locale '" + locale + "'");
+        }
+        return currency;
     }
 
     /**
@@ -171,8 +465,15 @@ public final class CurrencyUnit implements Comparable<CurrencyUnit>, Serializabl
      * @throws IllegalCurrencyException if the currency is unknown
      */
     public static CurrencyUnit ofCountry(String countryCode) {
-    	// TODO Not Implemented yet
-    	return null;
+        MoneyUtils.checkNotNull(countryCode, "Country code must not be null");
+        CurrencyUnit currency = null;
+        if (countryCode.length() == 2) {
+            currency = registry.lookupCountry(countryCode.charAt(0), countryCode.charAt(1));
+        }
+        if (currency == null) {
+            throw new IllegalCurrencyException("No currency found for country '" + countryCode + "'");
+        }
+        return currency;
     }
 
     //-----------------------------------------------------------------------
@@ -186,8 +487,7 @@ public final class CurrencyUnit implements Comparable<CurrencyUnit>, Serializabl
      * @throws IllegalCurrencyException if the currency is unknown
      */
     public static CurrencyUnit getInstance(String currencyCode) {
-    	// TODO Not Implemented yet
-    	return null;
+        return CurrencyUnit.of(currencyCode);
     }
 
     /**
@@ -200,20 +500,73 @@ public final class CurrencyUnit implements Comparable<CurrencyUnit>, Serializabl
      * @throws IllegalCurrencyException if the currency is unknown
      */
     public static CurrencyUnit getInstance(Locale locale) {
-    	// TODO Not Implemented yet
-    	return null;
+        return CurrencyUnit.of(locale);
     }
 
     //-----------------------------------------------------------------------
     /**
      * Constructor, creating a new currency instance.
+     * <p>
+     * Instances are only created by the registry, which holds a single
+     * instance for each code and version. Deserialization resolves to that instance.
      * 
      * @param code  the currency code, not null
      * @param numericCurrencyCode  the numeric currency code, -1 if none
      * @param decimalPlaces  the decimal places, not null
-     */
-    CurrencyUnit(String code, short numericCurrencyCode, short decimalPlaces) {
-    	// TODO Not Implemented yet
+     * @param ordinal  the ordinal assigned by the registry, not negative
+     */
+    CurrencyUnit(String code, short numericCurrencyCode, short decimalPlaces, int ordinal) {
+        assert code != null : "Currency code must not be null";
+        this.code = code;
+        this.numericCode = numericCurrencyCode;
+        this.decimalPlaces = decimalPlaces;
+        this.numeric3Code = formatNumeric3Code(numericCurrencyCode);
+        this.codeIndex = CurrencyUnitRegistry.codeIndex(code.charAt(0), code.charAt(1), code.charAt(2));
+        this.ordinal = ordinal;
+        this.hash = code.hashCode() * 31 + decimalPlaces;
+    }
+
+    /**
+     * Resolves the deserialized instance to the registered singleton.
+     * <p>
+     * This ensures that there is only one instance for each registered currency,
+     * allowing comparisons to succeed on reference equality.
+     * 
+     * @return the singleton, never null
+     * @throws ObjectStreamException if the currency is not registered or has different data
+     */
+    private Object readResolve() throws ObjectStreamException {
+        CurrencyUnit singleton = null;
+        if (code != null && code.length() == 3) {
+            singleton = registry.lookup(code.charAt(0), code.charAt(1), code.charAt(2));
+        }
+        if (singleton != null && singleton.numericCode == numericCode && singleton.decimalPlaces == decimalPlaces) {
+            return singleton;
+        }
+        // a historical version of the currency
+        CurrencyUnit version = (code != null ? registry.lookupVersion(code, numericCode, decimalPlaces) : null);
+        if (version != null) {
+            return version;
+        }
+        if (singleton == null) {
+            throw new InvalidObjectException("Unknown currency: " + code);
+        }
+        throw new InvalidObjectException("Deserialization found a mismatch for currency: " + code);
+    }
+
+    /**
+     * Formats the numeric code as a three digit string.
+     *
+     * @param numericCode  the numeric code, from 0 to 999, or -1 if none
+     * @return the three digit code, empty if none, never null
+     */
+    private static String formatNumeric3Code(int numericCode) {
+        if (numericCode < 0) {
+            return "";
+        }
+        char[] digits = new char[] {
+            (char) ('0' + numericCode / 100), (char) ('0' + numericCode / 10 % 10), (char) ('0' + numericCode % 10)};
+        return new String(digits);
     }
 
     //-----------------------------------------------------------------------
@@ -225,8 +578,7 @@ public final class CurrencyUnit implements Comparable<CurrencyUnit>, Serializabl
      * @return the three letter ISO-4217 currency code, never null
      */
     public String getCode() {
-    	// TODO Not Implemented yet
-    	return null;
+        return code;
     }
 
     /**
@@ -237,8 +589,7 @@ public final class CurrencyUnit implements Comparable<CurrencyUnit>, Serializabl
      * @return the numeric currency code
      */
     public int getNumericCode() {
-    	// TODO Not Implemented yet
-    	return 0;
+        return numericCode;
     }
 
     /**
@@ -250,8 +601,7 @@ public final class CurrencyUnit implements Comparable<CurrencyUnit>, Serializabl
      * @return the three digit numeric currency code, empty is no code, never null
      */
     public String getNumeric3Code() {
-    	// TODO Not Implemented yet
-    	return null;
+        return numeric3Code;
     }
 
     /**
@@ -266,8 +616,7 @@ public final class CurrencyUnit implements Comparable<CurrencyUnit>, Serializabl
      * @return the decimal places, from 0 to 9 (normally 0, 2 or 3)
      */
     public int getDecimalPlaces() {
-    	// TODO Not Implemented yet
-    	return 0;
+        return decimalPlaces < 0 ? 0 : decimalPlaces;
     }
 
     /**
@@ -276,8 +625,35 @@ public final class CurrencyUnit implements Comparable<CurrencyUnit>, Serializabl
      * @return true if this is a pseudo-currency
      */
     public boolean isPseudoCurrency() {
-    	// TODO Not Implemented yet
-    	return false;
+        return decimalPlaces < 0;
+    }
+
+    /**
+     * Gets the ordinal of the currency.
+     * <p>
+     * The ordinal is a small non-negative integer, dense across the registered currencies,
+     * that is suitable for indexing an array sized by {@link #ordinalLimit()}.
+     * A currency keeps its ordinal when the currencies are reloaded, unless its decimal
+     * places change, and an ordinal is never reused for a different code or decimal places.
+     * Thus, currencies have the same ordinal if and only if they are equal. The ordinal is only stable within a single
+     * running application, thus it must not be persisted or sent to another JVM.
+     * 
+     * @return the ordinal, not negative
+     */
+    public int getOrdinal() {
+        return ordinal;
+    }
+
+    /**
+     * Gets the packed currency code.
+     * <p>
+     * Each letter of the code is a base 26 digit, thus the value is from 0 for 'AAA'
+     * to 17575 for 'ZZZ'. Unlike the ordinal, this is stable across JVMs.
+     *
+     * @return the packed code, from 0 to 17575
+     */
+    int getCodeIndex() {
+        return codeIndex;
     }
 
     //-----------------------------------------------------------------------
@@ -289,8 +665,7 @@ public final class CurrencyUnit implements Comparable<CurrencyUnit>, Serializabl
      * @return the currency code, never null
      */
     public String getCurrencyCode() {
-    	// TODO Not Implemented yet
-    	return null;
+        return code;
     }
 
     /**
@@ -306,8 +681,7 @@ public final class CurrencyUnit implements Comparable<CurrencyUnit>, Serializabl
      * @return the fractional digits, from 0 to 9 (normally 0, 2 or 3), or -1 for pseudo-currencies
      */
     public int getDefaultFractionDigits() {
-    	// TODO Not Implemented yet
-    	return 0;
+        return decimalPlaces;
     }
 
     //-----------------------------------------------------------------------
@@ -322,8 +696,7 @@ public final class CurrencyUnit implements Comparable<CurrencyUnit>, Serializabl
      * @return the JDK currency instance, never null
      */
     public String getSymbol() {
-    	// TODO Not Implemented yet
-    	return null;
+        return getSymbol(Locale.getDefault());
     }
 
     /**
@@ -338,8 +711,27 @@ public final class CurrencyUnit implements Comparable<CurrencyUnit>, Serializabl
      * @return the JDK currency instance, never null
      */
     public String getSymbol(Locale locale) {
-    	// TODO Not Implemented yet
-    	return null;
+        MoneyUtils.checkNotNull(locale, "Locale must not be null");
+        return CurrencySymbolCache.getSymbol(this, locale);
+    }
+
+    /**
+     * Loads the symbols of all registered currencies for the specified locales.
+     * <p>
+     * Symbols are cached for each locale the first time they are used.
+     * This method can be called at startup to avoid the cost of first use.
+     * The locales can also be set using the system property
+     * {@code javax.money.CurrencySymbolLocales}, as a comma separated list
+     * of language tags, such as {@code en-GB,fr-FR}.
+     * 
+     * @param locales  the locales to load the symbols for, not null
+     */
+    public static void preloadSymbols(Locale... locales) {
+        MoneyUtils.checkNotNull(locales, "Locales must not be null");
+        for (Locale locale : locales) {
+            MoneyUtils.checkNotNull(locale, "Locale must not be null");
+            CurrencySymbolCache.preload(locale);
+        }
     }
 
     //-----------------------------------------------------------------------
@@ -352,34 +744,70 @@ public final class CurrencyUnit implements Comparable<CurrencyUnit>, Serializabl
      * @throws IllegalArgumentException if no matching currency exists in the JDK
      */
     public Currency toCurrency() {
-    	// TODO Not Implemented yet
-    	return null;
+        Currency currency = toJdkCurrency();
+        if (currency == null) {
+            throw new IllegalArgumentException("No JDK currency found for " + code);
+        }
+        return currency;
+    }
+
+    /**
+     * Gets the JDK currency instance equivalent to this currency, caching the result.
+     * 
+     * @return the JDK currency instance, null if no matching currency exists in the JDK
+     */
+    Currency toJdkCurrency() {
+        Currency currency = jdkCurrency;
+        if (currency == null) {
+            try {
+                currency = Currency.getInstance(code);
+            } catch (IllegalArgumentException ex) {
+                return null;
+            }
+            jdkCurrency = currency;
+        }
+        return currency;
     }
 
     //-----------------------------------------------------------------------
     /**
-     * Compares this currency to another by alphabetical comparison of the code.
+     * Compares this currency to another by alphabetical comparison of the code,
+     * then by the decimal places.
+     * <p>
+     * The decimal places only differ between versions of the same code,
+     * see {@link #of(String, Date)}.
      * 
      * @param other  the other currency, not null
      * @return negative if earlier alphabetically, 0 if equal, positive if greater alphabetically
      */
     public int compareTo(CurrencyUnit other) {
-    	// TODO Not Implemented yet
-    	return 0;
+        // the packed code is in alphabetical order
+        int cmp = codeIndex - other.codeIndex;
+        return (cmp != 0 ? cmp : decimalPlaces - other.decimalPlaces);
     }
 
     /**
      * Checks if this currency equals another currency.
      * <p>
-     * The comparison checks the 3 letter currency code.
+     * The comparison checks the 3 letter currency code and the decimal places.
+     * Versions of a code with different decimal places are not equal, as an amount
+     * in one cannot be combined with an amount in the other.
+     * As there is a single instance for each registered currency, this is
+     * normally satisfied by reference equality.
      * 
      * @param obj  the other currency, null returns false
      * @return true if equal
      */
     @Override
     public boolean equals(Object obj) {
-    	// TODO Not Implemented yet
-    	return false;
+        if (obj == this) {
+            return true;
+        }
+        if (obj instanceof CurrencyUnit) {
+            CurrencyUnit other = (CurrencyUnit) obj;
+            return codeIndex == other.codeIndex && decimalPlaces == other.decimalPlaces;
+        }
+        return false;
     }
 
     /**
@@ -389,8 +817,7 @@ public final class CurrencyUnit implements Comparable<CurrencyUnit>, Serializabl
      */
     @Override
     public int hashCode() {
-    	// TODO Not Implemented yet
-    	return 0;
+        return hash;
     }
 
     //-----------------------------------------------------------------------
@@ -401,8 +828,7 @@ public final class CurrencyUnit implements Comparable<CurrencyUnit>, Serializabl
      */
     @Override
     public String toString() {
-    	// TODO Not Implemented yet
-    	return null;
+        return code;
     }
 
 }
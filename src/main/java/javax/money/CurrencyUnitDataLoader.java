@@ -0,0 +1,183 @@
+/*
+ *  Copyright 2009-2011 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package javax.money;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.logging.Logger;
+
+/**
+ * Loads the registered currencies from the available data providers.
+ * <p>
+ * The main provider is named by the system property {@code javax.money.CurrencyUnitDataProvider},
+ * and further providers are found using {@link ServiceLoader}.
+ * When there is more than one provider, each is run on its own thread, thus a slow
+ * provider does not delay the others. The results are then merged in order of
+ * precedence into a single registry, logging any conflicts as warnings.
+ * <p>
+ * This class is thread-safe.
+ */
+final class CurrencyUnitDataLoader {
+
+    /**
+     * The logger used to report conflicts between providers.
+     */
+    private static final Logger LOG = Logger.getLogger(CurrencyUnitDataLoader.class.getName());
+    /**
+     * Orders providers by descending precedence.
+     */
+    private static final Comparator<CurrencyUnitDataProvider> PRECEDENCE_ORDER = new Comparator<CurrencyUnitDataProvider>() {
+        public int compare(CurrencyUnitDataProvider provider1, CurrencyUnitDataProvider provider2) {
+            int precedence1 = provider1.getPrecedence();
+            int precedence2 = provider2.getPrecedence();
+            return precedence1 > precedence2 ? -1 : (precedence1 < precedence2 ? 1 : 0);
+        }
+    };
+
+    /**
+     * Private constructor.
+     */
+    private CurrencyUnitDataLoader() {
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Loads the currencies from all available providers into a new registry.
+     * <p>
+     * This method must not create any {@code CurrencyUnit} on a thread other
+     * than the caller, as it is called while {@code CurrencyUnit} is initialized.
+     *
+     * @param previous  the registry whose instances are reused where unchanged, not null
+     * @return the loaded registry, never null
+     * @throws RuntimeException if any provider fails
+     */
+    static CurrencyUnitRegistry load(CurrencyUnitRegistry previous) {
+        try {
+            List<CurrencyUnitDataProvider> providers = findProviders();
+            List<List<CurrencyUnitRegistry.Entry>> loaded = loadEntries(providers);
+            CurrencyUnitRegistry.Builder builder = previous.toEmptyBuilder();
+            for (CurrencyUnitRegistry.Entry entry : loaded.get(0)) {
+                builder.register(entry);
+            }
+            for (int i = 1; i < providers.size(); i++) {
+                for (String conflict : builder.merge(loaded.get(i))) {
+                    LOG.warning(conflict + ", ignoring definition from " + providers.get(i).getClass().getName());
+                }
+            }
+            return builder.build();
+        } catch (RuntimeException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            throw new RuntimeException(ex.toString(), ex);
+        }
+    }
+
+    /**
+     * Finds the available providers, sorted by descending precedence.
+     *
+     * @return the providers, never empty
+     * @throws Exception if a provider cannot be created
+     */
+    private static List<CurrencyUnitDataProvider> findProviders() throws Exception {
+        List<CurrencyUnitDataProvider> providers = new ArrayList<CurrencyUnitDataProvider>();
+        // load one main data provider by system property
+        try {
+            String clsName = System.getProperty(
+                    "javax.money.CurrencyUnitDataProvider", "javax.money.DefaultCurrencyUnitDataProvider");
+            Class<? extends CurrencyUnitDataProvider> cls =
+                    CurrencyUnit.class.getClassLoader().loadClass(clsName).asSubclass(CurrencyUnitDataProvider.class);
+            try {
+                providers.add(cls.getDeclaredConstructor().newInstance());
+            } catch (InvocationTargetException ex) {
+                // report the failure of the constructor, not the reflection wrapper
+                Throwable cause = ex.getCause();
+                if (cause instanceof Exception) {
+                    throw (Exception) cause;
+                }
+                throw (Error) cause;
+            }
+        } catch (SecurityException ex) {
+            providers.add(new DefaultCurrencyUnitDataProvider());
+        }
+        Class<?> mainClass = providers.get(0).getClass();
+        for (CurrencyUnitDataProvider provider : ServiceLoader.load(CurrencyUnitDataProvider.class, CurrencyUnit.class.getClassLoader())) {
+            if (provider.getClass() != mainClass) {
+                providers.add(provider);
+            }
+        }
+        // stable sort, thus equal precedence retains the order found
+        Collections.sort(providers, PRECEDENCE_ORDER);
+        return providers;
+    }
+
+    /**
+     * Runs the providers, in parallel if there is more than one.
+     *
+     * @param providers  the providers, not null
+     * @return the entries of each provider, in the same order as the providers, never null
+     * @throws Exception if any provider fails
+     */
+    private static List<List<CurrencyUnitRegistry.Entry>> loadEntries(List<CurrencyUnitDataProvider> providers) throws Exception {
+        List<List<CurrencyUnitRegistry.Entry>> loaded = new ArrayList<List<CurrencyUnitRegistry.Entry>>(providers.size());
+        if (providers.size() == 1) {
+            loaded.add(providers.get(0).load());
+            return loaded;
+        }
+        int threads = Math.min(providers.size(), Runtime.getRuntime().availableProcessors());
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(threads, 1), new ThreadFactory() {
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "CurrencyUnitDataLoader");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        try {
+            List<Future<List<CurrencyUnitRegistry.Entry>>> futures = new ArrayList<Future<List<CurrencyUnitRegistry.Entry>>>();
+            for (final CurrencyUnitDataProvider provider : providers) {
+                futures.add(executor.submit(new Callable<List<CurrencyUnitRegistry.Entry>>() {
+                    public List<CurrencyUnitRegistry.Entry> call() throws Exception {
+                        return provider.load();
+                    }
+                }));
+            }
+            for (Future<List<CurrencyUnitRegistry.Entry>> future : futures) {
+                try {
+                    loaded.add(future.get());
+                } catch (ExecutionException ex) {
+                    Throwable cause = ex.getCause();
+                    if (cause instanceof Exception) {
+                        throw (Exception) cause;
+                    }
+                    throw ex;
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return loaded;
+    }
+
+}
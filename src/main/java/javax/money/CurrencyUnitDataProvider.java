@@ -15,15 +15,67 @@
  */
 package javax.money;
 
+import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 
 /**
  * Provider for available currencies.
- * This doesn't need to be part of the API at this point, contains only protected or package-local classes.
+ * <p>
+ * The main provider is determined by the system property {@code javax.money.CurrencyUnitDataProvider}.
+ * Additional providers, such as one supplying in-house pseudo-currencies, are found using
+ * {@link java.util.ServiceLoader}, by listing the implementation class in the resource
+ * {@code META-INF/services/javax.money.CurrencyUnitDataProvider}.
+ * The currencies of all providers are merged, with conflicts resolved by {@link #getPrecedence()}.
+ * <p>
+ * Providers may be called in parallel, each on a different thread.
+ * An implementation must not use {@code CurrencyUnit} from {@link #registerCurrencies()}
+ * as the currencies are not available until all providers have completed.
+ * <p>
+ * A provider may also register historical versions of currencies, each with the
+ * days it was valid for. These are not registered for lookup by code, numeric code
+ * or country, but are found by {@link CurrencyUnit#of(String, Date)}.
  * 
  * @author Stephen Colebourne, Werner Keil
  */
-abstract class CurrencyUnitDataProvider {
+public abstract class CurrencyUnitDataProvider {
+
+    /**
+     * The currencies registered so far, only set while the currencies are being loaded.
+     */
+    private List<CurrencyUnitRegistry.Entry> entries;
+
+    /**
+     * Loads the currencies known by this provider.
+     * 
+     * @return the currencies registered by the provider, never null
+     * @throws Exception if an error occurs
+     */
+    final synchronized List<CurrencyUnitRegistry.Entry> load() throws Exception {
+        entries = new ArrayList<CurrencyUnitRegistry.Entry>();
+        try {
+            registerCurrencies();
+            return entries;
+        } finally {
+            entries = null;
+        }
+    }
+
+    /**
+     * Gets the precedence of this provider.
+     * <p>
+     * When two providers define the same currency code, numeric code or country,
+     * the definition of the provider with the higher precedence is used and the
+     * conflict is logged as a warning. When the precedence is equal, the main
+     * provider wins, followed by the other providers in the order they were found.
+     * <p>
+     * The default implementation returns zero.
+     * 
+     * @return the precedence, higher values take priority
+     */
+    protected int getPrecedence() {
+        return 0;
+    }
 
     /**
      * Registers all the currencies known by this provider.
@@ -36,16 +88,84 @@ abstract class CurrencyUnitDataProvider {
      * Registers a currency allowing it to be used.
      * <p>
      * This method is called by {@link #registerCurrencies()} to perform the
-     * actual creation of a currency.
+     * actual creation of a currency. The currencies only become visible once
+     * all providers have registered their currencies.
      *
      * @param currencyCode  the currency code, not null
      * @param numericCurrencyCode  the numeric currency code, -1 if none
      * @param decimalPlaces  the number of decimal places that the currency
-     *  normally has, from 0 to 3, or -1 for a pseudo-currency
+     *  normally has, from 0 to 9, or -1 for a pseudo-currency
      * @param countryCodes  the country codes to register the currency under, not null
+     * @throws IllegalArgumentException if the specified data is invalid
+     * @throws IllegalStateException if not called from {@link #registerCurrencies()}
      */
     protected final void registerCurrency(String currencyCode, int numericCurrencyCode, int decimalPlaces, List<String> countryCodes) {
-    	// TODO Not Implemented yet
+        checkLoading().add(CurrencyUnitRegistry.Entry.of(currencyCode, numericCurrencyCode, decimalPlaces, countryCodes,
+                CurrencyUnitRegistry.NO_START, CurrencyUnitRegistry.NO_END));
+    }
+
+    /**
+     * Registers a version of a currency that is valid for a period of time.
+     * <p>
+     * This is called by {@link #registerCurrencies()} to define currencies that
+     * have been withdrawn, such as 'DEM', or whose data has changed over time.
+     * The validity is measured in whole days in UTC, from the day of {@code validFrom}
+     * inclusive to the day of {@code validTo} exclusive. The versions of a code must not overlap.
+     * <p>
+     * If {@code validTo} is null, the currency is still valid and is registered
+     * in the same way as {@link #registerCurrency(String, int, int, List)}.
+     * If {@code validFrom} is also null, it is valid from the end of the last
+     * historical version of the same code. Otherwise, the country codes of a
+     * historical version are not registered, as the country now uses another currency.
+     *
+     * @param currencyCode  the currency code, not null
+     * @param numericCurrencyCode  the numeric currency code, -1 if none
+     * @param decimalPlaces  the number of decimal places that the currency
+     *  normally has, from 0 to 9, or -1 for a pseudo-currency
+     * @param countryCodes  the country codes to register the currency under, not null
+     * @param validFrom  the first day the currency is valid, null if always valid
+     * @param validTo  the day after the last day the currency is valid, null if still valid
+     * @throws IllegalArgumentException if the specified data is invalid
+     * @throws IllegalStateException if not called from {@link #registerCurrencies()}
+     */
+    protected final void registerCurrency(String currencyCode, int numericCurrencyCode, int decimalPlaces,
+            List<String> countryCodes, Date validFrom, Date validTo) {
+        int from = (validFrom != null ? CurrencyUnitRegistry.epochDay(validFrom.getTime()) : CurrencyUnitRegistry.NO_START);
+        int to = (validTo != null ? CurrencyUnitRegistry.epochDay(validTo.getTime()) : CurrencyUnitRegistry.NO_END);
+        checkLoading().add(CurrencyUnitRegistry.Entry.of(currencyCode, numericCurrencyCode, decimalPlaces, countryCodes, from, to));
+    }
+
+    /**
+     * Registers a currency with the country codes already packed as country index slots.
+     * <p>
+     * This is used by providers of precompiled data to avoid creating a string
+     * for each country code.
+     *
+     * @param currencyCode  the currency code, not null
+     * @param numericCurrencyCode  the numeric currency code, -1 if none
+     * @param decimalPlaces  the number of decimal places that the currency
+     *  normally has, from 0 to 9, or -1 for a pseudo-currency
+     * @param countryIndexes  the packed country codes to register the currency under, not null
+     * @param validFrom  the first day of validity, inclusive, as days from 1970-01-01
+     * @param validTo  the last day of validity, exclusive, as days from 1970-01-01
+     */
+    final void registerCurrency(String currencyCode, int numericCurrencyCode, int decimalPlaces,
+            int[] countryIndexes, int validFrom, int validTo) {
+        checkLoading().add(CurrencyUnitRegistry.Entry.of(
+                currencyCode, numericCurrencyCode, decimalPlaces, countryIndexes, validFrom, validTo));
+    }
+
+    /**
+     * Checks that the currencies are being loaded.
+     * 
+     * @return the currencies registered so far, never null
+     * @throws IllegalStateException if called outside {@link #registerCurrencies()}
+     */
+    private List<CurrencyUnitRegistry.Entry> checkLoading() {
+        if (entries == null) {
+            throw new IllegalStateException("Currencies can only be registered from registerCurrencies()");
+        }
+        return entries;
     }
 
 }
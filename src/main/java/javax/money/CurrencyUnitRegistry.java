@@ -0,0 +1,944 @@
+/*
+ *  Copyright 2009-2011 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package javax.money;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A snapshot of the registered currencies and the indexes used to look them up.
+ * <p>
+ * The indexes are dense arrays keyed by the packed three letter code, the numeric
+ * code, the packed two letter country code and the ordinal, thus a lookup is a
+ * single array load.
+ * A snapshot is never changed once built. Registering or reloading currencies
+ * builds a new snapshot with a {@link Builder} which {@link CurrencyUnit} then
+ * publishes with a single volatile write. Readers never lock and never see
+ * a partially built index.
+ * <p>
+ * Each code also has an array of versions, sorted by the start of validity,
+ * which answers as-of queries by binary search. The versions include the
+ * registered currency and any historical definitions, such as 'DEM' before
+ * the euro. Validity is measured in days since the epoch 1970-01-01, in UTC.
+ * <p>
+ * This class is immutable and thread-safe.
+ * The locale cache is internal and concurrent.
+ */
+final class CurrencyUnitRegistry {
+
+    /**
+     * The number of slots in the code index, one for each code from 'AAA' to 'ZZZ'.
+     */
+    static final int CODE_INDEX_SIZE = 26 * 26 * 26;
+    /**
+     * The number of slots in the numeric code index, one for each code from 0 to 999.
+     */
+    static final int NUMERIC_INDEX_SIZE = 1000;
+    /**
+     * The number of slots in the country index, one for each code from 'AA' to 'ZZ'.
+     */
+    static final int COUNTRY_INDEX_SIZE = 26 * 26;
+    /**
+     * The maximum number of locales held by the locale cache.
+     */
+    private static final int LOCALE_CACHE_LIMIT = 512;
+    /**
+     * Orders versions by the start of validity.
+     */
+    private static final Comparator<Version> VALID_FROM_ORDER = new Comparator<Version>() {
+        public int compare(Version version1, Version version2) {
+            return version1.validFrom < version2.validFrom ? -1 : (version1.validFrom > version2.validFrom ? 1 : 0);
+        }
+    };
+    /**
+     * The registry with no currencies.
+     */
+    static final CurrencyUnitRegistry EMPTY = new Builder(null, false).build();
+    /**
+     * The start of validity of a currency that has always been valid.
+     */
+    static final int NO_START = Integer.MIN_VALUE;
+    /**
+     * The end of validity of a currency that is still valid.
+     */
+    static final int NO_END = Integer.MAX_VALUE;
+    /**
+     * The number of milliseconds in a day.
+     */
+    private static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
+
+    /**
+     * Index of registered currencies by packed three letter code.
+     */
+    private final CurrencyUnit[] currenciesByCode;
+    /**
+     * Index of registered currencies by numeric code.
+     */
+    private final CurrencyUnit[] currenciesByNumericCode;
+    /**
+     * Index of registered currencies by packed two letter country code.
+     */
+    private final CurrencyUnit[] currenciesByCountry;
+    /**
+     * Index of registered currencies by ordinal, null where an ordinal is retired.
+     */
+    private final CurrencyUnit[] currenciesByOrdinal;
+    /**
+     * Index of every currency ever registered by ordinal, including retired ordinals.
+     */
+    private final CurrencyUnit[] knownCurrenciesByOrdinal;
+    /**
+     * Index of the versions of each currency by packed three letter code, null if none.
+     */
+    private final Version[][] versionsByCode;
+    /**
+     * The sorted, unmodifiable, list of registered currencies.
+     */
+    private final List<CurrencyUnit> currencies;
+    /**
+     * Cache of resolved currency by locale, avoiding the country lookup on repeated calls.
+     * A new snapshot starts with an empty cache, thus no entry can outlive a change.
+     */
+    private final ConcurrentMap<Locale, CurrencyUnit> currenciesByLocale =
+            new ConcurrentHashMap<Locale, CurrencyUnit>(64, 0.75f, 4);
+
+    //-----------------------------------------------------------------------
+    /**
+     * Packs a three letter code into an index of the code table.
+     * <p>
+     * Each letter is treated as a base 26 digit, thus 'AAA' is zero and 'ZZZ'
+     * is the last slot. The index order matches the alphabetical order of the codes.
+     *
+     * @param c0  the first letter
+     * @param c1  the second letter
+     * @param c2  the third letter
+     * @return the index, from 0 to 17575, or -1 if any character is not an ASCII upper-case letter
+     */
+    static int codeIndex(char c0, char c1, char c2) {
+        int i0 = c0 - 'A';
+        int i1 = c1 - 'A';
+        int i2 = c2 - 'A';
+        if ((i0 | i1 | i2) < 0 || i0 >= 26 || i1 >= 26 || i2 >= 26) {
+            return -1;
+        }
+        return (i0 * 26 + i1) * 26 + i2;
+    }
+
+    /**
+     * Packs a two letter country code into an index of the country table.
+     *
+     * @param c0  the first letter
+     * @param c1  the second letter
+     * @return the index, from 0 to 675, or -1 if any character is not an ASCII upper-case letter
+     */
+    static int countryIndex(char c0, char c1) {
+        int i0 = c0 - 'A';
+        int i1 = c1 - 'A';
+        if ((i0 | i1) < 0 || i0 >= 26 || i1 >= 26) {
+            return -1;
+        }
+        return i0 * 26 + i1;
+    }
+
+    /**
+     * Converts an instant to the day it falls on in UTC.
+     *
+     * @param epochMillis  the milliseconds from 1970-01-01T00:00Z
+     * @return the day, as the number of days from 1970-01-01
+     */
+    static int epochDay(long epochMillis) {
+        long day = epochMillis / MILLIS_PER_DAY;
+        if (epochMillis % MILLIS_PER_DAY < 0) {
+            day--;
+        }
+        return (int) Math.max(NO_START + 1L, Math.min(day, NO_END - 1L));
+    }
+
+    /**
+     * Converts a date in the ISO calendar to a day.
+     *
+     * @param year  the year, proleptic
+     * @param month  the month-of-year, from 1 to 12
+     * @param dayOfMonth  the day-of-month, from 1 to 31
+     * @return the day, as the number of days from 1970-01-01
+     */
+    static int epochDay(int year, int month, int dayOfMonth) {
+        // days from the civil calendar, counting years from March so leap days come last
+        int y = (month <= 2 ? year - 1 : year);
+        int era = (y >= 0 ? y : y - 399) / 400;
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + dayOfMonth - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Constructor, taking ownership of the indexes built by the builder.
+     *
+     * @param currenciesByCode  the code index, not null
+     * @param currenciesByNumericCode  the numeric code index, not null
+     * @param currenciesByCountry  the country index, not null
+     * @param versionsByCode  the version index, sorted by start of validity, not null
+     * @param previousKnown  the known currencies of the previous registry, null if none
+     * @param ordinalLimit  one more than the largest ordinal ever assigned
+     */
+    private CurrencyUnitRegistry(
+            CurrencyUnit[] currenciesByCode, CurrencyUnit[] currenciesByNumericCode,
+            CurrencyUnit[] currenciesByCountry, Version[][] versionsByCode,
+            CurrencyUnit[] previousKnown, int ordinalLimit) {
+        this.currenciesByCode = currenciesByCode;
+        this.currenciesByNumericCode = currenciesByNumericCode;
+        this.currenciesByCountry = currenciesByCountry;
+        this.versionsByCode = versionsByCode;
+        this.currenciesByOrdinal = new CurrencyUnit[ordinalLimit];
+        this.knownCurrenciesByOrdinal = new CurrencyUnit[ordinalLimit];
+        if (previousKnown != null) {
+            System.arraycopy(previousKnown, 0, knownCurrenciesByOrdinal, 0, previousKnown.length);
+        }
+        for (Version[] versions : versionsByCode) {
+            if (versions != null) {
+                for (Version version : versions) {
+                    knownCurrenciesByOrdinal[version.currency.getOrdinal()] = version.currency;
+                }
+            }
+        }
+        // the code index is in alphabetical order, thus no sort is needed
+        List<CurrencyUnit> list = new ArrayList<CurrencyUnit>();
+        for (CurrencyUnit currency : currenciesByCode) {
+            if (currency != null) {
+                list.add(currency);
+                currenciesByOrdinal[currency.getOrdinal()] = currency;
+                knownCurrenciesByOrdinal[currency.getOrdinal()] = currency;
+            }
+        }
+        this.currencies = Collections.unmodifiableList(list);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the list of all registered currencies.
+     *
+     * @return the sorted, unmodifiable, list of currencies, never null
+     */
+    List<CurrencyUnit> currencies() {
+        return currencies;
+    }
+
+    /**
+     * Gets the limit of the ordinals, being one more than the largest ordinal.
+     *
+     * @return the size of an array indexed by ordinal
+     */
+    int ordinalLimit() {
+        return currenciesByOrdinal.length;
+    }
+
+    /**
+     * Looks up a currency by its ordinal.
+     *
+     * @param ordinal  the ordinal
+     * @return the currency, null if not registered
+     */
+    CurrencyUnit lookupOrdinal(int ordinal) {
+        return ordinal < 0 || ordinal >= currenciesByOrdinal.length ? null : currenciesByOrdinal[ordinal];
+    }
+
+    /**
+     * Looks up a currency by its ordinal, including currencies no longer registered.
+     * <p>
+     * This is used by the ordinal based collections, which may hold a currency
+     * that was removed by a reload.
+     *
+     * @param ordinal  the ordinal, from zero to the ordinal limit exclusive
+     * @return the currency, never null
+     */
+    CurrencyUnit lookupKnownOrdinal(int ordinal) {
+        return knownCurrenciesByOrdinal[ordinal];
+    }
+
+    /**
+     * Looks up a currency by the letters of its code.
+     *
+     * @param c0  the first letter
+     * @param c1  the second letter
+     * @param c2  the third letter
+     * @return the currency, null if not registered
+     */
+    CurrencyUnit lookup(char c0, char c1, char c2) {
+        int index = codeIndex(c0, c1, c2);
+        return index < 0 ? null : currenciesByCode[index];
+    }
+
+    /**
+     * Looks up a currency by its packed code and decimal places.
+     * <p>
+     * This returns the registered currency if it has the decimal places,
+     * otherwise the latest version of the code with the decimal places.
+     *
+     * @param codeIndex  the packed code, see {@link #codeIndex(char, char, char)}
+     * @param decimalPlaces  the decimal places, as per {@link CurrencyUnit#getDecimalPlaces()}
+     * @return the currency, null if no version matches
+     */
+    CurrencyUnit lookupCodeIndex(int codeIndex, int decimalPlaces) {
+        if (codeIndex < 0 || codeIndex >= CODE_INDEX_SIZE) {
+            return null;
+        }
+        CurrencyUnit currency = currenciesByCode[codeIndex];
+        if (currency != null && currency.getDecimalPlaces() == decimalPlaces) {
+            return currency;
+        }
+        Version[] versions = versionsByCode[codeIndex];
+        if (versions != null) {
+            for (int i = versions.length - 1; i >= 0; i--) {
+                if (versions[i].currency.getDecimalPlaces() == decimalPlaces) {
+                    return versions[i].currency;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Looks up the version of a currency valid on a day.
+     * <p>
+     * This is a binary search of the versions of the code.
+     *
+     * @param c0  the first letter
+     * @param c1  the second letter
+     * @param c2  the third letter
+     * @param epochDay  the day, as the number of days from 1970-01-01
+     * @return the currency, null if no version is valid on the day
+     */
+    CurrencyUnit lookup(char c0, char c1, char c2, int epochDay) {
+        int index = codeIndex(c0, c1, c2);
+        Version[] versions = (index < 0 ? null : versionsByCode[index]);
+        if (versions == null) {
+            return null;
+        }
+        // find the last version starting on or before the day
+        int low = 0;
+        int high = versions.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (versions[mid].validFrom <= epochDay) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return (high >= 0 && epochDay < versions[high].validTo ? versions[high].currency : null);
+    }
+
+    /**
+     * Looks up any version of a currency matching the specified data.
+     * <p>
+     * This is used to resolve a deserialized historical currency.
+     *
+     * @param code  the currency code, not null
+     * @param numericCode  the numeric code, -1 if none
+     * @param decimalPlaces  the decimal places, -1 for a pseudo-currency
+     * @return the currency, null if no version matches
+     */
+    CurrencyUnit lookupVersion(String code, int numericCode, int decimalPlaces) {
+        int index = (code.length() == 3 ? codeIndex(code.charAt(0), code.charAt(1), code.charAt(2)) : -1);
+        Version[] versions = (index < 0 ? null : versionsByCode[index]);
+        if (versions != null) {
+            for (Version version : versions) {
+                if (version.currency.getNumericCode() == numericCode &&
+                        version.currency.getDefaultFractionDigits() == decimalPlaces) {
+                    return version.currency;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Looks up a currency by its numeric code.
+     *
+     * @param numericCode  the numeric code
+     * @return the currency, null if not registered
+     */
+    CurrencyUnit lookupNumeric(int numericCode) {
+        return numericCode < 0 || numericCode >= NUMERIC_INDEX_SIZE ? null : currenciesByNumericCode[numericCode];
+    }
+
+    /**
+     * Looks up a currency by the letters of a country code.
+     *
+     * @param c0  the first letter
+     * @param c1  the second letter
+     * @return the currency, null if no currency is registered for the country
+     */
+    CurrencyUnit lookupCountry(char c0, char c1) {
+        int index = countryIndex(c0, c1);
+        return index < 0 ? null : currenciesByCountry[index];
+    }
+
+    /**
+     * Looks up a currency by the country of a locale, caching the result.
+     *
+     * @param locale  the locale, not null
+     * @return the currency, null if no currency is registered for the country
+     */
+    CurrencyUnit lookupLocale(Locale locale) {
+        CurrencyUnit currency = currenciesByLocale.get(locale);
+        if (currency == null) {
+            String countryCode = locale.getCountry();
+            if (countryCode.length() == 2) {
+                currency = lookupCountry(countryCode.charAt(0), countryCode.charAt(1));
+            }
+            if (currency != null && currenciesByLocale.size() < LOCALE_CACHE_LIMIT) {
+                currenciesByLocale.putIfAbsent(locale, currency);
+            }
+        }
+        return currency;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Creates a builder containing the currencies of this registry.
+     * <p>
+     * This is used to add currencies to those already registered.
+     *
+     * @return the builder, never null
+     */
+    Builder toBuilder() {
+        return new Builder(this, true);
+    }
+
+    /**
+     * Creates an empty builder that reuses the instances of this registry.
+     * <p>
+     * This is used to reload the currencies. Where a currency is registered
+     * with unchanged data, the existing instance is reused, thus constants
+     * such as {@link CurrencyUnit#USD} remain the registered instances.
+     *
+     * @return the builder, never null
+     */
+    Builder toEmptyBuilder() {
+        return new Builder(this, false);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * The validated data of a currency to be registered.
+     * <p>
+     * Creating an entry does not create a {@code CurrencyUnit}, thus entries can
+     * be created while {@code CurrencyUnit} is being initialized, including by
+     * other threads.
+     * <p>
+     * This class is immutable and thread-safe.
+     */
+    static final class Entry {
+        /**
+         * The currency code.
+         */
+        final String code;
+        /**
+         * The packed currency code.
+         */
+        final int codeIndex;
+        /**
+         * The numeric code, -1 if none.
+         */
+        final short numericCode;
+        /**
+         * The decimal places, -1 for a pseudo-currency.
+         */
+        final short decimalPlaces;
+        /**
+         * The packed country codes.
+         */
+        final int[] countryIndexes;
+        /**
+         * The first day of validity, inclusive, {@link #NO_START} if always valid.
+         */
+        final int validFrom;
+        /**
+         * The last day of validity, exclusive, {@link #NO_END} if still valid.
+         */
+        final int validTo;
+
+        /**
+         * Creates an entry, validating the data.
+         *
+         * @param currencyCode  the currency code, not null
+         * @param numericCurrencyCode  the numeric currency code, from 0 to 999, -1 if none
+         * @param decimalPlaces  the number of decimal places that the currency
+         *  normally has, from 0 to 9, or -1 for a pseudo-currency
+         * @param countryCodes  the country codes to register the currency under, not null
+         * @param validFrom  the first day of validity, inclusive, {@link #NO_START} if always valid
+         * @param validTo  the last day of validity, exclusive, {@link #NO_END} if still valid
+         * @return the entry, never null
+         * @throws IllegalArgumentException if the specified data is invalid
+         */
+        static Entry of(String currencyCode, int numericCurrencyCode, int decimalPlaces,
+                List<String> countryCodes, int validFrom, int validTo) {
+            MoneyUtils.checkNotNull(countryCodes, "Country codes must not be null");
+            int[] countryIndexes = new int[countryCodes.size()];
+            for (int i = 0; i < countryIndexes.length; i++) {
+                String countryCode = countryCodes.get(i);
+                MoneyUtils.checkNotNull(countryCode, "Country code must not be null");
+                countryIndexes[i] = (countryCode.length() == 2 ? countryIndex(countryCode.charAt(0), countryCode.charAt(1)) : -1);
+                if (countryIndexes[i] < 0) {
+                    throw new IllegalArgumentException("Invalid country code, must be two ASCII upper-case letters: " + countryCode);
+                }
+            }
+            return of(currencyCode, numericCurrencyCode, decimalPlaces, countryIndexes, validFrom, validTo);
+        }
+
+        /**
+         * Creates an entry with the country codes already packed, validating the data.
+         *
+         * @param currencyCode  the currency code, not null
+         * @param numericCurrencyCode  the numeric currency code, from 0 to 999, -1 if none
+         * @param decimalPlaces  the number of decimal places that the currency
+         *  normally has, from 0 to 9, or -1 for a pseudo-currency
+         * @param countryIndexes  the packed country codes, see {@link #countryIndex(char, char)}, not null
+         * @param validFrom  the first day of validity, inclusive, {@link #NO_START} if always valid
+         * @param validTo  the last day of validity, exclusive, {@link #NO_END} if still valid
+         * @return the entry, never null
+         * @throws IllegalArgumentException if the specified data is invalid
+         */
+        static Entry of(String currencyCode, int numericCurrencyCode, int decimalPlaces,
+                int[] countryIndexes, int validFrom, int validTo) {
+            MoneyUtils.checkNotNull(currencyCode, "Currency code must not be null");
+            if (currencyCode.length() != 3) {
+                throw new IllegalArgumentException("Invalid string code, must be length 3");
+            }
+            int index = codeIndex(currencyCode.charAt(0), currencyCode.charAt(1), currencyCode.charAt(2));
+            if (index < 0) {
+                throw new IllegalArgumentException("Invalid string code, must be ASCII upper-case letters");
+            }
+            if (numericCurrencyCode < -1 || numericCurrencyCode > 999) {
+                throw new IllegalArgumentException("Invalid numeric code");
+            }
+            if (decimalPlaces < -1 || decimalPlaces > 9) {
+                throw new IllegalArgumentException("Invalid number of decimal places");
+            }
+            MoneyUtils.checkNotNull(countryIndexes, "Country codes must not be null");
+            for (int countryIndex : countryIndexes) {
+                if (countryIndex < 0 || countryIndex >= COUNTRY_INDEX_SIZE) {
+                    throw new IllegalArgumentException("Invalid country code index: " + countryIndex);
+                }
+            }
+            if (validFrom >= validTo) {
+                throw new IllegalArgumentException("Invalid validity, must start before it ends: " + currencyCode);
+            }
+            return new Entry(currencyCode, index, (short) numericCurrencyCode, (short) decimalPlaces,
+                    countryIndexes.clone(), validFrom, validTo);
+        }
+
+        /**
+         * Constructor.
+         *
+         * @param code  the currency code, not null
+         * @param codeIndex  the packed currency code
+         * @param numericCode  the numeric code, -1 if none
+         * @param decimalPlaces  the decimal places, -1 for a pseudo-currency
+         * @param countryIndexes  the packed country codes, not null
+         * @param validFrom  the first day of validity, inclusive
+         * @param validTo  the last day of validity, exclusive
+         */
+        private Entry(String code, int codeIndex, short numericCode, short decimalPlaces,
+                int[] countryIndexes, int validFrom, int validTo) {
+            this.code = code;
+            this.codeIndex = codeIndex;
+            this.numericCode = numericCode;
+            this.decimalPlaces = decimalPlaces;
+            this.countryIndexes = countryIndexes;
+            this.validFrom = validFrom;
+            this.validTo = validTo;
+        }
+
+        /**
+         * Checks if this entry defines a currency that is still valid.
+         * <p>
+         * Only such entries are registered for lookup by code, numeric code and country.
+         *
+         * @return true if still valid
+         */
+        boolean isCurrent() {
+            return validTo == NO_END;
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * A currency together with the days it is valid for.
+     * <p>
+     * This class is immutable and thread-safe.
+     */
+    static final class Version {
+        /**
+         * The first day of validity, inclusive, {@link #NO_START} if always valid.
+         */
+        final int validFrom;
+        /**
+         * The last day of validity, exclusive, {@link #NO_END} if still valid.
+         */
+        final int validTo;
+        /**
+         * The currency.
+         */
+        final CurrencyUnit currency;
+
+        /**
+         * Constructor.
+         *
+         * @param validFrom  the first day of validity, inclusive
+         * @param validTo  the last day of validity, exclusive
+         * @param currency  the currency, not null
+         */
+        Version(int validFrom, int validTo, CurrencyUnit currency) {
+            this.validFrom = validFrom;
+            this.validTo = validTo;
+            this.currency = currency;
+        }
+
+        /**
+         * Checks if this is a still valid version with no stated start.
+         * <p>
+         * Such a version starts when the last historical version of the code ends.
+         *
+         * @return true if open at both ends
+         */
+        boolean isOpen() {
+            return validFrom == NO_START && validTo == NO_END;
+        }
+
+        /**
+         * Checks if the validity of this version overlaps that of an entry.
+         * <p>
+         * An open version never overlaps a historical entry, nor an open entry a
+         * historical version, as the open one is shortened to start afterwards.
+         *
+         * @param entry  the entry, not null
+         * @return true if they overlap
+         */
+        boolean overlaps(Entry entry) {
+            if (isOpen() != (entry.validFrom == NO_START && entry.validTo == NO_END)) {
+                return (isOpen() ? entry.validTo : validTo) == NO_END;
+            }
+            return entry.validFrom < validTo && validFrom < entry.validTo;
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Builder of a registry snapshot.
+     * <p>
+     * The builder assigns the ordinal of each currency. A currency keeps its
+     * ordinal when a new snapshot is built, even if its numeric code changes.
+     * A newly registered code, or a version of a code with different decimal places,
+     * is given the next unused ordinal. This matches {@link CurrencyUnit#equals(Object)}.
+     * <p>
+     * This class is mutable and intended for use by a single thread.
+     */
+    static final class Builder {
+        /**
+         * The registry to reuse instances and ordinals from, null if none.
+         */
+        private final CurrencyUnitRegistry previous;
+        /**
+         * The code index being built.
+         */
+        private CurrencyUnit[] currenciesByCode;
+        /**
+         * The numeric code index being built.
+         */
+        private CurrencyUnit[] currenciesByNumericCode;
+        /**
+         * The country index being built.
+         */
+        private CurrencyUnit[] currenciesByCountry;
+        /**
+         * The version index being built, with open versions not yet shortened.
+         */
+        private Version[][] versionsByCode;
+        /**
+         * The next ordinal to assign.
+         */
+        private int nextOrdinal;
+
+        /**
+         * Constructor.
+         *
+         * @param previous  the registry to reuse instances from, null if none
+         * @param copy  whether to start with the currencies of the previous registry
+         */
+        private Builder(CurrencyUnitRegistry previous, boolean copy) {
+            this.previous = previous;
+            if (copy) {
+                currenciesByCode = previous.currenciesByCode.clone();
+                currenciesByNumericCode = previous.currenciesByNumericCode.clone();
+                currenciesByCountry = previous.currenciesByCountry.clone();
+                versionsByCode = previous.versionsByCode.clone();
+            } else {
+                currenciesByCode = new CurrencyUnit[CODE_INDEX_SIZE];
+                currenciesByNumericCode = new CurrencyUnit[NUMERIC_INDEX_SIZE];
+                currenciesByCountry = new CurrencyUnit[COUNTRY_INDEX_SIZE];
+                versionsByCode = new Version[CODE_INDEX_SIZE][];
+            }
+            nextOrdinal = (previous != null ? previous.ordinalLimit() : 0);
+        }
+
+        /**
+         * Registers a currency.
+         * <p>
+         * A historical entry is only added to the versions of its code.
+         *
+         * @param entry  the currency data, not null
+         * @return the registered instance, never null
+         * @throws IllegalArgumentException if the code or numeric code is already registered,
+         *  or the validity overlaps another version of the code
+         */
+        CurrencyUnit register(Entry entry) {
+            if (entry.isCurrent() && (currenciesByCode[entry.codeIndex] != null ||
+                    (entry.numericCode >= 0 && currenciesByNumericCode[entry.numericCode] != null))) {
+                throw new IllegalArgumentException("Currency already registered: " + entry.code);
+            }
+            if (findOverlap(entry) != null) {
+                throw new IllegalArgumentException("Currency validity overlaps another version: " + entry.code);
+            }
+            CurrencyUnit currency = createCurrency(entry);
+            addVersion(entry, currency);
+            if (entry.isCurrent()) {
+                currenciesByCode[entry.codeIndex] = currency;
+                if (entry.numericCode >= 0) {
+                    currenciesByNumericCode[entry.numericCode] = currency;
+                }
+                for (int countryIndex : entry.countryIndexes) {
+                    currenciesByCountry[countryIndex] = currency;
+                }
+            }
+            return currency;
+        }
+
+        /**
+         * Merges the currencies of a provider with lower precedence into this builder.
+         * <p>
+         * Where the entries define a code, numeric code or country already registered,
+         * or a validity overlapping an existing version, the existing definition is retained.
+         * Each conflict is described in the returned list, except where a currency is
+         * defined identically.
+         *
+         * @param entries  the currencies of the provider with lower precedence, not null
+         * @return the descriptions of the conflicts found, never null
+         * @throws IllegalArgumentException if the entries define a code or numeric code twice
+         */
+        List<String> merge(List<Entry> entries) {
+            BitSet codes = new BitSet(CODE_INDEX_SIZE);
+            BitSet numericCodes = new BitSet(NUMERIC_INDEX_SIZE);
+            List<String> conflicts = new ArrayList<String>();
+            for (Entry entry : entries) {
+                if (!entry.isCurrent()) {
+                    Version overlap = findOverlap(entry);
+                    if (overlap == null) {
+                        addVersion(entry, createCurrency(entry));
+                    } else if (overlap.validFrom != entry.validFrom || overlap.validTo != entry.validTo ||
+                            overlap.currency.getNumericCode() != entry.numericCode ||
+                            overlap.currency.getDefaultFractionDigits() != entry.decimalPlaces) {
+                        conflicts.add("Currency " + entry.code + " already has a version overlapping the same days");
+                    }
+                    continue;
+                }
+                if (codes.get(entry.codeIndex) || (entry.numericCode >= 0 && numericCodes.get(entry.numericCode))) {
+                    throw new IllegalArgumentException("Currency already registered: " + entry.code);
+                }
+                codes.set(entry.codeIndex);
+                if (entry.numericCode >= 0) {
+                    numericCodes.set(entry.numericCode);
+                }
+                CurrencyUnit existing = currenciesByCode[entry.codeIndex];
+                if (existing != null) {
+                    if (existing.getNumericCode() != entry.numericCode ||
+                            existing.getDefaultFractionDigits() != entry.decimalPlaces) {
+                        conflicts.add("Currency " + entry.code + " is already defined with different data");
+                    }
+                } else if (entry.numericCode >= 0 && currenciesByNumericCode[entry.numericCode] != null) {
+                    conflicts.add("Numeric code " + entry.numericCode + " of currency " + entry.code +
+                            " is already used by " + currenciesByNumericCode[entry.numericCode]);
+                    continue;
+                } else if (findOverlap(entry) != null) {
+                    conflicts.add("Currency " + entry.code + " already has a version overlapping the same days");
+                    continue;
+                } else {
+                    existing = createCurrency(entry);
+                    addVersion(entry, existing);
+                    currenciesByCode[entry.codeIndex] = existing;
+                    if (entry.numericCode >= 0) {
+                        currenciesByNumericCode[entry.numericCode] = existing;
+                    }
+                }
+                for (int countryIndex : entry.countryIndexes) {
+                    CurrencyUnit mapped = currenciesByCountry[countryIndex];
+                    if (mapped == null) {
+                        currenciesByCountry[countryIndex] = existing;
+                    } else if (mapped != existing) {
+                        String countryCode = new String(new char[] {(char) ('A' + countryIndex / 26), (char) ('A' + countryIndex % 26)});
+                        conflicts.add("Country " + countryCode + " of currency " + entry.code +
+                                " is already mapped to " + mapped);
+                    }
+                }
+            }
+            return conflicts;
+        }
+
+        /**
+         * Finds a version of the code of the entry whose validity overlaps the entry.
+         *
+         * @param entry  the entry, not null
+         * @return the overlapping version, null if none
+         */
+        private Version findOverlap(Entry entry) {
+            Version[] versions = versionsByCode[entry.codeIndex];
+            if (versions != null) {
+                for (Version version : versions) {
+                    if (version.overlaps(entry)) {
+                        return version;
+                    }
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Adds a version to the versions of the code of the entry.
+         *
+         * @param entry  the entry, not null
+         * @param currency  the currency of the entry, not null
+         */
+        private void addVersion(Entry entry, CurrencyUnit currency) {
+            Version[] versions = versionsByCode[entry.codeIndex];
+            int length = (versions != null ? versions.length : 0);
+            Version[] added = new Version[length + 1];
+            if (versions != null) {
+                System.arraycopy(versions, 0, added, 0, length);
+            }
+            added[length] = new Version(entry.validFrom, entry.validTo, currency);
+            versionsByCode[entry.codeIndex] = added;
+        }
+
+        /**
+         * Creates the currency for an entry, reusing an existing instance if the data matches.
+         * <p>
+         * Versions of a code share an ordinal if they have the same decimal places,
+         * as such versions are equal.
+         *
+         * @param entry  the currency data, not null
+         * @return the currency, never null
+         */
+        private CurrencyUnit createCurrency(Entry entry) {
+            CurrencyUnit equal = null;
+            CurrencyUnit[] candidates = {
+                currenciesByCode[entry.codeIndex],
+                (previous != null ? previous.currenciesByCode[entry.codeIndex] : null)};
+            Version[][] candidateVersions = {
+                versionsByCode[entry.codeIndex],
+                (previous != null ? previous.versionsByCode[entry.codeIndex] : null)};
+            for (int i = 0; i < candidates.length; i++) {
+                if (matches(candidates[i], entry)) {
+                    return candidates[i];
+                }
+                equal = (equal != null || !isEqual(candidates[i], entry) ? equal : candidates[i]);
+                if (candidateVersions[i] != null) {
+                    for (Version version : candidateVersions[i]) {
+                        if (matches(version.currency, entry)) {
+                            return version.currency;
+                        }
+                        equal = (equal != null || !isEqual(version.currency, entry) ? equal : version.currency);
+                    }
+                }
+            }
+            int ordinal = (equal != null ? equal.getOrdinal() : nextOrdinal++);
+            return new CurrencyUnit(entry.code, entry.numericCode, entry.decimalPlaces, ordinal);
+        }
+
+        /**
+         * Checks if a currency has the same data as an entry.
+         *
+         * @param currency  the currency, null returns false
+         * @param entry  the entry, not null
+         * @return true if the numeric code and decimal places match
+         */
+        private static boolean matches(CurrencyUnit currency, Entry entry) {
+            return currency != null && currency.getNumericCode() == entry.numericCode &&
+                    currency.getDefaultFractionDigits() == entry.decimalPlaces;
+        }
+
+        /**
+         * Checks if a currency would be equal to the currency of an entry.
+         *
+         * @param currency  the currency, null returns false
+         * @param entry  the entry, not null
+         * @return true if the decimal places match, the code being the same
+         */
+        private static boolean isEqual(CurrencyUnit currency, Entry entry) {
+            return currency != null && currency.getDefaultFractionDigits() == entry.decimalPlaces;
+        }
+
+        /**
+         * Builds the registry.
+         * <p>
+         * An open version is shortened to start when the last historical version
+         * of its code ends, then the versions of each code are sorted.
+         * The builder must not be used after this method is called.
+         *
+         * @return the registry, never null
+         */
+        CurrencyUnitRegistry build() {
+            for (int i = 0; i < versionsByCode.length; i++) {
+                Version[] versions = versionsByCode[i];
+                if (versions != null && versions.length > 1) {
+                    versions = versions.clone();
+                    int lastEnd = NO_START;
+                    int open = -1;
+                    for (int j = 0; j < versions.length; j++) {
+                        if (versions[j].isOpen()) {
+                            open = j;
+                        } else if (versions[j].validTo != NO_END) {
+                            lastEnd = Math.max(lastEnd, versions[j].validTo);
+                        }
+                    }
+                    if (open >= 0) {
+                        versions[open] = new Version(lastEnd, NO_END, versions[open].currency);
+                    }
+                    Arrays.sort(versions, VALID_FROM_ORDER);
+                    versionsByCode[i] = versions;
+                }
+            }
+            CurrencyUnitRegistry registry = new CurrencyUnitRegistry(
+                    currenciesByCode, currenciesByNumericCode, currenciesByCountry, versionsByCode,
+                    (previous != null ? previous.knownCurrenciesByOrdinal : null), nextOrdinal);
+            currenciesByCode = null;
+            currenciesByNumericCode = null;
+            currenciesByCountry = null;
+            versionsByCode = null;
+            return registry;
+        }
+    }
+
+}
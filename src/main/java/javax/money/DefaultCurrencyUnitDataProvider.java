@@ -15,24 +15,291 @@
  */
 package javax.money;
 
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
 
 /**
  * Provider for available currencies using a file.
  * <p>
- * This reads the first resource named {@code //MoneyData.csv} on the classpath.
+ * This reads the first resource named {@code /MoneyData.csv} on the classpath.
+ * The build compiles it into {@code /MoneyData.bin} using {@link MoneyDataCompiler},
+ * which is read instead if it is in the same classpath location as the csv.
+ * Thus a csv placed earlier on the classpath than the library takes precedence
+ * over the compiled data of the library.
+ * <p>
+ * The time taken to load the data is logged at {@code FINE} level to the
+ * logger named after this class.
  */
 class DefaultCurrencyUnitDataProvider extends CurrencyUnitDataProvider {
 
+    /** Regex format for the csv line, with optional validity dates. */
+    static final Pattern REGEX_LINE = Pattern.compile(
+            "([A-Z]{3}),(-1|[0-9]{1,3}),(-1|[0-9]),([A-Z]*)(?:,([0-9]{4}-[0-9]{2}-[0-9]{2})?,([0-9]{4}-[0-9]{2}-[0-9]{2})?)?#?.*");
+    /** The name of the csv data resource. */
+    static final String CSV_RESOURCE = "/MoneyData.csv";
+    /** The name of the compiled data resource. */
+    static final String BINARY_RESOURCE = "/MoneyData.bin";
+    /** The first four bytes of the compiled data, 'JMDB' in ASCII. */
+    static final int BINARY_MAGIC = 0x4A4D4442;
+    /** The version of the compiled data format. */
+    static final int BINARY_VERSION = 2;
+    /** The logger used to report how the data was loaded. */
+    private static final Logger LOG = Logger.getLogger(DefaultCurrencyUnitDataProvider.class.getName());
+
     /**
      * Registers all the currencies known by this provider.
      * <p>
      * This reads the first resource named '/MoneyData.csv' on the classpath.
+     * The first resource named '/MoneyData.bin' is read instead if it is in
+     * the same location as the csv, or if there is no csv.
      * 
      * @throws Exception if an error occurs
      */
     @Override
     protected void registerCurrencies() throws Exception {
-    	// TODO Not Implemented yet
+        registerCurrencies(getClass().getResource(CSV_RESOURCE), getClass().getResource(BINARY_RESOURCE));
+    }
+
+    /**
+     * Registers the currencies from the specified resources.
+     * 
+     * @param csvUrl  the URL of the csv resource, null if not found
+     * @param binaryUrl  the URL of the compiled resource, null if not found
+     * @throws IOException if an error occurs reading the resources
+     */
+    void registerCurrencies(URL csvUrl, URL binaryUrl) throws IOException {
+        long start = System.nanoTime();
+        String resource = BINARY_RESOURCE;
+        int count = -1;
+        if (binaryUrl != null) {
+            if (csvUrl == null || location(binaryUrl, BINARY_RESOURCE).equals(location(csvUrl, CSV_RESOURCE))) {
+                count = registerBinaryCurrencies(binaryUrl);
+            } else if (LOG.isLoggable(Level.FINE)) {
+                LOG.fine("Ignoring " + binaryUrl + " as " + csvUrl + " is earlier on the classpath");
+            }
+        }
+        if (count < 0) {
+            resource = CSV_RESOURCE;
+            count = registerCsvCurrencies(csvUrl);
+        }
+        if (LOG.isLoggable(Level.FINE)) {
+            LOG.fine("Registered " + count + " currencies from " + resource +
+                    " in " + ((System.nanoTime() - start) / 1000) + " microseconds");
+        }
+    }
+
+    /**
+     * Gets the classpath location of a resource.
+     * 
+     * @param url  the URL of the resource, not null
+     * @param resource  the name of the resource, starting with a slash, not null
+     * @return the URL without the name of the resource, never null
+     */
+    private static String location(URL url, String resource) {
+        String str = url.toExternalForm();
+        String name = resource.substring(1);
+        return (str.endsWith(name) ? str.substring(0, str.length() - name.length()) : str);
+    }
+
+    /**
+     * Registers the currencies from the compiled resource.
+     * <p>
+     * The whole resource is read in one go and fully decoded before any
+     * currency is registered, thus a damaged resource can fall back to the csv.
+     * 
+     * @param url  the URL of the compiled resource, not null
+     * @return the number of currencies registered, -1 if the resource is invalid
+     * @throws IOException if an error occurs reading the resource
+     */
+    private int registerBinaryCurrencies(URL url) throws IOException {
+        InputStream in = url.openStream();
+        byte[] data;
+        try {
+            DataInputStream dataIn = new DataInputStream(in);
+            if (dataIn.readInt() != BINARY_MAGIC || dataIn.readUnsignedShort() != BINARY_VERSION) {
+                LOG.warning("Ignoring " + BINARY_RESOURCE + " as the format is not recognised");
+                return -1;
+            }
+            data = new byte[dataIn.readInt()];
+            dataIn.readFully(data);
+        } catch (EOFException ex) {
+            LOG.warning("Ignoring " + BINARY_RESOURCE + " as it is truncated");
+            return -1;
+        } finally {
+            in.close();
+        }
+        
+        int count;
+        String[] codes;
+        int[] numericCodes;
+        int[] decimalPlaces;
+        int[][] countryIndexes;
+        int[] validFroms;
+        int[] validTos;
+        try {
+            ByteBuffer buf = ByteBuffer.wrap(data);
+            count = buf.getShort();
+            codes = new String[count];
+            numericCodes = new int[count];
+            decimalPlaces = new int[count];
+            countryIndexes = new int[count][];
+            validFroms = new int[count];
+            validTos = new int[count];
+            for (int i = 0; i < count; i++) {
+                codes[i] = decodeCode(buf.getShort());
+                numericCodes[i] = buf.getShort();
+                decimalPlaces[i] = buf.get();
+                countryIndexes[i] = new int[buf.get()];
+                for (int j = 0; j < countryIndexes[i].length; j++) {
+                    countryIndexes[i][j] = buf.getShort();
+                }
+                validFroms[i] = buf.getInt();
+                validTos[i] = buf.getInt();
+            }
+        } catch (RuntimeException ex) {
+            // BufferUnderflowException or IllegalArgumentException from damaged data
+            LOG.warning("Ignoring " + BINARY_RESOURCE + " as it is damaged: " + ex);
+            return -1;
+        }
+        for (int i = 0; i < count; i++) {
+            registerCurrency(codes[i], numericCodes[i], decimalPlaces[i], countryIndexes[i], validFroms[i], validTos[i]);
+        }
+        return count;
+    }
+
+    /**
+     * Decodes a packed three letter currency code.
+     * 
+     * @param codeIndex  the packed code, see {@link CurrencyUnitRegistry#codeIndex(char, char, char)}
+     * @return the currency code, never null
+     */
+    private static String decodeCode(int codeIndex) {
+        if (codeIndex < 0 || codeIndex >= CurrencyUnitRegistry.CODE_INDEX_SIZE) {
+            throw new IllegalArgumentException("Invalid currency code index: " + codeIndex);
+        }
+        char[] letters = new char[] {
+            (char) ('A' + codeIndex / (26 * 26)), (char) ('A' + codeIndex / 26 % 26), (char) ('A' + codeIndex % 26)};
+        return new String(letters);
+    }
+
+    /**
+     * Parses an optional date in the csv data.
+     * <p>
+     * The date must exist in the ISO calendar, thus '2001-02-31' is rejected
+     * rather than rolling over into March.
+     * 
+     * @param date  the date in the format 'yyyy-MM-dd', null if absent
+     * @param defaultDay  the day to return if the date is absent
+     * @return the day, as the number of days from 1970-01-01
+     * @throws IllegalArgumentException if the date is invalid
+     */
+    static int parseDay(String date, int defaultDay) {
+        if (date == null) {
+            return defaultDay;
+        }
+        if (date.length() != 10 || date.charAt(4) != '-' || date.charAt(7) != '-') {
+            throw new IllegalArgumentException("Invalid date in currency data, expected yyyy-MM-dd: " + date);
+        }
+        int year = parseDigits(date, 0, 4);
+        int month = parseDigits(date, 5, 7);
+        int dayOfMonth = parseDigits(date, 8, 10);
+        if (month < 1 || month > 12 || dayOfMonth < 1 || dayOfMonth > lengthOfMonth(year, month)) {
+            throw new IllegalArgumentException("Invalid date in currency data: " + date);
+        }
+        return CurrencyUnitRegistry.epochDay(year, month, dayOfMonth);
+    }
+
+    /**
+     * Parses the ASCII digits of part of a date.
+     * 
+     * @param date  the date, not null
+     * @param start  the index of the first digit
+     * @param end  the index after the last digit
+     * @return the value, never negative
+     * @throws IllegalArgumentException if any character is not a digit
+     */
+    private static int parseDigits(String date, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = date.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new IllegalArgumentException("Invalid date in currency data, expected yyyy-MM-dd: " + date);
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * Gets the number of days in a month of the ISO calendar.
+     * 
+     * @param year  the year, proleptic
+     * @param month  the month-of-year, from 1 to 12
+     * @return the number of days, from 28 to 31
+     */
+    private static int lengthOfMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                boolean leap = (year % 4 == 0) && (year % 100 != 0 || year % 400 == 0);
+                return (leap ? 29 : 28);
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    /**
+     * Registers the currencies from the csv resource.
+     * 
+     * @param url  the URL of the csv resource, null if not found
+     * @return the number of currencies registered
+     * @throws IOException if an error occurs reading the resource
+     */
+    private int registerCsvCurrencies(URL url) throws IOException {
+        InputStream in = null;
+        int count = 0;
+        try {
+            if (url == null) {
+                throw new FileNotFoundException("Data file " + CSV_RESOURCE + " not found");
+            }
+            in = url.openStream();
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, "UTF-8"));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Matcher matcher = REGEX_LINE.matcher(line);
+                if (matcher.matches()) {
+                    String codeStr = matcher.group(4);
+                    int[] countryIndexes = new int[codeStr.length() / 2];
+                    for (int i = 0; i < countryIndexes.length; i++) {
+                        countryIndexes[i] = CurrencyUnitRegistry.countryIndex(codeStr.charAt(i * 2), codeStr.charAt(i * 2 + 1));
+                    }
+                    registerCurrency(matcher.group(1), Integer.parseInt(matcher.group(2)), Integer.parseInt(matcher.group(3)), countryIndexes,
+                            parseDay(matcher.group(5), CurrencyUnitRegistry.NO_START), parseDay(matcher.group(6), CurrencyUnitRegistry.NO_END));
+                    count++;
+                }
+            }
+        } finally {
+            if (in != null) {
+                in.close();
+            }
+        }
+        return count;
     }
 
 }
@@ -36,7 +36,7 @@ public class IllegalCurrencyException extends IllegalArgumentException {
      * @param message  the message, may be null
      */
     public IllegalCurrencyException(String message) {
-    	// TODO Not Implemented yet
+        super(message);
     }
 
 }
@@ -15,9 +15,17 @@
  */
 package javax.money;
 
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.math.RoundingMode;
+import java.text.ParsePosition;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
 
 /**
  * An amount of money with the standard decimal places defined by the currency.
@@ -34,6 +42,14 @@ import java.math.RoundingMode;
  * The major units are dollars. The minor units are cents, 100 to the dollar.
  * This class does not allow calculations on fractions of a cent.
  * <p>
+ * Internally, an amount that fits in a {@code long} of minor units is held as such,
+ * thus most arithmetic avoids creating {@code BigDecimal} objects. Calculations that
+ * would overflow the {@code long} continue transparently using {@code BigDecimal}.
+ * Calculations are performed directly on this state without an intermediate
+ * {@code BigMoney}, so adding two amounts creates only the resulting {@code Money}.
+ * Zero and other small amounts of minor units are cached, thus the factory methods
+ * and arithmetic return a canonical instance for such amounts, as per {@link Integer#valueOf(int)}.
+ * <p>
  * This class is immutable and thread-safe.
  */
 public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvider>, Serializable {
@@ -42,6 +58,18 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * The serialisation version.
      */
     private static final long serialVersionUID = 1L;
+    /**
+     * The currency, not null.
+     */
+    private final CurrencyUnit currency;
+    /**
+     * The amount in minor units, only valid when {@code amount} is null.
+     */
+    private final long amountMinor;
+    /**
+     * The amount at the scale of the currency, null if the amount fits in {@code amountMinor}.
+     */
+    private final BigDecimal amount;
 
     //-----------------------------------------------------------------------
     /**
@@ -57,8 +85,7 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * @throws ArithmeticException if the scale exceeds the currency scale
      */
     public static Money of(CurrencyUnit currency, BigDecimal amount) {
-    	// TODO Not Implemented yet
-    	return null;
+        return Money.of(currency, amount, RoundingMode.UNNECESSARY);
     }
 
     /**
@@ -75,8 +102,13 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * @throws ArithmeticException if the rounding fails
      */
     public static Money of(CurrencyUnit currency, BigDecimal amount, RoundingMode roundingMode) {
-    	// TODO Not Implemented yet
-    	return null;
+        MoneyUtils.checkNotNull(currency, "CurrencyUnit must not be null");
+        MoneyUtils.checkNotNull(amount, "Amount must not be null");
+        MoneyUtils.checkNotNull(roundingMode, "RoundingMode must not be null");
+        if (amount.getClass() != BigDecimal.class) {
+            amount = BigMoney.of(currency, amount).getAmount();
+        }
+        return create(currency, amount.setScale(currency.getDecimalPlaces(), roundingMode));
     }
 
     //-----------------------------------------------------------------------
@@ -100,8 +132,7 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * @throws ArithmeticException if the scale exceeds the currency scale
      */
     public static Money of(CurrencyUnit currency, double amount) {
-    	// TODO Not Implemented yet
-    	return null;
+        return Money.of(currency, BigDecimal.valueOf(amount));
     }
 
     /**
@@ -125,8 +156,7 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * @throws ArithmeticException if the rounding fails
      */
     public static Money of(CurrencyUnit currency, double amount, RoundingMode roundingMode) {
-    	// TODO Not Implemented yet
-    	return null;
+        return Money.of(currency, BigDecimal.valueOf(amount), roundingMode);
     }
 
     //-----------------------------------------------------------------------
@@ -143,8 +173,13 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * @return the new instance, never null
      */
     public static Money ofMajor(CurrencyUnit currency, long amountMajor) {
-    	// TODO Not Implemented yet
-    	return null;
+        MoneyUtils.checkNotNull(currency, "CurrencyUnit must not be null");
+        long factor = MoneyUtils.POWERS_OF_TEN[currency.getDecimalPlaces()];
+        long amountMinor = amountMajor * factor;
+        if (amountMinor / factor == amountMajor) {
+            return create(currency, amountMinor);
+        }
+        return create(currency, BigDecimal.valueOf(amountMajor).setScale(currency.getDecimalPlaces()));
     }
 
     /**
@@ -161,8 +196,8 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * @return the new instance, never null
      */
     public static Money ofMinor(CurrencyUnit currency, long amountMinor) {
-    	// TODO Not Implemented yet
-    	return null;
+        MoneyUtils.checkNotNull(currency, "CurrencyUnit must not be null");
+        return create(currency, amountMinor);
     }
 
     //-----------------------------------------------------------------------
@@ -175,8 +210,7 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * @return the instance representing zero, never null
      */
     public static Money zero(CurrencyUnit currency) {
-    	// TODO Not Implemented yet
-    	return null;
+        return Money.ofMinor(currency, 0);
     }
 
     //-----------------------------------------------------------------------
@@ -193,8 +227,7 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * @throws ArithmeticException if the scale exceeds the currency scale
      */
     public static Money of(BigMoneyProvider moneyProvider) {
-    	// TODO Not Implemented yet
-    	return null;
+        return Money.of(moneyProvider, RoundingMode.UNNECESSARY);
     }
 
     /**
@@ -210,8 +243,13 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * @throws ArithmeticException if the rounding fails
      */
     public static Money of(BigMoneyProvider moneyProvider, RoundingMode roundingMode) {
-    	// TODO Not Implemented yet
-    	return null;
+        MoneyUtils.checkNotNull(moneyProvider, "BigMoneyProvider must not be null");
+        MoneyUtils.checkNotNull(roundingMode, "RoundingMode must not be null");
+        if (moneyProvider instanceof Money) {
+            return (Money) moneyProvider;
+        }
+        BigMoney money = BigMoney.of(moneyProvider);
+        return Money.of(money.getCurrencyUnit(), money.getAmount(), roundingMode);
     }
 
     //-----------------------------------------------------------------------
@@ -228,8 +266,16 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * @throws CurrencyMismatchException if the currencies differ
      */
     public static Money total(Money... monies) {
-    	// TODO Not Implemented yet
-    	return null;
+        MoneyUtils.checkNotNull(monies, "Money array must not be null");
+        if (monies.length == 0) {
+            throw new IllegalArgumentException("Money array must not be empty");
+        }
+        MoneyUtils.checkNotNull(monies[0], "Money arary must not contain null entries");
+        MoneyAccumulator total = MoneyAccumulator.of(monies[0]);
+        for (int i = 1; i < monies.length; i++) {
+            total.add(monies[i]);
+        }
+        return total.toMoney();
     }
 
     /**
@@ -245,8 +291,18 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * @throws CurrencyMismatchException if the currencies differ
      */
     public static Money total(Iterable<Money> monies) {
-    	// TODO Not Implemented yet
-    	return null;
+        MoneyUtils.checkNotNull(monies, "Money iterator must not be null");
+        Iterator<Money> it = monies.iterator();
+        if (!it.hasNext()) {
+            throw new IllegalArgumentException("Money iterator must not be empty");
+        }
+        Money first = it.next();
+        MoneyUtils.checkNotNull(first, "Money iterator must not contain null entries");
+        MoneyAccumulator total = MoneyAccumulator.of(first);
+        while (it.hasNext()) {
+            total.add(it.next());
+        }
+        return total.toMoney();
     }
 
     /**
@@ -263,8 +319,12 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * @throws CurrencyMismatchException if the currencies differ
      */
     public static Money total(CurrencyUnit currency, Money... monies) {
-    	// TODO Not Implemented yet
-    	return null;
+        MoneyUtils.checkNotNull(monies, "Money array must not be null");
+        MoneyAccumulator total = MoneyAccumulator.of(currency);
+        for (Money money : monies) {
+            total.add(money);
+        }
+        return total.toMoney();
     }
 
     /**
@@ -281,8 +341,31 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * @throws CurrencyMismatchException if the currencies differ
      */
     public static Money total(CurrencyUnit currency, Iterable<Money> monies) {
-    	// TODO Not Implemented yet
-    	return null;
+        MoneyUtils.checkNotNull(monies, "Money iterator must not be null");
+        MoneyAccumulator total = MoneyAccumulator.of(currency);
+        for (Money money : monies) {
+            total.add(money);
+        }
+        return total.toMoney();
+    }
+
+    /**
+     * Obtains an instance of {@code Money} as the total value of
+     * a possibly empty list, using multiple threads for large lists.
+     * <p>
+     * The list is split into chunks that are totalled in parallel using a
+     * {@link java.util.concurrent.ForkJoinPool ForkJoinPool}, and the partial
+     * totals are then combined. As addition of exact amounts does not depend
+     * on the order, the result is identical to {@link #total(CurrencyUnit, Iterable)}.
+     * The list must not be modified during the calculation.
+     * 
+     * @param currency  the currency to total in, not null
+     * @param monies  the monetary values to total, no null elements, not null
+     * @return the total, never null
+     * @throws CurrencyMismatchException if the currencies differ
+     */
+    public static Money totalParallel(CurrencyUnit currency, List<Money> monies) {
+        return MoneyTotalTask.total(currency, monies).toMoney();
     }
 
     //-----------------------------------------------------------------------
@@ -303,8 +386,58 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * @throws ArithmeticException if the amount is too large
      */
     public static Money parse(String moneyStr) {
-    	// TODO Not Implemented yet
-    	return null;
+        return Money.parse((CharSequence) moneyStr, 0);
+    }
+
+    /**
+     * Parses an instance of {@code Money} from a character sequence, starting at an offset.
+     * <p>
+     * The format is as per {@link #parse(String)}, and the amount must continue
+     * to the end of the sequence. This allows the text to be parsed directly
+     * from a larger buffer without first extracting a {@code String}.
+     *
+     * @param text  the text to parse, not null
+     * @param offset  the index of the first letter of the currency code
+     * @return the parsed instance, never null
+     * @throws IndexOutOfBoundsException if the offset is invalid
+     * @throws IllegalArgumentException if the text is malformed, the message contains the error index
+     * @throws ArithmeticException if the amount has more decimal places than the currency
+     */
+    public static Money parse(CharSequence text, int offset) {
+        MoneyUtils.checkNotNull(text, "Money must not be null");
+        MoneyScanner scanner = new MoneyScanner();
+        if (!scanner.scan(text, offset, true)) {
+            throw scanner.toException(text);
+        }
+        return scanner.toMoney();
+    }
+
+    /**
+     * Parses an instance of {@code Money} from a character sequence, starting at a position.
+     * <p>
+     * The format is as per {@link #parse(String)}, however the parse stops at the
+     * first character after the currency code that cannot be part of the amount.
+     * If successful, the index of the position is updated to the index after the
+     * last character parsed. If unsuccessful, the error index of the position is set
+     * and {@code null} is returned. The index is not changed on error.
+     *
+     * @param text  the text to parse, not null
+     * @param position  the position to parse from and update, not null
+     * @return the parsed instance, null if the text cannot be parsed
+     * @throws IndexOutOfBoundsException if the index of the position is invalid
+     * @throws ArithmeticException if the amount has more decimal places than the currency
+     */
+    public static Money parse(CharSequence text, ParsePosition position) {
+        MoneyUtils.checkNotNull(text, "Money must not be null");
+        MoneyUtils.checkNotNull(position, "ParsePosition must not be null");
+        MoneyScanner scanner = new MoneyScanner();
+        if (!scanner.scan(text, position.getIndex(), false)) {
+            position.setErrorIndex(scanner.getErrorIndex());
+            return null;
+        }
+        Money money = scanner.toMoney();
+        position.setIndex(scanner.getEnd());
+        return money;
     }
 
     //-----------------------------------------------------------------------
@@ -321,8 +454,174 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * @throws CurrencyMismatchException if the input money is non-null and the currencies differ
      */
     public static Money nonNull(Money money, CurrencyUnit currency) {
-    	// TODO Not Implemented yet
-    	return null;
+        if (money == null) {
+            return zero(currency);
+        }
+        if (!money.getCurrencyUnit().equals(currency)) {
+            MoneyUtils.checkNotNull(currency, "Currency must not be null");
+            throw new CurrencyMismatchException(money.getCurrencyUnit(), currency);
+        }
+        return money;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Creates an instance from an amount at the scale of the currency.
+     * <p>
+     * The amount is held in minor units if it fits in a {@code long}.
+     * 
+     * @param currency  the currency to use, not null
+     * @param amount  the amount of money at the scale of the currency, not null
+     * @return the new instance, never null
+     */
+    private static Money create(CurrencyUnit currency, BigDecimal amount) {
+        BigInteger unscaled = amount.unscaledValue();
+        if (unscaled.bitLength() < 64) {
+            return create(currency, unscaled.longValue());
+        }
+        return new Money(currency, 0, amount);
+    }
+
+    /**
+     * Creates an instance from an amount in minor units.
+     * <p>
+     * Small amounts return the canonical instance from the cache.
+     * 
+     * @param currency  the currency to use, not null
+     * @param amountMinor  the amount in minor units
+     * @return the instance, never null
+     */
+    private static Money create(CurrencyUnit currency, long amountMinor) {
+        if (MoneyCache.isCached(amountMinor)) {
+            Money cached = MoneyCache.getMoney(currency, amountMinor);
+            return cached != null ? cached : MoneyCache.putMoney(new Money(currency, amountMinor, null));
+        }
+        return new Money(currency, amountMinor, null);
+    }
+
+    /**
+     * Constructor, creating a new monetary instance.
+     * 
+     * @param currency  the currency to use, not null
+     * @param amountMinor  the amount in minor units, zero if the amount is specified
+     * @param amount  the amount at the scale of the currency, null if held in minor units
+     */
+    private Money(CurrencyUnit currency, long amountMinor, BigDecimal amount) {
+        assert currency != null : "Currency must not be null";
+        assert amount == null || amount.scale() == currency.getDecimalPlaces() : "Amount must be at the currency scale";
+        this.currency = currency;
+        this.amountMinor = amountMinor;
+        this.amount = amount;
+    }
+
+    /**
+     * Validates the state after deserialization.
+     * 
+     * @param ois  the input stream, not null
+     * @throws IOException if an error occurs
+     * @throws ClassNotFoundException if a class cannot be found
+     */
+    private void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException {
+        ois.defaultReadObject();
+        if (currency == null || (amount != null && (amount.getClass() != BigDecimal.class ||
+                amount.scale() != currency.getDecimalPlaces() || amount.unscaledValue().bitLength() < 64))) {
+            throw new InvalidObjectException("Invalid Money");
+        }
+    }
+
+    /**
+     * Returns a new {@code Money} holding the specified minor units, returning {@code this} if possible.
+     * 
+     * @param newAmountMinor  the new amount in minor units
+     * @return the new instance, never null
+     */
+    private Money with(long newAmountMinor) {
+        if (amount == null && newAmountMinor == amountMinor) {
+            return this;
+        }
+        return create(currency, newAmountMinor);
+    }
+
+    /**
+     * Returns a new {@code Money} holding the specified amount, returning {@code this} if possible.
+     * 
+     * @param newAmount  the new amount at the scale of the currency, not null
+     * @return the new instance, never null
+     */
+    private Money with(BigDecimal newAmount) {
+        if (newAmount.equals(amount)) {
+            return this;
+        }
+        return create(currency, newAmount);
+    }
+
+    /**
+     * Returns a copy of this monetary value with the minor units added,
+     * falling back to {@code BigDecimal} if the {@code long} would overflow.
+     * 
+     * @param minorToAdd  the minor units to add
+     * @return the new instance, never null
+     */
+    private Money plusMinorUnits(long minorToAdd) {
+        if (amount == null) {
+            long total = amountMinor + minorToAdd;
+            if (((amountMinor ^ total) & (minorToAdd ^ total)) >= 0) {
+                return with(total);
+            }
+        }
+        return with(getAmount().add(BigDecimal.valueOf(minorToAdd, currency.getDecimalPlaces())));
+    }
+
+    /**
+     * Returns a copy of this monetary value with the minor units subtracted,
+     * falling back to {@code BigDecimal} if the {@code long} would overflow.
+     * 
+     * @param minorToSubtract  the minor units to subtract
+     * @return the new instance, never null
+     */
+    private Money minusMinorUnits(long minorToSubtract) {
+        if (amount == null) {
+            long total = amountMinor - minorToSubtract;
+            if (((amountMinor ^ minorToSubtract) & (amountMinor ^ total)) >= 0) {
+                return with(total);
+            }
+        }
+        return with(getAmount().subtract(BigDecimal.valueOf(minorToSubtract, currency.getDecimalPlaces())));
+    }
+
+    /**
+     * Validates that the currency of this money and the specified money match.
+     * 
+     * @param money  the money to check, not null
+     * @throws CurrencyMismatchException if the currencies differ
+     */
+    private void checkCurrencyEqual(Money money) {
+        MoneyUtils.checkNotNull(money, "Money must not be null");
+        if (currency != money.currency && !currency.equals(money.currency)) {
+            throw new CurrencyMismatchException(currency, money.currency);
+        }
+    }
+
+    /**
+     * Checks if the amount is held in minor units, such that
+     * {@link #getAmountMinorLong()} is exact and fast.
+     * 
+     * @return true if the amount is held as a {@code long} of minor units
+     */
+    boolean isAmountMinorLong() {
+        return amount == null;
+    }
+
+    /**
+     * Gets the signum of the amount.
+     * 
+     * @return -1, 0 or 1 as the amount is negative, zero or positive
+     */
+    private int signum() {
+        if (amount != null) {
+            return amount.signum();
+        }
+        return (amountMinor < 0 ? -1 : (amountMinor > 0 ? 1 : 0));
     }
 
     //-----------------------------------------------------------------------
@@ -332,8 +631,7 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * @return the currency, never null
      */
     public CurrencyUnit getCurrencyUnit() {
-    	// TODO Not Implemented yet
-    	return null;
+        return currency;
     }
 
     //-----------------------------------------------------------------------
@@ -352,8 +650,7 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      *  the scale of this currency
      */
     public Money withCurrencyUnit(CurrencyUnit currency) {
-    	// TODO Not Implemented yet
-    	return null;
+        return withCurrencyUnit(currency, RoundingMode.UNNECESSARY);
     }
 
     /**
@@ -371,8 +668,15 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * @throws ArithmeticException if the rounding fails
      */
     public Money withCurrencyUnit(CurrencyUnit currency, RoundingMode roundingMode) {
-    	// TODO Not Implemented yet
-    	return null;
+        MoneyUtils.checkNotNull(currency, "CurrencyUnit must not be null");
+        MoneyUtils.checkNotNull(roundingMode, "RoundingMode must not be null");
+        if (this.currency == currency) {
+            return this;
+        }
+        if (amount == null && currency.getDecimalPlaces() == getScale()) {
+            return create(currency, amountMinor);
+        }
+        return create(currency, getAmount().setScale(currency.getDecimalPlaces(), roundingMode));
     }
 
     //-----------------------------------------------------------------------
@@ -389,8 +693,7 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * @return the scale in use, typically 2 but could be 0, 1 and 3
      */
     public int getScale() {
-    	// TODO Not Implemented yet
-    	return 0;
+        return currency.getDecimalPlaces();
     }
 
     //-----------------------------------------------------------------------
@@ -403,8 +706,10 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * @return the amount, never null
      */
     public BigDecimal getAmount() {
-    	// TODO Not Implemented yet
-    	return null;
+        if (amount != null) {
+            return amount;
+        }
+        return BigDecimal.valueOf(amountMinor, currency.getDecimalPlaces());
     }
 
     /**
@@ -421,8 +726,10 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * @return the major units part of the amount, never null
      */
     public BigDecimal getAmountMajor() {
-    	// TODO Not Implemented yet
-    	return null;
+        if (amount != null) {
+            return amount.setScale(0, RoundingMode.DOWN);
+        }
+        return BigDecimal.valueOf(getAmountMajorLong());
     }
 
     /**
@@ -436,8 +743,10 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * @throws ArithmeticException if the amount is too large for a {@code long}
      */
     public long getAmountMajorLong() {
-    	// TODO Not Implemented yet
-    	return 0;
+        if (amount != null) {
+            return getAmountMajor().longValueExact();
+        }
+        return amountMinor / MoneyUtils.POWERS_OF_TEN[currency.getDecimalPlaces()];
     }
 
     /**
@@ -451,8 +760,11 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * @throws ArithmeticException if the amount is too large for an {@code int}
      */
     public int getAmountMajorInt() {
-    	// TODO Not Implemented yet
-    	return 0;
+        long amountMajor = getAmountMajorLong();
+        if (amountMajor != (int) amountMajor) {
+            throw new ArithmeticException("Amount is too large for an int: " + this);
+        }
+        return (int) amountMajor;
     }
 
     /**
@@ -469,8 +781,10 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * @return the minor units part of the amount, never null
      */
     public BigDecimal getAmountMinor() {
-    	// TODO Not Implemented yet
-    	return null;
+        if (amount != null) {
+            return amount.movePointRight(currency.getDecimalPlaces());
+        }
+        return BigDecimal.valueOf(amountMinor);
     }
 
     /**
@@ -484,8 +798,10 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * @throws ArithmeticException if the amount is too large for a {@code long}
      */
     public long getAmountMinorLong() {
-    	// TODO Not Implemented yet
-    	return 0L;
+        if (amount != null) {
+            return getAmountMinor().longValueExact();
+        }
+        return amountMinor;
     }
 
     /**
@@ -499,8 +815,11 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * @throws ArithmeticException if the amount is too large for an {@code int}
      */
     public int getAmountMinorInt() {
-    	// TODO Not Implemented yet
-    	return 0;
+        long minor = getAmountMinorLong();
+        if (minor != (int) minor) {
+            throw new ArithmeticException("Amount is too large for an int: " + this);
+        }
+        return (int) minor;
     }
 
     /**
@@ -516,8 +835,10 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * @return the minor part of the amount, negative if the amount is negative
      */
     public int getMinorPart() {
-    	// TODO Not Implemented yet
-    	return 0;
+        if (amount != null) {
+            return amount.remainder(BigDecimal.ONE).movePointRight(currency.getDecimalPlaces()).intValueExact();
+        }
+        return (int) (amountMinor % MoneyUtils.POWERS_OF_TEN[currency.getDecimalPlaces()]);
     }
 
     //-----------------------------------------------------------------------
@@ -527,8 +848,7 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * @return true if the amount is zero
      */
     public boolean isZero() {
-    	// TODO Not Implemented yet
-    	return false;
+        return signum() == 0;
     }
 
     /**
@@ -537,8 +857,7 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * @return true if the amount is greater than zero
      */
     public boolean isPositive() {
-    	// TODO Not Implemented yet
-    	return false;
+        return signum() > 0;
     }
 
     /**
@@ -547,8 +866,7 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * @return true if the amount is zero or greater
      */
     public boolean isPositiveOrZero() {
-    	// TODO Not Implemented yet
-    	return false;
+        return signum() >= 0;
     }
 
     /**
@@ -557,8 +875,7 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * @return true if the amount is less than zero
      */
     public boolean isNegative() {
-    	// TODO Not Implemented yet
-    	return false;
+        return signum() < 0;
     }
 
     /**
@@ -567,8 +884,7 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * @return true if the amount is zero or less
      */
     public boolean isNegativeOrZero() {
-    	// TODO Not Implemented yet
-    	return false;
+        return signum() <= 0;
     }
 
     //-----------------------------------------------------------------------
@@ -586,8 +902,7 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * @throws ArithmeticException if the scale of the amount is too large
      */
     public Money withAmount(BigDecimal amount) {
-    	// TODO Not Implemented yet
-    	return null;
+        return withAmount(amount, RoundingMode.UNNECESSARY);
     }
 
     /**
@@ -604,8 +919,8 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * @return the new instance with the input amount set, never null
      */
     public Money withAmount(BigDecimal amount, RoundingMode roundingMode) {
-    	// TODO Not Implemented yet
-    	return null;
+        Money money = Money.of(currency, amount, roundingMode);
+        return equals(money) ? this : money;
     }
 
     /**
@@ -629,8 +944,7 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * @throws ArithmeticException if the scale of the amount is too large
      */
     public Money withAmount(double amount) {
-    	// TODO Not Implemented yet
-    	return null;
+        return withAmount(BigDecimal.valueOf(amount), RoundingMode.UNNECESSARY);
     }
 
     /**
@@ -654,8 +968,7 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * @return the new instance with the input amount set, never null
      */
     public Money withAmount(double amount, RoundingMode roundingMode) {
-    	// TODO Not Implemented yet
-    	return null;
+        return withAmount(BigDecimal.valueOf(amount), roundingMode);
     }
 
     //-----------------------------------------------------------------------
@@ -672,8 +985,11 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * @throws CurrencyMismatchException if the currencies differ
      */
     public Money plus(Iterable<Money> moniesToAdd) {
-    	// TODO Not Implemented yet
-    	return null;
+        MoneyAccumulator total = MoneyAccumulator.of(this);
+        for (Money money : moniesToAdd) {
+            total.add(money);
+        }
+        return total.toMoney();
     }
 
     //-----------------------------------------------------------------------
@@ -693,8 +1009,11 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * @throws CurrencyMismatchException if the currencies differ
      */
     public Money plus(Money moneyToAdd) {
-    	// TODO Not Implemented yet
-    	return null;
+        checkCurrencyEqual(moneyToAdd);
+        if (moneyToAdd.amount == null) {
+            return plusMinorUnits(moneyToAdd.amountMinor);
+        }
+        return with(getAmount().add(moneyToAdd.amount));
     }
 
     /**
@@ -711,8 +1030,7 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * @throws ArithmeticException if the scale of the amount is too large
      */
     public Money plus(BigDecimal amountToAdd) {
-    	// TODO Not Implemented yet
-    	return null;
+        return plus(amountToAdd, RoundingMode.UNNECESSARY);
     }
 
     /**
@@ -728,8 +1046,12 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * @return the new instance with the input amount added, never null
      */
     public Money plus(BigDecimal amountToAdd, RoundingMode roundingMode) {
-    	// TODO Not Implemented yet
-    	return null;
+        MoneyUtils.checkNotNull(amountToAdd, "Amount must not be null");
+        MoneyUtils.checkNotNull(roundingMode, "RoundingMode must not be null");
+        if (amountToAdd.signum() == 0) {
+            return this;
+        }
+        return with(getAmount().add(amountToAdd).setScale(getScale(), roundingMode));
     }
 
     /**
@@ -752,8 +1074,7 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * @throws ArithmeticException if the scale of the amount is too large
      */
     public Money plus(double amountToAdd) {
-    	// TODO Not Implemented yet
-    	return null;
+        return plus(BigDecimal.valueOf(amountToAdd), RoundingMode.UNNECESSARY);
     }
 
     /**
@@ -775,8 +1096,7 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * @return the new instance with the input amount added, never null
      */
     public Money plus(double amountToAdd, RoundingMode roundingMode) {
-    	// TODO Not Implemented yet
-    	return null;
+        return plus(BigDecimal.valueOf(amountToAdd), roundingMode);
     }
 
     /**
@@ -791,8 +1111,12 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * @return the new instance with the input amount added, never null
      */
     public Money plusMajor(long amountToAdd) {
-    	// TODO Not Implemented yet
-    	return null;
+        long factor = MoneyUtils.POWERS_OF_TEN[currency.getDecimalPlaces()];
+        long minorToAdd = amountToAdd * factor;
+        if (minorToAdd / factor == amountToAdd) {
+            return plusMinorUnits(minorToAdd);
+        }
+        return with(getAmount().add(BigDecimal.valueOf(amountToAdd)));
     }
 
     /**
@@ -807,8 +1131,7 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * @return the new instance with the input amount added, never null
      */
     public Money plusMinor(long amountToAdd) {
-    	// TODO Not Implemented yet
-    	return null;
+        return plusMinorUnits(amountToAdd);
     }
 
     //-----------------------------------------------------------------------
@@ -825,8 +1148,11 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * @throws CurrencyMismatchException if the currencies differ
      */
     public Money minus(Iterable<Money> moniesToSubtract) {
-    	// TODO Not Implemented yet
-    	return null;
+        MoneyAccumulator total = MoneyAccumulator.of(this);
+        for (Money money : moniesToSubtract) {
+            total.subtract(money);
+        }
+        return total.toMoney();
     }
 
     //-----------------------------------------------------------------------
@@ -846,8 +1172,11 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * @throws CurrencyMismatchException if the currencies differ
      */
     public Money minus(Money moneyToSubtract) {
-    	// TODO Not Implemented yet
-    	return null;
+        checkCurrencyEqual(moneyToSubtract);
+        if (moneyToSubtract.amount == null) {
+            return minusMinorUnits(moneyToSubtract.amountMinor);
+        }
+        return with(getAmount().subtract(moneyToSubtract.amount));
     }
 
     /**
@@ -864,8 +1193,7 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * @throws ArithmeticException if the scale of the amount is too large
      */
     public Money minus(BigDecimal amountToSubtract) {
-    	// TODO Not Implemented yet
-    	return null;
+        return minus(amountToSubtract, RoundingMode.UNNECESSARY);
     }
 
     /**
@@ -881,8 +1209,12 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * @return the new instance with the input amount subtracted, never null
      */
     public Money minus(BigDecimal amountToSubtract, RoundingMode roundingMode) {
-    	// TODO Not Implemented yet
-    	return null;
+        MoneyUtils.checkNotNull(amountToSubtract, "Amount must not be null");
+        MoneyUtils.checkNotNull(roundingMode, "RoundingMode must not be null");
+        if (amountToSubtract.signum() == 0) {
+            return this;
+        }
+        return with(getAmount().subtract(amountToSubtract).setScale(getScale(), roundingMode));
     }
 
     /**
@@ -905,8 +1237,7 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * @throws ArithmeticException if the scale of the amount is too large
      */
     public Money minus(double amountToSubtract) {
-    	// TODO Not Implemented yet
-    	return null;
+        return minus(BigDecimal.valueOf(amountToSubtract), RoundingMode.UNNECESSARY);
     }
 
     /**
@@ -928,8 +1259,7 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * @return the new instance with the input amount subtracted, never null
      */
     public Money minus(double amountToSubtract, RoundingMode roundingMode) {
-    	// TODO Not Implemented yet
-    	return null;
+        return minus(BigDecimal.valueOf(amountToSubtract), roundingMode);
     }
 
     /**
@@ -944,8 +1274,12 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * @return the new instance with the input amount subtracted, never null
      */
     public Money minusMajor(long amountToSubtract) {
-    	// TODO Not Implemented yet
-    	return null;
+        long factor = MoneyUtils.POWERS_OF_TEN[currency.getDecimalPlaces()];
+        long minorToSubtract = amountToSubtract * factor;
+        if (minorToSubtract / factor == amountToSubtract) {
+            return minusMinorUnits(minorToSubtract);
+        }
+        return with(getAmount().subtract(BigDecimal.valueOf(amountToSubtract)));
     }
 
     /**
@@ -960,8 +1294,7 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * @return the new instance with the input amount subtracted, never null
      */
     public Money minusMinor(long amountToSubtract) {
-    	// TODO Not Implemented yet
-    	return null;
+        return minusMinorUnits(amountToSubtract);
     }
 
     //-----------------------------------------------------------------------
@@ -979,8 +1312,9 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * @throws ArithmeticException if the rounding fails
      */
     public Money multipliedBy(BigDecimal valueToMultiplyBy, RoundingMode roundingMode) {
-    	// TODO Not Implemented yet
-    	return null;
+        MoneyUtils.checkNotNull(valueToMultiplyBy, "Multiplier must not be null");
+        MoneyUtils.checkNotNull(roundingMode, "RoundingMode must not be null");
+        return with(getAmount().multiply(valueToMultiplyBy).setScale(getScale(), roundingMode));
     }
 
     /**
@@ -1003,8 +1337,7 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * @throws ArithmeticException if the rounding fails
      */
     public Money multipliedBy(double valueToMultiplyBy, RoundingMode roundingMode) {
-    	// TODO Not Implemented yet
-    	return null;
+        return multipliedBy(BigDecimal.valueOf(valueToMultiplyBy), roundingMode);
     }
 
     /**
@@ -1018,8 +1351,14 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * @return the new multiplied instance, never null
      */
     public Money multipliedBy(long valueToMultiplyBy) {
-    	// TODO Not Implemented yet
-    	return null;
+        if (amount == null) {
+            long total = amountMinor * valueToMultiplyBy;
+            if (valueToMultiplyBy == 0 || (Math.abs(amountMinor) | Math.abs(valueToMultiplyBy)) >>> 31 == 0 ||
+                    (total / valueToMultiplyBy == amountMinor && (amountMinor != Long.MIN_VALUE || valueToMultiplyBy != -1))) {
+                return with(total);
+            }
+        }
+        return with(getAmount().multiply(BigDecimal.valueOf(valueToMultiplyBy)));
     }
 
     //-----------------------------------------------------------------------
@@ -1038,8 +1377,9 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * @throws ArithmeticException if the rounding fails
      */
     public Money dividedBy(BigDecimal valueToDivideBy, RoundingMode roundingMode) {
-    	// TODO Not Implemented yet
-    	return null;
+        MoneyUtils.checkNotNull(valueToDivideBy, "Divisor must not be null");
+        MoneyUtils.checkNotNull(roundingMode, "RoundingMode must not be null");
+        return with(getAmount().divide(valueToDivideBy, roundingMode));
     }
 
     /**
@@ -1063,8 +1403,7 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * @throws ArithmeticException if the rounding fails
      */
     public Money dividedBy(double valueToDivideBy, RoundingMode roundingMode) {
-    	// TODO Not Implemented yet
-    	return null;
+        return dividedBy(BigDecimal.valueOf(valueToDivideBy), roundingMode);
     }
 
     /**
@@ -1081,8 +1420,118 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * @throws ArithmeticException if the rounding fails
      */
     public Money dividedBy(long valueToDivideBy, RoundingMode roundingMode) {
-    	// TODO Not Implemented yet
-    	return null;
+        MoneyUtils.checkNotNull(roundingMode, "RoundingMode must not be null");
+        if (amount == null && valueToDivideBy != 0 && (amountMinor != Long.MIN_VALUE || valueToDivideBy != -1)) {
+            return with(MoneyUtils.divide(amountMinor, valueToDivideBy, roundingMode));
+        }
+        return with(getAmount().divide(BigDecimal.valueOf(valueToDivideBy), roundingMode));
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Allocates this monetary value between parties in proportion to the specified ratios.
+     * <p>
+     * The result has one amount for each ratio, totalling exactly this amount.
+     * Each party receives its exact share rounded towards zero to the minor unit.
+     * The minor units left over are given, one each, to the parties with the
+     * largest remainder in the rounding, with ties going to the earliest party.
+     * For example, allocating 'USD 0.05' by the ratios 3 and 7 returns 'USD 0.02'
+     * and 'USD 0.03', while allocating 'USD 0.10' by 1, 1 and 1 returns 'USD 0.04',
+     * 'USD 0.03' and 'USD 0.03'.
+     * <p>
+     * This instance is immutable and unaffected by this method.
+     * 
+     * @param ratios  the ratios to allocate by, not empty, not negative, not all zero, not null
+     * @return the allocated amounts, one per ratio, never null
+     * @throws IllegalArgumentException if the ratios are invalid
+     */
+    public Money[] allocate(long... ratios) {
+        long total = MoneyAllocator.total(ratios);
+        if (amount == null) {
+            long[] shares = new long[ratios.length];
+            if (MoneyAllocator.allocate(amountMinor, ratios, total, new long[ratios.length], new long[ratios.length], shares, 0)) {
+                Money[] result = new Money[shares.length];
+                for (int i = 0; i < shares.length; i++) {
+                    result[i] = with(shares[i]);
+                }
+                return result;
+            }
+        }
+        return allocate(MoneyAllocator.toBigRatios(ratios));
+    }
+
+    /**
+     * Allocates this monetary value between parties in proportion to the specified weights.
+     * <p>
+     * This allocates as per {@link #allocate(long...)}, treating the weights as ratios.
+     * For example, the weights 0.25 and 0.75 allocate as the ratios 25 and 75.
+     * <p>
+     * This instance is immutable and unaffected by this method.
+     * 
+     * @param weights  the weights to allocate by, not empty, not negative, not all zero, not null
+     * @return the allocated amounts, one per weight, never null
+     * @throws IllegalArgumentException if the weights are invalid
+     */
+    public Money[] allocate(BigDecimal... weights) {
+        BigInteger[] ratios = MoneyAllocator.ratios(weights);
+        long[] longRatios = MoneyAllocator.toLongRatios(ratios);
+        return (longRatios != null ? allocate(longRatios) : allocate(ratios));
+    }
+
+    /**
+     * Splits this monetary value into equal parts.
+     * <p>
+     * This allocates as per {@link #allocate(long...)} with equal ratios, thus the
+     * earlier parts receive any extra minor units.
+     * For example, splitting 'USD 0.10' into 3 parts returns 'USD 0.04', 'USD 0.03' and 'USD 0.03'.
+     * <p>
+     * This instance is immutable and unaffected by this method.
+     * 
+     * @param parts  the number of parts, greater than zero
+     * @return the parts, never null
+     * @throws IllegalArgumentException if the number of parts is less than one
+     */
+    public Money[] split(int parts) {
+        if (parts < 1) {
+            throw new IllegalArgumentException("Parts must be greater than zero");
+        }
+        long[] ratios = new long[parts];
+        Arrays.fill(ratios, 1);
+        return allocate(ratios);
+    }
+
+    /**
+     * Allocates each of an array of amounts in minor units by the same ratios.
+     * <p>
+     * Each amount is allocated as per {@link #allocate(long...)}. This is intended
+     * for allocating large numbers of amounts in one pass without creating objects.
+     * The result holds the shares of the first amount, followed by the shares of
+     * the second amount, and so on, thus the share of amount {@code i} for ratio
+     * {@code j} is at index {@code i * ratios.length + j}.
+     * 
+     * @param amountsMinor  the amounts in minor units to allocate, not null
+     * @param ratios  the ratios to allocate by, not empty, not negative, not all zero, not null
+     * @return the shares in minor units, never null
+     * @throws IllegalArgumentException if the ratios are invalid or the result is too large
+     */
+    public static long[] allocateMinor(long[] amountsMinor, long... ratios) {
+        return MoneyAllocator.allocate(amountsMinor, ratios);
+    }
+
+    /**
+     * Allocates this monetary value using {@code BigInteger} arithmetic.
+     * 
+     * @param ratios  the validated ratios, not null
+     * @return the allocated amounts, never null
+     */
+    private Money[] allocate(BigInteger[] ratios) {
+        int scale = currency.getDecimalPlaces();
+        BigInteger[] shares = MoneyAllocator.allocate(getAmount().unscaledValue(), ratios);
+        Money[] result = new Money[shares.length];
+        for (int i = 0; i < shares.length; i++) {
+            result[i] = create(currency, new BigDecimal(shares[i], scale));
+        }
+        return result;
     }
 
     //-----------------------------------------------------------------------
@@ -1094,8 +1543,10 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * @return the new instance with the amount negated, never null
      */
     public Money negated() {
-    	// TODO Not Implemented yet
-    	return null;
+        if (amount == null && amountMinor != Long.MIN_VALUE) {
+            return with(-amountMinor);
+        }
+        return with(getAmount().negate());
     }
 
     /**
@@ -1106,8 +1557,7 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * @return the new instance with the amount converted to be positive, never null
      */
     public Money abs() {
-    	// TODO Not Implemented yet
-    	return null;
+        return (isNegative() ? negated() : this);
     }
 
     //-----------------------------------------------------------------------
@@ -1133,8 +1583,11 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * @throws ArithmeticException if the rounding fails
      */
     public Money rounded(int scale, RoundingMode roundingMode) {
-    	// TODO Not Implemented yet
-    	return null;
+        MoneyUtils.checkNotNull(roundingMode, "RoundingMode must not be null");
+        if (scale >= getScale()) {
+            return this;
+        }
+        return with(getAmount().setScale(scale, roundingMode).setScale(getScale()));
     }
 
     //-----------------------------------------------------------------------
@@ -1154,8 +1607,17 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * @throws ArithmeticException if the rounding fails
      */
     public Money convertedTo(CurrencyUnit currency, BigDecimal conversionMultipler, RoundingMode roundingMode) {
-    	// TODO Not Implemented yet
-    	return null;
+        MoneyUtils.checkNotNull(currency, "CurrencyUnit must not be null");
+        MoneyUtils.checkNotNull(conversionMultipler, "Multiplier must not be null");
+        MoneyUtils.checkNotNull(roundingMode, "RoundingMode must not be null");
+        if (this.currency == currency) {
+            throw new IllegalArgumentException("Cannot convert to the same currency");
+        }
+        if (conversionMultipler.signum() < 0) {
+            throw new IllegalArgumentException("Cannot convert using a negative conversion multiplier");
+        }
+        BigDecimal newAmount = getAmount().multiply(conversionMultipler);
+        return create(currency, newAmount.setScale(currency.getDecimalPlaces(), roundingMode));
     }
 
     //-----------------------------------------------------------------------
@@ -1166,8 +1628,7 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * @return the money instance, never null
      */
     public BigMoney toBigMoney() {
-    	// TODO Not Implemented yet
-    	return null;
+        return BigMoney.create(currency, getAmount());
     }
 
     //-----------------------------------------------------------------------
@@ -1178,8 +1639,10 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * @return true if they have the same currency
      */
     public boolean isSameCurrency(BigMoneyProvider other) {
-    	// TODO Not Implemented yet
-    	return false;
+        if (other instanceof Money) {
+            return currency.equals(((Money) other).currency);
+        }
+        return currency.equals(BigMoney.of(other).getCurrencyUnit());
     }
 
     //-----------------------------------------------------------------------
@@ -1195,8 +1658,19 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * @throws CurrencyMismatchException if the currencies differ
      */
     public int compareTo(BigMoneyProvider other) {
-    	// TODO Not Implemented yet
-    	return 0;
+        if (other instanceof Money) {
+            Money otherMoney = (Money) other;
+            checkCurrencyEqual(otherMoney);
+            if (amount == null && otherMoney.amount == null) {
+                return (amountMinor < otherMoney.amountMinor ? -1 : (amountMinor > otherMoney.amountMinor ? 1 : 0));
+            }
+            return getAmount().compareTo(otherMoney.getAmount());
+        }
+        BigMoney otherMoney = BigMoney.of(other);
+        if (!currency.equals(otherMoney.getCurrencyUnit())) {
+            throw new CurrencyMismatchException(currency, otherMoney.getCurrencyUnit());
+        }
+        return getAmount().compareTo(otherMoney.getAmount());
     }
 
     /**
@@ -1212,8 +1686,7 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * @see #equals(Object)
      */
     public boolean isEqual(BigMoneyProvider other) {
-    	// TODO Not Implemented yet
-    	return false;
+        return compareTo(other) == 0;
     }
 
     /**
@@ -1228,8 +1701,7 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * @throws CurrencyMismatchException if the currencies differ
      */
     public boolean isGreaterThan(BigMoneyProvider other) {
-    	// TODO Not Implemented yet
-    	return false;
+        return compareTo(other) > 0;
     }
 
     /**
@@ -1244,8 +1716,7 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * @throws CurrencyMismatchException if the currencies differ
      */
     public boolean isLessThan(BigMoneyProvider other) {
-    	// TODO Not Implemented yet
-    	return false;
+        return compareTo(other) < 0;
     }
 
     //-----------------------------------------------------------------------
@@ -1259,8 +1730,16 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      */
     @Override
     public boolean equals(Object other) {
-    	// TODO Not Implemented yet
-    	return false;
+        if (this == other) {
+            return true;
+        }
+        if (other instanceof Money) {
+            Money otherMoney = (Money) other;
+            return currency.equals(otherMoney.currency) &&
+                    amountMinor == otherMoney.amountMinor &&
+                    (amount == null ? otherMoney.amount == null : amount.equals(otherMoney.amount));
+        }
+        return false;
     }
 
     /**
@@ -1270,8 +1749,8 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      */
     @Override
     public int hashCode() {
-    	// TODO Not Implemented yet
-    	return 0;
+        int amountHash = (amount != null ? amount.hashCode() : (int) (amountMinor ^ (amountMinor >>> 32)));
+        return currency.hashCode() ^ amountHash + 3;
     }
 
     //-----------------------------------------------------------------------
@@ -1285,8 +1764,54 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      */
     @Override
     public String toString() {
-    	// TODO Not Implemented yet
-    	return null;
+        if (amount == null) {
+            char[] buf = new char[MoneyUtils.MAX_CHARS];
+            int start = MoneyUtils.getChars(currency, amountMinor, currency.getDecimalPlaces(), buf);
+            return new String(buf, start, buf.length - start);
+        }
+        return appendTo(new StringBuilder(amount.precision() + 8)).toString();
+    }
+
+    /**
+     * Appends the monetary value to a {@code StringBuilder} in the format of {@link #toString()}.
+     * <p>
+     * The digits are written directly from the amount in minor units where possible.
+     * 
+     * @param buf  the builder to append to, not null
+     * @return the specified builder, never null
+     */
+    public StringBuilder appendTo(StringBuilder buf) {
+        MoneyUtils.checkNotNull(buf, "StringBuilder must not be null");
+        if (amount == null) {
+            char[] chars = new char[MoneyUtils.MAX_CHARS];
+            int start = MoneyUtils.getChars(currency, amountMinor, currency.getDecimalPlaces(), chars);
+            return buf.append(chars, start, chars.length - start);
+        }
+        return buf.append(currency.getCode()).append(' ').append(amount.toPlainString());
+    }
+
+    /**
+     * Appends the monetary value to an {@code Appendable} in the format of {@link #toString()}.
+     * <p>
+     * Example implementations of {@code Appendable} are {@code StringBuilder},
+     * {@code StringBuffer} or {@code Writer}.
+     * 
+     * @param appendable  the appendable to append to, not null
+     * @throws IOException if an IO error occurs
+     */
+    public void appendTo(Appendable appendable) throws IOException {
+        MoneyUtils.checkNotNull(appendable, "Appendable must not be null");
+        if (appendable instanceof StringBuilder) {
+            appendTo((StringBuilder) appendable);
+        } else if (amount == null) {
+            char[] chars = new char[MoneyUtils.MAX_CHARS];
+            int start = MoneyUtils.getChars(currency, amountMinor, currency.getDecimalPlaces(), chars);
+            for (int i = start; i < chars.length; i++) {
+                appendable.append(chars[i]);
+            }
+        } else {
+            appendable.append(currency.getCode()).append(' ').append(amount.toPlainString());
+        }
     }
 
 }
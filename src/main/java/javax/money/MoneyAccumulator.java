@@ -0,0 +1,414 @@
+/*
+ *  Copyright 2009-2011 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package javax.money;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * A mutable total of monetary amounts in a single currency.
+ * <p>
+ * The immutable {@link Money} and {@link BigMoney} classes create a new instance for
+ * each amount added. When summing many amounts, this class can be used instead to
+ * hold the running total, creating the immutable result once at the end.
+ * For example:
+ * <pre>
+ *  MoneyAccumulator total = MoneyAccumulator.of(USD);
+ *  for (Money money : payments) {
+ *    total.add(money);
+ *  }
+ *  Money result = total.toMoney();
+ * </pre>
+ * <p>
+ * The total is held as a {@code long} while it fits, using the maximum scale of the
+ * amounts added so far, exactly as {@link BigDecimal#add(BigDecimal)} would.
+ * Only if the {@code long} would overflow does the total widen to a {@code BigDecimal}.
+ * As such, the total is always identical to that obtained by adding the amounts
+ * one at a time using {@code BigMoney}.
+ * <p>
+ * This class is mutable and not thread-safe.
+ */
+public final class MoneyAccumulator {
+
+    /**
+     * The currency, not null.
+     */
+    private final CurrencyUnit currency;
+    /**
+     * The total, unscaled by {@code scale}, only valid when {@code total} is null.
+     */
+    private long unscaledTotal;
+    /**
+     * The scale of {@code unscaledTotal}.
+     */
+    private int scale;
+    /**
+     * The total, null while it fits in {@code unscaledTotal}.
+     */
+    private BigDecimal total;
+
+    //-----------------------------------------------------------------------
+    /**
+     * Obtains an accumulator with a total of zero.
+     * <p>
+     * The initial total has a scale of zero, as per {@link BigMoney#zero(CurrencyUnit)}.
+     *
+     * @param currency  the currency, not null
+     * @return the new accumulator, never null
+     */
+    public static MoneyAccumulator of(CurrencyUnit currency) {
+        MoneyUtils.checkNotNull(currency, "CurrencyUnit must not be null");
+        return new MoneyAccumulator(currency, 0, 0);
+    }
+
+    /**
+     * Obtains an accumulator with an initial total.
+     * <p>
+     * The currency and scale of the initial total are those of the specified money.
+     *
+     * @param moneyProvider  the initial total, not null
+     * @return the new accumulator, never null
+     */
+    public static MoneyAccumulator of(BigMoneyProvider moneyProvider) {
+        MoneyUtils.checkNotNull(moneyProvider, "BigMoneyProvider must not be null");
+        if (moneyProvider instanceof Money) {
+            Money money = (Money) moneyProvider;
+            MoneyAccumulator accumulator = new MoneyAccumulator(money.getCurrencyUnit(), 0, money.getScale());
+            return accumulator.add(money);
+        }
+        BigMoney money = BigMoney.of(moneyProvider);
+        MoneyAccumulator accumulator = new MoneyAccumulator(money.getCurrencyUnit(), 0, money.getScale());
+        return accumulator.add(money.getAmount());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param currency  the currency, not null
+     * @param unscaledTotal  the initial unscaled total
+     * @param scale  the initial scale
+     */
+    private MoneyAccumulator(CurrencyUnit currency, long unscaledTotal, int scale) {
+        this.currency = currency;
+        this.unscaledTotal = unscaledTotal;
+        this.scale = scale;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the currency of the total.
+     *
+     * @return the currency, never null
+     */
+    public CurrencyUnit getCurrencyUnit() {
+        return currency;
+    }
+
+    /**
+     * Gets the total amount.
+     * <p>
+     * The scale is the maximum of the scales of the amounts accumulated.
+     *
+     * @return the total, never null
+     */
+    public BigDecimal getAmount() {
+        if (total != null) {
+            return total;
+        }
+        return BigDecimal.valueOf(unscaledTotal, scale);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Adds a monetary amount to the total.
+     *
+     * @param moneyToAdd  the amount to add, in the same currency, not null
+     * @return this, for chaining, never null
+     * @throws CurrencyMismatchException if the currencies differ
+     */
+    public MoneyAccumulator add(Money moneyToAdd) {
+        checkCurrencyEqual(moneyToAdd);
+        if (moneyToAdd.isAmountMinorLong()) {
+            return accumulate(moneyToAdd.getAmountMinorLong(), moneyToAdd.getScale());
+        }
+        return accumulate(moneyToAdd.getAmount());
+    }
+
+    /**
+     * Adds a monetary amount to the total.
+     * <p>
+     * This accepts any implementation of {@code BigMoneyProvider}, such as {@code BigMoney}.
+     *
+     * @param moneyToAdd  the amount to add, in the same currency, not null
+     * @return this, for chaining, never null
+     * @throws CurrencyMismatchException if the currencies differ
+     */
+    public MoneyAccumulator add(BigMoneyProvider moneyToAdd) {
+        if (moneyToAdd instanceof Money) {
+            return add((Money) moneyToAdd);
+        }
+        BigMoney money = checkCurrencyEqual(moneyToAdd);
+        return accumulate(money.getAmount());
+    }
+
+    /**
+     * Adds an amount to the total.
+     *
+     * @param amountToAdd  the amount to add, not null
+     * @return this, for chaining, never null
+     */
+    public MoneyAccumulator add(BigDecimal amountToAdd) {
+        MoneyUtils.checkNotNull(amountToAdd, "Amount must not be null");
+        if (amountToAdd.getClass() != BigDecimal.class) {
+            amountToAdd = BigMoney.of(currency, amountToAdd).getAmount();
+        }
+        return accumulate(amountToAdd);
+    }
+
+    /**
+     * Adds an amount in minor units to the total.
+     * <p>
+     * For example, when accumulating US Dollars, the input to this method represents cents.
+     *
+     * @param amountToAdd  the amount to add, in minor units
+     * @return this, for chaining, never null
+     */
+    public MoneyAccumulator addMinor(long amountToAdd) {
+        return accumulate(amountToAdd, currency.getDecimalPlaces());
+    }
+
+    /**
+     * Adds the total of another accumulator to this total.
+     * <p>
+     * This allows totals calculated separately, such as on different threads, to be combined.
+     * The other accumulator is unaffected.
+     *
+     * @param other  the accumulator to add, in the same currency, not null
+     * @return this, for chaining, never null
+     * @throws CurrencyMismatchException if the currencies differ
+     */
+    public MoneyAccumulator add(MoneyAccumulator other) {
+        MoneyUtils.checkNotNull(other, "MoneyAccumulator must not be null");
+        if (currency != other.currency && !currency.equals(other.currency)) {
+            throw new CurrencyMismatchException(currency, other.currency);
+        }
+        if (other.total == null) {
+            return accumulate(other.unscaledTotal, other.scale);
+        }
+        return accumulate(other.total);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Subtracts a monetary amount from the total.
+     *
+     * @param moneyToSubtract  the amount to subtract, in the same currency, not null
+     * @return this, for chaining, never null
+     * @throws CurrencyMismatchException if the currencies differ
+     */
+    public MoneyAccumulator subtract(Money moneyToSubtract) {
+        checkCurrencyEqual(moneyToSubtract);
+        if (moneyToSubtract.isAmountMinorLong()) {
+            return subtractMinor(moneyToSubtract.getAmountMinorLong());
+        }
+        return accumulate(moneyToSubtract.getAmount().negate());
+    }
+
+    /**
+     * Subtracts a monetary amount from the total.
+     * <p>
+     * This accepts any implementation of {@code BigMoneyProvider}, such as {@code BigMoney}.
+     *
+     * @param moneyToSubtract  the amount to subtract, in the same currency, not null
+     * @return this, for chaining, never null
+     * @throws CurrencyMismatchException if the currencies differ
+     */
+    public MoneyAccumulator subtract(BigMoneyProvider moneyToSubtract) {
+        if (moneyToSubtract instanceof Money) {
+            return subtract((Money) moneyToSubtract);
+        }
+        BigMoney money = checkCurrencyEqual(moneyToSubtract);
+        return accumulate(money.getAmount().negate());
+    }
+
+    /**
+     * Subtracts an amount from the total.
+     *
+     * @param amountToSubtract  the amount to subtract, not null
+     * @return this, for chaining, never null
+     */
+    public MoneyAccumulator subtract(BigDecimal amountToSubtract) {
+        MoneyUtils.checkNotNull(amountToSubtract, "Amount must not be null");
+        if (amountToSubtract.getClass() != BigDecimal.class) {
+            amountToSubtract = BigMoney.of(currency, amountToSubtract).getAmount();
+        }
+        return accumulate(amountToSubtract.negate());
+    }
+
+    /**
+     * Subtracts an amount in minor units from the total.
+     * <p>
+     * For example, when accumulating US Dollars, the input to this method represents cents.
+     *
+     * @param amountToSubtract  the amount to subtract, in minor units
+     * @return this, for chaining, never null
+     */
+    public MoneyAccumulator subtractMinor(long amountToSubtract) {
+        if (amountToSubtract == Long.MIN_VALUE) {
+            return accumulate(BigDecimal.valueOf(amountToSubtract, currency.getDecimalPlaces()).negate());
+        }
+        return accumulate(-amountToSubtract, currency.getDecimalPlaces());
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Adds an unscaled amount to the total, widening to {@code BigDecimal} on overflow.
+     *
+     * @param unscaledAmount  the unscaled amount to add
+     * @param amountScale  the scale of the amount
+     * @return this, for chaining, never null
+     */
+    private MoneyAccumulator accumulate(long unscaledAmount, int amountScale) {
+        if (total == null) {
+            long value = unscaledAmount;
+            long current = unscaledTotal;
+            boolean fits = true;
+            if (amountScale < scale) {
+                fits = scale - amountScale < MoneyUtils.POWERS_OF_TEN.length;
+                if (fits) {
+                    long factor = MoneyUtils.POWERS_OF_TEN[scale - amountScale];
+                    fits = value <= Long.MAX_VALUE / factor && value >= -Long.MAX_VALUE / factor;
+                    value *= factor;
+                }
+            } else if (amountScale > scale) {
+                fits = amountScale - scale < MoneyUtils.POWERS_OF_TEN.length;
+                if (fits) {
+                    long factor = MoneyUtils.POWERS_OF_TEN[amountScale - scale];
+                    fits = current <= Long.MAX_VALUE / factor && current >= -Long.MAX_VALUE / factor;
+                    current *= factor;
+                }
+            }
+            if (fits) {
+                long sum = current + value;
+                if (((current ^ sum) & (value ^ sum)) >= 0) {
+                    unscaledTotal = sum;
+                    scale = Math.max(scale, amountScale);
+                    return this;
+                }
+            }
+        }
+        total = getAmount().add(BigDecimal.valueOf(unscaledAmount, amountScale));
+        return this;
+    }
+
+    /**
+     * Adds an amount to the total.
+     *
+     * @param amount  the amount to add, not a subclass, not null
+     * @return this, for chaining, never null
+     */
+    private MoneyAccumulator accumulate(BigDecimal amount) {
+        if (total == null && amount.precision() < 19) {
+            return accumulate(MoneyUtils.unscaledLong(amount), amount.scale());
+        }
+        total = getAmount().add(amount);
+        return this;
+    }
+
+    /**
+     * Validates that the currency of the total and the specified money match.
+     *
+     * @param moneyProvider  the money to check, not null
+     * @return the money, never null
+     * @throws CurrencyMismatchException if the currencies differ
+     */
+    private BigMoney checkCurrencyEqual(BigMoneyProvider moneyProvider) {
+        BigMoney money = BigMoney.of(moneyProvider);
+        if (!currency.equals(money.getCurrencyUnit())) {
+            throw new CurrencyMismatchException(currency, money.getCurrencyUnit());
+        }
+        return money;
+    }
+
+    /**
+     * Validates that the currency of the total and the specified money match.
+     *
+     * @param money  the money to check, not null
+     * @throws CurrencyMismatchException if the currencies differ
+     */
+    private void checkCurrencyEqual(Money money) {
+        MoneyUtils.checkNotNull(money, "Money must not be null");
+        if (currency != money.getCurrencyUnit() && !currency.equals(money.getCurrencyUnit())) {
+            throw new CurrencyMismatchException(currency, money.getCurrencyUnit());
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Obtains the total as a {@code BigMoney}.
+     *
+     * @return the total, never null
+     */
+    public BigMoney toBigMoney() {
+        return BigMoney.create(currency, getAmount());
+    }
+
+    /**
+     * Obtains the total as a {@code Money}.
+     * <p>
+     * No rounding is performed, so the total must have a scale compatible with the currency.
+     *
+     * @return the total, never null
+     * @throws ArithmeticException if the scale of the total exceeds the currency scale
+     */
+    public Money toMoney() {
+        return toMoney(RoundingMode.UNNECESSARY);
+    }
+
+    /**
+     * Obtains the total as a {@code Money}, rounding as necessary.
+     *
+     * @param roundingMode  the rounding mode to adjust the scale, not null
+     * @return the total, never null
+     * @throws ArithmeticException if the rounding fails
+     */
+    public Money toMoney(RoundingMode roundingMode) {
+        MoneyUtils.checkNotNull(roundingMode, "RoundingMode must not be null");
+        if (total == null && scale == currency.getDecimalPlaces()) {
+            return Money.ofMinor(currency, unscaledTotal);
+        }
+        return Money.of(currency, getAmount(), roundingMode);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the total as a string.
+     * <p>
+     * The format is the 3 letter ISO currency code, followed by a space,
+     * followed by the amount as per {@link BigDecimal#toPlainString()}.
+     *
+     * @return the string representation of the total, never null
+     */
+    @Override
+    public String toString() {
+        return new StringBuilder()
+            .append(currency.getCode())
+            .append(' ')
+            .append(getAmount().toPlainString())
+            .toString();
+    }
+
+}
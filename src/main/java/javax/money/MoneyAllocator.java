@@ -0,0 +1,283 @@
+/*
+ *  Copyright 2009-2011 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package javax.money;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * Allocates amounts of minor units between parties in proportion to ratios.
+ * <p>
+ * Each party receives the whole number of minor units of its exact share, rounded down
+ * in magnitude. The minor units left over are then given, one each, to the parties
+ * with the largest fractional remainder, with ties going to the earliest party.
+ * The parties receiving a leftover unit are chosen in one step by sorting a copy
+ * of the remainders, thus the cost is at most {@code O(n log n)} in the number of parties.
+ * This is the largest remainder method. The shares always total the amount allocated,
+ * the result is independent of the order of calculation, and a party with a ratio
+ * of zero always receives zero. A negative amount is allocated as the negation of
+ * the allocation of its magnitude.
+ * <p>
+ * The calculation uses {@code long} arithmetic, falling back to {@code BigInteger}
+ * when a product would overflow.
+ * <p>
+ * This class is thread-safe.
+ */
+final class MoneyAllocator {
+
+    /**
+     * Private constructor.
+     */
+    private MoneyAllocator() {
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Validates the ratios and calculates their total.
+     *
+     * @param ratios  the ratios, not null
+     * @return the total of the ratios, greater than zero
+     * @throws IllegalArgumentException if the ratios are empty, negative, total zero or overflow
+     */
+    static long total(long[] ratios) {
+        MoneyUtils.checkNotNull(ratios, "Ratios must not be null");
+        if (ratios.length == 0) {
+            throw new IllegalArgumentException("Ratios must not be empty");
+        }
+        long total = 0;
+        for (long ratio : ratios) {
+            if (ratio < 0) {
+                throw new IllegalArgumentException("Ratios must not be negative");
+            }
+            total += ratio;
+            if (total < 0) {
+                throw new IllegalArgumentException("Total of the ratios is too large");
+            }
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("Total of the ratios must be greater than zero");
+        }
+        return total;
+    }
+
+    /**
+     * Converts weights to ratios with the same proportions.
+     *
+     * @param weights  the weights, not null
+     * @return the ratios, one per weight, never null
+     * @throws IllegalArgumentException if the weights are empty, negative or total zero
+     */
+    static BigInteger[] ratios(BigDecimal[] weights) {
+        MoneyUtils.checkNotNull(weights, "Weights must not be null");
+        if (weights.length == 0) {
+            throw new IllegalArgumentException("Weights must not be empty");
+        }
+        int scale = 0;
+        for (BigDecimal weight : weights) {
+            MoneyUtils.checkNotNull(weight, "Weights must not contain null entries");
+            if (weight.signum() < 0) {
+                throw new IllegalArgumentException("Weights must not be negative");
+            }
+            scale = Math.max(scale, weight.scale());
+        }
+        BigInteger[] ratios = new BigInteger[weights.length];
+        BigInteger total = BigInteger.ZERO;
+        for (int i = 0; i < weights.length; i++) {
+            ratios[i] = weights[i].setScale(scale).unscaledValue();
+            total = total.add(ratios[i]);
+        }
+        if (total.signum() == 0) {
+            throw new IllegalArgumentException("Total of the weights must be greater than zero");
+        }
+        return ratios;
+    }
+
+    /**
+     * Converts ratios to {@code long} values, if possible.
+     *
+     * @param ratios  the ratios, not null
+     * @return the ratios, null if the ratios or their total do not fit in a {@code long}
+     */
+    static long[] toLongRatios(BigInteger[] ratios) {
+        long[] result = new long[ratios.length];
+        long total = 0;
+        for (int i = 0; i < ratios.length; i++) {
+            if (ratios[i].bitLength() >= 63) {
+                return null;
+            }
+            result[i] = ratios[i].longValue();
+            total += result[i];
+            if (total < 0) {
+                return null;
+            }
+        }
+        return result;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Allocates an amount using {@code long} arithmetic.
+     *
+     * @param amount  the amount to allocate
+     * @param ratios  the ratios, validated, not null
+     * @param total  the total of the ratios, greater than zero
+     * @param remainders  the working array, at least the size of the ratios, not null
+     * @param work  the working array for sorting, at least the size of the ratios, not null
+     * @param shares  the array to store the shares in, not null
+     * @param offset  the index of the first share in the array
+     * @return true if successful, false if the calculation overflows
+     */
+    static boolean allocate(long amount, long[] ratios, long total, long[] remainders, long[] work, long[] shares, int offset) {
+        if (amount == Long.MIN_VALUE) {
+            return false;
+        }
+        long magnitude = Math.abs(amount);
+        long allocated = 0;
+        for (int i = 0; i < ratios.length; i++) {
+            long ratio = ratios[i];
+            if (ratio != 0 && magnitude > Long.MAX_VALUE / ratio) {
+                return false;
+            }
+            long product = magnitude * ratio;
+            long share = product / total;
+            remainders[i] = product - share * total;
+            shares[offset + i] = share;
+            allocated += share;
+        }
+        // the leftover is less than the number of ratios
+        int leftover = (int) (magnitude - allocated);
+        if (leftover > 0) {
+            int parts = ratios.length;
+            System.arraycopy(remainders, 0, work, 0, parts);
+            Arrays.sort(work, 0, parts);
+            // the smallest remainder to receive a unit, and how many equal to it do so
+            long threshold = work[parts - leftover];
+            int ties = 0;
+            for (int i = parts - leftover; i < parts && work[i] == threshold; i++) {
+                ties++;
+            }
+            for (int i = 0; i < parts; i++) {
+                long remainder = remainders[i];
+                if (remainder > threshold || (remainder == threshold && ties-- > 0)) {
+                    shares[offset + i]++;
+                }
+            }
+        }
+        if (amount < 0) {
+            for (int i = 0; i < ratios.length; i++) {
+                shares[offset + i] = -shares[offset + i];
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Allocates an amount using {@code BigInteger} arithmetic.
+     *
+     * @param amount  the amount to allocate, not null
+     * @param ratios  the ratios, validated, not null
+     * @return the shares, one per ratio, never null
+     */
+    static BigInteger[] allocate(BigInteger amount, BigInteger[] ratios) {
+        BigInteger total = BigInteger.ZERO;
+        for (BigInteger ratio : ratios) {
+            total = total.add(ratio);
+        }
+        BigInteger magnitude = amount.abs();
+        BigInteger[] shares = new BigInteger[ratios.length];
+        BigInteger[] remainders = new BigInteger[ratios.length];
+        BigInteger allocated = BigInteger.ZERO;
+        for (int i = 0; i < ratios.length; i++) {
+            BigInteger[] divided = magnitude.multiply(ratios[i]).divideAndRemainder(total);
+            shares[i] = divided[0];
+            remainders[i] = divided[1];
+            allocated = allocated.add(divided[0]);
+        }
+        // the leftover is less than the number of ratios, see allocate(long, ...)
+        int leftover = magnitude.subtract(allocated).intValue();
+        if (leftover > 0) {
+            int parts = ratios.length;
+            BigInteger[] sorted = remainders.clone();
+            Arrays.sort(sorted);
+            BigInteger threshold = sorted[parts - leftover];
+            int ties = 0;
+            for (int i = parts - leftover; i < parts && sorted[i].equals(threshold); i++) {
+                ties++;
+            }
+            for (int i = 0; i < parts; i++) {
+                int cmp = remainders[i].compareTo(threshold);
+                if (cmp > 0 || (cmp == 0 && ties-- > 0)) {
+                    shares[i] = shares[i].add(BigInteger.ONE);
+                }
+            }
+        }
+        if (amount.signum() < 0) {
+            for (int i = 0; i < ratios.length; i++) {
+                shares[i] = shares[i].negate();
+            }
+        }
+        return shares;
+    }
+
+    /**
+     * Converts {@code long} ratios to {@code BigInteger}.
+     *
+     * @param ratios  the ratios, not null
+     * @return the ratios, never null
+     */
+    static BigInteger[] toBigRatios(long[] ratios) {
+        BigInteger[] result = new BigInteger[ratios.length];
+        for (int i = 0; i < ratios.length; i++) {
+            result[i] = BigInteger.valueOf(ratios[i]);
+        }
+        return result;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Allocates each of an array of amounts.
+     *
+     * @param amounts  the amounts to allocate, not null
+     * @param ratios  the ratios, not null
+     * @return the shares, with the shares of each amount in turn, never null
+     * @throws IllegalArgumentException if the ratios are invalid or the result is too large
+     */
+    static long[] allocate(long[] amounts, long[] ratios) {
+        MoneyUtils.checkNotNull(amounts, "Amounts must not be null");
+        long total = total(ratios);
+        int parts = ratios.length;
+        if ((long) amounts.length * parts > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many shares for an array");
+        }
+        long[] shares = new long[amounts.length * parts];
+        long[] remainders = new long[parts];
+        long[] work = new long[parts];
+        BigInteger[] bigRatios = null;
+        for (int i = 0, offset = 0; i < amounts.length; i++, offset += parts) {
+            if (!allocate(amounts[i], ratios, total, remainders, work, shares, offset)) {
+                // the magnitude of each share is at most that of the amount, thus fits in a long
+                bigRatios = (bigRatios != null ? bigRatios : toBigRatios(ratios));
+                BigInteger[] bigShares = allocate(BigInteger.valueOf(amounts[i]), bigRatios);
+                for (int j = 0; j < parts; j++) {
+                    shares[offset + j] = bigShares[j].longValue();
+                }
+            }
+        }
+        return shares;
+    }
+
+}
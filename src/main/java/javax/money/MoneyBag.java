@@ -0,0 +1,789 @@
+/*
+ *  Copyright 2009-2011 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package javax.money;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.money.convert.ExchangeRate;
+import javax.money.convert.ExchangeRateProvider;
+
+/**
+ * An amount of money in any number of currencies.
+ * <p>
+ * This class holds one amount for each currency, at the standard decimal places
+ * of the currency, as per {@link Money}. Each amount is stored as a {@code long}
+ * of minor units in a slot indexed by the currency ordinal, thus adding an amount
+ * updates a single slot without copying or searching a map. An amount that does not
+ * fit in a {@code long} is held as a {@code BigDecimal} instead.
+ * <p>
+ * A currency with an amount of zero is not held in the bag.
+ * <p>
+ * Each operation on this class creates a new bag. When building up a bag from many
+ * amounts, use a {@link Builder} instead, which updates the slots in place.
+ * <p>
+ * This class is immutable and thread-safe.
+ */
+public final class MoneyBag implements Serializable {
+
+    /**
+     * The serialisation version.
+     */
+    private static final long serialVersionUID = 1L;
+    /**
+     * The empty bag.
+     */
+    private static final MoneyBag EMPTY = new MoneyBag(new long[0], null);
+
+    /**
+     * The amounts in minor units, indexed by ordinal, zero if absent or overflowed.
+     */
+    private transient long[] amounts;
+    /**
+     * The amounts that overflow a {@code long}, indexed by ordinal, null if none.
+     */
+    private transient BigDecimal[] overflow;
+
+    //-----------------------------------------------------------------------
+    /**
+     * Obtains an empty bag.
+     *
+     * @return the empty bag, never null
+     */
+    public static MoneyBag empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Obtains a bag containing the total of the specified amounts.
+     *
+     * @param monies  the amounts, in any currencies, no null elements, not null
+     * @return the bag, never null
+     * @throws ArithmeticException if the scale of an amount exceeds the currency scale
+     */
+    public static MoneyBag of(BigMoneyProvider... monies) {
+        MoneyUtils.checkNotNull(monies, "Money array must not be null");
+        return of(Arrays.asList(monies));
+    }
+
+    /**
+     * Obtains a bag containing the total of the specified amounts.
+     *
+     * @param monies  the amounts, in any currencies, no null elements, not null
+     * @return the bag, never null
+     * @throws ArithmeticException if the scale of an amount exceeds the currency scale
+     */
+    public static MoneyBag of(Iterable<? extends BigMoneyProvider> monies) {
+        MoneyUtils.checkNotNull(monies, "Money iterator must not be null");
+        Builder builder = new Builder();
+        for (BigMoneyProvider money : monies) {
+            builder.add(money);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Creates a builder for a bag, initially empty.
+     *
+     * @return the builder, never null
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param amounts  the amounts in minor units, not null
+     * @param overflow  the amounts that overflow, null if none
+     */
+    private MoneyBag(long[] amounts, BigDecimal[] overflow) {
+        this.amounts = amounts;
+        this.overflow = overflow;
+    }
+
+    /**
+     * Returns a builder initialised with the amounts of this bag.
+     *
+     * @return the builder, never null
+     */
+    public Builder toBuilder() {
+        return new Builder(this, 0);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the number of currencies held in the bag.
+     *
+     * @return the number of currencies with a non-zero amount
+     */
+    public int size() {
+        int size = 0;
+        for (int ordinal = nextOrdinal(0); ordinal >= 0; ordinal = nextOrdinal(ordinal + 1)) {
+            size++;
+        }
+        return size;
+    }
+
+    /**
+     * Checks if the bag is empty.
+     *
+     * @return true if no currency has a non-zero amount
+     */
+    public boolean isEmpty() {
+        return nextOrdinal(0) < 0;
+    }
+
+    /**
+     * Gets the currencies held in the bag.
+     *
+     * @return a new set of the currencies with a non-zero amount, never null
+     */
+    public CurrencySet getCurrencies() {
+        CurrencySet currencies = CurrencySet.noneOf();
+        for (int ordinal = nextOrdinal(0); ordinal >= 0; ordinal = nextOrdinal(ordinal + 1)) {
+            currencies.add(CurrencyUnit.ofKnownOrdinal(ordinal));
+        }
+        return currencies;
+    }
+
+    /**
+     * Gets the amount of the specified currency.
+     *
+     * @param currency  the currency, not null
+     * @return the amount, zero if the currency is not held, never null
+     */
+    public Money get(CurrencyUnit currency) {
+        MoneyUtils.checkNotNull(currency, "CurrencyUnit must not be null");
+        int ordinal = currency.getOrdinal();
+        if (overflow != null && ordinal < overflow.length && overflow[ordinal] != null) {
+            return Money.of(currency, overflow[ordinal]);
+        }
+        return Money.ofMinor(currency, ordinal < amounts.length ? amounts[ordinal] : 0);
+    }
+
+    /**
+     * Gets the amounts held in the bag, in ordinal order.
+     *
+     * @return a new list of the non-zero amounts, never null
+     */
+    public List<Money> toMonies() {
+        List<Money> monies = new ArrayList<Money>();
+        for (int ordinal = nextOrdinal(0); ordinal >= 0; ordinal = nextOrdinal(ordinal + 1)) {
+            monies.add(get(CurrencyUnit.ofKnownOrdinal(ordinal)));
+        }
+        return monies;
+    }
+
+    /**
+     * Finds the next ordinal with a non-zero amount.
+     *
+     * @param from  the ordinal to start from, inclusive
+     * @return the ordinal, -1 if none
+     */
+    private int nextOrdinal(int from) {
+        for (int ordinal = from; ordinal < amounts.length; ordinal++) {
+            if (amounts[ordinal] != 0 || (overflow != null && overflow[ordinal] != null)) {
+                return ordinal;
+            }
+        }
+        return -1;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Returns a copy of this bag with the amount added.
+     * <p>
+     * This instance is immutable and unaffected by this method.
+     *
+     * @param moneyToAdd  the amount to add, not null
+     * @return the new bag, never null
+     */
+    public MoneyBag plus(Money moneyToAdd) {
+        MoneyUtils.checkNotNull(moneyToAdd, "Money must not be null");
+        return new Builder(this, moneyToAdd.getCurrencyUnit().getOrdinal() + 1).add(moneyToAdd).toBag();
+    }
+
+    /**
+     * Returns a copy of this bag with the amount added.
+     * <p>
+     * The amount must have a scale compatible with its currency, as per {@link Money#of(BigMoneyProvider)}.
+     * This instance is immutable and unaffected by this method.
+     *
+     * @param moneyToAdd  the amount to add, not null
+     * @return the new bag, never null
+     * @throws ArithmeticException if the scale of the amount exceeds the currency scale
+     */
+    public MoneyBag plus(BigMoneyProvider moneyToAdd) {
+        return plus(Money.of(moneyToAdd));
+    }
+
+    /**
+     * Returns a copy of this bag with the amounts of another bag added.
+     * <p>
+     * This instance is immutable and unaffected by this method.
+     *
+     * @param bagToAdd  the bag to add, not null
+     * @return the new bag, never null
+     */
+    public MoneyBag plus(MoneyBag bagToAdd) {
+        MoneyUtils.checkNotNull(bagToAdd, "MoneyBag must not be null");
+        if (bagToAdd.isEmpty()) {
+            return this;
+        }
+        return new Builder(this, bagToAdd.amounts.length).add(bagToAdd).toBag();
+    }
+
+    /**
+     * Returns a copy of this bag with the amount subtracted.
+     * <p>
+     * This instance is immutable and unaffected by this method.
+     *
+     * @param moneyToSubtract  the amount to subtract, not null
+     * @return the new bag, never null
+     */
+    public MoneyBag minus(Money moneyToSubtract) {
+        MoneyUtils.checkNotNull(moneyToSubtract, "Money must not be null");
+        return new Builder(this, moneyToSubtract.getCurrencyUnit().getOrdinal() + 1).subtract(moneyToSubtract).toBag();
+    }
+
+    /**
+     * Returns a copy of this bag with the amount subtracted.
+     * <p>
+     * The amount must have a scale compatible with its currency, as per {@link Money#of(BigMoneyProvider)}.
+     * This instance is immutable and unaffected by this method.
+     *
+     * @param moneyToSubtract  the amount to subtract, not null
+     * @return the new bag, never null
+     * @throws ArithmeticException if the scale of the amount exceeds the currency scale
+     */
+    public MoneyBag minus(BigMoneyProvider moneyToSubtract) {
+        return minus(Money.of(moneyToSubtract));
+    }
+
+    /**
+     * Returns a copy of this bag with the amounts of another bag subtracted.
+     * <p>
+     * This instance is immutable and unaffected by this method.
+     *
+     * @param bagToSubtract  the bag to subtract, not null
+     * @return the new bag, never null
+     */
+    public MoneyBag minus(MoneyBag bagToSubtract) {
+        MoneyUtils.checkNotNull(bagToSubtract, "MoneyBag must not be null");
+        if (bagToSubtract.isEmpty()) {
+            return this;
+        }
+        return new Builder(this, bagToSubtract.amounts.length).subtract(bagToSubtract).toBag();
+    }
+
+    /**
+     * Returns a copy of this bag with each amount negated.
+     * <p>
+     * This instance is immutable and unaffected by this method.
+     *
+     * @return the new bag, never null
+     */
+    public MoneyBag negated() {
+        return EMPTY.minus(this);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Converts the whole bag to a single currency.
+     * <p>
+     * Each amount is multiplied by the factor of the rate from its currency to the
+     * target currency, and the results are added without loss of precision.
+     * The total is then rounded once to the scale of the target currency.
+     * An amount already in the target currency is added unchanged.
+     * <p>
+     * Each provider supplies one rate. A rate is used if its target is the specified
+     * currency and its source is a currency in the bag; other rates are ignored.
+     *
+     * @param currency  the currency to convert to, not null
+     * @param roundingMode  the rounding mode to use, not null
+     * @param rates  the exchange rates to use, not null
+     * @return the converted total, never null
+     * @throws IllegalArgumentException if there is no rate for a currency in the bag
+     * @throws IllegalArgumentException if a rate has a negative factor
+     * @throws ArithmeticException if the rounding fails
+     */
+    public Money convertTo(CurrencyUnit currency, RoundingMode roundingMode, ExchangeRateProvider... rates) {
+        MoneyUtils.checkNotNull(rates, "ExchangeRateProvider array must not be null");
+        return convertTo(currency, roundingMode, Arrays.asList(rates));
+    }
+
+    /**
+     * Converts the whole bag to a single currency.
+     * <p>
+     * Each amount is multiplied by the factor of the rate from its currency to the
+     * target currency, and the results are added without loss of precision.
+     * The total is then rounded once to the scale of the target currency.
+     * An amount already in the target currency is added unchanged.
+     * <p>
+     * Each provider supplies one rate. A rate is used if its target is the specified
+     * currency and its source is a currency in the bag; other rates are ignored.
+     *
+     * @param currency  the currency to convert to, not null
+     * @param roundingMode  the rounding mode to use, not null
+     * @param rates  the exchange rates to use, not null
+     * @return the converted total, never null
+     * @throws IllegalArgumentException if there is no rate for a currency in the bag
+     * @throws IllegalArgumentException if a rate has a negative factor
+     * @throws ArithmeticException if the rounding fails
+     */
+    public Money convertTo(CurrencyUnit currency, RoundingMode roundingMode, Iterable<? extends ExchangeRateProvider> rates) {
+        MoneyUtils.checkNotNull(currency, "CurrencyUnit must not be null");
+        MoneyUtils.checkNotNull(roundingMode, "RoundingMode must not be null");
+        MoneyUtils.checkNotNull(rates, "ExchangeRateProvider iterator must not be null");
+        CurrencyMap<BigDecimal> factors = new CurrencyMap<BigDecimal>();
+        for (ExchangeRateProvider provider : rates) {
+            ExchangeRate rate = provider.getExchangeRate();
+            if (rate != null && currency.equals(rate.getTarget()) && rate.getSource() != null && rate.getFactor() != null) {
+                BigDecimal factor = toBigDecimal(rate.getFactor());
+                if (factor.signum() < 0) {
+                    throw new IllegalArgumentException("Cannot convert using a negative conversion multiplier");
+                }
+                factors.put(rate.getSource(), factor);
+            }
+        }
+        BigDecimal total = BigDecimal.ZERO;
+        for (int ordinal = nextOrdinal(0); ordinal >= 0; ordinal = nextOrdinal(ordinal + 1)) {
+            CurrencyUnit source = CurrencyUnit.ofKnownOrdinal(ordinal);
+            BigDecimal amount = get(source).getAmount();
+            if (source.equals(currency)) {
+                total = total.add(amount);
+            } else {
+                BigDecimal factor = factors.get(source);
+                if (factor == null) {
+                    throw new IllegalArgumentException("No exchange rate from " + source + " to " + currency);
+                }
+                total = total.add(amount.multiply(factor));
+            }
+        }
+        return Money.of(currency, total, roundingMode);
+    }
+
+    /**
+     * Converts an exchange rate factor to a {@code BigDecimal}.
+     * <p>
+     * A {@code double} or {@code float} is converted via its shortest decimal
+     * representation, as per {@link BigDecimal#valueOf(double)}.
+     *
+     * @param factor  the factor, not null
+     * @return the factor, never null
+     */
+    private static BigDecimal toBigDecimal(Number factor) {
+        if (factor.getClass() == BigDecimal.class) {
+            return (BigDecimal) factor;
+        }
+        if (factor instanceof Long || factor instanceof Integer || factor instanceof Short || factor instanceof Byte) {
+            return BigDecimal.valueOf(factor.longValue());
+        }
+        if (factor instanceof Double || factor instanceof Float) {
+            return BigDecimal.valueOf(factor.doubleValue());
+        }
+        return new BigDecimal(factor.toString());
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Checks if this bag equals another.
+     * <p>
+     * The bags are equal if they hold the same amount in each currency.
+     *
+     * @param other  the other bag, null returns false
+     * @return true if this bag equals the other bag
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (other instanceof MoneyBag) {
+            MoneyBag otherBag = (MoneyBag) other;
+            int length = Math.max(amounts.length, otherBag.amounts.length);
+            for (int ordinal = 0; ordinal < length; ordinal++) {
+                if (slotAmount(ordinal) != otherBag.slotAmount(ordinal) ||
+                        !equal(slotOverflow(ordinal), otherBag.slotOverflow(ordinal))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns a hash code for this bag.
+     *
+     * @return a suitable hash code
+     */
+    @Override
+    public int hashCode() {
+        int hash = 0;
+        for (int ordinal = nextOrdinal(0); ordinal >= 0; ordinal = nextOrdinal(ordinal + 1)) {
+            hash += get(CurrencyUnit.ofKnownOrdinal(ordinal)).hashCode();
+        }
+        return hash;
+    }
+
+    /**
+     * Gets the bag as a string.
+     * <p>
+     * The format is the amounts as per {@link Money#toString()}, in ordinal order,
+     * such as '[GBP 12.50, USD -3.00]'.
+     *
+     * @return the string representation of this bag, never null
+     */
+    @Override
+    public String toString() {
+        return toMonies().toString();
+    }
+
+    /**
+     * Gets the minor units of a slot, zero beyond the end.
+     *
+     * @param ordinal  the ordinal
+     * @return the minor units
+     */
+    private long slotAmount(int ordinal) {
+        return ordinal < amounts.length ? amounts[ordinal] : 0;
+    }
+
+    /**
+     * Gets the overflowed amount of a slot.
+     *
+     * @param ordinal  the ordinal
+     * @return the amount, null if not overflowed
+     */
+    private BigDecimal slotOverflow(int ordinal) {
+        return (overflow != null && ordinal < overflow.length) ? overflow[ordinal] : null;
+    }
+
+    /**
+     * Checks if two possibly null amounts are equal.
+     *
+     * @param amount1  the first amount, may be null
+     * @param amount2  the second amount, may be null
+     * @return true if equal
+     */
+    private static boolean equal(BigDecimal amount1, BigDecimal amount2) {
+        return amount1 == null ? amount2 == null : amount1.equals(amount2);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Outputs the amounts, by currency as ordinals are not stable between applications.
+     *
+     * @param out  the output stream, not null
+     * @throws IOException if an error occurs
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        List<Money> monies = toMonies();
+        out.writeInt(monies.size());
+        for (Money money : monies) {
+            out.writeObject(money);
+        }
+    }
+
+    /**
+     * Inputs the amounts, resolving the ordinals in this application.
+     *
+     * @param in  the input stream, not null
+     * @throws IOException if an error occurs
+     * @throws ClassNotFoundException if a class cannot be found
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        Builder builder = new Builder();
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            Object money = in.readObject();
+            if (!(money instanceof Money)) {
+                throw new InvalidObjectException("Invalid MoneyBag");
+            }
+            builder.add((Money) money);
+        }
+        MoneyBag bag = builder.build();
+        amounts = bag.amounts;
+        overflow = bag.overflow;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * A mutable builder of {@code MoneyBag}.
+     * <p>
+     * The builder holds one slot per currency ordinal, updated in place
+     * as amounts are added and subtracted.
+     * <p>
+     * This class is mutable and not thread-safe.
+     */
+    public static final class Builder {
+
+        /**
+         * The amounts in minor units, indexed by ordinal.
+         */
+        private long[] amounts;
+        /**
+         * The amounts that overflow a {@code long}, indexed by ordinal, null if none.
+         */
+        private BigDecimal[] overflow;
+
+        /**
+         * Constructor creating an empty builder, sized to the registered currencies.
+         */
+        public Builder() {
+            amounts = new long[CurrencyUnit.ordinalLimit()];
+        }
+
+        /**
+         * Constructor creating a builder initialised from a bag.
+         *
+         * @param bag  the bag to copy, not null
+         * @param minLength  the minimum number of slots
+         */
+        private Builder(MoneyBag bag, int minLength) {
+            int length = Math.max(bag.amounts.length, minLength);
+            amounts = Arrays.copyOf(bag.amounts, length);
+            if (bag.overflow != null) {
+                overflow = Arrays.copyOf(bag.overflow, length);
+            }
+        }
+
+        //-----------------------------------------------------------------------
+        /**
+         * Adds an amount to the builder.
+         *
+         * @param moneyToAdd  the amount to add, not null
+         * @return this, for chaining, never null
+         */
+        public Builder add(Money moneyToAdd) {
+            MoneyUtils.checkNotNull(moneyToAdd, "Money must not be null");
+            CurrencyUnit currency = moneyToAdd.getCurrencyUnit();
+            if (moneyToAdd.isAmountMinorLong()) {
+                addMinor(currency.getOrdinal(), moneyToAdd.getAmountMinorLong(), currency.getDecimalPlaces());
+            } else {
+                addAmount(currency.getOrdinal(), moneyToAdd.getAmount());
+            }
+            return this;
+        }
+
+        /**
+         * Adds an amount to the builder.
+         * <p>
+         * The amount must have a scale compatible with its currency, as per {@link Money#of(BigMoneyProvider)}.
+         *
+         * @param moneyToAdd  the amount to add, not null
+         * @return this, for chaining, never null
+         * @throws ArithmeticException if the scale of the amount exceeds the currency scale
+         */
+        public Builder add(BigMoneyProvider moneyToAdd) {
+            return add(Money.of(moneyToAdd));
+        }
+
+        /**
+         * Adds the amounts of a bag to the builder.
+         *
+         * @param bagToAdd  the bag to add, not null
+         * @return this, for chaining, never null
+         */
+        public Builder add(MoneyBag bagToAdd) {
+            MoneyUtils.checkNotNull(bagToAdd, "MoneyBag must not be null");
+            for (int ordinal = bagToAdd.nextOrdinal(0); ordinal >= 0; ordinal = bagToAdd.nextOrdinal(ordinal + 1)) {
+                BigDecimal amount = bagToAdd.slotOverflow(ordinal);
+                if (amount != null) {
+                    addAmount(ordinal, amount);
+                } else {
+                    addMinor(ordinal, bagToAdd.amounts[ordinal], CurrencyUnit.ofKnownOrdinal(ordinal).getDecimalPlaces());
+                }
+            }
+            return this;
+        }
+
+        /**
+         * Subtracts an amount from the builder.
+         *
+         * @param moneyToSubtract  the amount to subtract, not null
+         * @return this, for chaining, never null
+         */
+        public Builder subtract(Money moneyToSubtract) {
+            MoneyUtils.checkNotNull(moneyToSubtract, "Money must not be null");
+            CurrencyUnit currency = moneyToSubtract.getCurrencyUnit();
+            long amountMinor = (moneyToSubtract.isAmountMinorLong() ? moneyToSubtract.getAmountMinorLong() : 0);
+            if (moneyToSubtract.isAmountMinorLong() && amountMinor != Long.MIN_VALUE) {
+                addMinor(currency.getOrdinal(), -amountMinor, currency.getDecimalPlaces());
+            } else {
+                addAmount(currency.getOrdinal(), moneyToSubtract.getAmount().negate());
+            }
+            return this;
+        }
+
+        /**
+         * Subtracts an amount from the builder.
+         * <p>
+         * The amount must have a scale compatible with its currency, as per {@link Money#of(BigMoneyProvider)}.
+         *
+         * @param moneyToSubtract  the amount to subtract, not null
+         * @return this, for chaining, never null
+         * @throws ArithmeticException if the scale of the amount exceeds the currency scale
+         */
+        public Builder subtract(BigMoneyProvider moneyToSubtract) {
+            return subtract(Money.of(moneyToSubtract));
+        }
+
+        /**
+         * Subtracts the amounts of a bag from the builder.
+         *
+         * @param bagToSubtract  the bag to subtract, not null
+         * @return this, for chaining, never null
+         */
+        public Builder subtract(MoneyBag bagToSubtract) {
+            MoneyUtils.checkNotNull(bagToSubtract, "MoneyBag must not be null");
+            for (int ordinal = bagToSubtract.nextOrdinal(0); ordinal >= 0; ordinal = bagToSubtract.nextOrdinal(ordinal + 1)) {
+                BigDecimal amount = bagToSubtract.slotOverflow(ordinal);
+                long amountMinor = bagToSubtract.amounts[ordinal];
+                if (amount == null && amountMinor != Long.MIN_VALUE) {
+                    addMinor(ordinal, -amountMinor, CurrencyUnit.ofKnownOrdinal(ordinal).getDecimalPlaces());
+                } else {
+                    int scale = CurrencyUnit.ofKnownOrdinal(ordinal).getDecimalPlaces();
+                    addAmount(ordinal, (amount != null ? amount : BigDecimal.valueOf(amountMinor, scale)).negate());
+                }
+            }
+            return this;
+        }
+
+        //-----------------------------------------------------------------------
+        /**
+         * Adds minor units to a slot, overflowing to {@code BigDecimal} if necessary.
+         *
+         * @param ordinal  the ordinal of the currency
+         * @param amountMinor  the minor units to add
+         * @param scale  the decimal places of the currency
+         */
+        private void addMinor(int ordinal, long amountMinor, int scale) {
+            ensureCapacity(ordinal);
+            if (overflow == null || overflow[ordinal] == null) {
+                long current = amounts[ordinal];
+                long total = current + amountMinor;
+                if (((current ^ total) & (amountMinor ^ total)) >= 0) {
+                    amounts[ordinal] = total;
+                    return;
+                }
+                setAmount(ordinal, BigDecimal.valueOf(current, scale).add(BigDecimal.valueOf(amountMinor, scale)));
+            } else {
+                setAmount(ordinal, overflow[ordinal].add(BigDecimal.valueOf(amountMinor, scale)));
+            }
+        }
+
+        /**
+         * Adds an amount to a slot.
+         *
+         * @param ordinal  the ordinal of the currency
+         * @param amount  the amount to add, at the scale of the currency, not null
+         */
+        private void addAmount(int ordinal, BigDecimal amount) {
+            ensureCapacity(ordinal);
+            if (overflow != null && overflow[ordinal] != null) {
+                setAmount(ordinal, overflow[ordinal].add(amount));
+            } else {
+                setAmount(ordinal, BigDecimal.valueOf(amounts[ordinal], amount.scale()).add(amount));
+            }
+        }
+
+        /**
+         * Sets the amount of a slot, held in minor units if it fits.
+         *
+         * @param ordinal  the ordinal of the currency
+         * @param amount  the amount, at the scale of the currency, not null
+         */
+        private void setAmount(int ordinal, BigDecimal amount) {
+            BigInteger unscaled = amount.unscaledValue();
+            if (unscaled.bitLength() < 64) {
+                amounts[ordinal] = unscaled.longValue();
+                if (overflow != null) {
+                    overflow[ordinal] = null;
+                }
+            } else {
+                if (overflow == null) {
+                    overflow = new BigDecimal[amounts.length];
+                }
+                amounts[ordinal] = 0;
+                overflow[ordinal] = amount;
+            }
+        }
+
+        /**
+         * Ensures there is a slot for the ordinal.
+         *
+         * @param ordinal  the ordinal of the currency
+         */
+        private void ensureCapacity(int ordinal) {
+            if (ordinal >= amounts.length) {
+                int length = Math.max(ordinal + 1, CurrencyUnit.ordinalLimit());
+                amounts = Arrays.copyOf(amounts, length);
+                if (overflow != null) {
+                    overflow = Arrays.copyOf(overflow, length);
+                }
+            }
+        }
+
+        //-----------------------------------------------------------------------
+        /**
+         * Builds the bag.
+         * <p>
+         * The builder may continue to be used afterwards.
+         *
+         * @return the bag, never null
+         */
+        public MoneyBag build() {
+            int length = amounts.length;
+            while (length > 0 && amounts[length - 1] == 0 && (overflow == null || overflow[length - 1] == null)) {
+                length--;
+            }
+            if (length == 0) {
+                return EMPTY;
+            }
+            boolean overflowed = false;
+            if (overflow != null) {
+                for (int ordinal = 0; ordinal < length && !overflowed; ordinal++) {
+                    overflowed = overflow[ordinal] != null;
+                }
+            }
+            return new MoneyBag(Arrays.copyOf(amounts, length), overflowed ? Arrays.copyOf(overflow, length) : null);
+        }
+
+        /**
+         * Creates the bag directly from the slots of this builder, which must not be used afterwards.
+         *
+         * @return the bag, never null
+         */
+        private MoneyBag toBag() {
+            return new MoneyBag(amounts, overflow);
+        }
+    }
+
+}
@@ -0,0 +1,518 @@
+/*
+ *  Copyright 2009-2011 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package javax.money;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.BitSet;
+
+/**
+ * A fixed-size table of monetary amounts held outside the Java heap.
+ * <p>
+ * Each amount is held in a slot of {@link #SLOT_SIZE} bytes in a {@code ByteBuffer},
+ * which is normally direct or mapped from a file. This allows very large numbers of
+ * amounts to be held without adding to the work of the garbage collector.
+ * Amounts are read using the index of the slot, and a {@code Money} is only created
+ * when requested. The bulk operations run over the slots without creating any objects.
+ * <p>
+ * Each slot holds the amount in minor units, the currency and the decimal places
+ * of the currency when written. The currency is held by its three letter code,
+ * not by the ordinal, and the byte order is fixed, thus a file written by one JVM
+ * may be mapped and read by another. The code and decimal places together identify
+ * the currency, thus a slot written before a change in the decimal places of a code
+ * is read as the version of the currency it was written in, see {@link CurrencyUnit#of(String, java.util.Date)}. A slot of zero bytes is empty, thus a newly
+ * created file is a table of empty slots.
+ * <p>
+ * The slot layout is:
+ * <ul>
+ * <li>bytes 0-7, the amount in minor units as a little-endian {@code long}
+ * <li>bytes 8-9, one more than the packed currency code as a little-endian {@code short}, zero if empty
+ * <li>byte 10, the decimal places of the currency
+ * <li>bytes 11-15, reserved, zero
+ * </ul>
+ * <p>
+ * This class is mutable and not thread-safe, unless it is read-only and the
+ * underlying buffer is not being written elsewhere.
+ */
+public final class MoneyBuffer {
+
+    /**
+     * The number of bytes in each slot.
+     */
+    public static final int SLOT_SIZE = 16;
+    /**
+     * The offset of the currency within a slot.
+     */
+    private static final int CURRENCY_OFFSET = 8;
+    /**
+     * The offset of the decimal places within a slot.
+     */
+    private static final int DECIMAL_PLACES_OFFSET = 10;
+    /**
+     * The mask of the currency and decimal places when read as a little-endian {@code int}.
+     */
+    private static final int CURRENCY_MASK = 0xFFFFFF;
+    /**
+     * The largest number of slots in a single buffer.
+     */
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE / SLOT_SIZE;
+    /**
+     * The smallest {@code long}.
+     */
+    private static final BigInteger LONG_MIN = BigInteger.valueOf(Long.MIN_VALUE);
+    /**
+     * The largest {@code long}.
+     */
+    private static final BigInteger LONG_MAX = BigInteger.valueOf(Long.MAX_VALUE);
+
+    /**
+     * The buffer, positioned at the first slot.
+     */
+    private final ByteBuffer buffer;
+    /**
+     * The number of slots.
+     */
+    private final int capacity;
+
+    //-----------------------------------------------------------------------
+    /**
+     * Allocates a new direct buffer of empty slots.
+     *
+     * @param capacity  the number of slots, not negative
+     * @return the buffer, never null
+     * @throws IllegalArgumentException if the capacity is negative or too large
+     */
+    public static MoneyBuffer allocateDirect(int capacity) {
+        checkCapacity(capacity);
+        return new MoneyBuffer(ByteBuffer.allocateDirect(capacity * SLOT_SIZE));
+    }
+
+    /**
+     * Obtains a table of slots backed by the remaining bytes of the specified buffer.
+     * <p>
+     * The slots start at the position of the buffer, and any bytes after the last
+     * whole slot are ignored. Changes to the buffer are visible in the table.
+     * The table is read-only if the buffer is read-only.
+     * The position, limit and byte order of the specified buffer are not changed.
+     *
+     * @param buffer  the buffer to use, not null
+     * @return the table, never null
+     */
+    public static MoneyBuffer wrap(ByteBuffer buffer) {
+        MoneyUtils.checkNotNull(buffer, "ByteBuffer must not be null");
+        return new MoneyBuffer(buffer.slice());
+    }
+
+    /**
+     * Obtains a table of slots mapped from a region of a file.
+     * <p>
+     * The region starts at the specified slot of the file, allowing a file larger
+     * than a single buffer to be mapped as a number of tables. Mapping with
+     * {@code READ_WRITE} extends the file if necessary, filling it with empty slots.
+     * Mapping with {@code READ_ONLY} returns a read-only table.
+     *
+     * @param channel  the file channel, not null
+     * @param mode  the map mode, not null
+     * @param firstSlot  the index of the first slot to map within the file, not negative
+     * @param capacity  the number of slots to map, not negative
+     * @return the table, never null
+     * @throws IllegalArgumentException if the first slot or capacity is invalid
+     * @throws IOException if the file cannot be mapped
+     */
+    public static MoneyBuffer map(FileChannel channel, FileChannel.MapMode mode, long firstSlot, int capacity) throws IOException {
+        MoneyUtils.checkNotNull(channel, "FileChannel must not be null");
+        MoneyUtils.checkNotNull(mode, "MapMode must not be null");
+        if (firstSlot < 0) {
+            throw new IllegalArgumentException("First slot must not be negative");
+        }
+        checkCapacity(capacity);
+        return new MoneyBuffer(channel.map(mode, firstSlot * SLOT_SIZE, capacity * SLOT_SIZE));
+    }
+
+    /**
+     * Validates the capacity.
+     *
+     * @param capacity  the number of slots
+     * @throws IllegalArgumentException if the capacity is negative or too large
+     */
+    private static void checkCapacity(int capacity) {
+        if (capacity < 0 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Capacity must be from 0 to " + MAX_CAPACITY + ": " + capacity);
+        }
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param buffer  the buffer positioned at the first slot, not shared, not null
+     */
+    private MoneyBuffer(ByteBuffer buffer) {
+        this.buffer = buffer.order(ByteOrder.LITTLE_ENDIAN);
+        this.capacity = buffer.remaining() / SLOT_SIZE;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the number of slots.
+     *
+     * @return the capacity, not negative
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Checks if the table is read-only.
+     *
+     * @return true if the slots cannot be written
+     */
+    public boolean isReadOnly() {
+        return buffer.isReadOnly();
+    }
+
+    /**
+     * Returns a read-only view of this table.
+     *
+     * @return the read-only view, never null
+     */
+    public MoneyBuffer asReadOnly() {
+        return isReadOnly() ? this : new MoneyBuffer(buffer.asReadOnlyBuffer());
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Checks if a slot holds an amount.
+     *
+     * @param index  the index of the slot
+     * @return true if the slot holds an amount, false if empty
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    public boolean isSet(int index) {
+        return buffer.getShort(offset(index) + CURRENCY_OFFSET) != 0;
+    }
+
+    /**
+     * Gets the currency of a slot.
+     *
+     * @param index  the index of the slot
+     * @return the currency, null if the slot is empty
+     * @throws IndexOutOfBoundsException if the index is invalid
+     * @throws IllegalCurrencyException if the currency is not registered
+     */
+    public CurrencyUnit getCurrencyUnit(int index) {
+        int offset = offset(index);
+        int code = buffer.getShort(offset + CURRENCY_OFFSET);
+        return (code == 0 ? null : CurrencyUnit.ofCodeIndex(code - 1, buffer.get(offset + DECIMAL_PLACES_OFFSET)));
+    }
+
+    /**
+     * Gets the amount of a slot in minor units.
+     * <p>
+     * The minor units are those of the currency when the slot was written.
+     *
+     * @param index  the index of the slot
+     * @return the amount in minor units, zero if the slot is empty
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    public long getAmountMinorLong(int index) {
+        return buffer.getLong(offset(index));
+    }
+
+    /**
+     * Gets the amount of a slot as a {@code Money}.
+     * <p>
+     * If the decimal places of the currency have changed since the slot was
+     * written, the amount is in the version of the currency it was written in.
+     *
+     * @param index  the index of the slot
+     * @return the amount, null if the slot is empty
+     * @throws IndexOutOfBoundsException if the index is invalid
+     * @throws IllegalCurrencyException if the currency is not registered
+     */
+    public Money get(int index) {
+        int offset = offset(index);
+        int code = buffer.getShort(offset + CURRENCY_OFFSET);
+        if (code == 0) {
+            return null;
+        }
+        CurrencyUnit currency = CurrencyUnit.ofCodeIndex(code - 1, buffer.get(offset + DECIMAL_PLACES_OFFSET));
+        return Money.ofMinor(currency, buffer.getLong(offset));
+    }
+
+    /**
+     * Sets the amount of a slot.
+     *
+     * @param index  the index of the slot
+     * @param money  the amount to set, null to empty the slot
+     * @throws IndexOutOfBoundsException if the index is invalid
+     * @throws java.nio.ReadOnlyBufferException if the table is read-only
+     * @throws ArithmeticException if the amount in minor units does not fit in a {@code long}
+     */
+    public void set(int index, Money money) {
+        if (money == null) {
+            clear(index);
+        } else {
+            setMinor(index, money.getCurrencyUnit(), money.getAmountMinorLong());
+        }
+    }
+
+    /**
+     * Sets the amount of a slot in minor units.
+     *
+     * @param index  the index of the slot
+     * @param currency  the currency, not null
+     * @param amountMinor  the amount in minor units of the currency
+     * @throws IndexOutOfBoundsException if the index is invalid
+     * @throws java.nio.ReadOnlyBufferException if the table is read-only
+     */
+    public void setMinor(int index, CurrencyUnit currency, long amountMinor) {
+        MoneyUtils.checkNotNull(currency, "CurrencyUnit must not be null");
+        int offset = offset(index);
+        buffer.putLong(offset, amountMinor);
+        buffer.putShort(offset + CURRENCY_OFFSET, (short) (currency.getCodeIndex() + 1));
+        buffer.put(offset + DECIMAL_PLACES_OFFSET, (byte) currency.getDecimalPlaces());
+    }
+
+    /**
+     * Gets the currency and decimal places of a slot in the form read by
+     * {@code getInt(offset + CURRENCY_OFFSET) & CURRENCY_MASK}.
+     *
+     * @param currency  the currency, not null
+     * @return the key, never zero
+     */
+    private static int currencyKey(CurrencyUnit currency) {
+        return (currency.getCodeIndex() + 1) | ((currency.getDecimalPlaces() & 0xFF) << 16);
+    }
+
+    /**
+     * Empties a slot.
+     *
+     * @param index  the index of the slot
+     * @throws IndexOutOfBoundsException if the index is invalid
+     * @throws java.nio.ReadOnlyBufferException if the table is read-only
+     */
+    public void clear(int index) {
+        int offset = offset(index);
+        buffer.putLong(offset, 0);
+        buffer.putLong(offset + CURRENCY_OFFSET, 0);
+    }
+
+    /**
+     * Gets the byte offset of a slot.
+     *
+     * @param index  the index of the slot
+     * @return the offset
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    private int offset(int index) {
+        if (index < 0 || index >= capacity) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Capacity: " + capacity);
+        }
+        return index * SLOT_SIZE;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Calculates the total of the slots in the specified currency.
+     * <p>
+     * Empty slots and slots in other currencies are ignored, including slots
+     * in a version of the currency with different decimal places.
+     * The total is not limited to the range of a {@code long}.
+     *
+     * @param currency  the currency to total, not null
+     * @return the total, never null
+     */
+    public Money sum(CurrencyUnit currency) {
+        MoneyUtils.checkNotNull(currency, "CurrencyUnit must not be null");
+        int key = currencyKey(currency);
+        long total = 0;
+        long overflow = 0;
+        int limit = capacity * SLOT_SIZE;
+        for (int offset = 0; offset < limit; offset += SLOT_SIZE) {
+            if ((buffer.getInt(offset + CURRENCY_OFFSET) & CURRENCY_MASK) == key) {
+                long amount = buffer.getLong(offset);
+                long result = total + amount;
+                overflow |= (total ^ result) & (amount ^ result);
+                total = result;
+            }
+        }
+        if (overflow >= 0) {
+            return Money.ofMinor(currency, total);
+        }
+        MoneyAccumulator accumulator = MoneyAccumulator.of(currency);
+        for (int offset = 0; offset < limit; offset += SLOT_SIZE) {
+            if ((buffer.getInt(offset + CURRENCY_OFFSET) & CURRENCY_MASK) == key) {
+                accumulator.addMinor(buffer.getLong(offset));
+            }
+        }
+        return accumulator.toMoney();
+    }
+
+    /**
+     * Calculates the total of each currency.
+     *
+     * @return the totals, never null
+     * @throws IllegalCurrencyException if a currency is not registered
+     */
+    public MoneyBag sumByCurrency() {
+        // one pass totalling by packed code, then a slow pass only if needed
+        long[] totals = new long[CurrencyUnitRegistry.CODE_INDEX_SIZE + 1];
+        byte[] decimalPlaces = new byte[CurrencyUnitRegistry.CODE_INDEX_SIZE + 1];
+        boolean[] found = new boolean[CurrencyUnitRegistry.CODE_INDEX_SIZE + 1];
+        long overflow = 0;
+        boolean mixed = false;
+        int limit = capacity * SLOT_SIZE;
+        for (int offset = 0; offset < limit; offset += SLOT_SIZE) {
+            int code = buffer.getShort(offset + CURRENCY_OFFSET);
+            if (code != 0) {
+                long total = totals[code];
+                long amount = buffer.getLong(offset);
+                long result = total + amount;
+                overflow |= (total ^ result) & (amount ^ result);
+                totals[code] = result;
+                byte slotDecimalPlaces = buffer.get(offset + DECIMAL_PLACES_OFFSET);
+                if (!found[code]) {
+                    found[code] = true;
+                    decimalPlaces[code] = slotDecimalPlaces;
+                } else {
+                    // versions of a code with different decimal places are totalled separately
+                    mixed |= slotDecimalPlaces != decimalPlaces[code];
+                }
+            }
+        }
+        MoneyBag.Builder builder = MoneyBag.builder();
+        if (overflow >= 0 && !mixed) {
+            for (int code = 1; code < found.length; code++) {
+                if (found[code]) {
+                    CurrencyUnit currency = CurrencyUnit.ofCodeIndex(code - 1, decimalPlaces[code]);
+                    builder.add(Money.ofMinor(currency, totals[code]));
+                }
+            }
+        } else {
+            for (int i = 0; i < capacity; i++) {
+                Money money = get(i);
+                if (money != null) {
+                    builder.add(money);
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Counts the slots in the specified currency.
+     *
+     * @param currency  the currency to count, not null
+     * @return the number of slots in the currency
+     */
+    public int count(CurrencyUnit currency) {
+        MoneyUtils.checkNotNull(currency, "CurrencyUnit must not be null");
+        int key = currencyKey(currency);
+        int count = 0;
+        int limit = capacity * SLOT_SIZE;
+        for (int offset = 0; offset < limit; offset += SLOT_SIZE) {
+            if ((buffer.getInt(offset + CURRENCY_OFFSET) & CURRENCY_MASK) == key) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Finds the slots with an amount greater than the specified amount.
+     * <p>
+     * Empty slots and slots in other currencies are never found.
+     *
+     * @param other  the amount to compare to, not null
+     * @return a new set of the indices of the slots found, never null
+     */
+    public BitSet findGreaterThan(BigMoneyProvider other) {
+        return find(other, 1);
+    }
+
+    /**
+     * Finds the slots with an amount less than the specified amount.
+     * <p>
+     * Empty slots and slots in other currencies are never found.
+     *
+     * @param other  the amount to compare to, not null
+     * @return a new set of the indices of the slots found, never null
+     */
+    public BitSet findLessThan(BigMoneyProvider other) {
+        return find(other, -1);
+    }
+
+    /**
+     * Finds the slots with an amount equal to the specified amount.
+     * <p>
+     * Empty slots and slots in other currencies are never found.
+     *
+     * @param other  the amount to compare to, not null
+     * @return a new set of the indices of the slots found, never null
+     */
+    public BitSet findEqual(BigMoneyProvider other) {
+        return find(other, 0);
+    }
+
+    /**
+     * Finds the slots comparing to the specified amount with the specified sign.
+     *
+     * @param other  the amount to compare to, not null
+     * @param sign  the sign of the comparison of the slot to the amount to find
+     * @return a new set of the indices of the slots found, never null
+     */
+    private BitSet find(BigMoneyProvider other, int sign) {
+        BigMoney money = BigMoney.of(other);
+        CurrencyUnit currency = money.getCurrencyUnit();
+        int key = currencyKey(currency);
+        int decimalPlaces = currency.getDecimalPlaces();
+        BigDecimal amount = money.getAmount();
+        // the range of minor units, inclusive, that satisfies the comparison
+        BigDecimal scaled = amount.movePointRight(decimalPlaces);
+        BigInteger floor = scaled.setScale(0, RoundingMode.FLOOR).unscaledValue();
+        boolean integral = scaled.compareTo(new BigDecimal(floor)) == 0;
+        BigInteger low = LONG_MIN;
+        BigInteger high = LONG_MAX;
+        if (sign > 0) {
+            low = floor.add(BigInteger.ONE);
+        } else if (sign < 0) {
+            high = (integral ? floor.subtract(BigInteger.ONE) : floor);
+        } else {
+            low = high = floor;
+        }
+        BitSet found = new BitSet();
+        boolean empty = (sign == 0 && !integral) || low.compareTo(LONG_MAX) > 0 || high.compareTo(LONG_MIN) < 0;
+        long lowMinor = low.max(LONG_MIN).longValue();
+        long highMinor = high.min(LONG_MAX).longValue();
+        int limit = capacity * SLOT_SIZE;
+        for (int offset = 0, index = 0; offset < limit; offset += SLOT_SIZE, index++) {
+            if ((buffer.getInt(offset + CURRENCY_OFFSET) & CURRENCY_MASK) == key) {
+                long slotAmount = buffer.getLong(offset);
+                if (!empty && slotAmount >= lowMinor && slotAmount <= highMinor) {
+                    found.set(index);
+                }
+            }
+        }
+        return found;
+    }
+
+}
@@ -0,0 +1,212 @@
+/*
+ *  Copyright 2009-2011 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package javax.money;
+
+/**
+ * Cache of canonical instances of zero and small monetary amounts.
+ * <p>
+ * Amounts such as zero fees and one cent adjustments are created very frequently.
+ * Similar to {@link Integer#valueOf(int)}, this cache holds one instance of
+ * {@code Money} for each small amount of minor units, and one instance of
+ * {@code BigMoney} representing zero at each small scale, for each currency.
+ * The instances for a currency are held in arrays indexed by
+ * {@link CurrencyUnit#getOrdinal()} and created when first requested.
+ * <p>
+ * The range of minor units cached defaults to -128 to 127. It may be changed using the
+ * system properties {@code javax.money.MoneyCache.low} and {@code javax.money.MoneyCache.high}.
+ * The range always includes zero, and is limited to the range of a {@code short}.
+ * <p>
+ * The arrays are read and written without synchronization. This is safe as the
+ * cached objects are immutable, thus at worst a thread creates a duplicate instance.
+ * A cached instance is only returned if it holds the same currency instance as
+ * requested, thus a reload of the currencies does not return stale data.
+ * <p>
+ * This class is thread-safe.
+ */
+final class MoneyCache {
+
+    /**
+     * The number of scales of zero cached for each currency.
+     */
+    private static final int ZERO_SCALES = 10;
+    /**
+     * The lowest amount in minor units cached.
+     */
+    private static final long LOW;
+    /**
+     * The highest amount in minor units cached.
+     */
+    private static final long HIGH;
+    static {
+        long low = -128;
+        long high = 127;
+        try {
+            low = Long.parseLong(System.getProperty("javax.money.MoneyCache.low", "-128"));
+            high = Long.parseLong(System.getProperty("javax.money.MoneyCache.high", "127"));
+        } catch (SecurityException ex) {
+            // use defaults
+        } catch (NumberFormatException ex) {
+            // use defaults
+        }
+        LOW = Math.min(Math.max(low, Short.MIN_VALUE), 0);
+        HIGH = Math.max(Math.min(high, Short.MAX_VALUE), 0);
+    }
+
+    /**
+     * The cached instances of {@code Money}, by ordinal then by minor units from the lowest.
+     */
+    private static volatile Money[][] monies = new Money[0][];
+    /**
+     * The cached instances of {@code BigMoney} representing zero, by ordinal then by scale.
+     */
+    private static volatile BigMoney[][] zeroes = new BigMoney[0][];
+
+    /**
+     * Private constructor.
+     */
+    private MoneyCache() {
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Checks if an amount in minor units is within the cached range.
+     *
+     * @param amountMinor  the amount in minor units
+     * @return true if the amount is cached
+     */
+    static boolean isCached(long amountMinor) {
+        return amountMinor >= LOW && amountMinor <= HIGH;
+    }
+
+    /**
+     * Gets the cached instance of {@code Money}.
+     *
+     * @param currency  the currency, not null
+     * @param amountMinor  the amount in minor units, within the cached range
+     * @return the cached instance, null if not yet cached
+     */
+    static Money getMoney(CurrencyUnit currency, long amountMinor) {
+        Money[][] table = monies;
+        int ordinal = currency.getOrdinal();
+        if (ordinal < table.length) {
+            Money[] row = table[ordinal];
+            if (row != null) {
+                Money money = row[(int) (amountMinor - LOW)];
+                if (money != null && money.getCurrencyUnit() == currency) {
+                    return money;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Caches an instance of {@code Money}.
+     *
+     * @param money  the money to cache, with an amount within the cached range, not null
+     * @return the money, never null
+     */
+    static Money putMoney(Money money) {
+        int ordinal = money.getCurrencyUnit().getOrdinal();
+        Money[] row = ensureRow(ordinal);
+        row[(int) (money.getAmountMinorLong() - LOW)] = money;
+        return money;
+    }
+
+    /**
+     * Gets the row of the {@code Money} cache for an ordinal, creating it if necessary.
+     *
+     * @param ordinal  the ordinal of the currency
+     * @return the row, never null
+     */
+    private static Money[] ensureRow(int ordinal) {
+        Money[][] table = monies;
+        if (ordinal >= table.length) {
+            synchronized (MoneyCache.class) {
+                table = monies;
+                if (ordinal >= table.length) {
+                    Money[][] grown = new Money[Math.max(CurrencyUnit.ordinalLimit(), ordinal + 1)][];
+                    System.arraycopy(table, 0, grown, 0, table.length);
+                    monies = table = grown;
+                }
+            }
+        }
+        Money[] row = table[ordinal];
+        if (row == null) {
+            row = new Money[(int) (HIGH - LOW + 1)];
+            table[ordinal] = row;
+        }
+        return row;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the cached instance of {@code BigMoney} representing zero.
+     *
+     * @param currency  the currency, not null
+     * @param scale  the scale, not negative
+     * @return the cached instance, null if not cached
+     */
+    static BigMoney getZero(CurrencyUnit currency, int scale) {
+        if (scale >= ZERO_SCALES) {
+            return null;
+        }
+        BigMoney[][] table = zeroes;
+        int ordinal = currency.getOrdinal();
+        if (ordinal < table.length) {
+            BigMoney[] row = table[ordinal];
+            if (row != null) {
+                BigMoney zero = row[scale];
+                if (zero != null && zero.getCurrencyUnit() == currency) {
+                    return zero;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Caches an instance of {@code BigMoney} representing zero.
+     *
+     * @param zero  the zero to cache, not null
+     * @return the zero, never null
+     */
+    static BigMoney putZero(BigMoney zero) {
+        int scale = zero.getScale();
+        if (scale < ZERO_SCALES) {
+            int ordinal = zero.getCurrencyUnit().getOrdinal();
+            BigMoney[][] table = zeroes;
+            if (ordinal >= table.length) {
+                synchronized (MoneyCache.class) {
+                    table = zeroes;
+                    if (ordinal >= table.length) {
+                        BigMoney[][] grown = new BigMoney[Math.max(CurrencyUnit.ordinalLimit(), ordinal + 1)][];
+                        System.arraycopy(table, 0, grown, 0, table.length);
+                        zeroes = table = grown;
+                    }
+                }
+            }
+            BigMoney[] row = table[ordinal];
+            if (row == null) {
+                row = new BigMoney[ZERO_SCALES];
+                table[ordinal] = row;
+            }
+            row[scale] = zero;
+        }
+        return zero;
+    }
+
+}
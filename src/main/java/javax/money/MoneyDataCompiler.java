@@ -0,0 +1,132 @@
+/*
+ *  Copyright 2009-2011 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package javax.money;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.util.regex.Matcher;
+
+/**
+ * Compiles the currency data file into the form read by {@link DefaultCurrencyUnitDataProvider}.
+ * <p>
+ * This is run by the build after compilation, turning {@code MoneyData.csv} into
+ * {@code MoneyData.bin} alongside the classes. The compiled form is read at
+ * startup with a single bulk read and no text parsing.
+ * <p>
+ * The format, using {@link DataOutputStream} big-endian encoding, is:
+ * <ul>
+ * <li>int - the magic number 'JMDB'</li>
+ * <li>unsigned short - the format version</li>
+ * <li>int - the length of the remaining data in bytes</li>
+ * <li>short - the number of currencies, followed by for each currency:</li>
+ * <li>short - the packed currency code, see {@link CurrencyUnitRegistry#codeIndex(char, char, char)}</li>
+ * <li>short - the numeric code, -1 if none</li>
+ * <li>byte - the decimal places, -1 for a pseudo-currency</li>
+ * <li>byte - the number of countries, followed by a short packed country code for each,
+ *  see {@link CurrencyUnitRegistry#countryIndex(char, char)}</li>
+ * <li>int - the first day of validity as days from 1970-01-01, {@code Integer.MIN_VALUE} if none</li>
+ * <li>int - the last day of validity, exclusive, {@code Integer.MAX_VALUE} if still valid</li>
+ * </ul>
+ * <p>
+ * This class must not initialize {@code CurrencyUnit}, as that would load the data being compiled.
+ */
+final class MoneyDataCompiler {
+
+    /**
+     * Private constructor.
+     */
+    private MoneyDataCompiler() {
+    }
+
+    /**
+     * Compiles the csv file named by the first argument into the file named by the second.
+     * 
+     * @param args  the csv file and the output file, not null
+     * @throws IOException if an error occurs
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: MoneyDataCompiler <csv file> <output file>");
+        }
+        byte[] compiled;
+        Reader reader = new InputStreamReader(new FileInputStream(args[0]), "UTF-8");
+        try {
+            compiled = compile(reader);
+        } finally {
+            reader.close();
+        }
+        OutputStream out = new FileOutputStream(args[1]);
+        try {
+            out.write(compiled);
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * Compiles the csv data into the binary form.
+     * <p>
+     * Lines are matched in the same way as {@link DefaultCurrencyUnitDataProvider}
+     * matches them, thus both forms register the same currencies.
+     * 
+     * @param csv  the csv data, not null
+     * @return the compiled data, never null
+     * @throws IOException if an error occurs
+     */
+    static byte[] compile(Reader csv) throws IOException {
+        ByteArrayOutputStream records = new ByteArrayOutputStream(4096);
+        DataOutputStream recordsOut = new DataOutputStream(records);
+        BufferedReader reader = new BufferedReader(csv);
+        int count = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            Matcher matcher = DefaultCurrencyUnitDataProvider.REGEX_LINE.matcher(line);
+            if (matcher.matches()) {
+                String code = matcher.group(1);
+                String countryCodes = matcher.group(4);
+                recordsOut.writeShort(CurrencyUnitRegistry.codeIndex(code.charAt(0), code.charAt(1), code.charAt(2)));
+                recordsOut.writeShort(Integer.parseInt(matcher.group(2)));
+                recordsOut.writeByte(Integer.parseInt(matcher.group(3)));
+                recordsOut.writeByte(countryCodes.length() / 2);
+                for (int i = 0; i < countryCodes.length(); i += 2) {
+                    recordsOut.writeShort(CurrencyUnitRegistry.countryIndex(countryCodes.charAt(i), countryCodes.charAt(i + 1)));
+                }
+                recordsOut.writeInt(DefaultCurrencyUnitDataProvider.parseDay(matcher.group(5), CurrencyUnitRegistry.NO_START));
+                recordsOut.writeInt(DefaultCurrencyUnitDataProvider.parseDay(matcher.group(6), CurrencyUnitRegistry.NO_END));
+                count++;
+            }
+        }
+        recordsOut.flush();
+        
+        ByteArrayOutputStream compiled = new ByteArrayOutputStream(records.size() + 12);
+        DataOutputStream out = new DataOutputStream(compiled);
+        out.writeInt(DefaultCurrencyUnitDataProvider.BINARY_MAGIC);
+        out.writeShort(DefaultCurrencyUnitDataProvider.BINARY_VERSION);
+        out.writeInt(records.size() + 2);
+        out.writeShort(count);
+        records.writeTo(out);
+        out.flush();
+        return compiled.toByteArray();
+    }
+
+}
@@ -0,0 +1,210 @@
+/*
+ *  Copyright 2009-2011 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package javax.money;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Single pass scanner for the '{@code <currencyCode> <amount>}' format of
+ * {@link BigMoney#toString()} and {@link Money#toString()}.
+ * <p>
+ * The currency code is resolved from the characters using the registry index, and
+ * the digits of the amount are accumulated directly into a {@code long}, thus
+ * no intermediate strings are created. An amount with too many digits for a
+ * {@code long} is converted using {@code BigDecimal} instead.
+ * <p>
+ * The amount is an optional sign, followed by digits with an optional decimal point,
+ * equivalent to the regular expression {@code [+-]?[0-9]*[.]?[0-9]*}.
+ * At least one digit is required.
+ * <p>
+ * This class is mutable and intended for use by a single thread for a single parse.
+ */
+final class MoneyScanner {
+
+    /**
+     * The currency parsed.
+     */
+    private CurrencyUnit currency;
+    /**
+     * The unscaled amount parsed, only valid when {@code amount} is null.
+     */
+    private long unscaled;
+    /**
+     * The scale of the amount parsed.
+     */
+    private int scale;
+    /**
+     * The amount parsed, null if it fits in {@code unscaled}.
+     */
+    private BigDecimal amount;
+    /**
+     * The index after the last character parsed.
+     */
+    private int end;
+    /**
+     * The index of the error, -1 if no error.
+     */
+    private int errorIndex = -1;
+
+    //-----------------------------------------------------------------------
+    /**
+     * Scans the text from the specified index.
+     * <p>
+     * When {@code toEnd} is true, the amount must continue to the end of the text.
+     * Otherwise, the scan stops at the first character that cannot be part of the amount.
+     *
+     * @param text  the text to scan, not null
+     * @param start  the index to start from
+     * @param toEnd  whether the amount must continue to the end of the text
+     * @return true if successful, false if there is an error
+     */
+    boolean scan(CharSequence text, int start, boolean toEnd) {
+        int length = text.length();
+        if (start < 0 || start > length) {
+            throw new IndexOutOfBoundsException("Invalid offset " + start + " for text of length " + length);
+        }
+        if (length - start < 4) {
+            return error(length);
+        }
+        currency = CurrencyUnit.lookup(text.charAt(start), text.charAt(start + 1), text.charAt(start + 2));
+        if (currency == null) {
+            return error(start);
+        }
+        if (text.charAt(start + 3) != ' ') {
+            return error(start + 3);
+        }
+        int amountStart = start + 4;
+        int pos = amountStart;
+        boolean negative = false;
+        if (pos < length) {
+            char ch = text.charAt(pos);
+            if (ch == '-' || ch == '+') {
+                negative = (ch == '-');
+                pos++;
+            }
+        }
+        long total = 0;
+        int digits = 0;
+        int pointIndex = -1;
+        boolean overflow = false;
+        for ( ; pos < length; pos++) {
+            char ch = text.charAt(pos);
+            int digit = ch - '0';
+            if (digit >= 0 && digit <= 9) {
+                if (total > (Long.MAX_VALUE - digit) / 10) {
+                    overflow = true;
+                } else {
+                    total = total * 10 + digit;
+                }
+                digits++;
+            } else if (ch == '.' && pointIndex < 0) {
+                pointIndex = pos;
+            } else if (toEnd) {
+                return error(pos);
+            } else {
+                break;
+            }
+        }
+        if (digits == 0) {
+            return error(pos);
+        }
+        end = pos;
+        scale = (pointIndex < 0 ? 0 : pos - pointIndex - 1);
+        if (overflow) {
+            amount = new BigDecimal(text.subSequence(amountStart, pos).toString());
+        } else {
+            unscaled = (negative ? -total : total);
+        }
+        return true;
+    }
+
+    /**
+     * Records an error.
+     *
+     * @param index  the index of the error
+     * @return false, always
+     */
+    private boolean error(int index) {
+        errorIndex = index;
+        return false;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the index after the last character parsed.
+     *
+     * @return the end index
+     */
+    int getEnd() {
+        return end;
+    }
+
+    /**
+     * Gets the index of the error.
+     *
+     * @return the error index, -1 if no error
+     */
+    int getErrorIndex() {
+        return errorIndex;
+    }
+
+    /**
+     * Gets the amount parsed as a {@code BigMoney}.
+     *
+     * @return the money, never null
+     */
+    BigMoney toBigMoney() {
+        return BigMoney.create(currency, amount != null ? amount : BigDecimal.valueOf(unscaled, scale));
+    }
+
+    /**
+     * Gets the amount parsed as a {@code Money}.
+     *
+     * @return the money, never null
+     * @throws ArithmeticException if the amount has more decimal places than the currency
+     */
+    Money toMoney() {
+        if (amount == null) {
+            int adjust = currency.getDecimalPlaces() - scale;
+            if (adjust >= 0 && adjust < MoneyUtils.POWERS_OF_TEN.length) {
+                long factor = MoneyUtils.POWERS_OF_TEN[adjust];
+                long amountMinor = unscaled * factor;
+                if (amountMinor / factor == unscaled) {
+                    return Money.ofMinor(currency, amountMinor);
+                }
+            }
+        }
+        return Money.of(currency, amount != null ? amount : BigDecimal.valueOf(unscaled, scale), RoundingMode.UNNECESSARY);
+    }
+
+    /**
+     * Creates the exception for an error.
+     * <p>
+     * An unknown currency code is reported using {@code IllegalCurrencyException}.
+     *
+     * @param text  the text that was parsed, not null
+     * @return the exception, never null
+     */
+    IllegalArgumentException toException(CharSequence text) {
+        if (currency == null && errorIndex < text.length() - 3) {
+            CharSequence code = text.subSequence(errorIndex, errorIndex + 3);
+            return new IllegalCurrencyException("Unknown currency '" + code + "' in money '" + text + "' at index " + errorIndex);
+        }
+        return new IllegalArgumentException("Money '" + text + "' cannot be parsed at index " + errorIndex);
+    }
+
+}
@@ -0,0 +1,280 @@
+/*
+ *  Copyright 2009-2011 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package javax.money;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Map;
+
+/**
+ * A mutable summary of monetary amounts in a single currency, providing
+ * the count, sum, average, minimum and maximum.
+ * <p>
+ * Amounts are added using {@link #accept(BigMoneyProvider)}, and summaries
+ * calculated separately, such as on different threads, are merged using
+ * {@link #combine(MoneySummaryStatistics)}. The sum is held in a {@link MoneyAccumulator},
+ * thus accepting an amount does not create a new monetary instance.
+ * For example:
+ * <pre>
+ *  MoneySummaryStatistics stats = new MoneySummaryStatistics(USD);
+ *  for (Money money : payments) {
+ *    stats.accept(money);
+ *  }
+ *  Money average = stats.getAverage(RoundingMode.HALF_EVEN).toMoney();
+ * </pre>
+ * <p>
+ * Amounts in a mix of currencies can be summarized using {@link #groupingByCurrency(Iterable)}.
+ * <p>
+ * This class is mutable and not thread-safe.
+ */
+public final class MoneySummaryStatistics {
+
+    /**
+     * The currency, not null.
+     */
+    private final CurrencyUnit currency;
+    /**
+     * The sum, not null.
+     */
+    private final MoneyAccumulator sum;
+    /**
+     * The number of amounts.
+     */
+    private long count;
+    /**
+     * The minimum amount, null if none.
+     */
+    private BigMoneyProvider min;
+    /**
+     * The maximum amount, null if none.
+     */
+    private BigMoneyProvider max;
+
+    //-----------------------------------------------------------------------
+    /**
+     * Summarizes amounts in a mix of currencies, grouping them by currency.
+     *
+     * @param monies  the monetary values to summarize, no null elements, not null
+     * @return the summary of each currency, never null
+     */
+    public static CurrencyMap<MoneySummaryStatistics> groupingByCurrency(Iterable<? extends BigMoneyProvider> monies) {
+        MoneyUtils.checkNotNull(monies, "Money iterator must not be null");
+        CurrencyMap<MoneySummaryStatistics> grouped = new CurrencyMap<MoneySummaryStatistics>();
+        for (BigMoneyProvider money : monies) {
+            MoneyUtils.checkNotNull(money, "Money iterator must not contain null entries");
+            CurrencyUnit currency = currencyOf(money);
+            MoneySummaryStatistics stats = grouped.get(currency);
+            if (stats == null) {
+                stats = new MoneySummaryStatistics(currency);
+                grouped.put(currency, stats);
+            }
+            stats.accept(money);
+        }
+        return grouped;
+    }
+
+    /**
+     * Combines summaries grouped by currency into a target.
+     * <p>
+     * Each summary in the source is combined into the summary of the same currency
+     * in the target, which is added if absent. The source is unaffected.
+     *
+     * @param target  the summaries to add to, not null
+     * @param source  the summaries to add, not null
+     * @return the target, never null
+     */
+    public static CurrencyMap<MoneySummaryStatistics> combine(
+            CurrencyMap<MoneySummaryStatistics> target, CurrencyMap<MoneySummaryStatistics> source) {
+        MoneyUtils.checkNotNull(target, "Target must not be null");
+        MoneyUtils.checkNotNull(source, "Source must not be null");
+        for (Map.Entry<CurrencyUnit, MoneySummaryStatistics> entry : source.entrySet()) {
+            MoneySummaryStatistics stats = target.get(entry.getKey());
+            if (stats == null) {
+                stats = new MoneySummaryStatistics(entry.getKey());
+                target.put(entry.getKey(), stats);
+            }
+            stats.combine(entry.getValue());
+        }
+        return target;
+    }
+
+    /**
+     * Gets the currency of a money without creating a {@code BigMoney} where possible.
+     *
+     * @param money  the money, not null
+     * @return the currency, never null
+     */
+    private static CurrencyUnit currencyOf(BigMoneyProvider money) {
+        if (money instanceof Money) {
+            return ((Money) money).getCurrencyUnit();
+        }
+        return BigMoney.of(money).getCurrencyUnit();
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Creates an empty summary.
+     *
+     * @param currency  the currency, not null
+     */
+    public MoneySummaryStatistics(CurrencyUnit currency) {
+        MoneyUtils.checkNotNull(currency, "CurrencyUnit must not be null");
+        this.currency = currency;
+        this.sum = MoneyAccumulator.of(currency);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Adds a monetary amount to the summary.
+     *
+     * @param money  the amount to add, in the same currency, not null
+     * @throws CurrencyMismatchException if the currencies differ
+     */
+    public void accept(BigMoneyProvider money) {
+        sum.add(money);
+        if (count == 0) {
+            min = money;
+            max = money;
+        } else {
+            if (compare(money, min) < 0) {
+                min = money;
+            }
+            if (compare(money, max) > 0) {
+                max = money;
+            }
+        }
+        count++;
+    }
+
+    /**
+     * Combines another summary into this one.
+     * <p>
+     * The other summary is unaffected.
+     *
+     * @param other  the summary to add, in the same currency, not null
+     * @throws CurrencyMismatchException if the currencies differ
+     */
+    public void combine(MoneySummaryStatistics other) {
+        sum.add(other.sum);
+        if (other.count > 0) {
+            if (count == 0 || compare(other.min, min) < 0) {
+                min = other.min;
+            }
+            if (count == 0 || compare(other.max, max) > 0) {
+                max = other.max;
+            }
+        }
+        count += other.count;
+    }
+
+    /**
+     * Compares two amounts, avoiding the creation of a {@code BigMoney} where possible.
+     *
+     * @param money1  the first amount, not null
+     * @param money2  the second amount, not null
+     * @return negative if the first is less, zero if equal, positive if greater
+     */
+    private static int compare(BigMoneyProvider money1, BigMoneyProvider money2) {
+        if (money1 instanceof Money) {
+            return ((Money) money1).compareTo(money2);
+        }
+        return BigMoney.of(money1).compareTo(money2);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the currency of the summary.
+     *
+     * @return the currency, never null
+     */
+    public CurrencyUnit getCurrencyUnit() {
+        return currency;
+    }
+
+    /**
+     * Gets the number of amounts summarized.
+     *
+     * @return the count, zero or greater
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the sum of the amounts.
+     * <p>
+     * The scale is the maximum of the scales of the amounts, as per
+     * {@link BigMoney#total(CurrencyUnit, Iterable)}.
+     *
+     * @return the sum, zero if there are no amounts, never null
+     */
+    public BigMoney getSum() {
+        return sum.toBigMoney();
+    }
+
+    /**
+     * Gets the average of the amounts, rounded to the scale of the sum.
+     *
+     * @param roundingMode  the rounding mode to use, not null
+     * @return the average, zero if there are no amounts, never null
+     */
+    public BigMoney getAverage(RoundingMode roundingMode) {
+        MoneyUtils.checkNotNull(roundingMode, "RoundingMode must not be null");
+        BigMoney total = sum.toBigMoney();
+        if (count <= 1) {
+            return total;
+        }
+        return total.dividedBy(BigDecimal.valueOf(count), roundingMode);
+    }
+
+    /**
+     * Gets the minimum amount.
+     *
+     * @return the minimum, null if there are no amounts
+     */
+    public BigMoney getMin() {
+        return (min != null ? BigMoney.of(min) : null);
+    }
+
+    /**
+     * Gets the maximum amount.
+     *
+     * @return the maximum, null if there are no amounts
+     */
+    public BigMoney getMax() {
+        return (max != null ? BigMoney.of(max) : null);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the summary as a string.
+     *
+     * @return the string representation of the summary, never null
+     */
+    @Override
+    public String toString() {
+        return new StringBuilder()
+            .append("MoneySummaryStatistics[")
+            .append(currency.getCode())
+            .append(",count=").append(count)
+            .append(",sum=").append(sum.getAmount().toPlainString())
+            .append(",min=").append(min != null ? BigMoney.of(min).getAmount().toPlainString() : "")
+            .append(",max=").append(max != null ? BigMoney.of(max).getAmount().toPlainString() : "")
+            .append(']')
+            .toString();
+    }
+
+}
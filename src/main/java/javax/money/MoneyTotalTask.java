@@ -0,0 +1,135 @@
+/*
+ *  Copyright 2009-2011 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package javax.money;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Totals a list of monetary values in parallel.
+ * <p>
+ * The list is split in half recursively until each part is small enough to
+ * be totalled directly into a {@link MoneyAccumulator}. The partial totals are then
+ * combined, which is exact, thus the result matches the sequential total.
+ * <p>
+ * This class is mutable and intended for use by a single fork-join computation.
+ */
+final class MoneyTotalTask extends RecursiveTask<MoneyAccumulator> {
+
+    /**
+     * The serialisation version.
+     */
+    private static final long serialVersionUID = 1L;
+    /**
+     * The number of values below which the list is totalled directly.
+     */
+    static final int THRESHOLD = 8192;
+
+    /**
+     * The currency, not null.
+     */
+    private final CurrencyUnit currency;
+    /**
+     * The values to total, random access, not null.
+     */
+    private final List<? extends BigMoneyProvider> monies;
+    /**
+     * The start index, inclusive.
+     */
+    private final int start;
+    /**
+     * The end index, exclusive.
+     */
+    private final int end;
+
+    /**
+     * Holds the pool used when not called from within a fork-join computation.
+     */
+    private static final class PoolHolder {
+        /** The shared pool, created on first use. */
+        static final ForkJoinPool POOL = new ForkJoinPool();
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Totals the list, in parallel if it is large.
+     * <p>
+     * When called from within a fork-join computation, the current pool is used.
+     *
+     * @param currency  the currency to total in, not null
+     * @param monies  the monetary values to total, no null elements, not null
+     * @return the total, never null
+     * @throws CurrencyMismatchException if the currencies differ
+     */
+    static MoneyAccumulator total(CurrencyUnit currency, List<? extends BigMoneyProvider> monies) {
+        MoneyUtils.checkNotNull(currency, "CurrencyUnit must not be null");
+        MoneyUtils.checkNotNull(monies, "Money list must not be null");
+        if (!(monies instanceof RandomAccess)) {
+            monies = new ArrayList<BigMoneyProvider>(monies);
+        }
+        MoneyTotalTask task = new MoneyTotalTask(currency, monies, 0, monies.size());
+        if (monies.size() <= THRESHOLD) {
+            return task.compute();
+        }
+        if (ForkJoinTask.inForkJoinPool()) {
+            return task.invoke();
+        }
+        return PoolHolder.POOL.invoke(task);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param currency  the currency, not null
+     * @param monies  the values to total, random access, not null
+     * @param start  the start index, inclusive
+     * @param end  the end index, exclusive
+     */
+    private MoneyTotalTask(CurrencyUnit currency, List<? extends BigMoneyProvider> monies, int start, int end) {
+        this.currency = currency;
+        this.monies = monies;
+        this.start = start;
+        this.end = end;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Totals the part of the list for this task.
+     *
+     * @return the total of this part, never null
+     */
+    @Override
+    protected MoneyAccumulator compute() {
+        if (end - start <= THRESHOLD) {
+            MoneyAccumulator total = MoneyAccumulator.of(currency);
+            for (int i = start; i < end; i++) {
+                total.add(monies.get(i));
+            }
+            return total;
+        }
+        int mid = (start + end) >>> 1;
+        MoneyTotalTask first = new MoneyTotalTask(currency, monies, start, mid);
+        MoneyTotalTask second = new MoneyTotalTask(currency, monies, mid, end);
+        first.fork();
+        MoneyAccumulator total = second.compute();
+        return first.join().add(total);
+    }
+
+}
@@ -15,6 +15,9 @@
  */
 package javax.money;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
 /**
  * Utilities for working with monetary values that handle null.
  * <p>
@@ -24,6 +27,35 @@ package javax.money;
  */
 public final class MoneyUtils {
 
+    /**
+     * The powers of ten that fit in a {@code long}, indexed by exponent.
+     */
+    static final long[] POWERS_OF_TEN = new long[19];
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+    /**
+     * The maximum number of characters output by {@link #getChars}.
+     */
+    static final int MAX_CHARS = 45;
+    /**
+     * The tens digit of each number from 0 to 99.
+     */
+    private static final char[] DIGIT_TENS = new char[100];
+    /**
+     * The units digit of each number from 0 to 99.
+     */
+    private static final char[] DIGIT_ONES = new char[100];
+    static {
+        for (int i = 0; i < 100; i++) {
+            DIGIT_TENS[i] = (char) ('0' + i / 10);
+            DIGIT_ONES[i] = (char) ('0' + i % 10);
+        }
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Private constructor.
@@ -31,6 +63,148 @@ public final class MoneyUtils {
     private MoneyUtils() {
     }
 
+    //-----------------------------------------------------------------------
+    /**
+     * Validates that the object specified is not null.
+     *
+     * @param object  the object to check, may be null
+     * @param message  the message to use in the exception, not null
+     * @throws NullPointerException if the input value is null
+     */
+    static void checkNotNull(Object object, String message) {
+        if (object == null) {
+            throw new NullPointerException(message);
+        }
+    }
+
+    /**
+     * Gets the unscaled value of a decimal that fits in a {@code long}, without creating a {@code BigInteger}.
+     * <p>
+     * {@link BigDecimal#unscaledValue()} always creates a {@code BigInteger}, whereas
+     * {@link BigDecimal#longValue()} reads the compact value directly when the scale is zero.
+     * A decimal with a non-zero scale is first rescaled by {@link BigDecimal#scaleByPowerOfTen(int)},
+     * which creates a small {@code BigDecimal} sharing the compact value, but no {@code BigInteger}.
+     *
+     * @param amount  the amount, with a precision of 18 or less, not null
+     * @return the unscaled value
+     */
+    static long unscaledLong(BigDecimal amount) {
+        int scale = amount.scale();
+        return (scale == 0 ? amount.longValue() : amount.scaleByPowerOfTen(scale).longValue());
+    }
+
+    /**
+     * Divides two {@code long} values, rounding the result as specified.
+     * <p>
+     * This matches {@link java.math.BigDecimal#divide(java.math.BigDecimal, RoundingMode)}
+     * for values of scale zero, without creating any objects.
+     *
+     * @param dividend  the value to divide
+     * @param divisor  the value to divide by, not zero
+     * @param roundingMode  the rounding mode to use, not null
+     * @return the rounded quotient
+     * @throws ArithmeticException if dividing by zero, or rounding is necessary but the mode is {@code UNNECESSARY}
+     */
+    static long divide(long dividend, long divisor, RoundingMode roundingMode) {
+        long quotient = dividend / divisor;
+        long remainder = dividend - quotient * divisor;
+        if (remainder == 0) {
+            return quotient;
+        }
+        int sign = ((dividend ^ divisor) < 0 ? -1 : 1);
+        boolean increment;
+        switch (roundingMode) {
+            case UNNECESSARY:
+                throw new ArithmeticException("Rounding necessary");
+            case DOWN:
+                increment = false;
+                break;
+            case UP:
+                increment = true;
+                break;
+            case FLOOR:
+                increment = (sign < 0);
+                break;
+            case CEILING:
+                increment = (sign > 0);
+                break;
+            default:
+                // compare the remainder to half the divisor, using negative magnitudes to avoid overflow
+                long negRemainder = (remainder > 0 ? -remainder : remainder);
+                long negDivisor = (divisor > 0 ? -divisor : divisor);
+                long negRest = negDivisor - negRemainder;
+                if (negRemainder < negRest) {
+                    increment = true;
+                } else if (negRemainder > negRest) {
+                    increment = false;
+                } else if (roundingMode == RoundingMode.HALF_UP) {
+                    increment = true;
+                } else if (roundingMode == RoundingMode.HALF_DOWN) {
+                    increment = false;
+                } else {
+                    increment = (quotient & 1) != 0;
+                }
+                break;
+        }
+        return (increment ? quotient + sign : quotient);
+    }
+
+    /**
+     * Writes a monetary value in the format of {@code toString()} to the end of a buffer.
+     * <p>
+     * The format is the currency code, a space and the amount as per
+     * {@link java.math.BigDecimal#toPlainString()}. The digits are written
+     * directly from the {@code long}, two at a time, from the end of the buffer.
+     *
+     * @param currency  the currency, not null
+     * @param unscaled  the unscaled amount
+     * @param scale  the scale of the amount, from 0 to 18
+     * @param buf  the buffer to write to, at least {@link #MAX_CHARS} in size, not null
+     * @return the index of the first character written
+     */
+    static int getChars(CurrencyUnit currency, long unscaled, int scale, char[] buf) {
+        int pos = buf.length;
+        boolean negative = (unscaled < 0);
+        // work with a negative value, as that can hold the most negative long
+        long value = (negative ? unscaled : -unscaled);
+        int fractionDigits = scale;
+        while (fractionDigits >= 2) {
+            long quotient = value / 100;
+            int pair = (int) (quotient * 100 - value);
+            value = quotient;
+            buf[--pos] = DIGIT_ONES[pair];
+            buf[--pos] = DIGIT_TENS[pair];
+            fractionDigits -= 2;
+        }
+        if (fractionDigits == 1) {
+            long quotient = value / 10;
+            buf[--pos] = (char) ('0' + (quotient * 10 - value));
+            value = quotient;
+        }
+        if (scale > 0) {
+            buf[--pos] = '.';
+        }
+        while (value <= -100) {
+            long quotient = value / 100;
+            int pair = (int) (quotient * 100 - value);
+            value = quotient;
+            buf[--pos] = DIGIT_ONES[pair];
+            buf[--pos] = DIGIT_TENS[pair];
+        }
+        int pair = (int) -value;
+        buf[--pos] = DIGIT_ONES[pair];
+        if (pair >= 10) {
+            buf[--pos] = DIGIT_TENS[pair];
+        }
+        if (negative) {
+            buf[--pos] = '-';
+        }
+        buf[--pos] = ' ';
+        pos -= 3;
+        currency.getCode().getChars(0, 3, buf, pos);
+        return pos;
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Checks if the monetary value is zero, treating null as zero.
@@ -40,8 +214,7 @@ public final class MoneyUtils {
      * @return true if the money is null or zero
      */
     public static boolean isZero(BigMoneyProvider moneyProvider) {
-    	// TODO Not Implemented yet
-    	return false;
+        return moneyProvider == null || moneyProvider.toBigMoney().isZero();
     }
 
     /**
@@ -52,8 +225,7 @@ public final class MoneyUtils {
      * @return true if the money is non-null and positive
      */
     public static boolean isPositive(BigMoneyProvider moneyProvider) {
-    	// TODO Not Implemented yet
-    	return false;
+        return moneyProvider != null && moneyProvider.toBigMoney().isPositive();
     }
 
     /**
@@ -64,8 +236,7 @@ public final class MoneyUtils {
      * @return true if the money is null, zero or positive
      */
     public static boolean isPositiveOrZero(BigMoneyProvider moneyProvider) {
-    	// TODO Not Implemented yet
-    	return false;
+        return moneyProvider == null || moneyProvider.toBigMoney().isPositiveOrZero();
     }
 
     /**
@@ -76,8 +247,7 @@ public final class MoneyUtils {
      * @return true if the money is non-null and negative
      */
     public static boolean isNegative(BigMoneyProvider moneyProvider) {
-    	// TODO Not Implemented yet
-    	return false;
+        return moneyProvider != null && moneyProvider.toBigMoney().isNegative();
     }
 
     /**
@@ -88,8 +258,7 @@ public final class MoneyUtils {
      * @return true if the money is null, zero or negative
      */
     public static boolean isNegativeOrZero(BigMoneyProvider moneyProvider) {
-    	// TODO Not Implemented yet
-    	return false;
+        return moneyProvider == null || moneyProvider.toBigMoney().isNegativeOrZero();
     }
 
     //-----------------------------------------------------------------------
@@ -105,8 +274,13 @@ public final class MoneyUtils {
      * @throws CurrencyMismatchException if the currencies differ
      */
     public static Money max(Money money1, Money money2) {
-    	// TODO Not Implemented yet
-    	return null;
+        if (money1 == null) {
+            return money2;
+        }
+        if (money2 == null) {
+            return money1;
+        }
+        return money1.compareTo(money2) > 0 ? money1 : money2;
     }
 
     /**
@@ -121,8 +295,13 @@ public final class MoneyUtils {
      * @throws CurrencyMismatchException if the currencies differ
      */
     public static Money min(Money money1, Money money2) {
-    	// TODO Not Implemented yet
-    	return null;
+        if (money1 == null) {
+            return money2;
+        }
+        if (money2 == null) {
+            return money1;
+        }
+        return money1.compareTo(money2) < 0 ? money1 : money2;
     }
 
     //-----------------------------------------------------------------------
@@ -138,8 +317,13 @@ public final class MoneyUtils {
      * @throws CurrencyMismatchException if the currencies differ
      */
     public static Money add(Money money1, Money money2) {
-    	// TODO Not Implemented yet
-    	return null;
+        if (money1 == null) {
+            return money2;
+        }
+        if (money2 == null) {
+            return money1;
+        }
+        return money1.plus(money2);
     }
 
     //-----------------------------------------------------------------------
@@ -155,8 +339,13 @@ public final class MoneyUtils {
      * @throws CurrencyMismatchException if the currencies differ
      */
     public static Money subtract(Money money1, Money money2) {
-    	// TODO Not Implemented yet
-    	return null;
+        if (money2 == null) {
+            return money1;
+        }
+        if (money1 == null) {
+            return money2.negated();
+        }
+        return money1.minus(money2);
     }
 
     //-----------------------------------------------------------------------
@@ -172,8 +361,13 @@ public final class MoneyUtils {
      * @throws CurrencyMismatchException if the currencies differ
      */
     public static BigMoney max(BigMoney money1, BigMoney money2) {
-    	// TODO Not Implemented yet
-    	return null;
+        if (money1 == null) {
+            return money2;
+        }
+        if (money2 == null) {
+            return money1;
+        }
+        return money1.compareTo(money2) > 0 ? money1 : money2;
     }
 
     /**
@@ -188,8 +382,13 @@ public final class MoneyUtils {
      * @throws CurrencyMismatchException if the currencies differ
      */
     public static BigMoney min(BigMoney money1, BigMoney money2) {
-    	// TODO Not Implemented yet
-    	return null;
+        if (money1 == null) {
+            return money2;
+        }
+        if (money2 == null) {
+            return money1;
+        }
+        return money1.compareTo(money2) < 0 ? money1 : money2;
     }
 
     //-----------------------------------------------------------------------
@@ -205,8 +404,13 @@ public final class MoneyUtils {
      * @throws CurrencyMismatchException if the currencies differ
      */
     public static BigMoney add(BigMoney money1, BigMoney money2) {
-    	// TODO Not Implemented yet
-    	return null;
+        if (money1 == null) {
+            return money2;
+        }
+        if (money2 == null) {
+            return money1;
+        }
+        return money1.plus(money2);
     }
 
     //-----------------------------------------------------------------------
@@ -222,7 +426,12 @@ public final class MoneyUtils {
      * @throws CurrencyMismatchException if the currencies differ
      */
     public static BigMoney subtract(BigMoney money1, BigMoney money2) {
-    	// TODO Not Implemented yet
-    	return null;
+        if (money2 == null) {
+            return money1;
+        }
+        if (money1 == null) {
+            return money2.negated();
+        }
+        return money1.minus(money2);
     }
 }
@@ -0,0 +1,802 @@
+/*
+ *  Copyright 2009-2011 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package javax.money;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A fixed-size sequence of monetary amounts stored in columns for bulk arithmetic.
+ * <p>
+ * Rather than holding an object per amount, as a {@code List<Money>} does, this class
+ * holds a single {@code long[]} of unscaled amounts sharing one scale. The currency is
+ * either common to all amounts, or held as a {@code short[]} of currency ordinals.
+ * The bulk operations are simple loops over these arrays, which are suitable for
+ * the JIT compiler to unroll and vectorize.
+ * <p>
+ * The scale is the largest number of decimal places of the currencies, thus a vector
+ * in a single currency holds minor units, as per {@link Money#getAmountMinorLong()}.
+ * <p>
+ * Unlike {@code Money}, amounts are restricted to the range of a {@code long}.
+ * An operation that would overflow throws {@code ArithmeticException}.
+ * <p>
+ * This class is immutable and thread-safe.
+ */
+public final class MoneyVector {
+
+    /**
+     * The currency of all amounts, null if held by ordinal.
+     */
+    private final CurrencyUnit currency;
+    /**
+     * The currency ordinal of each amount, null if all in one currency.
+     */
+    private final short[] ordinals;
+    /**
+     * The scale of the amounts.
+     */
+    private final int scale;
+    /**
+     * The unscaled amounts.
+     */
+    private final long[] amounts;
+
+    //-----------------------------------------------------------------------
+    /**
+     * Obtains a vector of amounts in minor units in a single currency.
+     *
+     * @param currency  the currency, not null
+     * @param amountsMinor  the amounts in minor units, copied, not null
+     * @return the vector, never null
+     */
+    public static MoneyVector ofMinor(CurrencyUnit currency, long[] amountsMinor) {
+        MoneyUtils.checkNotNull(currency, "CurrencyUnit must not be null");
+        MoneyUtils.checkNotNull(amountsMinor, "Amounts must not be null");
+        return new MoneyVector(currency, null, currency.getDecimalPlaces(), amountsMinor.clone());
+    }
+
+    /**
+     * Obtains a vector from a list of amounts, in one or more currencies.
+     *
+     * @param monies  the amounts, no null elements, not empty, not null
+     * @return the vector, never null
+     * @throws IllegalArgumentException if the list is empty
+     * @throws ArithmeticException if an amount has a scale greater than its currency
+     *  or does not fit in a {@code long} at the scale of the vector
+     */
+    public static MoneyVector of(List<? extends BigMoneyProvider> monies) {
+        MoneyUtils.checkNotNull(monies, "Money list must not be null");
+        int size = monies.size();
+        if (size == 0) {
+            throw new IllegalArgumentException("Money list must not be empty");
+        }
+        CurrencyUnit[] currencies = new CurrencyUnit[size];
+        CurrencyUnit common = null;
+        boolean mixed = false;
+        int scale = 0;
+        for (int i = 0; i < size; i++) {
+            BigMoneyProvider money = monies.get(i);
+            MoneyUtils.checkNotNull(money, "Money list must not contain null entries");
+            currencies[i] = (money instanceof Money ? ((Money) money).getCurrencyUnit() : BigMoney.of(money).getCurrencyUnit());
+            if (common == null) {
+                common = currencies[i];
+            } else if (!mixed && !common.equals(currencies[i])) {
+                mixed = true;
+            }
+            scale = Math.max(scale, currencies[i].getDecimalPlaces());
+        }
+        long[] amounts = new long[size];
+        short[] ordinals = (mixed ? new short[size] : null);
+        for (int i = 0; i < size; i++) {
+            BigMoneyProvider money = monies.get(i);
+            if (money instanceof Money && ((Money) money).isAmountMinorLong() && currencies[i].getDecimalPlaces() == scale) {
+                amounts[i] = ((Money) money).getAmountMinorLong();
+            } else {
+                BigInteger unscaled = Money.of(money).getAmount().setScale(scale).unscaledValue();
+                if (unscaled.bitLength() >= 64) {
+                    throw new ArithmeticException("Amount is too large for a MoneyVector: " + money);
+                }
+                amounts[i] = unscaled.longValue();
+            }
+            if (mixed) {
+                ordinals[i] = (short) currencies[i].getOrdinal();
+            }
+        }
+        return new MoneyVector(mixed ? null : common, ordinals, scale, amounts);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param currency  the common currency, null if held by ordinal
+     * @param ordinals  the currency ordinals, null if common, not modified afterwards
+     * @param scale  the scale
+     * @param amounts  the unscaled amounts, not modified afterwards, not null
+     */
+    private MoneyVector(CurrencyUnit currency, short[] ordinals, int scale, long[] amounts) {
+        this.currency = currency;
+        this.ordinals = ordinals;
+        this.scale = scale;
+        this.amounts = amounts;
+    }
+
+    /**
+     * Returns a vector with the same currencies and the specified amounts.
+     *
+     * @param newAmounts  the new unscaled amounts, not null
+     * @return the new vector, never null
+     */
+    private MoneyVector with(long[] newAmounts) {
+        return new MoneyVector(currency, ordinals, scale, newAmounts);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Gets the number of amounts.
+     *
+     * @return the size
+     */
+    public int size() {
+        return amounts.length;
+    }
+
+    /**
+     * Gets the scale shared by the amounts.
+     *
+     * @return the scale, the largest number of decimal places of the currencies
+     */
+    public int getScale() {
+        return scale;
+    }
+
+    /**
+     * Checks if all the amounts are in one currency.
+     *
+     * @return true if there is a single currency
+     */
+    public boolean isSingleCurrency() {
+        return currency != null;
+    }
+
+    /**
+     * Gets the currency of an amount.
+     *
+     * @param index  the index, from zero to the size exclusive
+     * @return the currency, never null
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    public CurrencyUnit getCurrencyUnit(int index) {
+        if (index < 0 || index >= amounts.length) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + amounts.length);
+        }
+        return (currency != null ? currency : CurrencyUnit.ofKnownOrdinal(ordinals[index]));
+    }
+
+    /**
+     * Gets an amount unscaled by the scale of the vector.
+     * <p>
+     * For a vector in a single currency, this is the amount in minor units.
+     *
+     * @param index  the index, from zero to the size exclusive
+     * @return the unscaled amount
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    public long getUnscaledAmount(int index) {
+        return amounts[index];
+    }
+
+    /**
+     * Gets an amount as a {@code Money}.
+     *
+     * @param index  the index, from zero to the size exclusive
+     * @return the amount, never null
+     * @throws IndexOutOfBoundsException if the index is invalid
+     * @throws ArithmeticException if the amount has more decimal places than its currency
+     */
+    public Money get(int index) {
+        return get(index, RoundingMode.UNNECESSARY);
+    }
+
+    /**
+     * Gets an amount as a {@code Money}, rounding to the decimal places of its currency.
+     *
+     * @param index  the index, from zero to the size exclusive
+     * @param roundingMode  the rounding mode to use, not null
+     * @return the amount, never null
+     * @throws IndexOutOfBoundsException if the index is invalid
+     * @throws ArithmeticException if the rounding fails
+     */
+    public Money get(int index, RoundingMode roundingMode) {
+        CurrencyUnit indexCurrency = getCurrencyUnit(index);
+        if (indexCurrency.getDecimalPlaces() == scale) {
+            return Money.ofMinor(indexCurrency, amounts[index]);
+        }
+        return Money.of(indexCurrency, BigDecimal.valueOf(amounts[index], scale), roundingMode);
+    }
+
+    /**
+     * Gets the amounts as a list of {@code Money}.
+     * <p>
+     * In a vector of mixed currencies, an amount in a currency with fewer decimal
+     * places than the scale of the vector may have been given more decimal places
+     * by {@link #multipliedBy(BigDecimal, RoundingMode)}. Use {@link #toMonies(RoundingMode)}
+     * to round such amounts.
+     *
+     * @return a new list of the amounts, never null
+     * @throws ArithmeticException if an amount has more decimal places than its currency
+     */
+    public List<Money> toMonies() {
+        return toMonies(RoundingMode.UNNECESSARY);
+    }
+
+    /**
+     * Gets the amounts as a list of {@code Money}, rounding each to the decimal places of its currency.
+     *
+     * @param roundingMode  the rounding mode to use, not null
+     * @return a new list of the amounts, never null
+     * @throws ArithmeticException if the rounding fails
+     */
+    public List<Money> toMonies(RoundingMode roundingMode) {
+        MoneyUtils.checkNotNull(roundingMode, "RoundingMode must not be null");
+        List<Money> monies = new ArrayList<Money>(amounts.length);
+        for (int i = 0; i < amounts.length; i++) {
+            monies.add(get(i, roundingMode));
+        }
+        return monies;
+    }
+
+    /**
+     * Gets the unscaled amounts as an array.
+     *
+     * @return a new array of the unscaled amounts, never null
+     */
+    public long[] toUnscaledArray() {
+        return amounts.clone();
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Returns a vector with the amounts of another vector added element by element.
+     * <p>
+     * This instance is immutable and unaffected by this method.
+     *
+     * @param other  the vector to add, with the same size and currencies, not null
+     * @return the new vector, never null
+     * @throws IllegalArgumentException if the sizes differ
+     * @throws CurrencyMismatchException if the currencies differ
+     * @throws ArithmeticException if an amount overflows
+     */
+    public MoneyVector plus(MoneyVector other) {
+        checkCompatible(other);
+        long[] otherAmounts = other.amounts;
+        long[] result = new long[amounts.length];
+        long overflow = 0;
+        for (int i = 0; i < result.length; i++) {
+            long a = amounts[i];
+            long b = otherAmounts[i];
+            long r = a + b;
+            overflow |= (a ^ r) & (b ^ r);
+            result[i] = r;
+        }
+        checkOverflow(overflow);
+        return with(result);
+    }
+
+    /**
+     * Returns a vector with the amounts of another vector subtracted element by element.
+     * <p>
+     * This instance is immutable and unaffected by this method.
+     *
+     * @param other  the vector to subtract, with the same size and currencies, not null
+     * @return the new vector, never null
+     * @throws IllegalArgumentException if the sizes differ
+     * @throws CurrencyMismatchException if the currencies differ
+     * @throws ArithmeticException if an amount overflows
+     */
+    public MoneyVector minus(MoneyVector other) {
+        checkCompatible(other);
+        long[] otherAmounts = other.amounts;
+        long[] result = new long[amounts.length];
+        long overflow = 0;
+        for (int i = 0; i < result.length; i++) {
+            long a = amounts[i];
+            long b = otherAmounts[i];
+            long r = a - b;
+            overflow |= (a ^ b) & (a ^ r);
+            result[i] = r;
+        }
+        checkOverflow(overflow);
+        return with(result);
+    }
+
+    /**
+     * Returns a vector with each amount multiplied by the specified value.
+     * <p>
+     * This instance is immutable and unaffected by this method.
+     *
+     * @param valueToMultiplyBy  the scalar value to multiply by
+     * @return the new vector, never null
+     * @throws ArithmeticException if an amount overflows
+     */
+    public MoneyVector multipliedBy(long valueToMultiplyBy) {
+        if (valueToMultiplyBy == 1) {
+            return this;
+        }
+        checkMultiply(valueToMultiplyBy);
+        long[] result = new long[amounts.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = amounts[i] * valueToMultiplyBy;
+        }
+        return with(result);
+    }
+
+    /**
+     * Returns a vector with each amount multiplied by the specified value,
+     * rounding the results to the scale of the vector.
+     * <p>
+     * This instance is immutable and unaffected by this method.
+     *
+     * @param valueToMultiplyBy  the scalar value to multiply by, not null
+     * @param roundingMode  the rounding mode to use, not null
+     * @return the new vector, never null
+     * @throws ArithmeticException if an amount overflows
+     * @throws ArithmeticException if the rounding fails
+     */
+    public MoneyVector multipliedBy(BigDecimal valueToMultiplyBy, RoundingMode roundingMode) {
+        MoneyUtils.checkNotNull(valueToMultiplyBy, "Multiplier must not be null");
+        MoneyUtils.checkNotNull(roundingMode, "RoundingMode must not be null");
+        BigDecimal multiplier = valueToMultiplyBy.stripTrailingZeros();
+        if (multiplier.scale() <= 0) {
+            return multipliedBy(multiplier.longValueExact());
+        }
+        if (multiplier.scale() >= MoneyUtils.POWERS_OF_TEN.length || multiplier.precision() >= 19) {
+            throw new ArithmeticException("Multiplier is too precise for a MoneyVector: " + valueToMultiplyBy);
+        }
+        long unscaledMultiplier = multiplier.unscaledValue().longValue();
+        long divisor = MoneyUtils.POWERS_OF_TEN[multiplier.scale()];
+        checkMultiply(unscaledMultiplier);
+        long[] result = new long[amounts.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = MoneyUtils.divide(amounts[i] * unscaledMultiplier, divisor, roundingMode);
+        }
+        return with(result);
+    }
+
+    /**
+     * Returns a vector with each amount negated.
+     * <p>
+     * This instance is immutable and unaffected by this method.
+     *
+     * @return the new vector, never null
+     * @throws ArithmeticException if an amount overflows
+     */
+    public MoneyVector negated() {
+        long[] result = new long[amounts.length];
+        long overflow = 0;
+        for (int i = 0; i < result.length; i++) {
+            long a = amounts[i];
+            long r = -a;
+            overflow |= a & r;
+            result[i] = r;
+        }
+        checkOverflow(overflow);
+        return with(result);
+    }
+
+    /**
+     * Returns a vector with each amount rounded to the specified scale without
+     * changing the scale of the vector, as per {@link Money#rounded(int, RoundingMode)}.
+     * <p>
+     * This instance is immutable and unaffected by this method.
+     *
+     * @param newScale  the scale to round to
+     * @param roundingMode  the rounding mode to use, not null
+     * @return the new vector, never null
+     * @throws ArithmeticException if an amount overflows
+     * @throws ArithmeticException if the rounding fails
+     */
+    public MoneyVector rounded(int newScale, RoundingMode roundingMode) {
+        MoneyUtils.checkNotNull(roundingMode, "RoundingMode must not be null");
+        if (newScale >= scale) {
+            return this;
+        }
+        if (scale - newScale >= MoneyUtils.POWERS_OF_TEN.length) {
+            throw new ArithmeticException("Scale is too small for a MoneyVector: " + newScale);
+        }
+        long factor = MoneyUtils.POWERS_OF_TEN[scale - newScale];
+        long limit = Long.MAX_VALUE / factor;
+        long[] result = new long[amounts.length];
+        boolean overflow = false;
+        for (int i = 0; i < result.length; i++) {
+            long rounded = MoneyUtils.divide(amounts[i], factor, roundingMode);
+            overflow |= (rounded > limit) | (rounded < -limit);
+            result[i] = rounded * factor;
+        }
+        if (overflow) {
+            throw new ArithmeticException("Amount overflows a MoneyVector");
+        }
+        return with(result);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Calculates the total of a vector in a single currency.
+     * <p>
+     * The total is not limited to the range of a {@code long}.
+     *
+     * @return the total, never null
+     * @throws CurrencyMismatchException if there is more than one currency
+     */
+    public Money sum() {
+        checkSingleCurrency(null);
+        long total = 0;
+        long overflow = 0;
+        for (int i = 0; i < amounts.length; i++) {
+            long a = amounts[i];
+            long r = total + a;
+            overflow |= (total ^ r) & (a ^ r);
+            total = r;
+        }
+        if (overflow >= 0) {
+            return Money.ofMinor(currency, total);
+        }
+        MoneyAccumulator accumulator = MoneyAccumulator.of(currency);
+        for (int i = 0; i < amounts.length; i++) {
+            accumulator.addMinor(amounts[i]);
+        }
+        return accumulator.toMoney();
+    }
+
+    /**
+     * Calculates the total of each currency.
+     * <p>
+     * The amounts of each currency are totalled at the scale of the vector.
+     * Each total must then fit the decimal places of its currency, which may
+     * not be the case after {@link #multipliedBy(BigDecimal, RoundingMode)}.
+     * Use {@link #sumByCurrency(RoundingMode)} to round the totals.
+     *
+     * @return the totals, never null
+     * @throws ArithmeticException if a total has more decimal places than its currency
+     */
+    public MoneyBag sumByCurrency() {
+        return sumByCurrency(RoundingMode.UNNECESSARY);
+    }
+
+    /**
+     * Calculates the total of each currency, rounding each total to the decimal places of its currency.
+     * <p>
+     * The amounts of each currency are totalled exactly at the scale of the vector,
+     * thus each total is rounded once, rather than each amount.
+     *
+     * @param roundingMode  the rounding mode to use, not null
+     * @return the totals, never null
+     * @throws ArithmeticException if the rounding fails
+     */
+    public MoneyBag sumByCurrency(RoundingMode roundingMode) {
+        MoneyUtils.checkNotNull(roundingMode, "RoundingMode must not be null");
+        if (currency != null) {
+            return MoneyBag.of(sum());
+        }
+        // one pass totalling by ordinal, then a slow pass only if needed
+        int limit = CurrencyUnit.ordinalLimit();
+        long[] totals = new long[limit];
+        boolean[] found = new boolean[limit];
+        long overflow = 0;
+        for (int i = 0; i < amounts.length; i++) {
+            int ordinal = ordinals[i];
+            long total = totals[ordinal];
+            long a = amounts[i];
+            long r = total + a;
+            overflow |= (total ^ r) & (a ^ r);
+            totals[ordinal] = r;
+            found[ordinal] = true;
+        }
+        BigDecimal[] exact = null;
+        if (overflow < 0) {
+            exact = new BigDecimal[limit];
+            for (int i = 0; i < amounts.length; i++) {
+                int ordinal = ordinals[i];
+                BigDecimal amount = BigDecimal.valueOf(amounts[i], scale);
+                exact[ordinal] = (exact[ordinal] == null ? amount : exact[ordinal].add(amount));
+            }
+        }
+        MoneyBag.Builder builder = MoneyBag.builder();
+        for (int ordinal = 0; ordinal < limit; ordinal++) {
+            if (found[ordinal]) {
+                CurrencyUnit totalCurrency = CurrencyUnit.ofKnownOrdinal(ordinal);
+                BigDecimal total = (exact != null ? exact[ordinal] : BigDecimal.valueOf(totals[ordinal], scale));
+                builder.add(Money.of(totalCurrency, total, roundingMode));
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Finds the minimum amount of a vector in a single currency.
+     *
+     * @return the minimum, null if the vector is empty
+     * @throws CurrencyMismatchException if there is more than one currency
+     */
+    public Money min() {
+        checkSingleCurrency(null);
+        if (amounts.length == 0) {
+            return null;
+        }
+        long min = amounts[0];
+        for (int i = 1; i < amounts.length; i++) {
+            min = Math.min(min, amounts[i]);
+        }
+        return Money.ofMinor(currency, min);
+    }
+
+    /**
+     * Finds the maximum amount of a vector in a single currency.
+     *
+     * @return the maximum, null if the vector is empty
+     * @throws CurrencyMismatchException if there is more than one currency
+     */
+    public Money max() {
+        checkSingleCurrency(null);
+        if (amounts.length == 0) {
+            return null;
+        }
+        long max = amounts[0];
+        for (int i = 1; i < amounts.length; i++) {
+            max = Math.max(max, amounts[i]);
+        }
+        return Money.ofMinor(currency, max);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Compares each amount to another vector, element by element.
+     *
+     * @param other  the vector to compare to, with the same size and currencies, not null
+     * @return a new mask, true where this amount is greater than the other, never null
+     * @throws IllegalArgumentException if the sizes differ
+     * @throws CurrencyMismatchException if the currencies differ
+     */
+    public boolean[] isGreaterThan(MoneyVector other) {
+        checkCompatible(other);
+        boolean[] mask = new boolean[amounts.length];
+        for (int i = 0; i < mask.length; i++) {
+            mask[i] = amounts[i] > other.amounts[i];
+        }
+        return mask;
+    }
+
+    /**
+     * Compares each amount to another vector, element by element.
+     *
+     * @param other  the vector to compare to, with the same size and currencies, not null
+     * @return a new mask, true where this amount is less than the other, never null
+     * @throws IllegalArgumentException if the sizes differ
+     * @throws CurrencyMismatchException if the currencies differ
+     */
+    public boolean[] isLessThan(MoneyVector other) {
+        checkCompatible(other);
+        boolean[] mask = new boolean[amounts.length];
+        for (int i = 0; i < mask.length; i++) {
+            mask[i] = amounts[i] < other.amounts[i];
+        }
+        return mask;
+    }
+
+    /**
+     * Compares each amount to another vector, element by element.
+     *
+     * @param other  the vector to compare to, with the same size and currencies, not null
+     * @return a new mask, true where this amount equals the other, never null
+     * @throws IllegalArgumentException if the sizes differ
+     * @throws CurrencyMismatchException if the currencies differ
+     */
+    public boolean[] isEqual(MoneyVector other) {
+        checkCompatible(other);
+        boolean[] mask = new boolean[amounts.length];
+        for (int i = 0; i < mask.length; i++) {
+            mask[i] = amounts[i] == other.amounts[i];
+        }
+        return mask;
+    }
+
+    /**
+     * Compares each amount to a single amount.
+     *
+     * @param other  the amount to compare to, in the currency of the vector, not null
+     * @return a new mask, true where this amount is greater than the other, never null
+     * @throws CurrencyMismatchException if the currencies differ
+     * @throws ArithmeticException if the other amount cannot be held at the scale of the vector
+     */
+    public boolean[] isGreaterThan(BigMoneyProvider other) {
+        long value = toUnscaled(other);
+        boolean[] mask = new boolean[amounts.length];
+        for (int i = 0; i < mask.length; i++) {
+            mask[i] = amounts[i] > value;
+        }
+        return mask;
+    }
+
+    /**
+     * Compares each amount to a single amount.
+     *
+     * @param other  the amount to compare to, in the currency of the vector, not null
+     * @return a new mask, true where this amount is less than the other, never null
+     * @throws CurrencyMismatchException if the currencies differ
+     * @throws ArithmeticException if the other amount cannot be held at the scale of the vector
+     */
+    public boolean[] isLessThan(BigMoneyProvider other) {
+        long value = toUnscaled(other);
+        boolean[] mask = new boolean[amounts.length];
+        for (int i = 0; i < mask.length; i++) {
+            mask[i] = amounts[i] < value;
+        }
+        return mask;
+    }
+
+    /**
+     * Compares each amount to a single amount.
+     *
+     * @param other  the amount to compare to, in the currency of the vector, not null
+     * @return a new mask, true where this amount equals the other, never null
+     * @throws CurrencyMismatchException if the currencies differ
+     * @throws ArithmeticException if the other amount cannot be held at the scale of the vector
+     */
+    public boolean[] isEqual(BigMoneyProvider other) {
+        long value = toUnscaled(other);
+        boolean[] mask = new boolean[amounts.length];
+        for (int i = 0; i < mask.length; i++) {
+            mask[i] = amounts[i] == value;
+        }
+        return mask;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Validates that another vector has the same size and currencies.
+     *
+     * @param other  the other vector, not null
+     * @throws IllegalArgumentException if the sizes differ
+     * @throws CurrencyMismatchException if the currencies differ
+     */
+    private void checkCompatible(MoneyVector other) {
+        MoneyUtils.checkNotNull(other, "MoneyVector must not be null");
+        if (amounts.length != other.amounts.length) {
+            throw new IllegalArgumentException("MoneyVector sizes differ: " + amounts.length + "/" + other.amounts.length);
+        }
+        if (currency != null || other.currency != null) {
+            if (currency == null || other.currency == null || !currency.equals(other.currency)) {
+                throw new CurrencyMismatchException(currency, other.currency);
+            }
+        } else if (ordinals != other.ordinals && !Arrays.equals(ordinals, other.ordinals)) {
+            throw new CurrencyMismatchException(null, null);
+        }
+    }
+
+    /**
+     * Validates that the vector is in a single currency.
+     *
+     * @param expected  the expected currency, null for any
+     * @throws CurrencyMismatchException if there is more than one currency, or it differs
+     */
+    private void checkSingleCurrency(CurrencyUnit expected) {
+        if (currency == null || (expected != null && !currency.equals(expected))) {
+            throw new CurrencyMismatchException(currency, expected);
+        }
+    }
+
+    /**
+     * Converts a single amount to an unscaled value at the scale of the vector.
+     *
+     * @param other  the amount, in the currency of the vector, not null
+     * @return the unscaled value
+     * @throws ArithmeticException if the amount has more decimal places than the vector
+     *  or the unscaled value does not fit in a {@code long}
+     */
+    private long toUnscaled(BigMoneyProvider other) {
+        BigMoney money = BigMoney.of(other);
+        checkSingleCurrency(money.getCurrencyUnit());
+        BigInteger unscaled = money.withScale(scale).getAmount().unscaledValue();
+        if (unscaled.bitLength() >= 64) {
+            throw new ArithmeticException("Amount is too large for a MoneyVector: " + money);
+        }
+        return unscaled.longValue();
+    }
+
+    /**
+     * Validates that multiplying every amount by the specified value does not overflow.
+     *
+     * @param value  the value to multiply by
+     * @throws ArithmeticException if an amount would overflow
+     */
+    private void checkMultiply(long value) {
+        if (value == 0) {
+            return;
+        }
+        long max = 0;
+        long min = 0;
+        for (int i = 0; i < amounts.length; i++) {
+            max = Math.max(max, amounts[i]);
+            min = Math.min(min, amounts[i]);
+        }
+        long limit = Long.MAX_VALUE / Math.abs(value);
+        if (value == Long.MIN_VALUE ? (max != 0 || min != 0) : (max > limit || min < -limit)) {
+            throw new ArithmeticException("Amount overflows a MoneyVector");
+        }
+    }
+
+    /**
+     * Validates the accumulated overflow flag of a loop.
+     *
+     * @param overflow  the flag, negative if any operation overflowed
+     * @throws ArithmeticException if an operation overflowed
+     */
+    private static void checkOverflow(long overflow) {
+        if (overflow < 0) {
+            throw new ArithmeticException("Amount overflows a MoneyVector");
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Checks if this vector equals another.
+     * <p>
+     * The vectors are equal if they have the same amounts and currencies in the same order.
+     *
+     * @param other  the other vector, null returns false
+     * @return true if this vector equals the other vector
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (other instanceof MoneyVector) {
+            MoneyVector otherVector = (MoneyVector) other;
+            return scale == otherVector.scale &&
+                    (currency == null ? otherVector.currency == null : currency.equals(otherVector.currency)) &&
+                    Arrays.equals(ordinals, otherVector.ordinals) &&
+                    Arrays.equals(amounts, otherVector.amounts);
+        }
+        return false;
+    }
+
+    /**
+     * Returns a hash code for this vector.
+     *
+     * @return a suitable hash code
+     */
+    @Override
+    public int hashCode() {
+        return (currency != null ? currency.hashCode() : Arrays.hashCode(ordinals)) ^ Arrays.hashCode(amounts);
+    }
+
+    /**
+     * Gets a summary of the vector as a string.
+     * <p>
+     * The amounts themselves are not output, as the vector may be large.
+     *
+     * @return the string representation of this vector, never null
+     */
+    @Override
+    public String toString() {
+        return "MoneyVector[" + (currency != null ? currency.getCode() : "mixed") + ",size=" + amounts.length + ",scale=" + scale + "]";
+    }
+
+}
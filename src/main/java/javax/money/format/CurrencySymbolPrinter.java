@@ -0,0 +1,65 @@
+/*
+ *  Copyright 2009-2011 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package javax.money.format;
+
+import java.io.IOException;
+import java.io.Serializable;
+
+import javax.money.BigMoney;
+
+
+/**
+ * Prints the currency symbol localized to the locale of the print context.
+ * <p>
+ * The symbol is obtained from {@link javax.money.CurrencyUnit#getSymbol(java.util.Locale)},
+ * which caches symbols by locale, thus printing does not query the JDK each time.
+ * Symbols cannot be parsed.
+ * <p>
+ * This class is immutable and thread-safe.
+ */
+final class CurrencySymbolPrinter implements MoneyPrinter, Serializable {
+
+    /** Serialization version. */
+    private static final long serialVersionUID = 1L;
+    /** Singleton instance. */
+    static final CurrencySymbolPrinter INSTANCE = new CurrencySymbolPrinter();
+
+    /**
+     * Constructor.
+     */
+    private CurrencySymbolPrinter() {
+    }
+
+    //-----------------------------------------------------------------------
+    public void print(MoneyPrintContext context, Appendable appendable, BigMoney money) throws IOException {
+        appendable.append(money.getCurrencyUnit().getSymbol(context.getLocale()));
+    }
+
+    /**
+     * Resolves the singleton.
+     * 
+     * @return the singleton, never null
+     */
+    private Object readResolve() {
+        return INSTANCE;
+    }
+
+    @Override
+    public String toString() {
+        return "${symbolLocalized}";
+    }
+
+}
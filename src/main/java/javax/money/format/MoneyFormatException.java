@@ -35,7 +35,7 @@ public class MoneyFormatException extends RuntimeException {
      * @param message  the message
      */
     public MoneyFormatException(String message) {
-    	// TODO Not Implemented yet
+        super(message);
     }
 
     /**
@@ -45,7 +45,6 @@ public class MoneyFormatException extends RuntimeException {
      * @param cause  the exception cause
      */
     public MoneyFormatException(String message, Throwable cause) {
-    	// TODO Not Implemented yet
     	super(message, cause);
     }
 
@@ -69,7 +68,9 @@ public class MoneyFormatException extends RuntimeException {
      * @throws IOException if the cause of this exception is an IOException
      */
     public void rethrowIOException() throws IOException {
-    	// TODO Not Implemented yet
+        if (getCause() instanceof IOException) {
+            throw (IOException) getCause();
+        }
     }
 
 }
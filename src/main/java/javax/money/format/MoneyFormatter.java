@@ -39,6 +39,33 @@ public final class MoneyFormatter implements Serializable {
      */
     private static final long serialVersionUID = 1L;
 
+    /**
+     * The locale to use.
+     */
+    private final Locale locale;
+    /**
+     * The printers.
+     */
+    private final MoneyPrinter[] printers;
+    /**
+     * The parsers.
+     */
+    private final MoneyParser[] parsers;
+
+    //-----------------------------------------------------------------------
+    /**
+     * Validates that the object specified is not null
+     * 
+     * @param object  the object to check, null throws exception
+     * @param message  the message to use in the exception, not null
+     * @throws NullPointerException if the input value is null
+     */
+    static void checkNotNull(Object object, String message) {
+        if (object == null) {
+            throw new NullPointerException(message);
+        }
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Constructor, creating a new formatter.
@@ -51,7 +78,24 @@ public final class MoneyFormatter implements Serializable {
             Locale locale,
             MoneyPrinter[] printers,
             MoneyParser[] parsers) {
-    	// TODO Not Implemented yet
+        assert locale != null;
+        assert printers != null;
+        assert parsers != null;
+        assert printers.length == parsers.length;
+        this.locale = locale;
+        this.printers = printers;
+        this.parsers = parsers;
+    }
+
+    /**
+     * Appends the printers and parsers from this formatter to the builder.
+     * 
+     * @param builder  the builder to append to, not null
+     */
+    void appendTo(MoneyFormatterBuilder builder) {
+        for (int i = 0; i < printers.length; i++) {
+            builder.append(printers[i], parsers[i]);
+        }
     }
 
     //-----------------------------------------------------------------------
@@ -61,8 +105,7 @@ public final class MoneyFormatter implements Serializable {
      * @return the locale, never null
      */
     public Locale getLocale() {
-    	// TODO Not Implemented yet
-    	return null;
+        return locale;
     }
 
     /**
@@ -75,8 +118,8 @@ public final class MoneyFormatter implements Serializable {
      * @return the new instance, never null
      */
     public MoneyFormatter withLocale(Locale locale) {
-    	// TODO Not Implemented yet
-    	return null;
+        checkNotNull(locale, "Locale must not be null");
+        return new MoneyFormatter(locale, printers, parsers);
     }
 
     //-----------------------------------------------------------------------
@@ -89,8 +132,12 @@ public final class MoneyFormatter implements Serializable {
      * @return true if the formatter can print
      */
     public boolean isPrinter() {
-    	// TODO Not Implemented yet
-    	return false;
+        for (MoneyPrinter printer : printers) {
+            if (printer == null) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -102,8 +149,12 @@ public final class MoneyFormatter implements Serializable {
      * @return true if the formatter can parse
      */
     public boolean isParser() {
-    	// TODO Not Implemented yet
-    	return false;
+        for (MoneyParser parser : parsers) {
+            if (parser == null) {
+                return false;
+            }
+        }
+        return true;
     }
 
     //-----------------------------------------------------------------------
@@ -116,8 +167,9 @@ public final class MoneyFormatter implements Serializable {
      * @throws MoneyFormatException if there is a problem while printing
      */
     public String print(BigMoneyProvider moneyProvider) {
-    	// TODO Not Implemented yet
-    	return null;
+        StringBuilder buf = new StringBuilder();
+        print(buf, moneyProvider);
+        return buf.toString();
     }
 
     /**
@@ -134,7 +186,11 @@ public final class MoneyFormatter implements Serializable {
      * @throws MoneyFormatException if there is a problem while printing
      */
     public void print(Appendable appendable, BigMoneyProvider moneyProvider) {
-    	// TODO Not Implemented yet
+        try {
+            printIO(appendable, moneyProvider);
+        } catch (IOException ex) {
+            throw new MoneyFormatException(ex.getMessage(), ex);
+        }
     }
 
     /**
@@ -152,7 +208,16 @@ public final class MoneyFormatter implements Serializable {
      * @throws IOException if an IO error occurs
      */
     public void printIO(Appendable appendable, BigMoneyProvider moneyProvider) throws IOException {
-    	// TODO Not Implemented yet
+        checkNotNull(appendable, "Appendable must not be null");
+        checkNotNull(moneyProvider, "BigMoneyProvider must not be null");
+        if (!isPrinter()) {
+            throw new UnsupportedOperationException("MoneyFomatter has not been configured to be able to print");
+        }
+        BigMoney money = BigMoney.of(moneyProvider);
+        MoneyPrintContext context = new MoneyPrintContext(locale);
+        for (MoneyPrinter printer : printers) {
+            printer.print(context, appendable, money);
+        }
     }
 
     //-----------------------------------------------------------------------
@@ -219,8 +284,29 @@ public final class MoneyFormatter implements Serializable {
      */
     @Override
     public String toString() {
-    	// TODO Not Implemented yet
-    	return null;
+        StringBuilder buf1 = new StringBuilder();
+        if (isPrinter()) {
+            for (MoneyPrinter printer : printers) {
+                buf1.append(printer.toString());
+            }
+        }
+        StringBuilder buf2 = new StringBuilder();
+        if (isParser()) {
+            for (MoneyParser parser : parsers) {
+                buf2.append(parser.toString());
+            }
+        }
+        String str1 = buf1.toString();
+        String str2 = buf2.toString();
+        if (isPrinter() && !isParser()) {
+            return str1;
+        } else if (isParser() && !isPrinter()) {
+            return str2;
+        } else if (str1.equals(str2)) {
+            return str1;
+        } else {
+            return str1 + ":" + str2;
+        }
     }
 
 }
@@ -15,6 +15,8 @@
  */
 package javax.money.format;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
 
 
@@ -27,12 +29,20 @@ import java.util.Locale;
  */
 public final class MoneyFormatterBuilder {
 
+    /**
+     * The printers.
+     */
+    private final List<MoneyPrinter> printers = new ArrayList<MoneyPrinter>();
+    /**
+     * The parsers.
+     */
+    private final List<MoneyParser> parsers = new ArrayList<MoneyParser>();
+
     //-----------------------------------------------------------------------
     /**
      * Constructor, creating a new empty builder.
      */
     public MoneyFormatterBuilder() {
-    	// TODO Not Implemented yet
     }
 
     //-----------------------------------------------------------------------
@@ -127,8 +137,7 @@ public final class MoneyFormatterBuilder {
      * @return this, for chaining, never null
      */
     public MoneyFormatterBuilder appendCurrencySymbolLocalized() {
-    	// TODO Not Implemented yet
-    	return null;
+        return appendInternal(CurrencySymbolPrinter.INSTANCE, null);
     }
 
     /**
@@ -157,8 +166,9 @@ public final class MoneyFormatterBuilder {
      * @return this for chaining, never null
      */
     public MoneyFormatterBuilder append(MoneyFormatter formatter) {
-    	// TODO Not Implemented yet
-    	return null;
+        MoneyFormatter.checkNotNull(formatter, "MoneyFormatter must not be null");
+        formatter.appendTo(this);
+        return this;
     }
 
     /**
@@ -171,8 +181,22 @@ public final class MoneyFormatterBuilder {
      * @return this for chaining, never null
      */
     public MoneyFormatterBuilder append(MoneyPrinter printer, MoneyParser parser) {
-    	// TODO Not Implemented yet
-    	return null;
+        return appendInternal(printer, parser);
+    }
+
+    /**
+     * Appends the specified printer and parser to this builder.
+     * <p>
+     * Either the printer or parser must be non-null.
+     * 
+     * @param printer  the printer to append, null makes the formatter unable to print
+     * @param parser  the parser to append, null makes the formatter unable to parse
+     * @return this for chaining, never null
+     */
+    private MoneyFormatterBuilder appendInternal(MoneyPrinter printer, MoneyParser parser) {
+        printers.add(printer);
+        parsers.add(parser);
+        return this;
     }
 
     //-----------------------------------------------------------------------
@@ -189,8 +213,7 @@ public final class MoneyFormatterBuilder {
      * @return the formatter built from this builder, never null
      */
     public MoneyFormatter toFormatter() {
-    	// TODO Not Implemented yet
-    	return null;
+        return toFormatter(Locale.getDefault());
     }
 
     /**
@@ -208,7 +231,9 @@ public final class MoneyFormatterBuilder {
      */
     @SuppressWarnings("cast")
     public MoneyFormatter toFormatter(Locale locale) {
-    	// TODO Not Implemented yet
-    	return null;
+        MoneyFormatter.checkNotNull(locale, "Locale must not be null");
+        MoneyPrinter[] printersCopy = (MoneyPrinter[]) printers.toArray(new MoneyPrinter[printers.size()]);
+        MoneyParser[] parsersCopy = (MoneyParser[]) parsers.toArray(new MoneyParser[parsers.size()]);
+        return new MoneyFormatter(locale, printersCopy, parsersCopy);
     }
 }
@@ -25,6 +25,20 @@ import java.util.Locale;
  */
 public final class MoneyPrintContext {
 
+    /**
+     * The locale, not null.
+     */
+    private Locale locale;
+
+    /**
+     * Constructor.
+     * 
+     * @param locale  the locale, not null
+     */
+    MoneyPrintContext(Locale locale) {
+        this.locale = locale;
+    }
+
     //-----------------------------------------------------------------------
     /**
      * Gets the locale.
@@ -32,8 +46,7 @@ public final class MoneyPrintContext {
      * @return the locale, never null
      */
     public Locale getLocale() {
-    	// TODO Not Implemented yet
-    	return null;
+        return locale;
     }
 
     /**
@@ -42,7 +55,8 @@ public final class MoneyPrintContext {
      * @param locale  the locale, not null
      */
     public void setLocale(Locale locale) {
-    	// TODO Not Implemented yet
+        MoneyFormatter.checkNotNull(locale, "Locale must not be null");
+        this.locale = locale;
     }
 
 }
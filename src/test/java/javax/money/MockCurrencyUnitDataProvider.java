@@ -0,0 +1,94 @@
+/*
+ *  Copyright 2009-2011 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package javax.money;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Collections;
+import java.util.Date;
+import java.util.TimeZone;
+
+/**
+ * Mock provider of currency data, registered using {@code ServiceLoader}.
+ * <p>
+ * This always registers 'ZZV', which has two decimal places until 2005-01-01
+ * and none from then on. The static fields control how the provider behaves
+ * on the next call to {@link CurrencyUnit#reloadCurrencies()}.
+ */
+public class MockCurrencyUnitDataProvider extends CurrencyUnitDataProvider {
+
+    /**
+     * The precedence of the provider.
+     */
+    static volatile int precedence;
+    /**
+     * Whether to redefine 'XTS' with two decimal places.
+     */
+    static volatile boolean override;
+    /**
+     * Whether to register the current version of 'ZZV' with the numeric code 1.
+     */
+    static volatile boolean renumber;
+    /**
+     * Whether to fail when registering the currencies.
+     */
+    static volatile boolean fail;
+
+    /**
+     * Resets the provider to the default behaviour.
+     */
+    static void reset() {
+        precedence = 0;
+        override = false;
+        renumber = false;
+        fail = false;
+    }
+
+    /**
+     * Parses a date in UTC.
+     *
+     * @param text  the date in the format 'yyyy-MM-dd', not null
+     * @return the date, never null
+     */
+    static Date date(String text) {
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd");
+        format.setTimeZone(TimeZone.getTimeZone("UTC"));
+        try {
+            return format.parse(text);
+        } catch (ParseException ex) {
+            throw new IllegalArgumentException(ex);
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    protected int getPrecedence() {
+        return precedence;
+    }
+
+    @Override
+    protected void registerCurrencies() throws Exception {
+        if (fail) {
+            throw new IllegalStateException("Mock failure");
+        }
+        registerCurrency("ZZV", -1, 2, Collections.<String>emptyList(), null, date("2005-01-01"));
+        registerCurrency("ZZV", renumber ? 1 : -1, 0, Collections.<String>emptyList(), date("2005-01-01"), null);
+        if (override) {
+            registerCurrency("XTS", 963, 2, Collections.<String>emptyList());
+        }
+    }
+
+}
@@ -0,0 +1,210 @@
+/*
+ *  Copyright 2009-2011 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package javax.money;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.testng.annotations.Test;
+
+/**
+ * Test CurrencyLongMap.
+ */
+@Test
+public class TestCurrencyLongMap {
+
+    private static final CurrencyUnit GBP = CurrencyUnit.GBP;
+    private static final CurrencyUnit EUR = CurrencyUnit.EUR;
+    private static final CurrencyUnit USD = CurrencyUnit.USD;
+
+    /**
+     * Registers a new currency with a code starting with 'O'.
+     */
+    private static CurrencyUnit registerCurrency() {
+        for (char c1 = 'A'; c1 <= 'Z'; c1++) {
+            for (char c2 = 'A'; c2 <= 'Z'; c2++) {
+                String code = new String(new char[] {'O', c1, c2});
+                try {
+                    CurrencyUnit.of(code);
+                } catch (IllegalCurrencyException ex) {
+                    return CurrencyUnit.registerCurrency(code, -1, 2, Collections.<String>emptyList());
+                }
+            }
+        }
+        throw new AssertionError("No free currency code");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T roundTrip(T obj) throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ObjectOutputStream oos = new ObjectOutputStream(baos);
+        oos.writeObject(obj);
+        oos.close();
+        ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray()));
+        return (T) ois.readObject();
+    }
+
+    //-----------------------------------------------------------------------
+    // put/get/add/remove
+    //-----------------------------------------------------------------------
+    public void test_putGetRemove() {
+        CurrencyLongMap test = new CurrencyLongMap();
+        assertTrue(test.isEmpty());
+        assertEquals(test.put(USD, 100), 0);
+        assertEquals(test.put(USD, 200), 100);
+        assertEquals(test.put(GBP, 0), 0);
+        assertEquals(test.size(), 2);
+        assertEquals(test.get(USD), 200);
+        assertEquals(test.get(EUR), 0);
+        assertTrue(test.containsKey(GBP));
+        assertFalse(test.containsKey(EUR));
+        assertFalse(test.containsKey(null));
+        assertEquals(test.remove(USD), 200);
+        assertEquals(test.remove(USD), 0);
+        assertEquals(test.remove(null), 0);
+        assertEquals(test.size(), 1);
+        test.clear();
+        assertTrue(test.isEmpty());
+        assertEquals(test.get(GBP), 0);
+    }
+
+    public void test_mappedToZero() {
+        CurrencyLongMap test = new CurrencyLongMap();
+        test.put(USD, 0);
+        CurrencyLongMap empty = new CurrencyLongMap();
+        assertTrue(test.containsKey(USD));
+        assertFalse(test.equals(empty));
+        assertEquals(test.toString(), "{USD=0}");
+    }
+
+    public void test_add() {
+        CurrencyLongMap test = new CurrencyLongMap();
+        assertEquals(test.add(USD, 250), 250);
+        assertEquals(test.add(USD, -300), -50);
+        assertEquals(test.add(GBP, 0), 0);
+        assertTrue(test.containsKey(GBP));
+        CurrencyLongMap other = new CurrencyLongMap();
+        other.put(USD, 50);
+        other.put(EUR, 7);
+        test.addAll(other);
+        assertEquals(test.get(USD), 0);
+        assertEquals(test.get(EUR), 7);
+        assertEquals(test.size(), 3);
+    }
+
+    @Test(expectedExceptions = ArithmeticException.class)
+    public void test_add_overflow() {
+        CurrencyLongMap test = new CurrencyLongMap();
+        test.put(USD, Long.MAX_VALUE);
+        test.add(USD, 1);
+    }
+
+    public void test_add_overflowKeepsValue() {
+        CurrencyLongMap test = new CurrencyLongMap();
+        test.put(USD, Long.MIN_VALUE);
+        try {
+            test.add(USD, -1);
+        } catch (ArithmeticException ex) {
+            // expected
+        }
+        assertEquals(test.get(USD), Long.MIN_VALUE);
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void test_put_null() {
+        new CurrencyLongMap().put(null, 1);
+    }
+
+    //-----------------------------------------------------------------------
+    // conversion and Object methods
+    //-----------------------------------------------------------------------
+    public void test_toMap_hashCode() {
+        CurrencyLongMap test = new CurrencyLongMap();
+        test.put(USD, -300);
+        test.put(GBP, 1250);
+        Map<CurrencyUnit, Long> expected = new HashMap<CurrencyUnit, Long>();
+        expected.put(USD, -300L);
+        expected.put(GBP, 1250L);
+        assertEquals(test.toMap(), expected);
+        assertEquals(test.hashCode(), expected.hashCode());
+        assertEquals(test.currencies(), CurrencySet.of(USD, GBP));
+    }
+
+    public void test_growthAfterRegistration() {
+        CurrencyLongMap before = new CurrencyLongMap();
+        before.put(USD, 1);
+        CurrencyUnit added = registerCurrency();
+        assertEquals(before.get(added), 0);
+        assertEquals(before.remove(added), 0);
+        assertEquals(before.add(added, 5), 5);
+        assertEquals(before.get(added), 5);
+        assertEquals(before.size(), 2);
+    }
+
+    public void test_equals_differentLengths() {
+        CurrencyLongMap shorter = new CurrencyLongMap();
+        shorter.put(USD, 1);
+        shorter.put(GBP, 0);
+        CurrencyUnit added = registerCurrency();
+        CurrencyLongMap longer = new CurrencyLongMap();
+        longer.put(GBP, 0);
+        longer.put(USD, 1);
+        assertEquals(shorter, longer);
+        assertEquals(longer, shorter);
+        assertEquals(shorter.hashCode(), longer.hashCode());
+        longer.put(added, 0);
+        assertFalse(shorter.equals(longer));
+        assertFalse(longer.equals(shorter));
+        longer.remove(added);
+        assertEquals(shorter, longer);
+        shorter.addAll(longer);
+        assertEquals(shorter.get(USD), 2);
+    }
+
+    public void test_clone() {
+        CurrencyLongMap test = new CurrencyLongMap();
+        test.put(USD, 1);
+        CurrencyLongMap clone = test.clone();
+        assertEquals(clone, test);
+        clone.add(USD, 1);
+        clone.put(GBP, 2);
+        assertEquals(test.get(USD), 1);
+        assertEquals(test.size(), 1);
+    }
+
+    public void test_serialization() throws Exception {
+        CurrencyUnit added = registerCurrency();
+        CurrencyLongMap test = new CurrencyLongMap();
+        test.put(USD, Long.MIN_VALUE);
+        test.put(GBP, 0);
+        test.put(added, 42);
+        CurrencyLongMap input = roundTrip(test);
+        assertEquals(input, test);
+        assertEquals(input.size(), 3);
+        assertEquals(input.get(USD), Long.MIN_VALUE);
+        assertEquals(input.get(added), 42);
+    }
+
+}
@@ -0,0 +1,221 @@
+/*
+ *  Copyright 2009-2011 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package javax.money;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.testng.annotations.Test;
+
+/**
+ * Test CurrencyMap.
+ */
+@Test
+public class TestCurrencyMap {
+
+    private static final CurrencyUnit GBP = CurrencyUnit.GBP;
+    private static final CurrencyUnit EUR = CurrencyUnit.EUR;
+    private static final CurrencyUnit USD = CurrencyUnit.USD;
+
+    /**
+     * Registers a new currency with a code starting with 'W'.
+     */
+    private static CurrencyUnit registerCurrency() {
+        for (char c1 = 'A'; c1 <= 'Z'; c1++) {
+            for (char c2 = 'A'; c2 <= 'Z'; c2++) {
+                String code = new String(new char[] {'W', c1, c2});
+                try {
+                    CurrencyUnit.of(code);
+                } catch (IllegalCurrencyException ex) {
+                    return CurrencyUnit.registerCurrency(code, -1, 2, Collections.<String>emptyList());
+                }
+            }
+        }
+        throw new AssertionError("No free currency code");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T roundTrip(T obj) throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ObjectOutputStream oos = new ObjectOutputStream(baos);
+        oos.writeObject(obj);
+        oos.close();
+        ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray()));
+        return (T) ois.readObject();
+    }
+
+    //-----------------------------------------------------------------------
+    // put/get/remove
+    //-----------------------------------------------------------------------
+    public void test_putGetRemove() {
+        CurrencyMap<String> test = new CurrencyMap<String>();
+        assertTrue(test.isEmpty());
+        assertNull(test.put(USD, "Dollar"));
+        assertEquals(test.put(USD, "US Dollar"), "Dollar");
+        assertNull(test.put(GBP, "Pound"));
+        assertEquals(test.size(), 2);
+        assertEquals(test.get(USD), "US Dollar");
+        assertNull(test.get(EUR));
+        assertNull(test.get("USD"));
+        assertTrue(test.containsKey(GBP));
+        assertFalse(test.containsKey(EUR));
+        assertTrue(test.containsValue("Pound"));
+        assertFalse(test.containsValue("Euro"));
+        assertEquals(test.remove(USD), "US Dollar");
+        assertNull(test.remove(USD));
+        assertEquals(test.size(), 1);
+        test.clear();
+        assertTrue(test.isEmpty());
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void test_put_nullKey() {
+        new CurrencyMap<String>().put(null, "Dollar");
+    }
+
+    public void test_nullValues() {
+        CurrencyMap<String> test = new CurrencyMap<String>();
+        assertNull(test.put(USD, null));
+        assertEquals(test.size(), 1);
+        assertTrue(test.containsKey(USD));
+        assertTrue(test.containsValue(null));
+        assertNull(test.get(USD));
+        assertNull(test.put(USD, "Dollar"));
+        assertFalse(test.containsValue(null));
+        assertEquals(test.put(USD, null), "Dollar");
+        Map.Entry<CurrencyUnit, String> entry = test.entrySet().iterator().next();
+        assertEquals(entry.getKey(), USD);
+        assertNull(entry.getValue());
+        Map<CurrencyUnit, String> expected = new HashMap<CurrencyUnit, String>();
+        expected.put(USD, null);
+        assertEquals(test, expected);
+        assertEquals(test.hashCode(), expected.hashCode());
+        assertNull(test.remove(USD));
+        assertTrue(test.isEmpty());
+    }
+
+    //-----------------------------------------------------------------------
+    // views
+    //-----------------------------------------------------------------------
+    public void test_entrySet_iterator() {
+        CurrencyMap<String> test = new CurrencyMap<String>();
+        test.put(USD, "Dollar");
+        test.put(GBP, "Pound");
+        test.put(EUR, "Euro");
+        int previous = -1;
+        for (Iterator<Map.Entry<CurrencyUnit, String>> it = test.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<CurrencyUnit, String> entry = it.next();
+            assertTrue(entry.getKey().getOrdinal() > previous);
+            previous = entry.getKey().getOrdinal();
+            if (entry.getKey() == GBP) {
+                it.remove();
+            } else if (entry.getKey() == EUR) {
+                assertEquals(entry.setValue("Euros"), "Euro");
+            }
+        }
+        assertEquals(test.size(), 2);
+        assertEquals(test.get(EUR), "Euros");
+        assertFalse(test.containsKey(GBP));
+        assertEquals(test.currencies(), CurrencySet.of(USD, EUR));
+    }
+
+    public void test_entrySet_removeAfterMapRemove() {
+        CurrencyMap<String> test = new CurrencyMap<String>();
+        test.put(USD, "Dollar");
+        test.put(GBP, "Pound");
+        Iterator<Map.Entry<CurrencyUnit, String>> it = test.entrySet().iterator();
+        CurrencyUnit first = it.next().getKey();
+        test.remove(first);
+        it.remove();
+        assertEquals(test.size(), 1);
+    }
+
+    //-----------------------------------------------------------------------
+    // growth
+    //-----------------------------------------------------------------------
+    public void test_growthAfterRegistration() {
+        CurrencyMap<String> before = new CurrencyMap<String>();
+        before.put(USD, "Dollar");
+        CurrencyUnit added = registerCurrency();
+        assertNull(before.get(added));
+        assertFalse(before.containsKey(added));
+        assertNull(before.remove(added));
+        assertNull(before.put(added, "New"));
+        assertEquals(before.get(added), "New");
+        assertEquals(before.size(), 2);
+        assertEquals(before.currencies(), CurrencySet.of(USD, added));
+    }
+
+    public void test_equals_differentLengths() {
+        CurrencyMap<String> shorter = new CurrencyMap<String>();
+        shorter.put(USD, "Dollar");
+        shorter.put(GBP, null);
+        CurrencyUnit added = registerCurrency();
+        CurrencyMap<String> longer = new CurrencyMap<String>();
+        longer.put(GBP, null);
+        longer.put(USD, "Dollar");
+        assertEquals(shorter, longer);
+        assertEquals(longer, shorter);
+        assertEquals(shorter.hashCode(), longer.hashCode());
+        longer.put(added, "New");
+        assertFalse(shorter.equals(longer));
+        assertFalse(longer.equals(shorter));
+        CurrencyMap<String> copy = new CurrencyMap<String>(longer);
+        assertEquals(copy, longer);
+        assertEquals(new CurrencyMap<String>(new HashMap<CurrencyUnit, String>(longer)), longer);
+    }
+
+    //-----------------------------------------------------------------------
+    // clone/serialization
+    //-----------------------------------------------------------------------
+    public void test_clone() {
+        CurrencyMap<String> test = new CurrencyMap<String>();
+        test.put(USD, "Dollar");
+        CurrencyMap<String> clone = test.clone();
+        assertEquals(clone, test);
+        clone.put(USD, "Changed");
+        clone.put(GBP, "Pound");
+        assertEquals(test.get(USD), "Dollar");
+        assertEquals(test.size(), 1);
+        assertEquals(clone.entrySet().size(), 2);
+    }
+
+    public void test_serialization() throws Exception {
+        CurrencyUnit added = registerCurrency();
+        CurrencyMap<String> test = new CurrencyMap<String>();
+        test.put(USD, "Dollar");
+        test.put(GBP, null);
+        test.put(added, "New");
+        CurrencyMap<String> input = roundTrip(test);
+        assertEquals(input, test);
+        assertEquals(input.size(), 3);
+        assertTrue(input.containsKey(GBP));
+        assertNull(input.get(GBP));
+        assertEquals(input.get(added), "New");
+    }
+
+}
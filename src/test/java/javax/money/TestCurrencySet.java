@@ -0,0 +1,275 @@
+/*
+ *  Copyright 2009-2011 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package javax.money;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.testng.annotations.Test;
+
+/**
+ * Test CurrencySet.
+ */
+@Test
+public class TestCurrencySet {
+
+    private static final CurrencyUnit GBP = CurrencyUnit.GBP;
+    private static final CurrencyUnit EUR = CurrencyUnit.EUR;
+    private static final CurrencyUnit USD = CurrencyUnit.USD;
+    private static final CurrencyUnit JPY = CurrencyUnit.JPY;
+
+    /**
+     * Registers a new currency with a code starting with 'Q'.
+     */
+    private static CurrencyUnit registerCurrency() {
+        for (char c1 = 'A'; c1 <= 'Z'; c1++) {
+            for (char c2 = 'A'; c2 <= 'Z'; c2++) {
+                String code = new String(new char[] {'Q', c1, c2});
+                try {
+                    CurrencyUnit.of(code);
+                } catch (IllegalCurrencyException ex) {
+                    return CurrencyUnit.registerCurrency(code, -1, 2, Collections.<String>emptyList());
+                }
+            }
+        }
+        throw new AssertionError("No free currency code");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T roundTrip(T obj) throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ObjectOutputStream oos = new ObjectOutputStream(baos);
+        oos.writeObject(obj);
+        oos.close();
+        ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray()));
+        return (T) ois.readObject();
+    }
+
+    //-----------------------------------------------------------------------
+    // factories
+    //-----------------------------------------------------------------------
+    public void test_noneOf() {
+        CurrencySet test = CurrencySet.noneOf();
+        assertEquals(test.size(), 0);
+        assertTrue(test.isEmpty());
+        assertFalse(test.iterator().hasNext());
+    }
+
+    public void test_allOf() {
+        CurrencySet test = CurrencySet.allOf();
+        assertEquals(test.size(), CurrencyUnit.registeredCurrencies().size());
+        assertTrue(test.equals(new HashSet<CurrencyUnit>(CurrencyUnit.registeredCurrencies())));
+    }
+
+    public void test_of() {
+        CurrencySet test = CurrencySet.of(USD, GBP, USD);
+        assertEquals(test.size(), 2);
+        assertTrue(test.contains(USD));
+        assertTrue(test.contains(GBP));
+        assertFalse(test.contains(EUR));
+        assertFalse(test.contains("USD"));
+        assertFalse(test.contains(null));
+    }
+
+    public void test_copyOf() {
+        CurrencySet set = CurrencySet.of(USD, GBP);
+        CurrencySet copy = CurrencySet.copyOf(set);
+        assertEquals(copy, set);
+        copy.add(EUR);
+        assertEquals(set.size(), 2);
+        assertEquals(CurrencySet.copyOf(Arrays.asList(EUR, JPY)), CurrencySet.of(EUR, JPY));
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void test_add_null() {
+        CurrencySet.noneOf().add(null);
+    }
+
+    //-----------------------------------------------------------------------
+    // add/remove
+    //-----------------------------------------------------------------------
+    public void test_addRemove() {
+        CurrencySet test = CurrencySet.noneOf();
+        assertTrue(test.add(USD));
+        assertFalse(test.add(USD));
+        assertEquals(test.size(), 1);
+        assertTrue(test.remove(USD));
+        assertFalse(test.remove(USD));
+        assertFalse(test.remove("USD"));
+        assertEquals(test.size(), 0);
+    }
+
+    public void test_bulk_CurrencySet() {
+        CurrencySet test = CurrencySet.of(USD, GBP);
+        assertTrue(test.addAll(CurrencySet.of(EUR, GBP)));
+        assertFalse(test.addAll(CurrencySet.of(EUR)));
+        assertEquals(test, CurrencySet.of(USD, GBP, EUR));
+        assertTrue(test.containsAll(CurrencySet.of(USD, EUR)));
+        assertFalse(test.containsAll(CurrencySet.of(USD, JPY)));
+        assertTrue(test.removeAll(CurrencySet.of(USD, JPY)));
+        assertEquals(test, CurrencySet.of(GBP, EUR));
+        assertTrue(test.retainAll(CurrencySet.of(EUR, JPY)));
+        assertEquals(test, CurrencySet.of(EUR));
+        assertEquals(test.size(), 1);
+        test.clear();
+        assertTrue(test.isEmpty());
+    }
+
+    public void test_bulk_otherCollection() {
+        CurrencySet test = CurrencySet.of(USD, GBP);
+        assertTrue(test.addAll(Arrays.asList(EUR, GBP)));
+        assertTrue(test.containsAll(Arrays.asList(USD, EUR)));
+        assertTrue(test.removeAll(Arrays.asList(USD)));
+        assertTrue(test.retainAll(Arrays.asList(EUR)));
+        assertTrue(test.equals(Collections.singleton(EUR)));
+    }
+
+    //-----------------------------------------------------------------------
+    // iterator
+    //-----------------------------------------------------------------------
+    public void test_iterator() {
+        CurrencySet test = CurrencySet.of(USD, GBP, EUR);
+        Set<CurrencyUnit> found = new HashSet<CurrencyUnit>();
+        int previous = -1;
+        for (CurrencyUnit currency : test) {
+            assertTrue(currency.getOrdinal() > previous);
+            previous = currency.getOrdinal();
+            found.add(currency);
+        }
+        assertTrue(found.equals(new HashSet<CurrencyUnit>(Arrays.asList(USD, GBP, EUR))));
+    }
+
+    @Test(expectedExceptions = NoSuchElementException.class)
+    public void test_iterator_end() {
+        Iterator<CurrencyUnit> it = CurrencySet.noneOf().iterator();
+        it.next();
+    }
+
+    public void test_iterator_remove() {
+        CurrencySet test = CurrencySet.of(USD, GBP, EUR);
+        for (Iterator<CurrencyUnit> it = test.iterator(); it.hasNext(); ) {
+            if (it.next() == GBP) {
+                it.remove();
+            }
+        }
+        assertEquals(test, CurrencySet.of(USD, EUR));
+        assertEquals(test.size(), 2);
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void test_iterator_removeTwice() {
+        Iterator<CurrencyUnit> it = CurrencySet.of(USD).iterator();
+        it.next();
+        it.remove();
+        it.remove();
+    }
+
+    public void test_iterator_removeAfterSetRemove() {
+        CurrencySet test = CurrencySet.of(USD, GBP);
+        Iterator<CurrencyUnit> it = test.iterator();
+        CurrencyUnit first = it.next();
+        test.remove(first);
+        it.remove();
+        assertEquals(test.size(), 1);
+        assertFalse(test.contains(first));
+        assertEquals(test.iterator().next(), (first == USD ? GBP : USD));
+    }
+
+    //-----------------------------------------------------------------------
+    // growth
+    //-----------------------------------------------------------------------
+    public void test_growthAfterRegistration() {
+        CurrencySet before = CurrencySet.of(USD);
+        // register until the new ordinals need another word
+        int words = (CurrencyUnit.ordinalLimit() + 63) / 64;
+        CurrencyUnit added = registerCurrency();
+        while (added.getOrdinal() < words * 64) {
+            added = registerCurrency();
+        }
+        assertFalse(before.contains(added));
+        assertTrue(before.add(added));
+        assertTrue(before.contains(added));
+        assertEquals(before.size(), 2);
+        CurrencySet after = CurrencySet.of(USD, added);
+        assertEquals(before, after);
+        assertEquals(before.hashCode(), after.hashCode());
+    }
+
+    public void test_equals_differentLengths() {
+        CurrencySet shorter = CurrencySet.of(USD, GBP);
+        int words = (CurrencyUnit.ordinalLimit() + 63) / 64;
+        CurrencyUnit added = registerCurrency();
+        while (added.getOrdinal() < words * 64) {
+            added = registerCurrency();
+        }
+        CurrencySet longer = CurrencySet.of(USD, GBP, added);
+        longer.remove(added);
+        assertEquals(shorter, longer);
+        assertEquals(longer, shorter);
+        assertEquals(shorter.hashCode(), longer.hashCode());
+        assertTrue(longer.containsAll(shorter));
+        assertTrue(shorter.containsAll(longer));
+        longer.add(added);
+        assertFalse(shorter.equals(longer));
+        assertFalse(longer.equals(shorter));
+        assertFalse(shorter.containsAll(longer));
+        assertTrue(shorter.addAll(longer));
+        assertEquals(shorter, longer);
+        assertTrue(longer.retainAll(CurrencySet.of(USD)));
+        assertEquals(longer, CurrencySet.of(USD));
+    }
+
+    public void test_equals_otherSet() {
+        // sets compare by content, not by the order of iteration
+        assertTrue(CurrencySet.of(USD, GBP).equals(new HashSet<CurrencyUnit>(Arrays.asList(USD, GBP))));
+        assertTrue(new HashSet<CurrencyUnit>(Arrays.asList(USD, GBP)).equals(CurrencySet.of(USD, GBP)));
+        assertEquals(CurrencySet.of(USD, GBP).hashCode(), new HashSet<CurrencyUnit>(Arrays.asList(USD, GBP)).hashCode());
+    }
+
+    //-----------------------------------------------------------------------
+    // clone/serialization
+    //-----------------------------------------------------------------------
+    public void test_clone() {
+        CurrencySet test = CurrencySet.of(USD, GBP);
+        CurrencySet clone = test.clone();
+        assertEquals(clone, test);
+        clone.remove(USD);
+        assertTrue(test.contains(USD));
+    }
+
+    public void test_serialization() throws Exception {
+        CurrencyUnit added = registerCurrency();
+        CurrencySet test = CurrencySet.of(USD, GBP, added);
+        CurrencySet input = roundTrip(test);
+        assertEquals(input, test);
+        assertEquals(input.size(), 3);
+        assertTrue(input.contains(added));
+        assertEquals(roundTrip(CurrencySet.noneOf()), CurrencySet.noneOf());
+    }
+
+}
@@ -0,0 +1,150 @@
+/*
+ *  Copyright 2009-2011 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package javax.money;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.Locale;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * Test CurrencySymbolCache, checking the symbols against the JDK.
+ */
+@Test
+public class TestCurrencySymbolCache {
+
+    private static final int LOCALE_LIMIT = 64;
+
+    /**
+     * Gets the symbol directly from the JDK, or the code if the JDK has no such currency.
+     */
+    private static String jdkSymbol(CurrencyUnit currency, Locale locale) {
+        try {
+            return Currency.getInstance(currency.getCode()).getSymbol(locale);
+        } catch (IllegalArgumentException ex) {
+            return currency.getCode();
+        }
+    }
+
+    @DataProvider(name = "locales")
+    Object[][] data_locales() {
+        return new Object[][] {
+            {Locale.US},
+            {Locale.UK},
+            {Locale.FRANCE},
+            {Locale.GERMANY},
+            {Locale.JAPAN},
+            {Locale.CHINA},
+            {new Locale("hi", "IN")},
+            {Locale.ROOT},
+        };
+    }
+
+    //-----------------------------------------------------------------------
+    // getSymbol(Locale)
+    //-----------------------------------------------------------------------
+    @Test(dataProvider = "locales")
+    public void test_getSymbol_matchesJdk(Locale locale) {
+        for (CurrencyUnit currency : CurrencyUnit.registeredCurrencies()) {
+            assertEquals(currency.getSymbol(locale), jdkSymbol(currency, locale), currency + " " + locale);
+            // second call is served from the cache if cached
+            assertEquals(currency.getSymbol(locale), jdkSymbol(currency, locale), currency + " " + locale);
+        }
+    }
+
+    public void test_getSymbol_noJdkCurrency() {
+        CurrencyUnit currency = CurrencyUnit.of("ZZV");
+        assertEquals(currency.getSymbol(Locale.UK), "ZZV");
+    }
+
+    public void test_getSymbol_default() {
+        assertEquals(CurrencyUnit.GBP.getSymbol(), jdkSymbol(CurrencyUnit.GBP, Locale.getDefault()));
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void test_getSymbol_nullLocale() {
+        CurrencyUnit.GBP.getSymbol((Locale) null);
+    }
+
+    //-----------------------------------------------------------------------
+    // preloadSymbols()
+    //-----------------------------------------------------------------------
+    public void test_preloadSymbols() {
+        Locale locale = new Locale("cy", "GB");
+        CurrencyUnit.preloadSymbols(locale, Locale.UK);
+        assertTrue(CurrencySymbolCache.isCached(locale));
+        assertTrue(CurrencySymbolCache.isCached(Locale.UK));
+        for (CurrencyUnit currency : CurrencyUnit.registeredCurrencies()) {
+            assertEquals(currency.getSymbol(locale), jdkSymbol(currency, locale), currency.getCode());
+        }
+    }
+
+    public void test_preloadSymbols_none() {
+        CurrencyUnit.preloadSymbols();
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void test_preloadSymbols_nullArray() {
+        CurrencyUnit.preloadSymbols((Locale[]) null);
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void test_preloadSymbols_nullLocale() {
+        CurrencyUnit.preloadSymbols(Locale.UK, null);
+    }
+
+    //-----------------------------------------------------------------------
+    // locale limit
+    //-----------------------------------------------------------------------
+    @Test(dependsOnMethods = "test_preloadSymbols")
+    public void test_getSymbol_localeLimit() {
+        List<Locale> uncached = new ArrayList<Locale>();
+        for (Locale locale : Locale.getAvailableLocales()) {
+            if (!CurrencySymbolCache.isCached(locale)) {
+                uncached.add(locale);
+            }
+        }
+        assertTrue(uncached.size() > LOCALE_LIMIT + 10);
+        CurrencyUnit[] currencies = {CurrencyUnit.USD, CurrencyUnit.EUR, CurrencyUnit.JPY, CurrencyUnit.GBP};
+        for (int i = 0; i < uncached.size(); i++) {
+            Locale locale = uncached.get(i);
+            for (CurrencyUnit currency : currencies) {
+                assertEquals(currency.getSymbol(locale), jdkSymbol(currency, locale), currency + " " + locale);
+            }
+            if (i >= LOCALE_LIMIT) {
+                // the limit must have been reached, thus no longer cached, but still correct
+                assertFalse(CurrencySymbolCache.isCached(locale), locale.toString());
+            }
+        }
+        // locales cached before the limit was reached are still served
+        for (CurrencyUnit currency : currencies) {
+            assertEquals(currency.getSymbol(Locale.UK), jdkSymbol(currency, Locale.UK));
+        }
+        // preloading beyond the limit does not cache, but still works
+        Locale last = uncached.get(uncached.size() - 1);
+        CurrencyUnit.preloadSymbols(last);
+        assertFalse(CurrencySymbolCache.isCached(last));
+        assertEquals(CurrencyUnit.EUR.getSymbol(last), jdkSymbol(CurrencyUnit.EUR, last));
+    }
+
+}
@@ -0,0 +1,138 @@
+/*
+ *  Copyright 2009-2011 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package javax.money;
+
+import static javax.money.MockCurrencyUnitDataProvider.date;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.fail;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Test CurrencyUnitDataLoader.
+ */
+@Test
+public class TestCurrencyUnitDataLoader {
+
+    @AfterMethod
+    public void tearDown() {
+        MockCurrencyUnitDataProvider.reset();
+        CurrencyUnit.reloadCurrencies();
+    }
+
+    //-----------------------------------------------------------------------
+    // ServiceLoader
+    //-----------------------------------------------------------------------
+    public void test_serviceLoaderProvider() {
+        assertEquals(CurrencyUnit.of("ZZV").getDecimalPlaces(), 0);
+        assertEquals(CurrencyUnit.of("ZZV", date("2004-12-31")).getDecimalPlaces(), 2);
+        assertEquals(CurrencyUnit.of("ZZV", date("2005-01-01")).getDecimalPlaces(), 0);
+        assertSame(CurrencyUnit.of("ZZV", date("2005-01-01")), CurrencyUnit.of("ZZV"));
+    }
+
+    public void test_serviceLoaderProvider_afterReload() {
+        CurrencyUnit before = CurrencyUnit.of("ZZV");
+        CurrencyUnit.reloadCurrencies();
+        assertSame(CurrencyUnit.of("ZZV"), before);
+        assertEquals(CurrencyUnit.of("ZZV", date("2004-12-31")).getDecimalPlaces(), 2);
+    }
+
+    //-----------------------------------------------------------------------
+    // precedence
+    //-----------------------------------------------------------------------
+    public void test_precedence_higherWins() {
+        MockCurrencyUnitDataProvider.precedence = 1;
+        MockCurrencyUnitDataProvider.override = true;
+        CurrencyUnit.reloadCurrencies();
+        CurrencyUnit test = CurrencyUnit.of("XTS");
+        assertEquals(test.getDecimalPlaces(), 2);
+        assertEquals(test.getNumericCode(), 963);
+        assertSame(CurrencyUnit.ofNumericCode(963), test);
+        assertEquals(CurrencyUnit.of("USD").getDecimalPlaces(), 2);
+        assertEquals(CurrencyUnit.of("ZZV").getDecimalPlaces(), 0);
+    }
+
+    public void test_precedence_equalMainProviderWins() {
+        MockCurrencyUnitDataProvider.override = true;
+        CurrencyUnit.reloadCurrencies();
+        CurrencyUnit test = CurrencyUnit.of("XTS");
+        assertEquals(test.getDefaultFractionDigits(), -1);
+        assertEquals(test.getNumericCode(), 963);
+        assertEquals(CurrencyUnit.of("ZZV").getDecimalPlaces(), 0);
+    }
+
+    public void test_precedence_lowerLoses() {
+        MockCurrencyUnitDataProvider.precedence = -1;
+        MockCurrencyUnitDataProvider.override = true;
+        CurrencyUnit.reloadCurrencies();
+        assertEquals(CurrencyUnit.of("XTS").getDefaultFractionDigits(), -1);
+        assertEquals(CurrencyUnit.of("ZZV", date("2004-12-31")).getDecimalPlaces(), 2);
+    }
+
+    public void test_precedence_restoredOnReload() {
+        MockCurrencyUnitDataProvider.precedence = 1;
+        MockCurrencyUnitDataProvider.override = true;
+        CurrencyUnit.reloadCurrencies();
+        assertEquals(CurrencyUnit.of("XTS").getDecimalPlaces(), 2);
+        MockCurrencyUnitDataProvider.reset();
+        CurrencyUnit.reloadCurrencies();
+        assertEquals(CurrencyUnit.of("XTS").getDefaultFractionDigits(), -1);
+    }
+
+    //-----------------------------------------------------------------------
+    // failure
+    //-----------------------------------------------------------------------
+    public void test_failure_keepsSnapshot() {
+        MockCurrencyUnitDataProvider.precedence = 1;
+        MockCurrencyUnitDataProvider.override = true;
+        CurrencyUnit.reloadCurrencies();
+        List<CurrencyUnit> currencies = CurrencyUnit.registeredCurrencies();
+        CurrencyUnit xts = CurrencyUnit.of("XTS");
+        CurrencyUnit usd = CurrencyUnit.of("USD");
+        
+        MockCurrencyUnitDataProvider.reset();
+        MockCurrencyUnitDataProvider.fail = true;
+        try {
+            CurrencyUnit.reloadCurrencies();
+            fail();
+        } catch (IllegalStateException ex) {
+            assertEquals(ex.getMessage(), "Mock failure");
+        }
+        assertSame(CurrencyUnit.registeredCurrencies(), currencies);
+        assertSame(CurrencyUnit.of("XTS"), xts);
+        assertEquals(CurrencyUnit.of("XTS").getDecimalPlaces(), 2);
+        assertSame(CurrencyUnit.of("USD"), usd);
+        assertEquals(CurrencyUnit.of("ZZV", date("2004-12-31")).getDecimalPlaces(), 2);
+    }
+
+    public void test_failure_keepsRegisteredCurrency() {
+        CurrencyUnit registered = CurrencyUnit.registerCurrency("ZZW", -1, 3, Collections.<String>emptyList());
+        MockCurrencyUnitDataProvider.fail = true;
+        try {
+            CurrencyUnit.reloadCurrencies();
+            fail();
+        } catch (IllegalStateException ex) {
+            // expected
+        }
+        assertSame(CurrencyUnit.of("ZZW"), registered);
+    }
+
+}
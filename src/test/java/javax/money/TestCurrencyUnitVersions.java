@@ -0,0 +1,213 @@
+/*
+ *  Copyright 2009-2011 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package javax.money;
+
+import static javax.money.MockCurrencyUnitDataProvider.date;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Date;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * Test the versions of CurrencyUnit valid over time.
+ */
+@Test
+public class TestCurrencyUnitVersions {
+
+    private static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
+
+    private static CurrencyUnit roundTrip(CurrencyUnit currency) throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ObjectOutputStream oos = new ObjectOutputStream(baos);
+        oos.writeObject(currency);
+        oos.close();
+        ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray()));
+        return (CurrencyUnit) ois.readObject();
+    }
+
+    /**
+     * Gets the last millisecond of the day before the specified date.
+     */
+    private static Date justBefore(String text) {
+        return new Date(date(text).getTime() - 1);
+    }
+
+    /**
+     * Gets the last millisecond of the specified date.
+     */
+    private static Date endOfDay(String text) {
+        return new Date(date(text).getTime() + MILLIS_PER_DAY - 1);
+    }
+
+    //-----------------------------------------------------------------------
+    // of(String,Date)
+    //-----------------------------------------------------------------------
+    public void test_of_Date_euroStart() {
+        assertSame(CurrencyUnit.of("EUR", date("1999-01-01")), CurrencyUnit.EUR);
+        assertSame(CurrencyUnit.of("EUR", endOfDay("1999-01-01")), CurrencyUnit.EUR);
+        assertSame(CurrencyUnit.of("EUR", date("2012-06-30")), CurrencyUnit.EUR);
+    }
+
+    @Test(expectedExceptions = IllegalCurrencyException.class)
+    public void test_of_Date_euroDayBeforeStart() {
+        CurrencyUnit.of("EUR", date("1998-12-31"));
+    }
+
+    @Test(expectedExceptions = IllegalCurrencyException.class)
+    public void test_of_Date_euroMillisecondBeforeStart() {
+        CurrencyUnit.of("EUR", justBefore("1999-01-01"));
+    }
+
+    public void test_of_Date_markOverlapsEuro() {
+        CurrencyUnit dem = CurrencyUnit.of("DEM", date("1999-01-01"));
+        assertEquals(dem.getCode(), "DEM");
+        assertEquals(dem.getNumericCode(), 276);
+        assertEquals(dem.getDecimalPlaces(), 2);
+        assertSame(CurrencyUnit.of("DEM", date("1948-06-21")), dem);
+        assertSame(CurrencyUnit.of("DEM", date("1998-12-31")), dem);
+        assertSame(CurrencyUnit.of("DEM", endOfDay("2001-12-31")), dem);
+        assertSame(CurrencyUnit.of("DEM", justBefore("2002-01-01")), dem);
+    }
+
+    @DataProvider(name = "markInvalid")
+    Object[][] data_markInvalid() {
+        return new Object[][] {
+            {justBefore("1948-06-21")},
+            {date("1948-06-20")},
+            {date("2002-01-01")},
+            {date("2012-06-30")},
+        };
+    }
+
+    @Test(dataProvider = "markInvalid", expectedExceptions = IllegalCurrencyException.class)
+    public void test_of_Date_markInvalid(Date date) {
+        CurrencyUnit.of("DEM", date);
+    }
+
+    @Test(expectedExceptions = IllegalCurrencyException.class)
+    public void test_of_retiredCode() {
+        CurrencyUnit.of("DEM");
+    }
+
+    public void test_of_Date_retiredNotRegistered() {
+        CurrencyUnit dem = CurrencyUnit.of("DEM", date("2000-01-01"));
+        assertFalse(CurrencyUnit.registeredCurrencies().contains(dem));
+        assertSame(CurrencyUnit.ofCountry("DE"), CurrencyUnit.EUR);
+    }
+
+    @Test(expectedExceptions = IllegalCurrencyException.class)
+    public void test_ofNumericCode_retired() {
+        CurrencyUnit.ofNumericCode(276);
+    }
+
+    @Test(expectedExceptions = IllegalCurrencyException.class)
+    public void test_of_Date_unknownCode() {
+        CurrencyUnit.of("ZZZ", date("2000-01-01"));
+    }
+
+    public void test_of_Date_decimalPlacesChanged() {
+        CurrencyUnit old = CurrencyUnit.of("ZZV", justBefore("2005-01-01"));
+        CurrencyUnit current = CurrencyUnit.of("ZZV", date("2005-01-01"));
+        assertEquals(old.getDecimalPlaces(), 2);
+        assertEquals(current.getDecimalPlaces(), 0);
+        assertSame(current, CurrencyUnit.of("ZZV"));
+        assertSame(CurrencyUnit.of("ZZV", date("1900-01-01")), old);
+        assertFalse(old.equals(current));
+        assertFalse(old.getOrdinal() == current.getOrdinal());
+    }
+
+    //-----------------------------------------------------------------------
+    // serialization
+    //-----------------------------------------------------------------------
+    public void test_serialization_retired() throws Exception {
+        CurrencyUnit dem = CurrencyUnit.of("DEM", date("2000-01-01"));
+        assertSame(roundTrip(dem), dem);
+    }
+
+    public void test_serialization_olderVersion() throws Exception {
+        CurrencyUnit old = CurrencyUnit.of("ZZV", date("2004-12-31"));
+        CurrencyUnit test = roundTrip(old);
+        assertSame(test, old);
+        assertNotSame(test, CurrencyUnit.of("ZZV"));
+        assertSame(roundTrip(CurrencyUnit.of("ZZV")), CurrencyUnit.of("ZZV"));
+    }
+
+    public void test_serialization_retiredMoney() throws Exception {
+        CurrencyUnit dem = CurrencyUnit.of("DEM", date("2000-01-01"));
+        Money money = Money.ofMinor(dem, 1234);
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ObjectOutputStream oos = new ObjectOutputStream(baos);
+        oos.writeObject(money);
+        oos.close();
+        ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray()));
+        Money test = (Money) ois.readObject();
+        assertEquals(test, money);
+        assertSame(test.getCurrencyUnit(), dem);
+    }
+
+    //-----------------------------------------------------------------------
+    // parseDay(String,int)
+    //-----------------------------------------------------------------------
+    public void test_parseDay() {
+        assertEquals(DefaultCurrencyUnitDataProvider.parseDay(null, 42), 42);
+        assertEquals(DefaultCurrencyUnitDataProvider.parseDay("1970-01-01", 42), 0);
+        assertEquals(DefaultCurrencyUnitDataProvider.parseDay("1970-01-02", 42), 1);
+        assertEquals(DefaultCurrencyUnitDataProvider.parseDay("1969-12-31", 42), -1);
+        assertEquals(DefaultCurrencyUnitDataProvider.parseDay("1999-01-01", 42), date("1999-01-01").getTime() / MILLIS_PER_DAY);
+        assertEquals(DefaultCurrencyUnitDataProvider.parseDay("1948-06-21", 42), date("1948-06-21").getTime() / MILLIS_PER_DAY);
+        assertEquals(DefaultCurrencyUnitDataProvider.parseDay("2000-02-29", 42), date("2000-02-29").getTime() / MILLIS_PER_DAY);
+        assertEquals(DefaultCurrencyUnitDataProvider.parseDay("2004-02-29", 42), date("2004-02-29").getTime() / MILLIS_PER_DAY);
+    }
+
+    @DataProvider(name = "invalidDays")
+    Object[][] data_invalidDays() {
+        return new Object[][] {
+            {""},
+            {"1999-1-1"},
+            {"1999-01-1"},
+            {"1999/01/01"},
+            {"19990101"},
+            {"1999-01-01 "},
+            {" 1999-01-01"},
+            {"1999-01-0a"},
+            {"+999-01-01"},
+            {"1999-00-01"},
+            {"1999-13-01"},
+            {"1999-01-00"},
+            {"1999-01-32"},
+            {"1999-04-31"},
+            {"2001-02-29"},
+            {"1900-02-29"},
+            {"2000-02-30"},
+        };
+    }
+
+    @Test(dataProvider = "invalidDays", expectedExceptions = IllegalArgumentException.class)
+    public void test_parseDay_invalid(String text) {
+        DefaultCurrencyUnitDataProvider.parseDay(text, 0);
+    }
+
+}
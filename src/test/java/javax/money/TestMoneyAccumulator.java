@@ -0,0 +1,271 @@
+/*
+ *  Copyright 2009-2011 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package javax.money;
+
+import static org.testng.Assert.assertEquals;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * Test MoneyAccumulator.
+ */
+@Test
+public class TestMoneyAccumulator {
+
+    private static final CurrencyUnit USD = CurrencyUnit.USD;
+    private static final CurrencyUnit EUR = CurrencyUnit.EUR;
+    private static final CurrencyUnit JPY = CurrencyUnit.JPY;
+
+    //-----------------------------------------------------------------------
+    // of()
+    //-----------------------------------------------------------------------
+    public void test_of_Currency() {
+        MoneyAccumulator test = MoneyAccumulator.of(USD);
+        assertEquals(test.getCurrencyUnit(), USD);
+        assertEquals(test.getAmount(), BigDecimal.ZERO);
+        assertEquals(test.toBigMoney(), BigMoney.zero(USD));
+        assertEquals(test.toMoney(), Money.zero(USD));
+    }
+
+    public void test_of_BigMoneyProvider() {
+        assertEquals(MoneyAccumulator.of(Money.ofMinor(USD, 123)).getAmount(), new BigDecimal("1.23"));
+        assertEquals(MoneyAccumulator.of(BigMoney.of(USD, new BigDecimal("1.2345"))).getAmount(), new BigDecimal("1.2345"));
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void test_of_Currency_null() {
+        MoneyAccumulator.of((CurrencyUnit) null);
+    }
+
+    //-----------------------------------------------------------------------
+    // add() and subtract() against BigDecimal
+    //-----------------------------------------------------------------------
+    @DataProvider(name = "seeds")
+    Object[][] data_seeds() {
+        Object[][] data = new Object[20][];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = new Object[] {i};
+        }
+        return data;
+    }
+
+    /**
+     * Creates a random amount, biased towards the limits of a {@code long}.
+     */
+    private static BigDecimal randomAmount(Random random) {
+        long unscaled;
+        switch (random.nextInt(4)) {
+            case 0:
+                unscaled = random.nextInt(20000) - 10000;
+                break;
+            case 1:
+                unscaled = (random.nextBoolean() ? Long.MAX_VALUE : Long.MIN_VALUE) - random.nextInt(3) + 1;
+                break;
+            default:
+                unscaled = random.nextLong() >> random.nextInt(64);
+                break;
+        }
+        int scale = random.nextInt(8) == 0 ? random.nextInt(15) - 2 : 2;
+        return BigDecimal.valueOf(unscaled, scale);
+    }
+
+    @Test(dataProvider = "seeds")
+    public void test_addSubtract_matchesBigDecimal(int seed) {
+        Random random = new Random(seed);
+        MoneyAccumulator test = MoneyAccumulator.of(USD);
+        BigDecimal expected = BigDecimal.ZERO;
+        for (int i = 0; i < 200; i++) {
+            BigDecimal amount = randomAmount(random);
+            long minor = amount.unscaledValue().longValue();
+            switch (random.nextInt(6)) {
+                case 0:
+                    test.add(amount);
+                    expected = expected.add(amount);
+                    break;
+                case 1:
+                    test.subtract(amount);
+                    expected = expected.subtract(amount);
+                    break;
+                case 2:
+                    test.add(BigMoney.of(USD, amount));
+                    expected = expected.add(amount);
+                    break;
+                case 3:
+                    test.addMinor(minor);
+                    expected = expected.add(BigDecimal.valueOf(minor, 2));
+                    break;
+                case 4:
+                    test.subtractMinor(minor);
+                    expected = expected.subtract(BigDecimal.valueOf(minor, 2));
+                    break;
+                default:
+                    Money money = Money.ofMinor(USD, minor);
+                    if (random.nextBoolean()) {
+                        test.add(money);
+                        expected = expected.add(money.getAmount());
+                    } else {
+                        test.subtract(money);
+                        expected = expected.subtract(money.getAmount());
+                    }
+                    break;
+            }
+            assertEquals(test.getAmount(), expected, "Step " + i);
+        }
+        assertEquals(test.toBigMoney(), BigMoney.of(USD, expected));
+    }
+
+    @Test(dataProvider = "seeds")
+    public void test_add_MoneyAccumulator_matchesBigDecimal(int seed) {
+        Random random = new Random(seed);
+        MoneyAccumulator test = MoneyAccumulator.of(USD);
+        BigDecimal expected = BigDecimal.ZERO;
+        for (int i = 0; i < 50; i++) {
+            MoneyAccumulator other = MoneyAccumulator.of(USD);
+            for (int j = random.nextInt(4); j >= 0; j--) {
+                other.add(randomAmount(random));
+            }
+            BigDecimal otherAmount = other.getAmount();
+            test.add(other);
+            expected = expected.add(otherAmount);
+            assertEquals(test.getAmount(), expected, "Step " + i);
+            assertEquals(other.getAmount(), otherAmount);
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    // overflow and widening
+    //-----------------------------------------------------------------------
+    public void test_addMinor_overflow() {
+        MoneyAccumulator test = MoneyAccumulator.of(USD);
+        test.addMinor(Long.MAX_VALUE).addMinor(Long.MAX_VALUE).addMinor(2);
+        assertEquals(test.getAmount(), new BigDecimal("184467440737095516.16"));
+        test.subtractMinor(Long.MAX_VALUE).subtractMinor(Long.MAX_VALUE);
+        assertEquals(test.getAmount(), new BigDecimal("0.02"));
+        assertEquals(test.toMoney(), Money.ofMinor(USD, 2));
+    }
+
+    public void test_subtractMinor_minValue() {
+        MoneyAccumulator test = MoneyAccumulator.of(USD);
+        test.subtractMinor(Long.MIN_VALUE);
+        assertEquals(test.getAmount(), new BigDecimal("92233720368547758.08"));
+        assertEquals(test.toMoney(), Money.ofMinor(USD, Long.MIN_VALUE).negated());
+    }
+
+    public void test_add_scaleOverflow() {
+        // rescaling the total to the scale of the amount overflows a long
+        MoneyAccumulator test = MoneyAccumulator.of(USD);
+        test.addMinor(Long.MAX_VALUE / 10);
+        test.add(new BigDecimal("0.001"));
+        assertEquals(test.getAmount(), new BigDecimal("9223372036854775.801"));
+        // rescaling the amount to the scale of the total overflows a long
+        test = MoneyAccumulator.of(USD);
+        test.add(new BigDecimal("0.000000001"));
+        test.addMinor(Long.MAX_VALUE);
+        assertEquals(test.getAmount(), new BigDecimal("92233720368547758.070000001"));
+    }
+
+    public void test_add_bigAmount() {
+        MoneyAccumulator test = MoneyAccumulator.of(USD);
+        test.add(new BigDecimal("123456789012345678901234567890.12"));
+        test.add(Money.ofMinor(USD, 1));
+        assertEquals(test.getAmount(), new BigDecimal("123456789012345678901234567890.13"));
+        test.subtract(new BigDecimal("123456789012345678901234567890"));
+        assertEquals(test.toMoney(), Money.ofMinor(USD, 13));
+    }
+
+    //-----------------------------------------------------------------------
+    // MoneyUtils.unscaledLong(BigDecimal)
+    //-----------------------------------------------------------------------
+    @DataProvider(name = "unscaled")
+    Object[][] data_unscaled() {
+        return new Object[][] {
+            {new BigDecimal("0")},
+            {new BigDecimal("0.00")},
+            {new BigDecimal("1.23")},
+            {new BigDecimal("-1.23")},
+            {new BigDecimal("123")},
+            {new BigDecimal("1E+3")},
+            {new BigDecimal("-12E+5")},
+            {new BigDecimal("0.000000000000000001")},
+            {new BigDecimal("999999999999999999")},
+            {new BigDecimal("-999999999999999999")},
+            {new BigDecimal("9999999999999999.99")},
+            {new BigDecimal("-0.999999999999999999")},
+            {new BigDecimal(new BigInteger("123456789012345678"), 9)},
+            {new BigDecimal(new BigInteger("-123456789012345678"), -2)},
+            {BigDecimal.valueOf(Long.MAX_VALUE / 10, 4)},
+            {BigDecimal.valueOf(Long.MIN_VALUE / 10, 30)},
+        };
+    }
+
+    @Test(dataProvider = "unscaled")
+    public void test_MoneyUtils_unscaledLong(BigDecimal amount) {
+        assertEquals(MoneyUtils.unscaledLong(amount), amount.unscaledValue().longValue());
+    }
+
+    @Test(dataProvider = "unscaled")
+    public void test_add_BigDecimal_unscaled(BigDecimal amount) {
+        MoneyAccumulator test = MoneyAccumulator.of(USD).addMinor(1).add(amount);
+        assertEquals(test.getAmount().compareTo(amount.add(new BigDecimal("0.01"))), 0);
+        assertEquals(test.getAmount().scale(), Math.max(2, amount.scale()));
+    }
+
+    //-----------------------------------------------------------------------
+    // toMoney()
+    //-----------------------------------------------------------------------
+    public void test_toMoney_scale() {
+        MoneyAccumulator test = MoneyAccumulator.of(JPY).add(new BigDecimal("1.5"));
+        assertEquals(test.toMoney(RoundingMode.HALF_EVEN), Money.ofMinor(JPY, 2));
+        assertEquals(test.toMoney(RoundingMode.DOWN), Money.ofMinor(JPY, 1));
+    }
+
+    @Test(expectedExceptions = ArithmeticException.class)
+    public void test_toMoney_roundingNecessary() {
+        MoneyAccumulator.of(JPY).add(new BigDecimal("1.5")).toMoney();
+    }
+
+    //-----------------------------------------------------------------------
+    // currency mismatch
+    //-----------------------------------------------------------------------
+    @Test(expectedExceptions = CurrencyMismatchException.class)
+    public void test_add_Money_currencyMismatch() {
+        MoneyAccumulator.of(USD).add(Money.ofMinor(EUR, 1));
+    }
+
+    @Test(expectedExceptions = CurrencyMismatchException.class)
+    public void test_subtract_BigMoney_currencyMismatch() {
+        MoneyAccumulator.of(USD).subtract(BigMoney.ofMinor(EUR, 1));
+    }
+
+    @Test(expectedExceptions = CurrencyMismatchException.class)
+    public void test_add_MoneyAccumulator_currencyMismatch() {
+        MoneyAccumulator.of(USD).add(MoneyAccumulator.of(EUR));
+    }
+
+    //-----------------------------------------------------------------------
+    // toString()
+    //-----------------------------------------------------------------------
+    public void test_toString() {
+        assertEquals(MoneyAccumulator.of(USD).addMinor(-12345).toString(), "USD -123.45");
+    }
+
+}
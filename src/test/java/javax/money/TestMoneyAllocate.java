@@ -0,0 +1,281 @@
+/*
+ *  Copyright 2009-2011 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package javax.money;
+
+import static org.testng.Assert.assertEquals;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * Test allocation of Money by ratios, weights and equal parts.
+ */
+@Test
+public class TestMoneyAllocate {
+
+    private static final CurrencyUnit USD = CurrencyUnit.USD;
+
+    /**
+     * Allocates using {@code BigInteger}, as a reference for the expected result.
+     * Each share is rounded towards zero, then the units left over are given to
+     * the largest remainders, with ties going to the earliest share.
+     */
+    private static BigInteger[] expected(BigInteger amount, BigInteger[] ratios) {
+        BigInteger total = BigInteger.ZERO;
+        for (BigInteger ratio : ratios) {
+            total = total.add(ratio);
+        }
+        BigInteger magnitude = amount.abs();
+        BigInteger[] shares = new BigInteger[ratios.length];
+        BigInteger[] remainders = new BigInteger[ratios.length];
+        BigInteger left = magnitude;
+        for (int i = 0; i < ratios.length; i++) {
+            BigInteger[] division = magnitude.multiply(ratios[i]).divideAndRemainder(total);
+            shares[i] = division[0];
+            remainders[i] = division[1];
+            left = left.subtract(division[0]);
+        }
+        Integer[] order = new Integer[ratios.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        final BigInteger[] sortRemainders = remainders;
+        Arrays.sort(order, new Comparator<Integer>() {
+            public int compare(Integer a, Integer b) {
+                int cmp = sortRemainders[b].compareTo(sortRemainders[a]);
+                return (cmp != 0 ? cmp : a.compareTo(b));
+            }
+        });
+        for (int k = 0; k < left.intValue(); k++) {
+            shares[order[k]] = shares[order[k]].add(BigInteger.ONE);
+        }
+        for (int i = 0; i < shares.length; i++) {
+            shares[i] = (amount.signum() < 0 ? shares[i].negate() : shares[i]);
+        }
+        return shares;
+    }
+
+    private static BigInteger[] toBig(long[] ratios) {
+        BigInteger[] result = new BigInteger[ratios.length];
+        for (int i = 0; i < ratios.length; i++) {
+            result[i] = BigInteger.valueOf(ratios[i]);
+        }
+        return result;
+    }
+
+    private static void assertShares(Money[] test, BigInteger[] expected) {
+        assertEquals(test.length, expected.length);
+        for (int i = 0; i < test.length; i++) {
+            assertEquals(test[i].getCurrencyUnit(), USD);
+            assertEquals(test[i].getAmount(), new BigDecimal(expected[i], 2), "Share " + i);
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    // allocate(long...)
+    //-----------------------------------------------------------------------
+    public void test_allocate_long_examples() {
+        Money[] test = Money.ofMinor(USD, 5).allocate(3, 7);
+        assertEquals(test[0], Money.ofMinor(USD, 2));
+        assertEquals(test[1], Money.ofMinor(USD, 3));
+        test = Money.ofMinor(USD, 10).allocate(1, 1, 1);
+        assertEquals(test[0], Money.ofMinor(USD, 4));
+        assertEquals(test[1], Money.ofMinor(USD, 3));
+        assertEquals(test[2], Money.ofMinor(USD, 3));
+        test = Money.ofMinor(USD, -10).allocate(1, 1, 1);
+        assertEquals(test[0], Money.ofMinor(USD, -4));
+        assertEquals(test[1], Money.ofMinor(USD, -3));
+        assertEquals(test[2], Money.ofMinor(USD, -3));
+    }
+
+    public void test_allocate_long_zeroRatio() {
+        Money[] test = Money.ofMinor(USD, 100).allocate(0, 1, 0);
+        assertEquals(test[0], Money.zero(USD));
+        assertEquals(test[1], Money.ofMinor(USD, 100));
+        assertEquals(test[2], Money.zero(USD));
+    }
+
+    @DataProvider(name = "seeds")
+    Object[][] data_seeds() {
+        Object[][] data = new Object[20][];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = new Object[] {i};
+        }
+        return data;
+    }
+
+    @Test(dataProvider = "seeds")
+    public void test_allocate_long_matchesReference(int seed) {
+        Random random = new Random(seed);
+        for (int i = 0; i < 500; i++) {
+            long[] ratios = new long[1 + random.nextInt(6)];
+            long total = 0;
+            for (int j = 0; j < ratios.length; j++) {
+                // small ratios, and large ratios whose products overflow a long
+                ratios[j] = random.nextInt(3) == 0 ? 0 : (random.nextBoolean() ?
+                        random.nextInt(100) : (random.nextLong() >>> (1 + random.nextInt(62))) >> 3);
+                total += ratios[j];
+            }
+            if (total == 0) {
+                ratios[0] = 1;
+            }
+            long amount = (i < 4 ? new long[] {Long.MIN_VALUE, Long.MAX_VALUE, 0, -1}[i] : random.nextLong() >> random.nextInt(64));
+            BigInteger[] expected = expected(BigInteger.valueOf(amount), toBig(ratios));
+            assertShares(Money.ofMinor(USD, amount).allocate(ratios), expected);
+            long[] bulk = Money.allocateMinor(new long[] {amount, 1}, ratios);
+            BigInteger[] expectedOne = expected(BigInteger.ONE, toBig(ratios));
+            for (int j = 0; j < ratios.length; j++) {
+                assertEquals(bulk[j], expected[j].longValue());
+                assertEquals(bulk[ratios.length + j], expectedOne[j].longValue());
+            }
+        }
+    }
+
+    public void test_allocate_long_bigAmount() {
+        BigInteger amount = new BigInteger("-1234567890123456789012345");
+        Money money = Money.of(USD, new BigDecimal(amount, 2));
+        long[] ratios = {Long.MAX_VALUE / 3, 1, 7, Long.MAX_VALUE / 5};
+        assertShares(money.allocate(ratios), expected(amount, toBig(ratios)));
+    }
+
+    public void test_allocate_long_total() {
+        Money money = Money.ofMinor(USD, Long.MAX_VALUE);
+        Money[] test = money.allocate(Long.MAX_VALUE / 2, 1, 7);
+        assertEquals(test[0].plus(test[1]).plus(test[2]), money);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void test_allocate_long_empty() {
+        Money.ofMinor(USD, 1).allocate(new long[0]);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void test_allocate_long_negative() {
+        Money.ofMinor(USD, 1).allocate(1, -1, 3);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void test_allocate_long_allZero() {
+        Money.ofMinor(USD, 1).allocate(0, 0);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void test_allocate_long_totalTooLarge() {
+        Money.ofMinor(USD, 1).allocate(Long.MAX_VALUE, 1);
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void test_allocate_long_null() {
+        Money.ofMinor(USD, 1).allocate((long[]) null);
+    }
+
+    //-----------------------------------------------------------------------
+    // allocate(BigDecimal...)
+    //-----------------------------------------------------------------------
+    public void test_allocate_BigDecimal() {
+        Money[] test = Money.ofMinor(USD, 10000).allocate(new BigDecimal("0.25"), new BigDecimal("0.75"), BigDecimal.ZERO);
+        assertEquals(test[0], Money.ofMinor(USD, 2500));
+        assertEquals(test[1], Money.ofMinor(USD, 7500));
+        assertEquals(test[2], Money.zero(USD));
+    }
+
+    public void test_allocate_BigDecimal_sameAsRatios() {
+        Money money = Money.ofMinor(USD, 1001);
+        Money[] test = money.allocate(new BigDecimal("0.333"), new BigDecimal("0.3"), new BigDecimal("0.1"));
+        assertShares(test, expected(BigInteger.valueOf(1001), toBig(new long[] {333, 300, 100})));
+    }
+
+    public void test_allocate_BigDecimal_beyondLong() {
+        // weights whose ratios do not fit in a long
+        BigDecimal[] weights = {new BigDecimal("1E+30"), new BigDecimal("3E+30"), new BigDecimal("0.5")};
+        BigInteger[] ratios = {BigInteger.TEN.pow(31), new BigInteger("3").multiply(BigInteger.TEN.pow(31)), new BigInteger("5")};
+        Money money = Money.ofMinor(USD, Long.MIN_VALUE);
+        assertShares(money.allocate(weights), expected(BigInteger.valueOf(Long.MIN_VALUE), ratios));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void test_allocate_BigDecimal_negative() {
+        Money.ofMinor(USD, 1).allocate(BigDecimal.ONE, new BigDecimal("-0.1"));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void test_allocate_BigDecimal_allZero() {
+        Money.ofMinor(USD, 1).allocate(BigDecimal.ZERO, new BigDecimal("0.00"));
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void test_allocate_BigDecimal_nullEntry() {
+        Money.ofMinor(USD, 1).allocate(BigDecimal.ONE, null);
+    }
+
+    //-----------------------------------------------------------------------
+    // split(int)
+    //-----------------------------------------------------------------------
+    public void test_split() {
+        Money[] test = Money.ofMinor(USD, 10).split(3);
+        assertEquals(test[0], Money.ofMinor(USD, 4));
+        assertEquals(test[1], Money.ofMinor(USD, 3));
+        assertEquals(test[2], Money.ofMinor(USD, 3));
+        assertEquals(Money.ofMinor(USD, 10).split(1)[0], Money.ofMinor(USD, 10));
+    }
+
+    public void test_split_bigAmount() {
+        Money money = Money.of(USD, new BigDecimal("99999999999999999999.99"));
+        Money[] test = money.split(4);
+        assertShares(test, expected(new BigInteger("9999999999999999999999"), toBig(new long[] {1, 1, 1, 1})));
+    }
+
+    @Test(timeOut = 10000)
+    public void test_split_manyParts() {
+        // the leftover units are large, thus must not be handed out one scan at a time
+        int parts = 200000;
+        Money[] test = Money.ofMinor(USD, 99999).split(parts);
+        assertEquals(test.length, parts);
+        assertEquals(test[0], Money.ofMinor(USD, 1));
+        assertEquals(test[99998], Money.ofMinor(USD, 1));
+        assertEquals(test[99999], Money.zero(USD));
+        assertEquals(test[parts - 1], Money.zero(USD));
+        Money[] negative = Money.ofMinor(USD, -(parts + 99999L)).split(parts);
+        assertEquals(negative[99998], Money.ofMinor(USD, -2));
+        assertEquals(negative[99999], Money.ofMinor(USD, -1));
+    }
+
+    @Test(timeOut = 10000)
+    public void test_allocate_long_manyParts() {
+        Random random = new Random(1);
+        long[] ratios = new long[100000];
+        for (int i = 0; i < ratios.length; i++) {
+            ratios[i] = random.nextInt(1000);
+        }
+        ratios[0] = 1;
+        long amount = 987654321;
+        assertShares(Money.ofMinor(USD, amount).allocate(ratios), expected(BigInteger.valueOf(amount), toBig(ratios)));
+        BigInteger bigAmount = BigInteger.valueOf(Long.MAX_VALUE).multiply(BigInteger.TEN);
+        assertShares(Money.of(USD, new BigDecimal(bigAmount, 2)).allocate(ratios), expected(bigAmount, toBig(ratios)));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void test_split_zero() {
+        Money.ofMinor(USD, 10).split(0);
+    }
+
+}
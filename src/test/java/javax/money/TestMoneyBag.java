@@ -0,0 +1,310 @@
+/*
+ *  Copyright 2009-2011 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package javax.money;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Collections;
+
+import javax.money.convert.ExchangeRate;
+import javax.money.convert.ExchangeRateProvider;
+
+import org.testng.annotations.Test;
+
+/**
+ * Test MoneyBag.
+ */
+@Test
+public class TestMoneyBag {
+
+    private static final CurrencyUnit GBP = CurrencyUnit.GBP;
+    private static final CurrencyUnit EUR = CurrencyUnit.EUR;
+    private static final CurrencyUnit USD = CurrencyUnit.USD;
+    private static final CurrencyUnit JPY = CurrencyUnit.JPY;
+    private static final Money USD_MAX = Money.ofMinor(USD, Long.MAX_VALUE);
+    private static final Money USD_MIN = Money.ofMinor(USD, Long.MIN_VALUE);
+
+    /**
+     * Registers a new currency with a code starting with 'V'.
+     */
+    private static CurrencyUnit registerCurrency() {
+        for (char c1 = 'A'; c1 <= 'Z'; c1++) {
+            for (char c2 = 'A'; c2 <= 'Z'; c2++) {
+                String code = new String(new char[] {'V', c1, c2});
+                try {
+                    CurrencyUnit.of(code);
+                } catch (IllegalCurrencyException ex) {
+                    return CurrencyUnit.registerCurrency(code, -1, 2, Collections.<String>emptyList());
+                }
+            }
+        }
+        throw new AssertionError("No free currency code");
+    }
+
+    private static MoneyBag roundTrip(MoneyBag bag) throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ObjectOutputStream oos = new ObjectOutputStream(baos);
+        oos.writeObject(bag);
+        oos.close();
+        ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray()));
+        return (MoneyBag) ois.readObject();
+    }
+
+    private static ExchangeRateProvider rate(CurrencyUnit source, CurrencyUnit target, Number factor) {
+        final ExchangeRate rate = new ExchangeRate(source, target, factor);
+        return new ExchangeRateProvider() {
+            public ExchangeRate getExchangeRate() {
+                return rate;
+            }
+        };
+    }
+
+    //-----------------------------------------------------------------------
+    // of(BigMoneyProvider...)
+    //-----------------------------------------------------------------------
+    public void test_of() {
+        MoneyBag test = MoneyBag.of(Money.parse("GBP 1.20"), Money.parse("USD 2.00"), Money.parse("GBP 0.30"));
+        assertEquals(test.size(), 2);
+        assertFalse(test.isEmpty());
+        assertEquals(test.get(GBP), Money.parse("GBP 1.50"));
+        assertEquals(test.get(USD), Money.parse("USD 2.00"));
+        assertEquals(test.get(JPY), Money.zero(JPY));
+        assertEquals(test.toMonies().size(), 2);
+        assertTrue(test.toMonies().containsAll(Arrays.asList(Money.parse("GBP 1.50"), Money.parse("USD 2.00"))));
+    }
+
+    public void test_of_cancelledOut() {
+        MoneyBag test = MoneyBag.of(Money.parse("GBP 1.20"), Money.parse("GBP -1.20"));
+        assertTrue(test.isEmpty());
+        assertEquals(test.size(), 0);
+        assertSame(test, MoneyBag.empty());
+    }
+
+    @Test(expectedExceptions = ArithmeticException.class)
+    public void test_of_scaleTooLarge() {
+        MoneyBag.of(BigMoney.parse("GBP 1.234"));
+    }
+
+    //-----------------------------------------------------------------------
+    // overflow
+    //-----------------------------------------------------------------------
+    public void test_overflow_plusThenMinus() {
+        MoneyBag plain = MoneyBag.of(USD_MAX, Money.parse("GBP 1.00"));
+        MoneyBag overflowed = plain.plus(Money.ofMinor(USD, 10));
+        BigDecimal expected = BigDecimal.valueOf(Long.MAX_VALUE).add(BigDecimal.TEN).movePointLeft(2);
+        assertEquals(overflowed.get(USD).getAmount(), expected);
+        assertFalse(overflowed.equals(plain));
+        
+        MoneyBag test = overflowed.minus(Money.ofMinor(USD, 10));
+        assertEquals(test, plain);
+        assertEquals(plain, test);
+        assertEquals(test.hashCode(), plain.hashCode());
+        assertEquals(test.get(USD), USD_MAX);
+        assertTrue(test.get(USD).isAmountMinorLong());
+        assertEquals(test.toString(), plain.toString());
+    }
+
+    public void test_overflow_builder() {
+        MoneyBag.Builder builder = MoneyBag.builder();
+        builder.add(USD_MAX).add(USD_MAX).add(USD_MAX);
+        BigDecimal max = BigDecimal.valueOf(Long.MAX_VALUE).movePointLeft(2);
+        assertEquals(builder.build().get(USD).getAmount(), max.multiply(BigDecimal.valueOf(3)));
+        builder.subtract(USD_MAX).subtract(USD_MAX);
+        assertEquals(builder.build(), MoneyBag.of(USD_MAX));
+        builder.subtract(USD_MAX);
+        assertSame(builder.build(), MoneyBag.empty());
+    }
+
+    public void test_overflow_bags() {
+        MoneyBag max = MoneyBag.of(USD_MAX);
+        MoneyBag doubled = max.plus(max);
+        assertEquals(doubled.get(USD).getAmount(), BigDecimal.valueOf(Long.MAX_VALUE).multiply(BigDecimal.valueOf(2)).movePointLeft(2));
+        assertEquals(doubled.minus(max), max);
+        assertEquals(doubled.minus(doubled), MoneyBag.empty());
+        assertTrue(doubled.minus(doubled).isEmpty());
+        assertEquals(doubled.plus(doubled.negated()), MoneyBag.empty());
+    }
+
+    public void test_overflow_minValue() {
+        MoneyBag min = MoneyBag.of(USD_MIN);
+        MoneyBag test = min.minus(Money.ofMinor(USD, 1));
+        assertEquals(test.get(USD).getAmount(), BigDecimal.valueOf(Long.MIN_VALUE).subtract(BigDecimal.ONE).movePointLeft(2));
+        assertEquals(test.plus(Money.ofMinor(USD, 1)), min);
+        assertEquals(MoneyBag.empty().minus(USD_MIN).get(USD).getAmount(), BigDecimal.valueOf(Long.MIN_VALUE).negate().movePointLeft(2));
+        assertEquals(MoneyBag.empty().minus(min).get(USD).getAmount(), BigDecimal.valueOf(Long.MIN_VALUE).negate().movePointLeft(2));
+    }
+
+    //-----------------------------------------------------------------------
+    // negated()
+    //-----------------------------------------------------------------------
+    public void test_negated() {
+        MoneyBag test = MoneyBag.of(Money.parse("GBP 1.20"), Money.parse("JPY -3"));
+        MoneyBag negated = test.negated();
+        assertEquals(negated.get(GBP), Money.parse("GBP -1.20"));
+        assertEquals(negated.get(JPY), Money.parse("JPY 3"));
+        assertEquals(negated.size(), 2);
+        assertEquals(negated.negated(), test);
+    }
+
+    public void test_negated_empty() {
+        assertTrue(MoneyBag.empty().negated().isEmpty());
+    }
+
+    public void test_negated_minValue() {
+        MoneyBag test = MoneyBag.of(USD_MIN, Money.parse("GBP 1.00"));
+        MoneyBag negated = test.negated();
+        assertEquals(negated.get(USD).getAmount(), BigDecimal.valueOf(Long.MIN_VALUE).negate().movePointLeft(2));
+        assertEquals(negated.get(GBP), Money.parse("GBP -1.00"));
+        assertEquals(negated.negated(), test);
+        assertTrue(negated.negated().get(USD).isAmountMinorLong());
+    }
+
+    //-----------------------------------------------------------------------
+    // equals()/hashCode()
+    //-----------------------------------------------------------------------
+    public void test_equals_differentLengths() {
+        CurrencyUnit registered = registerCurrency();
+        MoneyBag shorter = MoneyBag.of(Money.parse("GBP 1.00"));
+        MoneyBag longer = shorter.plus(Money.ofMinor(registered, 5)).minus(Money.ofMinor(registered, 5));
+        assertEquals(longer.size(), 1);
+        assertEquals(shorter, longer);
+        assertEquals(longer, shorter);
+        assertEquals(shorter.hashCode(), longer.hashCode());
+        assertEquals(MoneyBag.empty(), MoneyBag.empty().plus(Money.ofMinor(registered, 1)).minus(Money.ofMinor(registered, 1)));
+        assertFalse(shorter.equals(shorter.plus(Money.ofMinor(registered, 1))));
+        assertFalse(shorter.plus(Money.ofMinor(registered, 1)).equals(shorter));
+    }
+
+    public void test_equals_registeredAfterBag() {
+        MoneyBag before = MoneyBag.of(Money.parse("GBP 1.00"));
+        CurrencyUnit registered = registerCurrency();
+        MoneyBag after = MoneyBag.builder().add(Money.parse("GBP 1.00")).build();
+        assertEquals(before, after);
+        MoneyBag grown = before.plus(Money.ofMinor(registered, 7));
+        assertEquals(grown.get(registered), Money.ofMinor(registered, 7));
+        assertEquals(grown.get(GBP), Money.parse("GBP 1.00"));
+        assertEquals(grown.size(), 2);
+        assertTrue(grown.getCurrencies().contains(registered));
+    }
+
+    public void test_equals_other() {
+        MoneyBag test = MoneyBag.of(Money.parse("GBP 1.00"));
+        assertFalse(test.equals(null));
+        assertFalse(test.equals("GBP 1.00"));
+        assertFalse(test.equals(MoneyBag.of(Money.parse("GBP 1.01"))));
+        assertFalse(test.equals(MoneyBag.of(Money.parse("EUR 1.00"))));
+    }
+
+    public void test_hashCode_overflow() {
+        MoneyBag test1 = MoneyBag.of(USD_MAX, USD_MAX);
+        MoneyBag test2 = MoneyBag.of(USD_MAX).plus(USD_MAX);
+        assertEquals(test1, test2);
+        assertEquals(test1.hashCode(), test2.hashCode());
+    }
+
+    //-----------------------------------------------------------------------
+    // convertTo()
+    //-----------------------------------------------------------------------
+    public void test_convertTo() {
+        MoneyBag test = MoneyBag.of(Money.parse("GBP 1.00"), Money.parse("USD 2.00"), Money.parse("EUR 0.01"));
+        Money converted = test.convertTo(EUR, RoundingMode.HALF_EVEN,
+                rate(GBP, EUR, new BigDecimal("1.1575")), rate(USD, EUR, 0.7), rate(USD, GBP, 5));
+        // 1.1575 + 1.40 + 0.01 = 2.5675
+        assertEquals(converted, Money.parse("EUR 2.57"));
+    }
+
+    public void test_convertTo_roundsOnce() {
+        MoneyBag test = MoneyBag.of(Money.parse("GBP 0.01"), Money.parse("USD 0.01"));
+        Money converted = test.convertTo(EUR, RoundingMode.DOWN, rate(GBP, EUR, new BigDecimal("0.5")), rate(USD, EUR, new BigDecimal("0.5")));
+        assertEquals(converted, Money.parse("EUR 0.01"));
+    }
+
+    public void test_convertTo_empty() {
+        assertEquals(MoneyBag.empty().convertTo(EUR, RoundingMode.HALF_EVEN), Money.zero(EUR));
+    }
+
+    public void test_convertTo_overflow() {
+        MoneyBag test = MoneyBag.of(USD_MAX, USD_MAX);
+        Money converted = test.convertTo(USD, RoundingMode.HALF_EVEN);
+        assertEquals(converted.getAmount(), BigDecimal.valueOf(Long.MAX_VALUE).multiply(BigDecimal.valueOf(2)).movePointLeft(2));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void test_convertTo_missingRate() {
+        MoneyBag test = MoneyBag.of(Money.parse("GBP 1.00"), Money.parse("USD 2.00"));
+        test.convertTo(EUR, RoundingMode.HALF_EVEN, rate(GBP, EUR, 1), rate(USD, GBP, 1));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void test_convertTo_negativeRate() {
+        MoneyBag test = MoneyBag.of(Money.parse("GBP 1.00"));
+        test.convertTo(EUR, RoundingMode.HALF_EVEN, rate(GBP, EUR, -1));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void test_convertTo_negativeRateUnusedCurrency() {
+        MoneyBag test = MoneyBag.of(Money.parse("GBP 1.00"));
+        test.convertTo(EUR, RoundingMode.HALF_EVEN, rate(GBP, EUR, 1), rate(USD, EUR, new BigDecimal("-0.5")));
+    }
+
+    @Test(expectedExceptions = ArithmeticException.class)
+    public void test_convertTo_roundingNecessary() {
+        MoneyBag test = MoneyBag.of(Money.parse("GBP 1.00"));
+        test.convertTo(EUR, RoundingMode.UNNECESSARY, rate(GBP, EUR, new BigDecimal("1.001")));
+    }
+
+    //-----------------------------------------------------------------------
+    // serialization
+    //-----------------------------------------------------------------------
+    public void test_serialization() throws Exception {
+        MoneyBag test = MoneyBag.of(Money.parse("GBP 1.20"), Money.parse("JPY -3"));
+        MoneyBag result = roundTrip(test);
+        assertEquals(result, test);
+        assertEquals(result.hashCode(), test.hashCode());
+        assertEquals(result.get(GBP), Money.parse("GBP 1.20"));
+    }
+
+    public void test_serialization_empty() throws Exception {
+        assertTrue(roundTrip(MoneyBag.empty()).isEmpty());
+    }
+
+    public void test_serialization_overflow() throws Exception {
+        MoneyBag test = MoneyBag.of(USD_MAX, USD_MAX, Money.parse("GBP 1.00"));
+        MoneyBag result = roundTrip(test);
+        assertEquals(result, test);
+        assertEquals(result.minus(USD_MAX), MoneyBag.of(USD_MAX, Money.parse("GBP 1.00")));
+    }
+
+    public void test_serialization_registered() throws Exception {
+        CurrencyUnit registered = registerCurrency();
+        MoneyBag test = MoneyBag.of(Money.ofMinor(registered, 123));
+        MoneyBag result = roundTrip(test);
+        assertEquals(result, test);
+        assertEquals(result.get(registered), Money.ofMinor(registered, 123));
+    }
+
+}
@@ -0,0 +1,367 @@
+/*
+ *  Copyright 2009-2011 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package javax.money;
+
+import static javax.money.MockCurrencyUnitDataProvider.date;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ReadOnlyBufferException;
+import java.nio.channels.FileChannel;
+import java.util.BitSet;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * Test MoneyBuffer.
+ */
+@Test
+public class TestMoneyBuffer {
+
+    private static final CurrencyUnit GBP = CurrencyUnit.GBP;
+    private static final CurrencyUnit USD = CurrencyUnit.USD;
+    private static final CurrencyUnit JPY = CurrencyUnit.JPY;
+
+    /**
+     * Creates a bit set of the specified indices.
+     */
+    private static BitSet bits(int... indices) {
+        BitSet bits = new BitSet();
+        for (int index : indices) {
+            bits.set(index);
+        }
+        return bits;
+    }
+
+    //-----------------------------------------------------------------------
+    // slot layout
+    //-----------------------------------------------------------------------
+    public void test_layout() {
+        ByteBuffer raw = ByteBuffer.allocate(3 * MoneyBuffer.SLOT_SIZE);
+        MoneyBuffer test = MoneyBuffer.wrap(raw);
+        test.setMinor(1, USD, 0x0102030405060708L);
+        test.setMinor(2, JPY, -2);
+        
+        raw.order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < MoneyBuffer.SLOT_SIZE; i++) {
+            assertEquals(raw.get(i), 0);
+        }
+        assertEquals(raw.getLong(16), 0x0102030405060708L);
+        assertEquals(raw.get(16), 0x08);
+        assertEquals(raw.get(23), 0x01);
+        assertEquals(raw.getShort(24), USD.getCodeIndex() + 1);
+        assertEquals(raw.get(26), 2);
+        for (int i = 27; i < 32; i++) {
+            assertEquals(raw.get(i), 0);
+        }
+        assertEquals(raw.getLong(32), -2L);
+        assertEquals(raw.getShort(40), JPY.getCodeIndex() + 1);
+        assertEquals(raw.get(42), 0);
+    }
+
+    public void test_layout_readWrittenBytes() {
+        ByteBuffer raw = ByteBuffer.allocate(2 * MoneyBuffer.SLOT_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        raw.putLong(16, 12345);
+        raw.putShort(24, (short) (GBP.getCodeIndex() + 1));
+        raw.put(26, (byte) 2);
+        MoneyBuffer test = MoneyBuffer.wrap(raw);
+        assertFalse(test.isSet(0));
+        assertNull(test.get(0));
+        assertNull(test.getCurrencyUnit(0));
+        assertTrue(test.isSet(1));
+        assertSame(test.getCurrencyUnit(1), GBP);
+        assertEquals(test.getAmountMinorLong(1), 12345);
+        assertEquals(test.get(1), Money.ofMinor(GBP, 12345));
+    }
+
+    public void test_clear() {
+        ByteBuffer raw = ByteBuffer.allocate(MoneyBuffer.SLOT_SIZE);
+        MoneyBuffer test = MoneyBuffer.wrap(raw);
+        test.set(0, Money.ofMinor(USD, -1));
+        test.clear(0);
+        for (int i = 0; i < MoneyBuffer.SLOT_SIZE; i++) {
+            assertEquals(raw.get(i), 0);
+        }
+        assertFalse(test.isSet(0));
+    }
+
+    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    public void test_get_indexTooLarge() {
+        MoneyBuffer.allocateDirect(2).get(2);
+    }
+
+    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    public void test_setMinor_indexNegative() {
+        MoneyBuffer.allocateDirect(2).setMinor(-1, USD, 1);
+    }
+
+    //-----------------------------------------------------------------------
+    // wrap(ByteBuffer)
+    //-----------------------------------------------------------------------
+    public void test_wrap_bigEndianHeapBuffer() {
+        ByteBuffer raw = ByteBuffer.allocate(8 + 2 * MoneyBuffer.SLOT_SIZE + 5).order(ByteOrder.BIG_ENDIAN);
+        raw.position(8);
+        MoneyBuffer test = MoneyBuffer.wrap(raw);
+        assertEquals(test.capacity(), 2);
+        assertFalse(test.isReadOnly());
+        test.setMinor(0, USD, 1);
+        test.setMinor(1, USD, -256);
+        
+        assertEquals(raw.order(), ByteOrder.BIG_ENDIAN);
+        assertEquals(raw.position(), 8);
+        assertEquals(raw.get(8), 1);
+        assertEquals(raw.get(15), 0);
+        assertEquals(raw.getLong(8), Long.reverseBytes(1));
+        assertEquals(raw.getLong(24), Long.reverseBytes(-256));
+        assertEquals(test.get(0), Money.ofMinor(USD, 1));
+        assertEquals(test.get(1), Money.ofMinor(USD, -256));
+        assertEquals(MoneyBuffer.wrap(raw).get(1), Money.ofMinor(USD, -256));
+    }
+
+    public void test_wrap_readOnly() {
+        ByteBuffer raw = ByteBuffer.allocate(MoneyBuffer.SLOT_SIZE);
+        MoneyBuffer.wrap(raw).setMinor(0, GBP, 7);
+        MoneyBuffer test = MoneyBuffer.wrap(raw.asReadOnlyBuffer());
+        assertTrue(test.isReadOnly());
+        assertSame(test.asReadOnly(), test);
+        assertEquals(test.get(0), Money.ofMinor(GBP, 7));
+    }
+
+    @Test(expectedExceptions = ReadOnlyBufferException.class)
+    public void test_asReadOnly_set() {
+        MoneyBuffer base = MoneyBuffer.allocateDirect(1);
+        MoneyBuffer test = base.asReadOnly();
+        assertTrue(test.isReadOnly());
+        assertFalse(base.isReadOnly());
+        test.set(0, Money.ofMinor(GBP, 1));
+    }
+
+    //-----------------------------------------------------------------------
+    // map(FileChannel,MapMode,long,int)
+    //-----------------------------------------------------------------------
+    public void test_map_roundTrip() throws IOException {
+        File file = File.createTempFile("MoneyBuffer", ".bin");
+        try {
+            RandomAccessFile out = new RandomAccessFile(file, "rw");
+            try {
+                MoneyBuffer test = MoneyBuffer.map(out.getChannel(), FileChannel.MapMode.READ_WRITE, 0, 4);
+                test.set(0, Money.ofMinor(USD, Long.MAX_VALUE));
+                test.set(2, Money.ofMinor(JPY, -123));
+                test.set(3, Money.ofMinor(GBP, Long.MIN_VALUE));
+            } finally {
+                out.close();
+            }
+            assertEquals(file.length(), 4 * MoneyBuffer.SLOT_SIZE);
+            
+            RandomAccessFile in = new RandomAccessFile(file, "r");
+            try {
+                MoneyBuffer test = MoneyBuffer.map(in.getChannel(), FileChannel.MapMode.READ_ONLY, 0, 4);
+                assertTrue(test.isReadOnly());
+                assertEquals(test.capacity(), 4);
+                assertEquals(test.get(0), Money.ofMinor(USD, Long.MAX_VALUE));
+                assertNull(test.get(1));
+                assertEquals(test.get(2), Money.ofMinor(JPY, -123));
+                assertEquals(test.get(3), Money.ofMinor(GBP, Long.MIN_VALUE));
+                try {
+                    test.setMinor(1, USD, 1);
+                    throw new AssertionError();
+                } catch (ReadOnlyBufferException ex) {
+                    // expected
+                }
+                
+                MoneyBuffer region = MoneyBuffer.map(in.getChannel(), FileChannel.MapMode.READ_ONLY, 2, 2);
+                assertEquals(region.capacity(), 2);
+                assertEquals(region.get(0), Money.ofMinor(JPY, -123));
+                assertEquals(region.get(1), Money.ofMinor(GBP, Long.MIN_VALUE));
+            } finally {
+                in.close();
+            }
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void test_map_negativeFirstSlot() throws IOException {
+        File file = File.createTempFile("MoneyBuffer", ".bin");
+        try {
+            RandomAccessFile in = new RandomAccessFile(file, "r");
+            try {
+                MoneyBuffer.map(in.getChannel(), FileChannel.MapMode.READ_ONLY, -1, 0);
+            } finally {
+                in.close();
+            }
+        } finally {
+            file.delete();
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    // find
+    //-----------------------------------------------------------------------
+    private static MoneyBuffer findBuffer() {
+        MoneyBuffer test = MoneyBuffer.allocateDirect(10);
+        test.setMinor(0, USD, Long.MIN_VALUE);
+        test.setMinor(1, USD, -2);
+        test.setMinor(2, USD, -1);
+        test.setMinor(3, USD, 0);
+        test.setMinor(4, USD, 1);
+        test.setMinor(5, USD, 2);
+        test.setMinor(6, USD, Long.MAX_VALUE);
+        test.setMinor(7, JPY, 1);
+        test.setMinor(8, GBP, 1);
+        return test;
+    }
+
+    @DataProvider(name = "find")
+    Object[][] data_find() {
+        BigDecimal beyondMax = BigDecimal.valueOf(Long.MAX_VALUE).add(BigDecimal.ONE).movePointLeft(2);
+        BigDecimal beyondMin = BigDecimal.valueOf(Long.MIN_VALUE).subtract(BigDecimal.ONE).movePointLeft(2);
+        BigDecimal atMax = BigDecimal.valueOf(Long.MAX_VALUE).movePointLeft(2);
+        return new Object[][] {
+            {BigMoney.of(USD, new BigDecimal("0.01")), bits(5, 6), bits(4), bits(0, 1, 2, 3)},
+            {BigMoney.of(USD, new BigDecimal("0.010")), bits(5, 6), bits(4), bits(0, 1, 2, 3)},
+            {BigMoney.of(USD, new BigDecimal("0.015")), bits(5, 6), bits(), bits(0, 1, 2, 3, 4)},
+            {BigMoney.of(USD, new BigDecimal("0.001")), bits(4, 5, 6), bits(), bits(0, 1, 2, 3)},
+            {BigMoney.of(USD, new BigDecimal("-0.015")), bits(2, 3, 4, 5, 6), bits(), bits(0, 1)},
+            {BigMoney.of(USD, new BigDecimal("-0.001")), bits(3, 4, 5, 6), bits(), bits(0, 1, 2)},
+            {BigMoney.of(USD, BigDecimal.ZERO), bits(4, 5, 6), bits(3), bits(0, 1, 2)},
+            {BigMoney.of(USD, atMax), bits(), bits(6), bits(0, 1, 2, 3, 4, 5)},
+            {BigMoney.of(USD, beyondMax), bits(), bits(), bits(0, 1, 2, 3, 4, 5, 6)},
+            {BigMoney.of(USD, beyondMax.negate()), bits(1, 2, 3, 4, 5, 6), bits(0), bits()},
+            {BigMoney.of(USD, beyondMin), bits(0, 1, 2, 3, 4, 5, 6), bits(), bits()},
+            {BigMoney.of(USD, new BigDecimal("1E+30")), bits(), bits(), bits(0, 1, 2, 3, 4, 5, 6)},
+            {BigMoney.of(USD, new BigDecimal("-1E+30")), bits(0, 1, 2, 3, 4, 5, 6), bits(), bits()},
+            {BigMoney.of(JPY, new BigDecimal("0.5")), bits(7), bits(), bits()},
+            {BigMoney.of(CurrencyUnit.EUR, BigDecimal.ZERO), bits(), bits(), bits()},
+        };
+    }
+
+    @Test(dataProvider = "find")
+    public void test_find(BigMoney other, BitSet greater, BitSet equal, BitSet less) {
+        MoneyBuffer test = findBuffer();
+        assertEquals(test.findGreaterThan(other), greater);
+        assertEquals(test.findEqual(other), equal);
+        assertEquals(test.findLessThan(other), less);
+    }
+
+    //-----------------------------------------------------------------------
+    // sum(CurrencyUnit)
+    //-----------------------------------------------------------------------
+    public void test_sum() {
+        MoneyBuffer test = findBuffer();
+        test.setMinor(0, USD, 10);
+        test.setMinor(6, USD, 20);
+        assertEquals(test.sum(USD), Money.ofMinor(USD, 30));
+        assertEquals(test.sum(JPY), Money.ofMinor(JPY, 1));
+        assertEquals(test.sum(CurrencyUnit.EUR), Money.zero(CurrencyUnit.EUR));
+        assertEquals(test.count(USD), 7);
+    }
+
+    public void test_sum_overflow() {
+        MoneyBuffer test = MoneyBuffer.allocateDirect(4);
+        test.setMinor(0, USD, Long.MAX_VALUE);
+        test.setMinor(1, USD, Long.MAX_VALUE);
+        test.setMinor(2, GBP, Long.MAX_VALUE);
+        test.setMinor(3, USD, 3);
+        BigDecimal expected = BigDecimal.valueOf(Long.MAX_VALUE).multiply(BigDecimal.valueOf(2)).add(BigDecimal.valueOf(3)).movePointLeft(2);
+        assertEquals(test.sum(USD).getAmount(), expected);
+        assertEquals(test.sum(GBP), Money.ofMinor(GBP, Long.MAX_VALUE));
+    }
+
+    public void test_sum_overflowBackInRange() {
+        MoneyBuffer test = MoneyBuffer.allocateDirect(3);
+        test.setMinor(0, USD, Long.MAX_VALUE);
+        test.setMinor(1, USD, 10);
+        test.setMinor(2, USD, -20);
+        assertEquals(test.sum(USD), Money.ofMinor(USD, Long.MAX_VALUE - 10));
+        assertEquals(test.sumByCurrency().get(USD), Money.ofMinor(USD, Long.MAX_VALUE - 10));
+    }
+
+    public void test_sum_underflow() {
+        MoneyBuffer test = MoneyBuffer.allocateDirect(2);
+        test.setMinor(0, USD, Long.MIN_VALUE);
+        test.setMinor(1, USD, -1);
+        BigDecimal expected = BigDecimal.valueOf(Long.MIN_VALUE).subtract(BigDecimal.ONE).movePointLeft(2);
+        assertEquals(test.sum(USD).getAmount(), expected);
+        assertEquals(test.sumByCurrency().get(USD).getAmount(), expected);
+    }
+
+    //-----------------------------------------------------------------------
+    // sumByCurrency()
+    //-----------------------------------------------------------------------
+    public void test_sumByCurrency() {
+        MoneyBuffer test = MoneyBuffer.allocateDirect(5);
+        test.setMinor(0, USD, 10);
+        test.setMinor(1, GBP, 20);
+        test.setMinor(3, USD, -3);
+        test.setMinor(4, JPY, 0);
+        MoneyBag bag = test.sumByCurrency();
+        assertEquals(bag.get(USD), Money.ofMinor(USD, 7));
+        assertEquals(bag.get(GBP), Money.ofMinor(GBP, 20));
+        assertEquals(bag.get(JPY), Money.zero(JPY));
+    }
+
+    public void test_sumByCurrency_overflow() {
+        MoneyBuffer test = MoneyBuffer.allocateDirect(3);
+        test.setMinor(0, USD, Long.MAX_VALUE);
+        test.setMinor(1, GBP, 5);
+        test.setMinor(2, USD, 1);
+        MoneyBag bag = test.sumByCurrency();
+        assertEquals(bag.get(USD).getAmount(), BigDecimal.valueOf(Long.MAX_VALUE).add(BigDecimal.ONE).movePointLeft(2));
+        assertEquals(bag.get(GBP), Money.ofMinor(GBP, 5));
+    }
+
+    public void test_sumByCurrency_mixedDecimalPlaces() {
+        CurrencyUnit old = CurrencyUnit.of("ZZV", date("2004-12-31"));
+        CurrencyUnit current = CurrencyUnit.of("ZZV");
+        assertEquals(old.getDecimalPlaces(), 2);
+        assertEquals(current.getDecimalPlaces(), 0);
+        MoneyBuffer test = MoneyBuffer.allocateDirect(5);
+        test.setMinor(0, old, 150);
+        test.setMinor(1, current, 7);
+        test.setMinor(2, old, 250);
+        test.setMinor(3, USD, 9);
+        test.setMinor(4, current, 3);
+        
+        assertSame(test.getCurrencyUnit(0), old);
+        assertSame(test.getCurrencyUnit(1), current);
+        assertEquals(test.get(0), Money.ofMinor(old, 150));
+        assertEquals(test.sum(old), Money.ofMinor(old, 400));
+        assertEquals(test.sum(current), Money.ofMinor(current, 10));
+        assertEquals(test.count(old), 2);
+        assertEquals(test.count(current), 2);
+        assertEquals(test.findGreaterThan(BigMoney.of(old, new BigDecimal("2"))), bits(2));
+        assertEquals(test.findGreaterThan(BigMoney.of(current, new BigDecimal("2"))), bits(1, 4));
+        
+        MoneyBag bag = test.sumByCurrency();
+        assertEquals(bag.get(old), Money.ofMinor(old, 400));
+        assertEquals(bag.get(current), Money.ofMinor(current, 10));
+        assertEquals(bag.get(USD), Money.ofMinor(USD, 9));
+        assertEquals(bag.size(), 3);
+    }
+
+}
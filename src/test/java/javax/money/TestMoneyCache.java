@@ -0,0 +1,165 @@
+/*
+ *  Copyright 2009-2011 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package javax.money;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Test MoneyCache, via the factories and arithmetic of Money and BigMoney.
+ * <p>
+ * The range cached is set by the system properties in the surefire configuration.
+ */
+@Test
+public class TestMoneyCache {
+
+    private static final CurrencyUnit GBP = CurrencyUnit.GBP;
+    private static final CurrencyUnit JPY = CurrencyUnit.JPY;
+    private static final long LOW = Math.min(Math.max(Long.parseLong(System.getProperty("javax.money.MoneyCache.low", "-128")), Short.MIN_VALUE), 0);
+    private static final long HIGH = Math.max(Math.min(Long.parseLong(System.getProperty("javax.money.MoneyCache.high", "127")), Short.MAX_VALUE), 0);
+
+    @AfterMethod
+    public void tearDown() {
+        MockCurrencyUnitDataProvider.reset();
+        CurrencyUnit.reloadCurrencies();
+    }
+
+    //-----------------------------------------------------------------------
+    // range
+    //-----------------------------------------------------------------------
+    public void test_range() {
+        assertTrue(MoneyCache.isCached(0));
+        assertTrue(MoneyCache.isCached(LOW));
+        assertTrue(MoneyCache.isCached(HIGH));
+        assertFalse(MoneyCache.isCached(LOW - 1));
+        assertFalse(MoneyCache.isCached(HIGH + 1));
+        assertFalse(MoneyCache.isCached(Long.MIN_VALUE));
+        assertFalse(MoneyCache.isCached(Long.MAX_VALUE));
+    }
+
+    public void test_range_systemProperties() {
+        // set in the surefire configuration, different to the defaults
+        assertEquals(System.getProperty("javax.money.MoneyCache.low"), "-200");
+        assertEquals(System.getProperty("javax.money.MoneyCache.high"), "1000");
+        assertEquals(LOW, -200);
+        assertEquals(HIGH, 1000);
+    }
+
+    //-----------------------------------------------------------------------
+    // Money
+    //-----------------------------------------------------------------------
+    public void test_zero() {
+        assertSame(Money.zero(GBP), Money.zero(GBP));
+        assertSame(Money.ofMinor(GBP, 0), Money.zero(GBP));
+        assertSame(Money.of(GBP, BigDecimal.ZERO), Money.zero(GBP));
+        assertSame(Money.parse("GBP 0.00"), Money.zero(GBP));
+        assertNotSame(Money.zero(JPY), Money.zero(GBP));
+    }
+
+    public void test_ofMinor_insideRange() {
+        assertSame(Money.ofMinor(GBP, LOW), Money.ofMinor(GBP, LOW));
+        assertSame(Money.ofMinor(GBP, HIGH), Money.ofMinor(GBP, HIGH));
+        assertSame(Money.ofMinor(GBP, 1), Money.ofMinor(GBP, 1));
+        assertSame(Money.ofMinor(GBP, -1), Money.ofMinor(GBP, -1));
+        assertSame(Money.ofMajor(JPY, HIGH), Money.ofMinor(JPY, HIGH));
+        assertSame(Money.of(GBP, BigDecimal.valueOf(HIGH, 2)), Money.ofMinor(GBP, HIGH));
+    }
+
+    public void test_ofMinor_outsideRange() {
+        assertNotSame(Money.ofMinor(GBP, LOW - 1), Money.ofMinor(GBP, LOW - 1));
+        assertNotSame(Money.ofMinor(GBP, HIGH + 1), Money.ofMinor(GBP, HIGH + 1));
+        assertEquals(Money.ofMinor(GBP, HIGH + 1), Money.ofMinor(GBP, HIGH + 1));
+        assertNotSame(Money.ofMinor(GBP, Long.MAX_VALUE), Money.ofMinor(GBP, Long.MAX_VALUE));
+    }
+
+    public void test_arithmetic_insideRange() {
+        Money one = Money.ofMinor(GBP, 1);
+        assertSame(one.minus(one), Money.zero(GBP));
+        assertSame(one.plus(Money.ofMinor(GBP, HIGH - 1)), Money.ofMinor(GBP, HIGH));
+        assertSame(one.multipliedBy(LOW), Money.ofMinor(GBP, LOW));
+        assertSame(one.negated(), Money.ofMinor(GBP, -1));
+        assertSame(Money.ofMinor(GBP, 10).dividedBy(10, RoundingMode.UNNECESSARY), one);
+        assertSame(Money.ofMinor(GBP, HIGH + 1).minusMinor(1), Money.ofMinor(GBP, HIGH));
+    }
+
+    public void test_arithmetic_outsideRange() {
+        Money one = Money.ofMinor(GBP, 1);
+        Money high = Money.ofMinor(GBP, HIGH);
+        assertNotSame(high.plus(one), high.plus(one));
+        assertNotSame(one.multipliedBy(LOW - 1), one.multipliedBy(LOW - 1));
+        assertEquals(high.plus(one).getAmountMinorLong(), HIGH + 1);
+    }
+
+    //-----------------------------------------------------------------------
+    // BigMoney
+    //-----------------------------------------------------------------------
+    public void test_BigMoney_zero() {
+        assertSame(BigMoney.zero(GBP), BigMoney.zero(GBP));
+        assertSame(BigMoney.of(GBP, new BigDecimal("0.000")), BigMoney.of(GBP, new BigDecimal("0.000")));
+        assertNotSame(BigMoney.of(GBP, new BigDecimal("0.000")), BigMoney.zero(GBP));
+        assertSame(BigMoney.of(GBP, BigDecimal.ONE).minus(BigDecimal.ONE), BigMoney.of(GBP, BigDecimal.ZERO));
+        assertNotSame(BigMoney.of(GBP, BigDecimal.ONE), BigMoney.of(GBP, BigDecimal.ONE));
+        assertNotSame(BigMoney.of(GBP, new BigDecimal("0E-10")), BigMoney.of(GBP, new BigDecimal("0E-10")));
+    }
+
+    //-----------------------------------------------------------------------
+    // reload
+    //-----------------------------------------------------------------------
+    public void test_reload_unchangedCurrency() {
+        Money cached = Money.ofMinor(GBP, 5);
+        CurrencyUnit.reloadCurrencies();
+        assertSame(CurrencyUnit.of("GBP"), GBP);
+        assertSame(Money.ofMinor(GBP, 5), cached);
+    }
+
+    public void test_reload_changedCurrency() {
+        CurrencyUnit before = CurrencyUnit.of("ZZV");
+        Money cachedZero = Money.zero(before);
+        Money cachedFive = Money.ofMinor(before, 5);
+        BigMoney cachedBigZero = BigMoney.zero(before);
+        assertEquals(before.getNumericCode(), -1);
+        
+        MockCurrencyUnitDataProvider.renumber = true;
+        CurrencyUnit.reloadCurrencies();
+        CurrencyUnit after = CurrencyUnit.of("ZZV");
+        assertNotSame(after, before);
+        assertEquals(after.getNumericCode(), 1);
+        assertEquals(after.getOrdinal(), before.getOrdinal());
+        
+        Money zero = Money.zero(after);
+        assertNotSame(zero, cachedZero);
+        assertSame(zero.getCurrencyUnit(), after);
+        Money five = Money.ofMinor(after, 5);
+        assertNotSame(five, cachedFive);
+        assertSame(five.getCurrencyUnit(), after);
+        assertSame(Money.ofMinor(after, 5), five);
+        assertSame(cachedFive.plus(0).getCurrencyUnit(), before);
+        BigMoney bigZero = BigMoney.zero(after);
+        assertNotSame(bigZero, cachedBigZero);
+        assertSame(bigZero.getCurrencyUnit(), after);
+        assertSame(BigMoney.zero(after), bigZero);
+    }
+
+}
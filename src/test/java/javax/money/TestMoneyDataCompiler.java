@@ -0,0 +1,283 @@
+/*
+ *  Copyright 2009-2011 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package javax.money;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * Test MoneyDataCompiler and the loading of the compiled data.
+ */
+@Test
+public class TestMoneyDataCompiler {
+
+    private static final String SHORT_CSV = "#Code,Numeric,DecPlaces,CountryCodes[,ValidFrom,ValidTo]\nGBP,826,2,GB\n";
+
+    private File dir;
+    private File otherDir;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        dir = createTempDir();
+        otherDir = createTempDir();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        deleteTempDir(dir);
+        deleteTempDir(otherDir);
+    }
+
+    private static File createTempDir() throws IOException {
+        File file = File.createTempFile("MoneyData", "");
+        if (!file.delete() || !file.mkdir()) {
+            throw new IOException("Unable to create directory: " + file);
+        }
+        return file;
+    }
+
+    private static void deleteTempDir(File dir) {
+        File[] files = dir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        dir.delete();
+    }
+
+    private static byte[] readResource(String resource) throws IOException {
+        InputStream in = TestMoneyDataCompiler.class.getResourceAsStream(resource);
+        assertNotNull(in, resource);
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buf = new byte[4096];
+            int len;
+            while ((len = in.read(buf)) >= 0) {
+                out.write(buf, 0, len);
+            }
+            return out.toByteArray();
+        } finally {
+            in.close();
+        }
+    }
+
+    private static String csv() throws IOException {
+        return new String(readResource(DefaultCurrencyUnitDataProvider.CSV_RESOURCE), "UTF-8");
+    }
+
+    private static byte[] compiled() throws IOException {
+        return MoneyDataCompiler.compile(new StringReader(csv()));
+    }
+
+    private static URL write(File dir, String name, byte[] data) throws IOException {
+        File file = new File(dir, name);
+        OutputStream out = new FileOutputStream(file);
+        try {
+            out.write(data);
+        } finally {
+            out.close();
+        }
+        return file.toURI().toURL();
+    }
+
+    private URL writeCsv(String csv) throws IOException {
+        return write(dir, "MoneyData.csv", csv.getBytes("UTF-8"));
+    }
+
+    private URL writeBinary(byte[] data) throws IOException {
+        return write(dir, "MoneyData.bin", data);
+    }
+
+    private static List<CurrencyUnitRegistry.Entry> load(final URL csvUrl, final URL binaryUrl) throws Exception {
+        DefaultCurrencyUnitDataProvider provider = new DefaultCurrencyUnitDataProvider() {
+            @Override
+            protected void registerCurrencies() throws Exception {
+                registerCurrencies(csvUrl, binaryUrl);
+            }
+        };
+        return provider.load();
+    }
+
+    private static void assertEntries(List<CurrencyUnitRegistry.Entry> test, List<CurrencyUnitRegistry.Entry> expected) {
+        assertEquals(test.size(), expected.size());
+        for (int i = 0; i < test.size(); i++) {
+            CurrencyUnitRegistry.Entry entry = test.get(i);
+            CurrencyUnitRegistry.Entry other = expected.get(i);
+            assertEquals(entry.code, other.code);
+            assertEquals(entry.codeIndex, other.codeIndex);
+            assertEquals(entry.numericCode, other.numericCode);
+            assertEquals(entry.decimalPlaces, other.decimalPlaces);
+            assertTrue(Arrays.equals(entry.countryIndexes, other.countryIndexes), entry.code);
+            assertEquals(entry.validFrom, other.validFrom);
+            assertEquals(entry.validTo, other.validTo);
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    // compile(Reader)
+    //-----------------------------------------------------------------------
+    public void test_compile_sameAsCsv() throws Exception {
+        URL csvUrl = writeCsv(csv());
+        URL binaryUrl = write(otherDir, "MoneyData.bin", compiled());
+        List<CurrencyUnitRegistry.Entry> expected = load(csvUrl, null);
+        List<CurrencyUnitRegistry.Entry> test = load(null, binaryUrl);
+        assertTrue(expected.size() > 100);
+        assertEntries(test, expected);
+    }
+
+    public void test_compile_sameAsBuiltResource() throws Exception {
+        assertTrue(Arrays.equals(readResource(DefaultCurrencyUnitDataProvider.BINARY_RESOURCE), compiled()));
+    }
+
+    public void test_compile_header() throws Exception {
+        byte[] compiled = compiled();
+        ByteBuffer buf = ByteBuffer.wrap(compiled);
+        assertEquals(buf.getInt(), DefaultCurrencyUnitDataProvider.BINARY_MAGIC);
+        assertEquals(buf.getShort(), DefaultCurrencyUnitDataProvider.BINARY_VERSION);
+        assertEquals(buf.getInt(), compiled.length - 10);
+    }
+
+    public void test_compile_sameRegistryAsCsv() throws Exception {
+        CurrencyUnitRegistry expected = build(load(writeCsv(csv()), null));
+        CurrencyUnitRegistry test = build(load(null, write(otherDir, "MoneyData.bin", compiled())));
+        assertEquals(test.ordinalLimit(), expected.ordinalLimit());
+        assertEquals(test.currencies().size(), expected.currencies().size());
+        for (int i = 0; i < expected.currencies().size(); i++) {
+            assertCurrency(test.currencies().get(i), expected.currencies().get(i));
+        }
+        for (int ordinal = 0; ordinal < expected.ordinalLimit(); ordinal++) {
+            assertCurrency(test.lookupKnownOrdinal(ordinal), expected.lookupKnownOrdinal(ordinal));
+        }
+        for (char c0 = 'A'; c0 <= 'Z'; c0++) {
+            for (char c1 = 'A'; c1 <= 'Z'; c1++) {
+                assertCurrency(test.lookupCountry(c0, c1), expected.lookupCountry(c0, c1));
+            }
+        }
+        for (int numericCode = 0; numericCode < 1000; numericCode++) {
+            assertCurrency(test.lookupNumeric(numericCode), expected.lookupNumeric(numericCode));
+        }
+        int day = CurrencyUnitRegistry.epochDay(1999, 1, 1);
+        assertCurrency(test.lookup('D', 'E', 'M', day), expected.lookup('D', 'E', 'M', day));
+        assertEquals(test.lookup('D', 'E', 'M', day).getCode(), "DEM");
+    }
+
+    private static CurrencyUnitRegistry build(List<CurrencyUnitRegistry.Entry> entries) {
+        CurrencyUnitRegistry.Builder builder = CurrencyUnitRegistry.EMPTY.toEmptyBuilder();
+        for (CurrencyUnitRegistry.Entry entry : entries) {
+            builder.register(entry);
+        }
+        return builder.build();
+    }
+
+    private static void assertCurrency(CurrencyUnit test, CurrencyUnit expected) {
+        if (expected == null) {
+            assertEquals(test, null);
+        } else {
+            assertEquals(test.getCode(), expected.getCode());
+            assertEquals(test.getNumericCode(), expected.getNumericCode());
+            assertEquals(test.getDefaultFractionDigits(), expected.getDefaultFractionDigits());
+            assertEquals(test.getOrdinal(), expected.getOrdinal());
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    // choice of resource
+    //-----------------------------------------------------------------------
+    public void test_load_binarySameLocation() throws Exception {
+        URL csvUrl = writeCsv(SHORT_CSV);
+        URL binaryUrl = writeBinary(compiled());
+        assertEquals(load(csvUrl, binaryUrl).size(), load(null, binaryUrl).size());
+        assertTrue(load(csvUrl, binaryUrl).size() > 100);
+    }
+
+    public void test_load_binaryOtherLocation() throws Exception {
+        URL csvUrl = writeCsv(SHORT_CSV);
+        URL binaryUrl = write(otherDir, "MoneyData.bin", compiled());
+        List<CurrencyUnitRegistry.Entry> test = load(csvUrl, binaryUrl);
+        assertEquals(test.size(), 1);
+        assertEquals(test.get(0).code, "GBP");
+    }
+
+    //-----------------------------------------------------------------------
+    // fallback to csv
+    //-----------------------------------------------------------------------
+    @DataProvider(name = "damaged")
+    Object[][] data_damaged() throws IOException {
+        byte[] compiled = compiled();
+        byte[] badMagic = compiled.clone();
+        badMagic[0] ^= 1;
+        byte[] badVersion = compiled.clone();
+        badVersion[5] = DefaultCurrencyUnitDataProvider.BINARY_VERSION + 1;
+        byte[] oldVersion = compiled.clone();
+        oldVersion[5] = DefaultCurrencyUnitDataProvider.BINARY_VERSION - 1;
+        byte[] badCount = compiled.clone();
+        ByteBuffer.wrap(badCount).putShort(10, (short) (ByteBuffer.wrap(compiled).getShort(10) + 1));
+        byte[] badLength = compiled.clone();
+        ByteBuffer.wrap(badLength).putInt(6, compiled.length);
+        byte[] badCode = compiled.clone();
+        ByteBuffer.wrap(badCode).putShort(12, (short) -1);
+        return new Object[][] {
+            {new byte[0]},
+            {Arrays.copyOf(compiled, 3)},
+            {Arrays.copyOf(compiled, 5)},
+            {Arrays.copyOf(compiled, 9)},
+            {Arrays.copyOf(compiled, 11)},
+            {Arrays.copyOf(compiled, compiled.length / 2)},
+            {Arrays.copyOf(compiled, compiled.length - 1)},
+            {badMagic},
+            {badVersion},
+            {oldVersion},
+            {badCount},
+            {badLength},
+            {badCode},
+        };
+    }
+
+    @Test(dataProvider = "damaged")
+    public void test_load_damagedBinaryFallsBackToCsv(byte[] binary) throws Exception {
+        URL csvUrl = writeCsv(SHORT_CSV);
+        URL binaryUrl = writeBinary(binary);
+        List<CurrencyUnitRegistry.Entry> test = load(csvUrl, binaryUrl);
+        assertEquals(test.size(), 1);
+        assertEquals(test.get(0).code, "GBP");
+        assertEquals(test.get(0).numericCode, 826);
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void test_load_damagedBinaryNoCsv() throws Exception {
+        load(null, writeBinary(new byte[3]));
+    }
+
+}
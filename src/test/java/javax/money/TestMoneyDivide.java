@@ -0,0 +1,227 @@
+/*
+ *  Copyright 2009-2011 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package javax.money;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.fail;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * Test division by a {@code long}, checking the results against {@code BigDecimal}.
+ */
+@Test
+public class TestMoneyDivide {
+
+    private static final CurrencyUnit USD = CurrencyUnit.USD;
+    private static final CurrencyUnit JPY = CurrencyUnit.JPY;
+
+    @DataProvider(name = "divide")
+    Object[][] data_divide() {
+        return new Object[][] {
+            // exact
+            {0L, 7L},
+            {0L, -7L},
+            {12L, 4L},
+            {12L, -4L},
+            {-12L, 4L},
+            {Long.MIN_VALUE, 1L},
+            {Long.MIN_VALUE, -2L},
+            {Long.MIN_VALUE, Long.MIN_VALUE},
+            {Long.MAX_VALUE, Long.MAX_VALUE},
+            {Long.MAX_VALUE, -1L},
+            // halfway, so each HALF_* mode differs
+            {5L, 2L},
+            {-5L, 2L},
+            {5L, -2L},
+            {-5L, -2L},
+            {15L, 10L},
+            {25L, 10L},
+            {-25L, 10L},
+            {25L, -10L},
+            {10L, 4L},
+            {14L, 4L},
+            {-14L, 4L},
+            {Long.MIN_VALUE + 1, 2L},
+            {Long.MAX_VALUE, 2L},
+            {Long.MAX_VALUE, -2L},
+            // below, above and either side of halfway
+            {1L, 3L},
+            {2L, 3L},
+            {-1L, 3L},
+            {-2L, -3L},
+            {7L, 4L},
+            {-9L, 4L},
+            {Long.MIN_VALUE, 3L},
+            {Long.MIN_VALUE, -3L},
+            {Long.MIN_VALUE, Long.MAX_VALUE},
+            {Long.MAX_VALUE, Long.MIN_VALUE},
+            {Long.MIN_VALUE + 1, Long.MIN_VALUE},
+            {1L, Long.MIN_VALUE},
+            {-1L, Long.MAX_VALUE},
+            {Long.MAX_VALUE / 2 + 1, Long.MAX_VALUE},
+        };
+    }
+
+    /**
+     * Divides using {@code BigDecimal}, returning null if rounding is necessary for {@code UNNECESSARY}.
+     */
+    private static BigDecimal expected(BigDecimal dividend, long divisor, RoundingMode roundingMode) {
+        try {
+            return dividend.divide(BigDecimal.valueOf(divisor), roundingMode);
+        } catch (ArithmeticException ex) {
+            return null;
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    // MoneyUtils.divide(long,long,RoundingMode)
+    //-----------------------------------------------------------------------
+    @Test(dataProvider = "divide")
+    public void test_MoneyUtils_divide(long dividend, long divisor) {
+        if (dividend == Long.MIN_VALUE && divisor == -1) {
+            return;  // callers must check for overflow
+        }
+        for (RoundingMode roundingMode : RoundingMode.values()) {
+            BigDecimal expected = expected(BigDecimal.valueOf(dividend), divisor, roundingMode);
+            try {
+                long result = MoneyUtils.divide(dividend, divisor, roundingMode);
+                assertEquals(BigDecimal.valueOf(result), expected, dividend + " / " + divisor + " " + roundingMode);
+            } catch (ArithmeticException ex) {
+                assertEquals(expected, null, dividend + " / " + divisor + " " + roundingMode);
+            }
+        }
+    }
+
+    @Test(expectedExceptions = ArithmeticException.class)
+    public void test_MoneyUtils_divide_zero() {
+        MoneyUtils.divide(1, 0, RoundingMode.HALF_EVEN);
+    }
+
+    //-----------------------------------------------------------------------
+    // Money.dividedBy(long,RoundingMode)
+    //-----------------------------------------------------------------------
+    @Test(dataProvider = "divide")
+    public void test_Money_dividedBy_long(long dividend, long divisor) {
+        for (CurrencyUnit currency : new CurrencyUnit[] {USD, JPY}) {
+            int scale = currency.getDecimalPlaces();
+            Money money = Money.ofMinor(currency, dividend);
+            for (RoundingMode roundingMode : RoundingMode.values()) {
+                BigDecimal expected = expected(BigDecimal.valueOf(dividend, scale), divisor, roundingMode);
+                try {
+                    Money result = money.dividedBy(divisor, roundingMode);
+                    assertEquals(result, Money.of(currency, expected), money + " / " + divisor + " " + roundingMode);
+                    assertEquals(result.getAmount(), expected);
+                } catch (ArithmeticException ex) {
+                    assertEquals(expected, null, money + " / " + divisor + " " + roundingMode);
+                }
+            }
+        }
+    }
+
+    public void test_Money_dividedBy_long_minValueByMinusOne() {
+        Money result = Money.ofMinor(USD, Long.MIN_VALUE).dividedBy(-1, RoundingMode.UNNECESSARY);
+        assertEquals(result.getAmount(), new BigDecimal("92233720368547758.08"));
+        assertEquals(result.negated(), Money.ofMinor(USD, Long.MIN_VALUE));
+    }
+
+    public void test_Money_dividedBy_long_bigAmount() {
+        Money money = Money.of(USD, new BigDecimal("92233720368547758.09"));
+        assertEquals(money.dividedBy(2, RoundingMode.HALF_UP).getAmount(), new BigDecimal("46116860184273879.05"));
+        assertEquals(money.dividedBy(2, RoundingMode.HALF_DOWN).getAmount(), new BigDecimal("46116860184273879.04"));
+        assertEquals(money.dividedBy(2, RoundingMode.HALF_EVEN).getAmount(), new BigDecimal("46116860184273879.04"));
+    }
+
+    @Test(expectedExceptions = ArithmeticException.class)
+    public void test_Money_dividedBy_long_zero() {
+        Money.ofMinor(USD, 123).dividedBy(0, RoundingMode.HALF_EVEN);
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void test_Money_dividedBy_long_nullRoundingMode() {
+        Money.ofMinor(USD, 123).dividedBy(2, (RoundingMode) null);
+    }
+
+    //-----------------------------------------------------------------------
+    // BigMoney.dividedBy(long,RoundingMode)
+    //-----------------------------------------------------------------------
+    @Test(dataProvider = "divide")
+    public void test_BigMoney_dividedBy_long(long dividend, long divisor) {
+        for (int scale = 0; scale <= 3; scale++) {
+            BigDecimal amount = BigDecimal.valueOf(dividend, scale);
+            BigMoney money = BigMoney.of(USD, amount);
+            for (RoundingMode roundingMode : RoundingMode.values()) {
+                BigDecimal expected = expected(amount, divisor, roundingMode);
+                try {
+                    BigMoney result = money.dividedBy(divisor, roundingMode);
+                    assertEquals(result.getAmount(), expected, money + " / " + divisor + " " + roundingMode);
+                    assertEquals(result.getScale(), scale);
+                } catch (ArithmeticException ex) {
+                    assertEquals(expected, null, money + " / " + divisor + " " + roundingMode);
+                }
+            }
+        }
+    }
+
+    public void test_BigMoney_dividedBy_long_allScales() {
+        // 18 digits, the largest precision divided directly, at every scale a long can hold
+        long[] unscaledValues = {999999999999999999L, -123456789012345678L, 5L};
+        long[] divisors = {2L, -3L, 7L, 1000L, Long.MIN_VALUE};
+        for (long unscaled : unscaledValues) {
+            for (int scale = 0; scale <= 18; scale++) {
+                BigMoney money = BigMoney.of(USD, BigDecimal.valueOf(unscaled, scale));
+                for (long divisor : divisors) {
+                    for (RoundingMode roundingMode : RoundingMode.values()) {
+                        BigDecimal expected = expected(money.getAmount(), divisor, roundingMode);
+                        try {
+                            BigMoney result = money.dividedBy(divisor, roundingMode);
+                            assertEquals(result.getAmount(), expected, money + " / " + divisor + " " + roundingMode);
+                        } catch (ArithmeticException ex) {
+                            assertEquals(expected, null, money + " / " + divisor + " " + roundingMode);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    public void test_BigMoney_dividedBy_long_precise() {
+        // beyond the precision of a long, thus divided using BigDecimal
+        BigMoney money = BigMoney.of(USD, new BigDecimal("12345678901234567890.125"));
+        assertEquals(money.dividedBy(-5, RoundingMode.HALF_EVEN).getAmount(), new BigDecimal("-2469135780246913578.025"));
+        assertEquals(money.dividedBy(10, RoundingMode.HALF_EVEN).getAmount(), new BigDecimal("1234567890123456789.012"));
+        assertEquals(money.dividedBy(10, RoundingMode.HALF_UP).getAmount(), new BigDecimal("1234567890123456789.013"));
+    }
+
+    @Test(expectedExceptions = ArithmeticException.class)
+    public void test_BigMoney_dividedBy_long_zero() {
+        BigMoney.ofMinor(USD, 123).dividedBy(0, RoundingMode.HALF_EVEN);
+    }
+
+    public void test_BigMoney_dividedBy_long_unnecessary() {
+        try {
+            BigMoney.ofMinor(USD, 5).dividedBy(2, RoundingMode.UNNECESSARY);
+            fail();
+        } catch (ArithmeticException ex) {
+            // expected
+        }
+    }
+
+}
@@ -0,0 +1,186 @@
+/*
+ *  Copyright 2009-2011 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package javax.money;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * Test the {@code long} minor unit form of Money and the fall back to {@code BigDecimal}.
+ */
+@Test
+public class TestMoneyLongAmount {
+
+    private static final CurrencyUnit USD = CurrencyUnit.USD;
+    private static final BigInteger LONG_MIN = BigInteger.valueOf(Long.MIN_VALUE);
+    private static final BigInteger LONG_MAX = BigInteger.valueOf(Long.MAX_VALUE);
+    private static final long[] VALUES = {
+        0, 1, -1, 2, -2, 100, -100, Integer.MAX_VALUE, Integer.MIN_VALUE, 1L << 31, 1L << 32,
+        3037000499L, 3037000500L, -3037000500L,
+        Long.MAX_VALUE / 2, Long.MIN_VALUE / 2, Long.MAX_VALUE - 1, Long.MAX_VALUE, Long.MIN_VALUE + 1, Long.MIN_VALUE,
+    };
+
+    @DataProvider(name = "pairs")
+    Object[][] data_pairs() {
+        Object[][] data = new Object[VALUES.length * VALUES.length][];
+        for (int i = 0; i < VALUES.length; i++) {
+            for (int j = 0; j < VALUES.length; j++) {
+                data[i * VALUES.length + j] = new Object[] {VALUES[i], VALUES[j]};
+            }
+        }
+        return data;
+    }
+
+    /**
+     * Checks a result against the expected minor units, including the form it is held in.
+     */
+    private static void assertMinor(Money test, BigInteger expectedMinor) {
+        assertEquals(test.getCurrencyUnit(), USD);
+        assertEquals(test.getAmount(), new BigDecimal(expectedMinor, 2));
+        boolean fits = expectedMinor.compareTo(LONG_MIN) >= 0 && expectedMinor.compareTo(LONG_MAX) <= 0;
+        assertEquals(test.isAmountMinorLong(), fits, test.toString());
+        if (fits) {
+            assertEquals(test.getAmountMinorLong(), expectedMinor.longValue());
+            assertEquals(test, Money.ofMinor(USD, expectedMinor.longValue()));
+        } else {
+            try {
+                test.getAmountMinorLong();
+                throw new AssertionError("Expected ArithmeticException: " + test);
+            } catch (ArithmeticException ex) {
+                // expected
+            }
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    // plus, minus, multipliedBy
+    //-----------------------------------------------------------------------
+    @Test(dataProvider = "pairs")
+    public void test_plusMinor(long a, long b) {
+        assertMinor(Money.ofMinor(USD, a).plusMinor(b), BigInteger.valueOf(a).add(BigInteger.valueOf(b)));
+        assertMinor(Money.ofMinor(USD, a).plus(Money.ofMinor(USD, b)), BigInteger.valueOf(a).add(BigInteger.valueOf(b)));
+    }
+
+    @Test(dataProvider = "pairs")
+    public void test_minusMinor(long a, long b) {
+        assertMinor(Money.ofMinor(USD, a).minusMinor(b), BigInteger.valueOf(a).subtract(BigInteger.valueOf(b)));
+        assertMinor(Money.ofMinor(USD, a).minus(Money.ofMinor(USD, b)), BigInteger.valueOf(a).subtract(BigInteger.valueOf(b)));
+    }
+
+    @Test(dataProvider = "pairs")
+    public void test_multipliedBy_long(long a, long b) {
+        assertMinor(Money.ofMinor(USD, a).multipliedBy(b), BigInteger.valueOf(a).multiply(BigInteger.valueOf(b)));
+    }
+
+    @Test(dataProvider = "pairs")
+    public void test_compareTo(long a, long b) {
+        Money test = Money.ofMinor(USD, a);
+        Money other = Money.ofMinor(USD, b);
+        int expected = Long.valueOf(a).compareTo(b);
+        assertEquals(test.compareTo(other), expected);
+        assertEquals(test.equals(other), a == b);
+        // widen both by the same amount, so they are held as BigDecimal
+        Money bigTest = test.plusMinor(Long.MAX_VALUE).plusMinor(Long.MAX_VALUE);
+        Money bigOther = other.plusMinor(Long.MAX_VALUE).plusMinor(Long.MAX_VALUE);
+        assertEquals(bigTest.compareTo(bigOther), expected);
+        assertEquals(bigTest.equals(bigOther), a == b);
+        assertEquals(bigTest.compareTo(test) > 0, true);
+    }
+
+    //-----------------------------------------------------------------------
+    // widening and narrowing
+    //-----------------------------------------------------------------------
+    public void test_plus_overflowThenBack() {
+        Money max = Money.ofMinor(USD, Long.MAX_VALUE);
+        Money big = max.plusMinor(1);
+        assertFalse(big.isAmountMinorLong());
+        assertEquals(big.getAmount(), new BigDecimal("92233720368547758.08"));
+        assertEquals(big.toString(), "USD 92233720368547758.08");
+        Money back = big.minusMinor(1);
+        assertTrue(back.isAmountMinorLong());
+        assertEquals(back, max);
+        assertEquals(back.hashCode(), max.hashCode());
+    }
+
+    public void test_minus_overflowThenBack() {
+        Money min = Money.ofMinor(USD, Long.MIN_VALUE);
+        Money big = min.minus(Money.ofMinor(USD, 1));
+        assertFalse(big.isAmountMinorLong());
+        assertEquals(big.getAmount(), new BigDecimal("-92233720368547758.09"));
+        Money back = big.plus(Money.ofMinor(USD, 1));
+        assertTrue(back.isAmountMinorLong());
+        assertEquals(back, min);
+        assertEquals(back.hashCode(), min.hashCode());
+    }
+
+    public void test_plusMajor_overflow() {
+        Money test = Money.ofMinor(USD, 1).plusMajor(Long.MAX_VALUE);
+        assertFalse(test.isAmountMinorLong());
+        assertEquals(test.getAmount(), new BigDecimal(Long.MAX_VALUE + ".01"));
+        assertEquals(test.minusMajor(Long.MAX_VALUE), Money.ofMinor(USD, 1));
+    }
+
+    public void test_negated_minValue() {
+        Money min = Money.ofMinor(USD, Long.MIN_VALUE);
+        Money negated = min.negated();
+        assertFalse(negated.isAmountMinorLong());
+        assertEquals(negated.getAmount(), new BigDecimal("92233720368547758.08"));
+        assertEquals(min.abs(), negated);
+        assertEquals(negated.negated(), min);
+        assertTrue(negated.negated().isAmountMinorLong());
+    }
+
+    public void test_of_BigDecimal_normalised() {
+        Money test = Money.of(USD, new BigDecimal("-92233720368547758.08"));
+        assertTrue(test.isAmountMinorLong());
+        assertEquals(test, Money.ofMinor(USD, Long.MIN_VALUE));
+        Money big = Money.of(USD, new BigDecimal("-92233720368547758.09"));
+        assertFalse(big.isAmountMinorLong());
+        assertEquals(big.plusMinor(1), test);
+    }
+
+    public void test_multipliedBy_overflowThenDivideBack() {
+        Money test = Money.ofMinor(USD, Long.MAX_VALUE).multipliedBy(4);
+        assertFalse(test.isAmountMinorLong());
+        Money back = test.dividedBy(4, java.math.RoundingMode.UNNECESSARY);
+        assertTrue(back.isAmountMinorLong());
+        assertEquals(back, Money.ofMinor(USD, Long.MAX_VALUE));
+    }
+
+    public void test_serialization_big() throws Exception {
+        Money big = Money.ofMinor(USD, Long.MAX_VALUE).plusMinor(Long.MAX_VALUE);
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ObjectOutputStream oos = new ObjectOutputStream(baos);
+        oos.writeObject(big);
+        oos.close();
+        ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray()));
+        Money input = (Money) ois.readObject();
+        assertEquals(input, big);
+        assertFalse(input.isAmountMinorLong());
+    }
+
+}
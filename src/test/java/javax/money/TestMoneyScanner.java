@@ -0,0 +1,310 @@
+/*
+ *  Copyright 2009-2011 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package javax.money;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.math.BigDecimal;
+import java.nio.CharBuffer;
+import java.text.ParsePosition;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * Test MoneyScanner, via the parse methods of Money and BigMoney.
+ */
+@Test
+public class TestMoneyScanner {
+
+    private static final CurrencyUnit USD = CurrencyUnit.USD;
+    private static final CurrencyUnit JPY = CurrencyUnit.JPY;
+
+    //-----------------------------------------------------------------------
+    // amounts
+    //-----------------------------------------------------------------------
+    @DataProvider(name = "amounts")
+    Object[][] data_amounts() {
+        return new Object[][] {
+            {"0"},
+            {"12"},
+            {"12."},
+            {".5"},
+            {"+1"},
+            {"-1"},
+            {"-0.00"},
+            {"1.250"},
+            {"922337203685477580"},
+            {"9223372036854775807"},
+            {"9223372036854775808"},
+            {"-9223372036854775807"},
+            {"-9223372036854775808"},
+            {"-9223372036854775809"},
+            {"92233720368547758.07"},
+            {"92233720368547758.08"},
+            {"-92233720368547758.08"},
+            {"99999999999999999999"},
+            {"12345678901234567890123.4567890"},
+            {"0.0000000000000000000001"},
+            {"0000000000000000000000000001.5"},
+            {"+00000000000000000000000000"},
+        };
+    }
+
+    @Test(dataProvider = "amounts")
+    public void test_parse_BigMoney(String amount) {
+        BigMoney test = BigMoney.parse("USD " + amount);
+        assertSame(test.getCurrencyUnit(), USD);
+        assertEquals(test.getAmount(), new BigDecimal(amount));
+        assertEquals(test.getScale(), new BigDecimal(amount).scale());
+    }
+
+    @Test(dataProvider = "amounts")
+    public void test_parse_Money(String amount) {
+        BigDecimal expected = new BigDecimal(amount);
+        if (expected.scale() > 2 && expected.stripTrailingZeros().scale() > 2) {
+            try {
+                Money.parse("USD " + amount);
+                fail();
+            } catch (ArithmeticException ex) {
+                // expected
+            }
+        } else {
+            Money test = Money.parse("USD " + amount);
+            assertSame(test.getCurrencyUnit(), USD);
+            assertEquals(test.getAmount(), expected.setScale(2));
+        }
+    }
+
+    public void test_parse_longToBigDecimalSwitch() {
+        Money fits = Money.parse("USD 92233720368547758.07");
+        assertTrue(fits.isAmountMinorLong());
+        assertEquals(fits.getAmountMinorLong(), Long.MAX_VALUE);
+        Money beyond = Money.parse("USD 92233720368547758.08");
+        assertFalse(beyond.isAmountMinorLong());
+        assertEquals(beyond.getAmount(), new BigDecimal("92233720368547758.08"));
+        Money negative = Money.parse("USD -92233720368547758.08");
+        assertEquals(negative.getAmount(), new BigDecimal("-92233720368547758.08"));
+        assertEquals(Money.parse("USD 9223372036854775807").getAmount(), new BigDecimal("9223372036854775807.00"));
+    }
+
+    public void test_parse_wholeNumberCurrency() {
+        assertEquals(Money.parse("JPY 12."), Money.ofMinor(JPY, 12));
+        assertEquals(Money.parse("JPY 12.000"), Money.ofMinor(JPY, 12));
+        assertEquals(Money.parse("JPY -9223372036854775808"), Money.ofMinor(JPY, Long.MIN_VALUE));
+    }
+
+    @Test(expectedExceptions = ArithmeticException.class)
+    public void test_parse_Money_tooManyDecimalPlaces() {
+        Money.parse("USD 1.255");
+    }
+
+    @Test(expectedExceptions = ArithmeticException.class)
+    public void test_parse_Money_wholeNumberCurrencyFraction() {
+        Money.parse("JPY .5");
+    }
+
+    //-----------------------------------------------------------------------
+    // malformed
+    //-----------------------------------------------------------------------
+    @DataProvider(name = "malformed")
+    Object[][] data_malformed() {
+        return new Object[][] {
+            {"", 0},
+            {"USD", 3},
+            {"USD ", 4},
+            {"USD -", 5},
+            {"USD +", 5},
+            {"USD .", 5},
+            {"USD -.", 6},
+            {"USD 1.2.3", 7},
+            {"USD 1,000", 5},
+            {"USD  1", 4},
+            {"USD 1 ", 5},
+            {"USD --1", 5},
+            {"USD 1e5", 5},
+            {"USD-1", 3},
+            {"USD1.00", 3},
+            {"XXXX 1", 3},
+        };
+    }
+
+    @Test(dataProvider = "malformed")
+    public void test_parse_malformed(String text, int errorIndex) {
+        try {
+            Money.parse(text);
+            fail();
+        } catch (IllegalCurrencyException ex) {
+            fail();
+        } catch (IllegalArgumentException ex) {
+            assertEquals(ex.getMessage(), "Money '" + text + "' cannot be parsed at index " + errorIndex);
+        }
+        try {
+            BigMoney.parse(text);
+            fail();
+        } catch (IllegalCurrencyException ex) {
+            fail();
+        } catch (IllegalArgumentException ex) {
+            assertEquals(ex.getMessage(), "Money '" + text + "' cannot be parsed at index " + errorIndex);
+        }
+    }
+
+    @DataProvider(name = "unknownCurrency")
+    Object[][] data_unknownCurrency() {
+        return new Object[][] {
+            {"ZZZ 1.00", 0, "ZZZ"},
+            {"usd 1.00", 0, "usd"},
+            {"US$ 1", 0, "US$"},
+        };
+    }
+
+    @Test(dataProvider = "unknownCurrency")
+    public void test_parse_unknownCurrency(String text, int errorIndex, String code) {
+        try {
+            Money.parse(text);
+            fail();
+        } catch (IllegalCurrencyException ex) {
+            assertEquals(ex.getMessage(), "Unknown currency '" + code + "' in money '" + text + "' at index " + errorIndex);
+        }
+    }
+
+    public void test_parse_unknownCurrencyShortText() {
+        try {
+            Money.parse("ZZ");
+            fail();
+        } catch (IllegalCurrencyException ex) {
+            fail();
+        } catch (IllegalArgumentException ex) {
+            // expected
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    // parse(CharSequence,int)
+    //-----------------------------------------------------------------------
+    public void test_parse_CharSequence_offset() {
+        StringBuilder buf = new StringBuilder("amount=USD 12.50");
+        assertEquals(Money.parse(buf, 7), Money.parse("USD 12.50"));
+        assertEquals(BigMoney.parse(buf, 7), BigMoney.parse("USD 12.50"));
+        assertEquals(Money.parse(CharBuffer.wrap("xxUSD -1"), 2), Money.ofMinor(USD, -100));
+        assertEquals(Money.parse("xxUSD 9223372036854775808", 2).getAmount(), new BigDecimal("9223372036854775808.00"));
+    }
+
+    public void test_parse_CharSequence_offsetErrorIndex() {
+        try {
+            Money.parse("amount=USD 1.2.3", 7);
+            fail();
+        } catch (IllegalArgumentException ex) {
+            assertEquals(ex.getMessage(), "Money 'amount=USD 1.2.3' cannot be parsed at index 14");
+        }
+        try {
+            Money.parse("amount=ZZZ 1", 7);
+            fail();
+        } catch (IllegalCurrencyException ex) {
+            assertEquals(ex.getMessage(), "Unknown currency 'ZZZ' in money 'amount=ZZZ 1' at index 7");
+        }
+    }
+
+    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    public void test_parse_CharSequence_offsetNegative() {
+        Money.parse("USD 1", -1);
+    }
+
+    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    public void test_parse_CharSequence_offsetTooLarge() {
+        Money.parse("USD 1", 6);
+    }
+
+    public void test_parse_CharSequence_offsetAtEnd() {
+        try {
+            Money.parse("USD 1", 5);
+            fail();
+        } catch (IllegalArgumentException ex) {
+            assertEquals(ex.getMessage(), "Money 'USD 1' cannot be parsed at index 5");
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    // parse(CharSequence,ParsePosition)
+    //-----------------------------------------------------------------------
+    public void test_parse_ParsePosition() {
+        ParsePosition pos = new ParsePosition(0);
+        assertEquals(Money.parse("USD 12.50 and more", pos), Money.parse("USD 12.50"));
+        assertEquals(pos.getIndex(), 9);
+        assertEquals(pos.getErrorIndex(), -1);
+    }
+
+    public void test_parse_ParsePosition_sequence() {
+        String text = "USD 1.5,JPY -3,USD 9223372036854775808;";
+        ParsePosition pos = new ParsePosition(0);
+        assertEquals(BigMoney.parse(text, pos), BigMoney.parse("USD 1.5"));
+        assertEquals(pos.getIndex(), 7);
+        pos.setIndex(pos.getIndex() + 1);
+        assertEquals(Money.parse(text, pos), Money.ofMinor(JPY, -3));
+        assertEquals(pos.getIndex(), 14);
+        pos.setIndex(pos.getIndex() + 1);
+        assertEquals(BigMoney.parse(text, pos).getAmount(), new BigDecimal("9223372036854775808"));
+        assertEquals(pos.getIndex(), text.length() - 1);
+    }
+
+    public void test_parse_ParsePosition_stopsAtSecondPoint() {
+        ParsePosition pos = new ParsePosition(0);
+        assertEquals(BigMoney.parse("USD 1.2.3", pos), BigMoney.parse("USD 1.2"));
+        assertEquals(pos.getIndex(), 7);
+    }
+
+    @DataProvider(name = "positionErrors")
+    Object[][] data_positionErrors() {
+        return new Object[][] {
+            {"USD x", 0, 4},
+            {"USD -", 0, 5},
+            {"USD .x", 0, 5},
+            {"USD", 0, 3},
+            {"ZZZ 1", 0, 0},
+            {"USD-1", 0, 3},
+            {"ab USD ", 3, 7},
+            {"ab ZZZ 1", 3, 3},
+        };
+    }
+
+    @Test(dataProvider = "positionErrors")
+    public void test_parse_ParsePosition_error(String text, int index, int errorIndex) {
+        ParsePosition pos = new ParsePosition(index);
+        assertNull(Money.parse(text, pos));
+        assertEquals(pos.getIndex(), index);
+        assertEquals(pos.getErrorIndex(), errorIndex);
+        pos = new ParsePosition(index);
+        assertNull(BigMoney.parse(text, pos));
+        assertEquals(pos.getIndex(), index);
+        assertEquals(pos.getErrorIndex(), errorIndex);
+    }
+
+    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    public void test_parse_ParsePosition_badIndex() {
+        Money.parse("USD 1", new ParsePosition(6));
+    }
+
+    @Test(expectedExceptions = ArithmeticException.class)
+    public void test_parse_ParsePosition_tooManyDecimalPlaces() {
+        Money.parse("USD 1.255", new ParsePosition(0));
+    }
+
+}
@@ -0,0 +1,291 @@
+/*
+ *  Copyright 2009-2011 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package javax.money;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * Test MoneySummaryStatistics.
+ */
+@Test
+public class TestMoneySummaryStatistics {
+
+    private static final CurrencyUnit GBP = CurrencyUnit.GBP;
+    private static final CurrencyUnit USD = CurrencyUnit.USD;
+    private static final CurrencyUnit JPY = CurrencyUnit.JPY;
+
+    private static MoneySummaryStatistics summarize(CurrencyUnit currency, BigMoneyProvider... monies) {
+        MoneySummaryStatistics stats = new MoneySummaryStatistics(currency);
+        for (BigMoneyProvider money : monies) {
+            stats.accept(money);
+        }
+        return stats;
+    }
+
+    private static void assertStats(MoneySummaryStatistics test, long count, String sum, String min, String max) {
+        assertEquals(test.getCount(), count);
+        assertEquals(test.getSum(), BigMoney.parse(sum));
+        assertEquals(test.getMin(), min == null ? null : BigMoney.parse(min));
+        assertEquals(test.getMax(), max == null ? null : BigMoney.parse(max));
+    }
+
+    //-----------------------------------------------------------------------
+    // constructor
+    //-----------------------------------------------------------------------
+    public void test_constructor_empty() {
+        MoneySummaryStatistics test = new MoneySummaryStatistics(USD);
+        assertSame(test.getCurrencyUnit(), USD);
+        assertEquals(test.getCount(), 0L);
+        assertTrue(test.getSum().isZero());
+        assertNull(test.getMin());
+        assertNull(test.getMax());
+        assertTrue(test.getAverage(RoundingMode.UNNECESSARY).isZero());
+        assertSame(test.getAverage(RoundingMode.UNNECESSARY).getCurrencyUnit(), USD);
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void test_constructor_nullCurrency() {
+        new MoneySummaryStatistics((CurrencyUnit) null);
+    }
+
+    //-----------------------------------------------------------------------
+    // accept()
+    //-----------------------------------------------------------------------
+    public void test_accept() {
+        MoneySummaryStatistics test = summarize(USD,
+                Money.parse("USD 2.00"), Money.parse("USD -1.25"), Money.parse("USD 7.50"), Money.parse("USD 0.75"));
+        assertStats(test, 4, "USD 9.00", "USD -1.25", "USD 7.50");
+    }
+
+    public void test_accept_mixedScales_sumUsesLargestScale() {
+        MoneySummaryStatistics test = summarize(USD,
+                Money.parse("USD 1.00"), BigMoney.parse("USD 0.125"), BigMoney.parse("USD 3"));
+        assertStats(test, 3, "USD 4.125", "USD 0.125", "USD 3");
+        assertEquals(test.getSum().getScale(), 3);
+    }
+
+    public void test_accept_minMax_mixedMoneyAndBigMoney() {
+        MoneySummaryStatistics test = summarize(USD,
+                BigMoney.parse("USD 1.5"), Money.parse("USD 1.49"), BigMoney.parse("USD 1.501"), Money.parse("USD 1.50"));
+        assertEquals(test.getMin(), BigMoney.parse("USD 1.49"));
+        assertEquals(test.getMax(), BigMoney.parse("USD 1.501"));
+    }
+
+    public void test_accept_minMax_equalAmountsKeepFirstScale() {
+        MoneySummaryStatistics test = summarize(USD, BigMoney.parse("USD 1.5"), Money.parse("USD 1.50"), BigMoney.parse("USD 1.500"));
+        assertEquals(test.getMin(), BigMoney.parse("USD 1.5"));
+        assertEquals(test.getMax(), BigMoney.parse("USD 1.5"));
+        assertEquals(test.getMin().getScale(), 1);
+        assertEquals(test.getMax().getScale(), 1);
+
+        test = summarize(USD, Money.parse("USD 1.50"), BigMoney.parse("USD 1.5"));
+        assertEquals(test.getMin().getScale(), 2);
+        assertEquals(test.getMax().getScale(), 2);
+    }
+
+    @Test(expectedExceptions = CurrencyMismatchException.class)
+    public void test_accept_currencyMismatch() {
+        summarize(USD, Money.parse("USD 1.00"), Money.parse("GBP 1.00"));
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void test_accept_null() {
+        new MoneySummaryStatistics(USD).accept(null);
+    }
+
+    //-----------------------------------------------------------------------
+    // getAverage()
+    //-----------------------------------------------------------------------
+    @DataProvider(name = "average")
+    Object[][] data_average() {
+        return new Object[][] {
+            {new String[] {"USD 1.00", "USD 2.00", "USD 2.00"}, RoundingMode.HALF_EVEN, "USD 1.67"},
+            {new String[] {"USD 1.00", "USD 2.00", "USD 2.00"}, RoundingMode.DOWN, "USD 1.66"},
+            {new String[] {"USD 1.00", "USD 2.00", "USD 2.00"}, RoundingMode.UP, "USD 1.67"},
+            {new String[] {"USD -1.00", "USD -2.00", "USD -2.00"}, RoundingMode.FLOOR, "USD -1.67"},
+            {new String[] {"USD -1.00", "USD -2.00", "USD -2.00"}, RoundingMode.CEILING, "USD -1.66"},
+            {new String[] {"JPY 1", "JPY 2"}, RoundingMode.HALF_EVEN, "JPY 2"},
+            {new String[] {"JPY 1", "JPY 4"}, RoundingMode.HALF_EVEN, "JPY 2"},
+            {new String[] {"JPY 1", "JPY 4"}, RoundingMode.HALF_UP, "JPY 3"},
+            {new String[] {"JPY 1", "JPY 4"}, RoundingMode.DOWN, "JPY 2"},
+            {new String[] {"USD 1.00", "USD 3.00"}, RoundingMode.UNNECESSARY, "USD 2.00"},
+            {new String[] {"USD 1.005", "USD 2"}, RoundingMode.HALF_EVEN, "USD 1.502"},
+            {new String[] {"USD 1.005", "USD 2"}, RoundingMode.HALF_UP, "USD 1.503"},
+            {new String[] {"USD 3.25"}, RoundingMode.UNNECESSARY, "USD 3.25"},
+        };
+    }
+
+    @Test(dataProvider = "average")
+    public void test_getAverage(String[] amounts, RoundingMode roundingMode, String expected) {
+        MoneySummaryStatistics test = new MoneySummaryStatistics(BigMoney.parse(amounts[0]).getCurrencyUnit());
+        for (String amount : amounts) {
+            test.accept(BigMoney.parse(amount));
+        }
+        BigMoney average = test.getAverage(roundingMode);
+        assertEquals(average, BigMoney.parse(expected));
+        assertEquals(average.getScale(), test.getSum().getScale());
+    }
+
+    @Test(expectedExceptions = ArithmeticException.class)
+    public void test_getAverage_unnecessaryInexact() {
+        summarize(USD, Money.parse("USD 1.00"), Money.parse("USD 2.00"), Money.parse("USD 2.00"))
+            .getAverage(RoundingMode.UNNECESSARY);
+    }
+
+    //-----------------------------------------------------------------------
+    // combine(MoneySummaryStatistics)
+    //-----------------------------------------------------------------------
+    public void test_combine_intoEmpty() {
+        MoneySummaryStatistics source = summarize(USD, Money.parse("USD 2.00"), BigMoney.parse("USD -0.5"), Money.parse("USD 4.00"));
+        MoneySummaryStatistics test = new MoneySummaryStatistics(USD);
+        test.combine(source);
+        assertStats(test, 3, "USD 5.50", "USD -0.5", "USD 4.00");
+        assertEquals(test.getMin().getScale(), 1);
+        assertStats(source, 3, "USD 5.50", "USD -0.5", "USD 4.00");
+    }
+
+    public void test_combine_emptyIntoFull() {
+        MoneySummaryStatistics test = summarize(USD, Money.parse("USD 2.00"), Money.parse("USD 4.00"));
+        test.combine(new MoneySummaryStatistics(USD));
+        assertStats(test, 2, "USD 6.00", "USD 2.00", "USD 4.00");
+    }
+
+    public void test_combine_emptyIntoEmpty() {
+        MoneySummaryStatistics test = new MoneySummaryStatistics(USD);
+        test.combine(new MoneySummaryStatistics(USD));
+        assertEquals(test.getCount(), 0L);
+        assertTrue(test.getSum().isZero());
+        assertNull(test.getMin());
+        assertNull(test.getMax());
+    }
+
+    public void test_combine_matchesSingleSummary() {
+        MoneySummaryStatistics test = summarize(USD, Money.parse("USD 3.00"), Money.parse("USD 5.00"));
+        test.combine(summarize(USD, Money.parse("USD 1.00"), Money.parse("USD 9.00"), BigMoney.parse("USD 0.001")));
+        MoneySummaryStatistics expected = summarize(USD,
+                Money.parse("USD 3.00"), Money.parse("USD 5.00"),
+                Money.parse("USD 1.00"), Money.parse("USD 9.00"), BigMoney.parse("USD 0.001"));
+        assertStats(test, expected.getCount(), expected.getSum().toString(),
+                expected.getMin().toString(), expected.getMax().toString());
+        assertEquals(test.getAverage(RoundingMode.HALF_EVEN), expected.getAverage(RoundingMode.HALF_EVEN));
+    }
+
+    @Test(expectedExceptions = CurrencyMismatchException.class)
+    public void test_combine_currencyMismatch() {
+        new MoneySummaryStatistics(USD).combine(summarize(GBP, Money.parse("GBP 1.00")));
+    }
+
+    //-----------------------------------------------------------------------
+    // groupingByCurrency()
+    //-----------------------------------------------------------------------
+    public void test_groupingByCurrency() {
+        CurrencyMap<MoneySummaryStatistics> test = MoneySummaryStatistics.groupingByCurrency(Arrays.<BigMoneyProvider>asList(
+                Money.parse("USD 1.00"), Money.parse("GBP 2.00"), BigMoney.parse("USD 3.5"), Money.parse("JPY 100")));
+        assertEquals(test.size(), 3);
+        assertStats(test.get(USD), 2, "USD 4.50", "USD 1.00", "USD 3.5");
+        assertStats(test.get(GBP), 1, "GBP 2.00", "GBP 2.00", "GBP 2.00");
+        assertStats(test.get(JPY), 1, "JPY 100", "JPY 100", "JPY 100");
+    }
+
+    public void test_groupingByCurrency_empty() {
+        CurrencyMap<MoneySummaryStatistics> test = MoneySummaryStatistics.groupingByCurrency(new ArrayList<Money>());
+        assertTrue(test.isEmpty());
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void test_groupingByCurrency_null() {
+        MoneySummaryStatistics.groupingByCurrency(null);
+    }
+
+    //-----------------------------------------------------------------------
+    // combine(CurrencyMap, CurrencyMap)
+    //-----------------------------------------------------------------------
+    public void test_combine_static_afterGrouping() {
+        List<BigMoneyProvider> first = Arrays.<BigMoneyProvider>asList(
+                Money.parse("USD 1.00"), Money.parse("GBP 2.00"), Money.parse("USD -4.00"));
+        List<BigMoneyProvider> second = Arrays.<BigMoneyProvider>asList(
+                Money.parse("GBP 7.00"), Money.parse("JPY 300"), BigMoney.parse("GBP 0.125"));
+        CurrencyMap<MoneySummaryStatistics> target = MoneySummaryStatistics.groupingByCurrency(first);
+        CurrencyMap<MoneySummaryStatistics> source = MoneySummaryStatistics.groupingByCurrency(second);
+        MoneySummaryStatistics sourceGbp = source.get(GBP);
+
+        CurrencyMap<MoneySummaryStatistics> test = MoneySummaryStatistics.combine(target, source);
+        assertSame(test, target);
+        assertEquals(test.size(), 3);
+        assertStats(test.get(USD), 2, "USD -3.00", "USD -4.00", "USD 1.00");
+        assertStats(test.get(GBP), 3, "GBP 9.125", "GBP 0.125", "GBP 7.00");
+        assertStats(test.get(JPY), 1, "JPY 300", "JPY 300", "JPY 300");
+
+        // source unaffected
+        assertEquals(source.size(), 2);
+        assertSame(source.get(GBP), sourceGbp);
+        assertStats(sourceGbp, 2, "GBP 7.125", "GBP 0.125", "GBP 7.00");
+        assertTrue(test.get(JPY) != source.get(JPY));
+
+        // same as grouping all at once
+        List<BigMoneyProvider> all = new ArrayList<BigMoneyProvider>(first);
+        all.addAll(second);
+        CurrencyMap<MoneySummaryStatistics> expected = MoneySummaryStatistics.groupingByCurrency(all);
+        assertTrue(expected.keySet().equals(test.keySet()));
+        for (CurrencyUnit currency : expected.keySet()) {
+            assertEquals(test.get(currency).toString(), expected.get(currency).toString());
+        }
+    }
+
+    public void test_combine_static_emptySource() {
+        CurrencyMap<MoneySummaryStatistics> target = MoneySummaryStatistics.groupingByCurrency(
+                Arrays.<BigMoneyProvider>asList(Money.parse("USD 1.00")));
+        MoneySummaryStatistics.combine(target, new CurrencyMap<MoneySummaryStatistics>());
+        assertEquals(target.size(), 1);
+        assertStats(target.get(USD), 1, "USD 1.00", "USD 1.00", "USD 1.00");
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void test_combine_static_nullTarget() {
+        MoneySummaryStatistics.combine(null, new CurrencyMap<MoneySummaryStatistics>());
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void test_combine_static_nullSource() {
+        MoneySummaryStatistics.combine(new CurrencyMap<MoneySummaryStatistics>(), null);
+    }
+
+    //-----------------------------------------------------------------------
+    // toString()
+    //-----------------------------------------------------------------------
+    public void test_toString() {
+        MoneySummaryStatistics test = summarize(USD, Money.parse("USD 2.00"), BigMoney.parse("USD -0.5"));
+        assertEquals(test.toString(), "MoneySummaryStatistics[USD,count=2,sum=1.50,min=-0.5,max=2.00]");
+    }
+
+    public void test_toString_empty() {
+        MoneySummaryStatistics test = new MoneySummaryStatistics(JPY);
+        assertTrue(test.toString().startsWith("MoneySummaryStatistics[JPY,count=0,sum="));
+        assertTrue(test.toString().endsWith(",min=,max=]"));
+    }
+
+}
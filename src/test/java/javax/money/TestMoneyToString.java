@@ -0,0 +1,156 @@
+/*
+ *  Copyright 2009-2011 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package javax.money;
+
+import static org.testng.Assert.assertEquals;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * Test the string output of Money and BigMoney, checking the results against {@code BigDecimal}.
+ */
+@Test
+public class TestMoneyToString {
+
+    private static final CurrencyUnit USD = CurrencyUnit.USD;
+    private static final CurrencyUnit JPY = CurrencyUnit.JPY;
+    private static final CurrencyUnit BHD = CurrencyUnit.of("BHD");
+
+    private static final long[] UNSCALED = {
+        0L, 1L, -1L, 7L, -9L, 10L, 99L, -100L, 12345L, -1234567L,
+        100000000000000000L, 999999999999999999L, -999999999999999999L,
+        Long.MAX_VALUE, Long.MIN_VALUE, Long.MAX_VALUE - 1, Long.MIN_VALUE + 1,
+    };
+
+    @DataProvider(name = "unscaled")
+    Object[][] data_unscaled() {
+        Object[][] data = new Object[UNSCALED.length][];
+        for (int i = 0; i < UNSCALED.length; i++) {
+            data[i] = new Object[] {UNSCALED[i]};
+        }
+        return data;
+    }
+
+    /**
+     * Checks all forms of output against the code and {@code BigDecimal.toPlainString()}.
+     */
+    private static void assertOutput(BigMoneyProvider money, String code, BigDecimal amount) throws IOException {
+        String expected = code + " " + amount.toPlainString();
+        assertEquals(money.toString(), expected);
+        if (money instanceof Money) {
+            Money test = (Money) money;
+            assertEquals(test.appendTo(new StringBuilder("<")).toString(), "<" + expected);
+            StringWriter writer = new StringWriter();
+            writer.write('<');
+            test.appendTo(writer);
+            assertEquals(writer.toString(), "<" + expected);
+            StringBuilder buf = new StringBuilder("<");
+            test.appendTo((Appendable) buf);
+            assertEquals(buf.toString(), "<" + expected);
+            StringBuffer sbuf = new StringBuffer("<");
+            test.appendTo(sbuf);
+            assertEquals(sbuf.toString(), "<" + expected);
+        } else {
+            BigMoney test = (BigMoney) money;
+            assertEquals(test.appendTo(new StringBuilder("<")).toString(), "<" + expected);
+            StringWriter writer = new StringWriter();
+            writer.write('<');
+            test.appendTo(writer);
+            assertEquals(writer.toString(), "<" + expected);
+            StringBuilder buf = new StringBuilder("<");
+            test.appendTo((Appendable) buf);
+            assertEquals(buf.toString(), "<" + expected);
+            StringBuffer sbuf = new StringBuffer("<");
+            test.appendTo(sbuf);
+            assertEquals(sbuf.toString(), "<" + expected);
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    // BigMoney.toString() and appendTo()
+    //-----------------------------------------------------------------------
+    @Test(dataProvider = "unscaled")
+    public void test_BigMoney_allScales(long unscaled) throws IOException {
+        for (int scale = 0; scale <= 18; scale++) {
+            BigDecimal amount = BigDecimal.valueOf(unscaled, scale);
+            assertOutput(BigMoney.of(USD, amount), "USD", amount);
+        }
+    }
+
+    @Test(dataProvider = "unscaled")
+    public void test_BigMoney_outsideCompactScales(long unscaled) throws IOException {
+        int[] scales = {-3, -1, 19, 25};
+        for (int scale : scales) {
+            BigDecimal amount = BigDecimal.valueOf(unscaled, scale);
+            assertOutput(BigMoney.of(USD, amount), "USD", amount);
+        }
+    }
+
+    public void test_BigMoney_beyondLong() throws IOException {
+        BigDecimal amount = new BigDecimal(new BigInteger("-123456789012345678901234567890"), 4);
+        assertOutput(BigMoney.of(JPY, amount), "JPY", amount);
+    }
+
+    public void test_BigMoney_ofMinor_minValue() throws IOException {
+        assertOutput(BigMoney.ofMinor(USD, Long.MIN_VALUE), "USD", new BigDecimal("-92233720368547758.08"));
+        assertOutput(BigMoney.ofMinor(BHD, Long.MIN_VALUE), "BHD", new BigDecimal("-9223372036854775.808"));
+    }
+
+    //-----------------------------------------------------------------------
+    // Money.toString() and appendTo()
+    //-----------------------------------------------------------------------
+    @Test(dataProvider = "unscaled")
+    public void test_Money_ofMinor(long unscaled) throws IOException {
+        assertOutput(Money.ofMinor(USD, unscaled), "USD", BigDecimal.valueOf(unscaled, 2));
+        assertOutput(Money.ofMinor(JPY, unscaled), "JPY", BigDecimal.valueOf(unscaled, 0));
+        assertOutput(Money.ofMinor(BHD, unscaled), "BHD", BigDecimal.valueOf(unscaled, 3));
+    }
+
+    public void test_Money_beyondLong() throws IOException {
+        BigDecimal amount = new BigDecimal("-123456789012345678901234567890.12");
+        assertOutput(Money.of(USD, amount), "USD", amount);
+    }
+
+    //-----------------------------------------------------------------------
+    // null checks
+    //-----------------------------------------------------------------------
+    @Test(expectedExceptions = NullPointerException.class)
+    public void test_BigMoney_appendTo_nullStringBuilder() {
+        BigMoney.ofMinor(USD, 1).appendTo((StringBuilder) null);
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void test_BigMoney_appendTo_nullAppendable() throws IOException {
+        BigMoney.ofMinor(USD, 1).appendTo((Appendable) null);
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void test_Money_appendTo_nullStringBuilder() {
+        Money.ofMinor(USD, 1).appendTo((StringBuilder) null);
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void test_Money_appendTo_nullAppendable() throws IOException {
+        Money.ofMinor(USD, 1).appendTo((Appendable) null);
+    }
+
+}
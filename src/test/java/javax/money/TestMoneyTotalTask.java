@@ -0,0 +1,198 @@
+/*
+ *  Copyright 2009-2011 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package javax.money;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import org.testng.annotations.Test;
+
+/**
+ * Test MoneyTotalTask, via the parallel totals of Money and BigMoney.
+ */
+@Test
+public class TestMoneyTotalTask {
+
+    private static final CurrencyUnit GBP = CurrencyUnit.GBP;
+    private static final CurrencyUnit USD = CurrencyUnit.USD;
+    private static final int SIZE = MoneyTotalTask.THRESHOLD * 4 + 17;
+
+    private static void assertSameTotal(CurrencyUnit currency, List<Money> monies) {
+        Money sequential = Money.total(currency, monies);
+        Money parallel = Money.totalParallel(currency, monies);
+        assertEquals(parallel, sequential);
+        assertEquals(parallel.getAmount(), sequential.getAmount());
+        assertEquals(parallel.isAmountMinorLong(), sequential.isAmountMinorLong());
+        assertEquals(parallel.toString(), sequential.toString());
+    }
+
+    private static void assertSameBigTotal(CurrencyUnit currency, List<? extends BigMoneyProvider> monies) {
+        BigMoney sequential = BigMoney.total(currency, monies);
+        BigMoney parallel = BigMoney.totalParallel(currency, monies);
+        assertEquals(parallel, sequential);
+        assertEquals(parallel.getAmount(), sequential.getAmount());
+        assertEquals(parallel.getScale(), sequential.getScale());
+        assertEquals(parallel.toString(), sequential.toString());
+    }
+
+    private static List<Money> randomMonies(long seed, int size) {
+        Random random = new Random(seed);
+        List<Money> monies = new ArrayList<Money>(size);
+        for (int i = 0; i < size; i++) {
+            monies.add(Money.ofMinor(USD, random.nextInt() - random.nextInt()));
+        }
+        return monies;
+    }
+
+    //-----------------------------------------------------------------------
+    // small
+    //-----------------------------------------------------------------------
+    public void test_total_small() {
+        assertSameTotal(USD, Collections.<Money>emptyList());
+        assertSameTotal(USD, randomMonies(1, 10));
+        assertSameTotal(USD, randomMonies(2, MoneyTotalTask.THRESHOLD));
+        assertEquals(Money.totalParallel(USD, Collections.<Money>emptyList()), Money.zero(USD));
+    }
+
+    //-----------------------------------------------------------------------
+    // above the threshold
+    //-----------------------------------------------------------------------
+    public void test_total_large() {
+        assertSameTotal(USD, randomMonies(3, MoneyTotalTask.THRESHOLD + 1));
+        assertSameTotal(USD, randomMonies(4, SIZE));
+    }
+
+    public void test_total_longOverflow() {
+        List<Money> monies = new ArrayList<Money>(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            monies.add(Money.ofMinor(USD, Long.MAX_VALUE - i));
+        }
+        assertSameTotal(USD, monies);
+        BigDecimal expected = BigDecimal.valueOf(Long.MAX_VALUE).multiply(BigDecimal.valueOf(SIZE))
+                .subtract(BigDecimal.valueOf((long) SIZE * (SIZE - 1) / 2)).movePointLeft(2);
+        assertEquals(Money.totalParallel(USD, monies).getAmount(), expected);
+    }
+
+    public void test_total_longOverflowCancelled() {
+        // each half overflows, but the total is back in range
+        int half = SIZE / 2;
+        List<Money> monies = new ArrayList<Money>(half * 2 + 1);
+        for (int i = 0; i < half; i++) {
+            monies.add(Money.ofMinor(USD, Long.MAX_VALUE));
+        }
+        for (int i = 0; i < half; i++) {
+            monies.add(Money.ofMinor(USD, -Long.MAX_VALUE));
+        }
+        monies.add(Money.ofMinor(USD, 7));
+        assertSameTotal(USD, monies);
+        assertEquals(Money.totalParallel(USD, monies), Money.ofMinor(USD, 7));
+        assertTrue(Money.totalParallel(USD, monies).isAmountMinorLong());
+    }
+
+    public void test_total_BigMoney_mixedScales() {
+        Random random = new Random(5);
+        List<BigMoney> monies = new ArrayList<BigMoney>(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            int scale = (i == SIZE - 3 ? 9 : random.nextInt(5));
+            monies.add(BigMoney.of(USD, BigDecimal.valueOf(random.nextInt(), scale)));
+        }
+        assertSameBigTotal(USD, monies);
+        assertEquals(BigMoney.totalParallel(USD, monies).getScale(), 9);
+    }
+
+    public void test_total_BigMoney_mixedScalesInFirstChunk() {
+        List<BigMoneyProvider> monies = new ArrayList<BigMoneyProvider>(SIZE);
+        monies.add(BigMoney.of(USD, new BigDecimal("0.0000001")));
+        for (int i = 1; i < SIZE; i++) {
+            monies.add(i % 2 == 0 ? Money.ofMinor(USD, i) : BigMoney.of(USD, BigDecimal.valueOf(i)));
+        }
+        assertSameBigTotal(USD, monies);
+    }
+
+    public void test_total_BigMoney_scaleOverflow() {
+        List<BigMoney> monies = new ArrayList<BigMoney>(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            monies.add(BigMoney.of(USD, BigDecimal.valueOf(Long.MAX_VALUE - i, i % 20)));
+        }
+        assertSameBigTotal(USD, monies);
+    }
+
+    public void test_total_nonRandomAccess() {
+        List<Money> monies = new LinkedList<Money>(randomMonies(6, SIZE));
+        assertSameTotal(USD, monies);
+        assertEquals(Money.totalParallel(USD, monies), Money.total(USD, new ArrayList<Money>(monies)));
+    }
+
+    public void test_total_inForkJoinPool() throws Exception {
+        final List<Money> monies = randomMonies(7, SIZE);
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            Money parallel = pool.submit(ForkJoinTask.adapt(new Callable<Money>() {
+                public Money call() {
+                    return Money.totalParallel(USD, monies);
+                }
+            })).get();
+            assertEquals(parallel, Money.total(USD, monies));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    // currency mismatch
+    //-----------------------------------------------------------------------
+    @Test(expectedExceptions = CurrencyMismatchException.class)
+    public void test_total_mismatchLaterChunk() {
+        List<Money> monies = randomMonies(8, SIZE);
+        monies.set(SIZE - 2, Money.ofMinor(GBP, 1));
+        Money.totalParallel(USD, monies);
+    }
+
+    @Test(expectedExceptions = CurrencyMismatchException.class)
+    public void test_total_mismatchLaterChunk_sequential() {
+        List<Money> monies = randomMonies(8, SIZE);
+        monies.set(SIZE - 2, Money.ofMinor(GBP, 1));
+        Money.total(USD, monies);
+    }
+
+    @Test(expectedExceptions = CurrencyMismatchException.class)
+    public void test_total_BigMoney_mismatchLaterChunk() {
+        List<BigMoney> monies = new ArrayList<BigMoney>(Arrays.asList(new BigMoney[SIZE]));
+        for (int i = 0; i < SIZE; i++) {
+            monies.set(i, BigMoney.of(i == SIZE / 2 + 1 ? GBP : USD, BigDecimal.valueOf(i, i % 3)));
+        }
+        BigMoney.totalParallel(USD, monies);
+    }
+
+    @Test(expectedExceptions = CurrencyMismatchException.class)
+    public void test_total_mismatchNonRandomAccess() {
+        List<Money> monies = new LinkedList<Money>(randomMonies(9, SIZE));
+        monies.add(Money.ofMinor(GBP, 1));
+        Money.totalParallel(USD, monies);
+    }
+
+}
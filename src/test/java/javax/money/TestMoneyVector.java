@@ -0,0 +1,433 @@
+/*
+ *  Copyright 2009-2011 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package javax.money;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * Test MoneyVector.
+ */
+@Test
+public class TestMoneyVector {
+
+    private static final CurrencyUnit GBP = CurrencyUnit.GBP;
+    private static final CurrencyUnit USD = CurrencyUnit.USD;
+    private static final CurrencyUnit JPY = CurrencyUnit.JPY;
+
+    private static final long MAX = Long.MAX_VALUE;
+    private static final long MIN = Long.MIN_VALUE;
+
+    private static void assertAmounts(MoneyVector test, long... expected) {
+        assertEquals(Arrays.toString(test.toUnscaledArray()), Arrays.toString(expected));
+    }
+
+    private static void assertMask(boolean[] test, boolean... expected) {
+        assertEquals(Arrays.toString(test), Arrays.toString(expected));
+    }
+
+    private static MoneyVector halvedMixed() {
+        MoneyVector test = MoneyVector.of(Arrays.asList(Money.parse("JPY 3"), Money.parse("USD 1.00"), Money.parse("JPY 5")));
+        return test.multipliedBy(new BigDecimal("0.5"), RoundingMode.HALF_EVEN);
+    }
+
+    //-----------------------------------------------------------------------
+    // of(List)
+    //-----------------------------------------------------------------------
+    public void test_of_singleCurrency() {
+        MoneyVector test = MoneyVector.of(Arrays.asList(Money.parse("GBP 1.25"), BigMoney.parse("GBP 2.5")));
+        assertTrue(test.isSingleCurrency());
+        assertEquals(test.size(), 2);
+        assertEquals(test.getScale(), 2);
+        assertAmounts(test, 125, 250);
+        assertSame(test.getCurrencyUnit(1), GBP);
+        assertEquals(test, MoneyVector.ofMinor(GBP, new long[] {125, 250}));
+    }
+
+    public void test_of_mixedCurrencies() {
+        MoneyVector test = MoneyVector.of(Arrays.asList(Money.parse("JPY 3"), Money.parse("USD 1.25"), Money.parse("JPY -7")));
+        assertFalse(test.isSingleCurrency());
+        assertEquals(test.getScale(), 2);
+        assertAmounts(test, 300, 125, -700);
+        assertSame(test.getCurrencyUnit(0), JPY);
+        assertSame(test.getCurrencyUnit(1), USD);
+        assertSame(test.getCurrencyUnit(2), JPY);
+        assertEquals(test.get(0), Money.parse("JPY 3"));
+        assertEquals(test.get(2), Money.parse("JPY -7"));
+        assertEquals(test.toString(), "MoneyVector[mixed,size=3,scale=2]");
+    }
+
+    @Test(expectedExceptions = ArithmeticException.class)
+    public void test_of_mixedCurrenciesTooLarge() {
+        MoneyVector.of(Arrays.asList(Money.ofMinor(JPY, MAX / 10), Money.parse("USD 1.25")));
+    }
+
+    @Test(expectedExceptions = ArithmeticException.class)
+    public void test_of_scaleTooLarge() {
+        MoneyVector.of(Arrays.asList(BigMoney.parse("GBP 1.255")));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void test_of_empty() {
+        MoneyVector.of(Arrays.<Money>asList());
+    }
+
+    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    public void test_getCurrencyUnit_badIndex() {
+        MoneyVector.ofMinor(GBP, new long[] {1}).getCurrencyUnit(1);
+    }
+
+    //-----------------------------------------------------------------------
+    // arithmetic
+    //-----------------------------------------------------------------------
+    public void test_plus_minus() {
+        MoneyVector a = MoneyVector.ofMinor(GBP, new long[] {1, MAX - 1, MIN});
+        MoneyVector b = MoneyVector.ofMinor(GBP, new long[] {2, 1, 0});
+        assertAmounts(a.plus(b), 3, MAX, MIN);
+        assertAmounts(a.minus(b), -1, MAX - 2, MIN);
+    }
+
+    public void test_plus_mixedCurrencies() {
+        MoneyVector a = MoneyVector.of(Arrays.asList(Money.parse("JPY 3"), Money.parse("USD 1.25")));
+        MoneyVector b = MoneyVector.of(Arrays.asList(Money.parse("JPY 4"), Money.parse("USD 0.05")));
+        assertEquals(a.plus(b).toMonies(), Arrays.asList(Money.parse("JPY 7"), Money.parse("USD 1.30")));
+        assertEquals(a.minus(b).toMonies(), Arrays.asList(Money.parse("JPY -1"), Money.parse("USD 1.20")));
+    }
+
+    @Test(expectedExceptions = CurrencyMismatchException.class)
+    public void test_plus_mixedCurrenciesDifferentOrder() {
+        MoneyVector a = MoneyVector.of(Arrays.asList(Money.parse("JPY 3"), Money.parse("USD 1.25")));
+        MoneyVector b = MoneyVector.of(Arrays.asList(Money.parse("USD 1.25"), Money.parse("JPY 3")));
+        a.plus(b);
+    }
+
+    @Test(expectedExceptions = CurrencyMismatchException.class)
+    public void test_plus_singleAndMixed() {
+        MoneyVector a = MoneyVector.of(Arrays.asList(Money.parse("USD 3.00"), Money.parse("USD 1.25")));
+        MoneyVector b = MoneyVector.of(Arrays.asList(Money.parse("JPY 3"), Money.parse("USD 1.25")));
+        a.plus(b);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void test_plus_sizesDiffer() {
+        MoneyVector.ofMinor(GBP, new long[] {1}).plus(MoneyVector.ofMinor(GBP, new long[] {1, 2}));
+    }
+
+    @DataProvider(name = "overflow")
+    Object[][] data_overflow() {
+        return new Object[][] {
+            {new long[] {0, MAX}, new long[] {0, 1}},
+            {new long[] {MIN, 0}, new long[] {-1, 0}},
+            {new long[] {MAX / 2 + 1, 1}, new long[] {MAX / 2 + 1, 0}},
+        };
+    }
+
+    @Test(dataProvider = "overflow", expectedExceptions = ArithmeticException.class)
+    public void test_plus_overflow(long[] a, long[] b) {
+        MoneyVector.ofMinor(GBP, a).plus(MoneyVector.ofMinor(GBP, b));
+    }
+
+    @Test(dataProvider = "overflow", expectedExceptions = ArithmeticException.class)
+    public void test_minus_overflow(long[] a, long[] b) {
+        long[] negated = new long[b.length];
+        for (int i = 0; i < b.length; i++) {
+            negated[i] = -b[i];
+        }
+        MoneyVector.ofMinor(GBP, a).minus(MoneyVector.ofMinor(GBP, negated));
+    }
+
+    public void test_minus_noOverflowAtLimit() {
+        MoneyVector test = MoneyVector.ofMinor(GBP, new long[] {-1, 0});
+        assertAmounts(test.minus(MoneyVector.ofMinor(GBP, new long[] {MAX, MAX})), MIN, -MAX);
+    }
+
+    public void test_negated() {
+        MoneyVector test = MoneyVector.ofMinor(GBP, new long[] {1, -2, 0, MAX, -MAX});
+        assertAmounts(test.negated(), -1, 2, 0, -MAX, MAX);
+        assertEquals(test.negated().negated(), test);
+    }
+
+    @Test(expectedExceptions = ArithmeticException.class)
+    public void test_negated_overflow() {
+        MoneyVector.ofMinor(GBP, new long[] {1, MIN, 2}).negated();
+    }
+
+    public void test_multipliedBy_long() {
+        MoneyVector test = MoneyVector.ofMinor(GBP, new long[] {1, -2, MAX / 3});
+        assertAmounts(test.multipliedBy(3), 3, -6, MAX / 3 * 3);
+        assertAmounts(test.multipliedBy(0), 0, 0, 0);
+        assertSame(test.multipliedBy(1), test);
+        assertAmounts(MoneyVector.ofMinor(GBP, new long[] {0}).multipliedBy(MIN), 0);
+        assertAmounts(MoneyVector.ofMinor(GBP, new long[] {-MAX}).multipliedBy(-1), MAX);
+    }
+
+    @DataProvider(name = "multiplyOverflow")
+    Object[][] data_multiplyOverflow() {
+        return new Object[][] {
+            {new long[] {1, MAX / 3 + 1}, 3},
+            {new long[] {1, -(MAX / 3) - 1}, 3},
+            {new long[] {1, MAX / 3 + 1}, -3},
+            {new long[] {MIN}, -1},
+            {new long[] {1}, MIN},
+            {new long[] {-1}, MIN},
+            {new long[] {2}, MAX},
+        };
+    }
+
+    @Test(dataProvider = "multiplyOverflow", expectedExceptions = ArithmeticException.class)
+    public void test_multipliedBy_long_overflow(long[] amounts, long value) {
+        MoneyVector.ofMinor(GBP, amounts).multipliedBy(value);
+    }
+
+    public void test_multipliedBy_BigDecimal() {
+        MoneyVector test = MoneyVector.ofMinor(GBP, new long[] {100, -101, 3});
+        assertAmounts(test.multipliedBy(new BigDecimal("1.5"), RoundingMode.HALF_EVEN), 150, -152, 4);
+        assertAmounts(test.multipliedBy(new BigDecimal("2.00"), RoundingMode.UNNECESSARY), 200, -202, 6);
+        assertAmounts(test.multipliedBy(new BigDecimal("0.5"), RoundingMode.DOWN), 50, -50, 1);
+    }
+
+    @Test(expectedExceptions = ArithmeticException.class)
+    public void test_multipliedBy_BigDecimal_overflow() {
+        MoneyVector.ofMinor(GBP, new long[] {1, MAX / 10}).multipliedBy(new BigDecimal("1.5"), RoundingMode.HALF_EVEN);
+    }
+
+    @Test(expectedExceptions = ArithmeticException.class)
+    public void test_multipliedBy_BigDecimal_integralOverflow() {
+        MoneyVector.ofMinor(GBP, new long[] {1, MAX / 2}).multipliedBy(new BigDecimal("3.0"), RoundingMode.HALF_EVEN);
+    }
+
+    @Test(expectedExceptions = ArithmeticException.class)
+    public void test_multipliedBy_BigDecimal_tooPrecise() {
+        MoneyVector.ofMinor(GBP, new long[] {1}).multipliedBy(new BigDecimal("1.0000000000000000001"), RoundingMode.HALF_EVEN);
+    }
+
+    @Test(expectedExceptions = ArithmeticException.class)
+    public void test_multipliedBy_BigDecimal_roundingNecessary() {
+        MoneyVector.ofMinor(GBP, new long[] {3}).multipliedBy(new BigDecimal("0.5"), RoundingMode.UNNECESSARY);
+    }
+
+    public void test_rounded() {
+        MoneyVector test = MoneyVector.ofMinor(GBP, new long[] {125, -125, 149});
+        assertAmounts(test.rounded(1, RoundingMode.HALF_EVEN), 120, -120, 150);
+        assertAmounts(test.rounded(0, RoundingMode.FLOOR), 100, -200, 100);
+        assertAmounts(test.rounded(-1, RoundingMode.HALF_UP), 0, 0, 0);
+        assertSame(test.rounded(2, RoundingMode.UNNECESSARY), test);
+        assertAmounts(MoneyVector.ofMinor(GBP, new long[] {MIN}).rounded(1, RoundingMode.DOWN), MIN / 10 * 10);
+    }
+
+    @DataProvider(name = "roundedOverflow")
+    Object[][] data_roundedOverflow() {
+        return new Object[][] {
+            {MAX, RoundingMode.UP},
+            {MAX, RoundingMode.CEILING},
+            {MIN, RoundingMode.FLOOR},
+            {MIN, RoundingMode.UP},
+        };
+    }
+
+    @Test(dataProvider = "roundedOverflow", expectedExceptions = ArithmeticException.class)
+    public void test_rounded_overflow(long amount, RoundingMode roundingMode) {
+        MoneyVector.ofMinor(GBP, new long[] {0, amount}).rounded(1, roundingMode);
+    }
+
+    @Test(expectedExceptions = ArithmeticException.class)
+    public void test_rounded_scaleTooSmall() {
+        MoneyVector.ofMinor(GBP, new long[] {1}).rounded(-20, RoundingMode.HALF_EVEN);
+    }
+
+    //-----------------------------------------------------------------------
+    // sum()
+    //-----------------------------------------------------------------------
+    public void test_sum() {
+        assertEquals(MoneyVector.ofMinor(GBP, new long[] {1, 2, -4}).sum(), Money.ofMinor(GBP, -1));
+        assertEquals(MoneyVector.ofMinor(GBP, new long[0]).sum(), Money.zero(GBP));
+    }
+
+    public void test_sum_beyondLong() {
+        MoneyVector test = MoneyVector.ofMinor(USD, new long[] {MAX, MAX, -5});
+        BigDecimal expected = BigDecimal.valueOf(MAX).multiply(BigDecimal.valueOf(2)).subtract(BigDecimal.valueOf(5)).movePointLeft(2);
+        assertEquals(test.sum().getAmount(), expected);
+        assertEquals(test.sumByCurrency().get(USD).getAmount(), expected);
+    }
+
+    public void test_sum_belowLong() {
+        MoneyVector test = MoneyVector.ofMinor(USD, new long[] {MIN, -1});
+        BigDecimal expected = BigDecimal.valueOf(MIN).subtract(BigDecimal.ONE).movePointLeft(2);
+        assertEquals(test.sum().getAmount(), expected);
+    }
+
+    public void test_sum_overflowBackInRange() {
+        MoneyVector test = MoneyVector.ofMinor(USD, new long[] {MAX, 1, -1});
+        assertEquals(test.sum(), Money.ofMinor(USD, MAX));
+        assertTrue(test.sum().isAmountMinorLong());
+    }
+
+    @Test(expectedExceptions = CurrencyMismatchException.class)
+    public void test_sum_mixedCurrencies() {
+        MoneyVector.of(Arrays.asList(Money.parse("JPY 3"), Money.parse("USD 1.25"))).sum();
+    }
+
+    public void test_sumByCurrency_mixedCurrencies() {
+        MoneyVector test = MoneyVector.of(Arrays.asList(Money.parse("JPY 3"), Money.parse("USD 1.25"), Money.parse("JPY 4"), Money.parse("GBP 0.00")));
+        MoneyBag bag = test.sumByCurrency();
+        assertEquals(bag.get(JPY), Money.parse("JPY 7"));
+        assertEquals(bag.get(USD), Money.parse("USD 1.25"));
+        assertEquals(bag.size(), 2);
+    }
+
+    public void test_sumByCurrency_mixedCurrenciesBeyondLong() {
+        MoneyVector test = MoneyVector.of(Arrays.asList(Money.ofMinor(USD, MAX), Money.parse("JPY 3"), Money.ofMinor(USD, MAX), Money.parse("JPY 4")));
+        MoneyBag bag = test.sumByCurrency();
+        assertEquals(bag.get(USD).getAmount(), BigDecimal.valueOf(MAX).multiply(BigDecimal.valueOf(2)).movePointLeft(2));
+        assertEquals(bag.get(JPY), Money.parse("JPY 7"));
+    }
+
+    //-----------------------------------------------------------------------
+    // min()/max()/comparisons
+    //-----------------------------------------------------------------------
+    public void test_minMax() {
+        MoneyVector test = MoneyVector.ofMinor(GBP, new long[] {5, MIN, MAX, 0});
+        assertEquals(test.min(), Money.ofMinor(GBP, MIN));
+        assertEquals(test.max(), Money.ofMinor(GBP, MAX));
+        assertNull(MoneyVector.ofMinor(GBP, new long[0]).min());
+        assertNull(MoneyVector.ofMinor(GBP, new long[0]).max());
+    }
+
+    @Test(expectedExceptions = CurrencyMismatchException.class)
+    public void test_min_mixedCurrencies() {
+        MoneyVector.of(Arrays.asList(Money.parse("JPY 3"), Money.parse("USD 1.25"))).min();
+    }
+
+    public void test_compare() {
+        MoneyVector test = MoneyVector.ofMinor(GBP, new long[] {5, -5, 0});
+        Money zero = Money.zero(GBP);
+        assertMask(test.isGreaterThan(zero), true, false, false);
+        assertMask(test.isLessThan(zero), false, true, false);
+        assertMask(test.isEqual(zero), false, false, true);
+        MoneyVector other = MoneyVector.ofMinor(GBP, new long[] {5, 0, -1});
+        assertMask(test.isGreaterThan(other), false, false, true);
+        assertMask(test.isLessThan(other), false, true, false);
+        assertMask(test.isEqual(other), true, false, false);
+    }
+
+    public void test_compare_mixedCurrencies() {
+        MoneyVector a = MoneyVector.of(Arrays.asList(Money.parse("JPY 3"), Money.parse("USD 1.25")));
+        MoneyVector b = MoneyVector.of(Arrays.asList(Money.parse("JPY 4"), Money.parse("USD 1.00")));
+        assertMask(a.isLessThan(b), true, false);
+        assertMask(a.isGreaterThan(b), false, true);
+    }
+
+    @Test(expectedExceptions = CurrencyMismatchException.class)
+    public void test_compare_mixedCurrenciesToMoney() {
+        MoneyVector.of(Arrays.asList(Money.parse("JPY 3"), Money.parse("USD 1.25"))).isEqual(Money.parse("USD 1.25"));
+    }
+
+    @Test(expectedExceptions = CurrencyMismatchException.class)
+    public void test_compare_otherCurrency() {
+        MoneyVector.ofMinor(GBP, new long[] {1}).isEqual(Money.parse("USD 1.25"));
+    }
+
+    //-----------------------------------------------------------------------
+    // equals()/hashCode()
+    //-----------------------------------------------------------------------
+    public void test_equals() {
+        MoneyVector a = MoneyVector.of(Arrays.asList(Money.parse("JPY 3"), Money.parse("USD 1.25")));
+        MoneyVector b = MoneyVector.of(Arrays.asList(Money.parse("JPY 3"), Money.parse("USD 1.25")));
+        MoneyVector c = MoneyVector.of(Arrays.asList(Money.parse("USD 3.00"), Money.parse("USD 1.25")));
+        assertEquals(a, b);
+        assertEquals(a.hashCode(), b.hashCode());
+        assertFalse(a.equals(c));
+        assertFalse(c.equals(a));
+        assertFalse(a.equals(null));
+        assertFalse(c.equals(MoneyVector.ofMinor(GBP, new long[] {300, 125})));
+    }
+
+    //-----------------------------------------------------------------------
+    // toMonies()
+    //-----------------------------------------------------------------------
+    public void test_toMonies() {
+        MoneyVector test = MoneyVector.of(Arrays.asList(Money.parse("JPY 3"), Money.parse("USD 1.25")));
+        assertEquals(test.toMonies(), Arrays.asList(Money.parse("JPY 3"), Money.parse("USD 1.25")));
+        assertEquals(test.toMonies(RoundingMode.UNNECESSARY), test.toMonies());
+    }
+
+    @Test(expectedExceptions = ArithmeticException.class)
+    public void test_toMonies_roundingNecessary() {
+        MoneyVector test = halvedMixed();
+        assertEquals(test.getScale(), 2);
+        assertEquals(test.getUnscaledAmount(0), 150);
+        test.toMonies();
+    }
+
+    public void test_toMonies_RoundingMode() {
+        MoneyVector test = halvedMixed();
+        assertEquals(test.toMonies(RoundingMode.HALF_EVEN), Arrays.asList(Money.parse("JPY 2"), Money.parse("USD 0.50"), Money.parse("JPY 2")));
+        assertEquals(test.toMonies(RoundingMode.DOWN), Arrays.asList(Money.parse("JPY 1"), Money.parse("USD 0.50"), Money.parse("JPY 2")));
+        assertEquals(test.toMonies(RoundingMode.UP), Arrays.asList(Money.parse("JPY 2"), Money.parse("USD 0.50"), Money.parse("JPY 3")));
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void test_toMonies_RoundingMode_nullRoundingMode() {
+        halvedMixed().toMonies(null);
+    }
+
+    //-----------------------------------------------------------------------
+    // sumByCurrency()
+    //-----------------------------------------------------------------------
+    public void test_sumByCurrency_exactTotal() {
+        // JPY 1.50 + JPY 2.50 is exact, although each amount is not
+        MoneyBag test = halvedMixed().sumByCurrency();
+        assertEquals(test.get(JPY), Money.parse("JPY 4"));
+        assertEquals(test.get(USD), Money.parse("USD 0.50"));
+    }
+
+    @Test(expectedExceptions = ArithmeticException.class)
+    public void test_sumByCurrency_roundingNecessary() {
+        MoneyVector test = MoneyVector.of(Arrays.asList(Money.parse("JPY 3"), Money.parse("USD 1.00")));
+        test.multipliedBy(new BigDecimal("0.5"), RoundingMode.HALF_EVEN).sumByCurrency();
+    }
+
+    public void test_sumByCurrency_RoundingMode() {
+        MoneyVector test = MoneyVector.of(Arrays.asList(Money.parse("JPY 3"), Money.parse("USD 1.00"), Money.parse("JPY 2")));
+        MoneyVector halved = test.multipliedBy(new BigDecimal("0.5"), RoundingMode.HALF_EVEN);
+        // JPY 1.50 + JPY 1.00, rounded once
+        assertEquals(halved.sumByCurrency(RoundingMode.HALF_EVEN).get(JPY), Money.parse("JPY 2"));
+        assertEquals(halved.sumByCurrency(RoundingMode.UP).get(JPY), Money.parse("JPY 3"));
+        assertEquals(halved.sumByCurrency(RoundingMode.DOWN).get(JPY), Money.parse("JPY 2"));
+        assertEquals(halved.sumByCurrency(RoundingMode.DOWN).get(USD), Money.parse("USD 0.50"));
+    }
+
+    public void test_sumByCurrency_RoundingMode_singleCurrency() {
+        MoneyVector test = MoneyVector.ofMinor(GBP, new long[] {1, 2, 3});
+        assertEquals(test.sumByCurrency(RoundingMode.UNNECESSARY), MoneyBag.of(Money.ofMinor(GBP, 6)));
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void test_sumByCurrency_RoundingMode_nullRoundingMode() {
+        halvedMixed().sumByCurrency(null);
+    }
+
+}
@@ -0,0 +1,148 @@
+/*
+ *  Copyright 2009-2011 Stephen Colebourne
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package javax.money.format;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.StringWriter;
+import java.util.Currency;
+import java.util.Locale;
+
+import javax.money.BigMoney;
+import javax.money.BigMoneyProvider;
+import javax.money.CurrencyUnit;
+import javax.money.Money;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * Test MoneyFormatter with a localized currency symbol.
+ */
+@Test
+public class TestMoneyFormatterSymbol {
+
+    private static final MoneyFormatter SYMBOL =
+            new MoneyFormatterBuilder().appendCurrencySymbolLocalized().toFormatter(Locale.US);
+
+    private static MoneyFormatter roundTrip(MoneyFormatter formatter) throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ObjectOutputStream oos = new ObjectOutputStream(baos);
+        oos.writeObject(formatter);
+        oos.close();
+        ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray()));
+        return (MoneyFormatter) ois.readObject();
+    }
+
+    @DataProvider(name = "symbols")
+    Object[][] data_symbols() {
+        return new Object[][] {
+            {Money.parse("USD 1.23"), Locale.US},
+            {Money.parse("GBP 1.23"), Locale.UK},
+            {Money.parse("EUR 1.23"), Locale.FRANCE},
+            {Money.parse("EUR 1.23"), Locale.US},
+            {Money.parse("JPY 123"), Locale.JAPAN},
+            {Money.parse("USD 1.23"), Locale.UK},
+            {BigMoney.parse("CHF 1.2345"), Locale.GERMANY},
+        };
+    }
+
+    //-----------------------------------------------------------------------
+    // print()
+    //-----------------------------------------------------------------------
+    @Test(dataProvider = "symbols")
+    public void test_print(BigMoneyProvider money, Locale locale) throws IOException {
+        String expected = Currency.getInstance(BigMoney.of(money).getCurrencyUnit().getCode()).getSymbol(locale);
+        MoneyFormatter test = SYMBOL.withLocale(locale);
+        assertEquals(test.print(money), expected);
+        StringWriter writer = new StringWriter();
+        test.printIO(writer, money);
+        assertEquals(writer.toString(), expected);
+        StringBuilder buf = new StringBuilder();
+        test.print(buf, money);
+        assertEquals(buf.toString(), expected);
+    }
+
+    public void test_print_usesFormatterLocale() {
+        MoneyFormatter test = new MoneyFormatterBuilder().appendCurrencySymbolLocalized().toFormatter(Locale.US);
+        assertEquals(test.getLocale(), Locale.US);
+        assertEquals(test.print(Money.parse("USD 1.00")), "$");
+        assertEquals(test.withLocale(Locale.UK).print(Money.parse("GBP 1.00")), "\u00a3");
+        assertEquals(test.print(Money.parse("GBP 1.00")), Currency.getInstance("GBP").getSymbol(Locale.US));
+    }
+
+    public void test_print_noJdkCurrency() {
+        assertEquals(SYMBOL.print(Money.zero(CurrencyUnit.of("ZZV"))), "ZZV");
+    }
+
+    public void test_print_twice() {
+        MoneyFormatter test = new MoneyFormatterBuilder()
+            .appendCurrencySymbolLocalized().appendCurrencySymbolLocalized().toFormatter(Locale.UK);
+        assertEquals(test.print(Money.parse("GBP 1.00")), "\u00a3\u00a3");
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void test_print_nullMoney() {
+        SYMBOL.print(null);
+    }
+
+    //-----------------------------------------------------------------------
+    // isPrinter(), isParser()
+    //-----------------------------------------------------------------------
+    public void test_isPrinter_isParser() {
+        assertTrue(SYMBOL.isPrinter());
+        assertFalse(SYMBOL.isParser());
+    }
+
+    public void test_append_formatter_notParser() {
+        MoneyFormatter test = new MoneyFormatterBuilder().append(SYMBOL).toFormatter(Locale.UK);
+        assertTrue(test.isPrinter());
+        assertFalse(test.isParser());
+        assertEquals(test.print(Money.parse("GBP 1.00")), "\u00a3");
+    }
+
+    //-----------------------------------------------------------------------
+    // toString(), serialization
+    //-----------------------------------------------------------------------
+    public void test_toString() {
+        assertEquals(SYMBOL.toString(), "${symbolLocalized}");
+    }
+
+    public void test_serialization() throws Exception {
+        MoneyFormatter test = roundTrip(SYMBOL.withLocale(Locale.UK));
+        assertEquals(test.getLocale(), Locale.UK);
+        assertFalse(test.isParser());
+        assertEquals(test.print(Money.parse("GBP 1.00")), "\u00a3");
+    }
+
+    public void test_serialization_printerSingleton() throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ObjectOutputStream oos = new ObjectOutputStream(baos);
+        oos.writeObject(CurrencySymbolPrinter.INSTANCE);
+        oos.close();
+        ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray()));
+        assertSame(ois.readObject(), CurrencySymbolPrinter.INSTANCE);
+    }
+
+}